@@ -0,0 +1,359 @@
+package co.com.aws.lambda.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.handler.EjecutorLocal;
+import co.com.aws.lambda.storage.LocalObjectStore;
+
+/**
+ * Prueba de rendimiento de extremo a extremo: genera archivos sintéticos de
+ * dividendos, los cifra con llaves PGP desechables y ejecuta el proceso
+ * completo con {@link EjecutorLocal} sobre un {@link LocalObjectStore} para
+ * cada tamaño solicitado.
+ * <p>
+ * Por tamaño reporta registros/s y MB/s sobre la mediana del tiempo total, el
+ * p50 y p99 de cada etapa y el pico de RSS del proceso. Los resultados se
+ * comparan contra una línea base versionada y el proceso termina con código 1
+ * si el rendimiento empeora más que la tolerancia. La línea base registra la
+ * JVM con la que se grabó; con otra JVM no se compara y el proceso termina con
+ * código 2, porque la diferencia entre versiones se confundiría con una
+ * regresión o la ocultaría.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.args="--tamanos 10000,100000"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class BenchmarkExtremoAExtremo {
+
+    private static final String USO = String.join("\n",
+            "Uso: BenchmarkExtremoAExtremo [opciones]",
+            "  --tamanos <n,n,...>           Lineas totales por corrida (10000,100000,1000000,10000000)",
+            "  --repeticiones <n>            Corridas medidas por tamano (5)",
+            "  --calentamiento <n>           Corridas descartadas por tamano (1)",
+            "  --duplicados <0..1>           Proporcion de facturas repetidas por archivo (0.05)",
+            "  --traslape <0..1>             Proporcion de facturas del segundo archivo tomadas del primero (0.10)",
+            "  --semilla <n>                 Semilla del generador (42)",
+            "  --directorio <dir>            Directorio de trabajo (target/benchmark)",
+            "  --linea-base <archivo>        Linea base a comparar (src/jmh/linea-base/extremo-a-extremo.properties)",
+            "  --tolerancia <0..1>           Degradacion permitida frente a la linea base (0.20)",
+            "  --actualizar-linea-base       Sobrescribe la linea base con los resultados",
+            "  --ayuda                       Muestra esta ayuda");
+
+    private static final String FRASE_SECRETA = "benchmark";
+
+    private static final String BUCKET_ENTRADA = "entrada";
+
+    private static final String BUCKET_SALIDA = "salida";
+
+    private static final String BUCKET_LLAVES = "llaves";
+
+    private static final String[] ARCHIVOS = { "5402ORDINARIO", "0177PREFERENCIAL" };
+
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    /**
+     * Clave de la línea base con la JVM que la grabó, ver {@link #jvm()}.
+     */
+    static final String CLAVE_JVM = "jvm";
+
+    private final Map<String, String> opciones;
+
+    private final LlavesPgpPrueba llaves;
+
+    /**
+     * Constructor de la prueba.
+     *
+     * @param opciones Las opciones de ejecución, ver {@link #USO}.
+     * @param llaves   Las llaves PGP con las que se cifran las entradas.
+     */
+    public BenchmarkExtremoAExtremo(Map<String, String> opciones, LlavesPgpPrueba llaves) {
+        this.opciones = opciones;
+        this.llaves = llaves;
+    }
+
+    /**
+     * Punto de entrada de línea de comandos.
+     *
+     * @param  args        Las opciones de ejecución, ver {@link #USO}.
+     * @throws IOException Si ocurre un error generando los archivos o leyendo la
+     *                     línea base.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opciones = EjecutorLocal.leerOpciones(args);
+        if (opciones.containsKey("ayuda")) {
+            System.out.println(USO);
+            return;
+        }
+        BenchmarkExtremoAExtremo benchmark = new BenchmarkExtremoAExtremo(opciones,
+                LlavesPgpPrueba.generar(FRASE_SECRETA, 2048));
+        Properties resultados = benchmark.ejecutar();
+        Path lineaBase = Paths.get(opciones.getOrDefault("linea-base", "src/jmh/linea-base/extremo-a-extremo.properties"));
+        Path directorio = Paths.get(opciones.getOrDefault("directorio", "target/benchmark"));
+        guardar(resultados, directorio.resolve("resultados-extremo-a-extremo.properties"));
+        if (opciones.containsKey("actualizar-linea-base")) {
+            guardar(resultados, lineaBase);
+            System.out.println("Linea base actualizada: " + lineaBase);
+            return;
+        }
+        if (Files.exists(lineaBase)) {
+            Properties base = new Properties();
+            try (Reader reader = Files.newBufferedReader(lineaBase, StandardCharsets.UTF_8)) {
+                base.load(reader);
+            }
+            if (!jvm().equals(base.getProperty(CLAVE_JVM))) {
+                System.out.println(String.format("[ERROR] La linea base %s se grabo con la JVM [%s] y esta corrida usa "
+                        + "[%s]; grabela de nuevo con --actualizar-linea-base", lineaBase,
+                        base.getProperty(CLAVE_JVM, "desconocida"), jvm()));
+                System.exit(2);
+            }
+            List<String> regresiones = comparar(base, resultados,
+                    Double.parseDouble(opciones.getOrDefault("tolerancia", "0.20")));
+            regresiones.forEach(System.out::println);
+            if (!regresiones.isEmpty()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la prueba para cada tamaño e imprime la tabla de resultados.
+     *
+     * @return             Las métricas por tamaño, con claves
+     *                     {@code <tamaño>.<métrica>}.
+     * @throws IOException Si ocurre un error generando los archivos.
+     */
+    public Properties ejecutar() throws IOException {
+        Properties resultados = new Properties();
+        for (String tamano : opciones.getOrDefault("tamanos", "10000,100000,1000000,10000000").split(",")) {
+            Map<String, Double> metricas = ejecutarTamano(Long.parseLong(tamano.trim()));
+            System.out.println("== " + tamano.trim() + " lineas");
+            metricas.forEach((nombre, valor) -> {
+                System.out.println(String.format("%-34s %14.2f", nombre, valor));
+                resultados.setProperty(tamano.trim() + "." + nombre, String.format("%.2f", valor));
+            });
+        }
+        return resultados;
+    }
+
+    private Map<String, Double> ejecutarTamano(long lineas) throws IOException {
+        Path raiz = Paths.get(opciones.getOrDefault("directorio", "target/benchmark")).resolve(String.valueOf(lineas));
+        LocalObjectStore objectStore = new LocalObjectStore(raiz);
+        ConfiguracionDto configuracion = crearConfiguracion();
+        objectStore.put(BUCKET_LLAVES, configuracion.getRutaLlavePublicaPgp(), llaves.getLlavePublicaArmor(),
+                "text/plain");
+        objectStore.put(BUCKET_LLAVES, configuracion.getRutaLlavePrivadaPgp(), llaves.getLlavePrivadaArmor(),
+                "text/plain");
+        long bytesClaros = generarEntradas(objectStore, configuracion, lineas, raiz);
+
+        int calentamiento = Integer.parseInt(opciones.getOrDefault("calentamiento", "1"));
+        int repeticiones = Integer.parseInt(opciones.getOrDefault("repeticiones", "5"));
+        Map<String, long[]> tiemposEtapas = new LinkedHashMap<>();
+        long[] totales = new long[repeticiones];
+        long picoHeap = 0;
+        PicoRss.reiniciar();
+        for (int i = -calentamiento; i < repeticiones; i++) {
+            System.gc();
+            EjecutorLocal ejecutor = new EjecutorLocal(objectStore, configuracion, false,
+                    new EjecutorLocal.AuditoriaLocalDao());
+            long inicio = System.nanoTime();
+            ejecutor.ejecutar();
+            long total = System.nanoTime() - inicio;
+            if (i < 0) {
+                continue;
+            }
+            totales[i] = total;
+            picoHeap = Math.max(picoHeap, ejecutor.getPicoHeap());
+            for (Map.Entry<String, Long> etapa : ejecutor.getTiemposEtapas().entrySet()) {
+                tiemposEtapas.computeIfAbsent(etapa.getKey(), k -> new long[repeticiones])[i] = etapa.getValue();
+            }
+        }
+
+        double segundos = percentil(totales, 50) / 1e9;
+        Map<String, Double> metricas = new LinkedHashMap<>();
+        metricas.put("registros_por_segundo", lineas / segundos);
+        metricas.put("mb_por_segundo", bytesClaros / MEGABYTE / segundos);
+        metricas.put("total_p50_ms", percentil(totales, 50) / 1e6);
+        metricas.put("total_p99_ms", percentil(totales, 99) / 1e6);
+        tiemposEtapas.forEach((etapa, tiempos) -> {
+            metricas.put(etapa + "_p50_ms", percentil(tiempos, 50) / 1e6);
+            metricas.put(etapa + "_p99_ms", percentil(tiempos, 99) / 1e6);
+        });
+        metricas.put("pico_heap_mb", picoHeap / MEGABYTE);
+        metricas.put("pico_rss_mb", PicoRss.actual() / MEGABYTE);
+        return metricas;
+    }
+
+    private ConfiguracionDto crearConfiguracion() {
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        configuracion.setNombreBucketArchivosEntrada(BUCKET_ENTRADA);
+        configuracion.setNombreBucketArchivosSalida(BUCKET_SALIDA);
+        configuracion.setNombreBucketLlaves(BUCKET_LLAVES);
+        configuracion.setRutaEntrada("entrada/");
+        configuracion.setRutaSalida("salida/");
+        configuracion.setRutaProcesados("procesados/");
+        configuracion.setRutaLlavePublicaPgp("publica.asc");
+        configuracion.setRutaLlavePrivadaPgp("privada.asc");
+        configuracion.setFraseSecretaPgpDescifrada(FRASE_SECRETA);
+        return configuracion;
+    }
+
+    /**
+     * Genera y cifra los dos archivos de entrada repartiendo las líneas entre
+     * ellos.
+     *
+     * @return El tamaño total en claro de las entradas, en bytes.
+     */
+    private long generarEntradas(LocalObjectStore objectStore, ConfiguracionDto configuracion, long lineas,
+            Path raiz) throws IOException {
+        GeneradorArchivosDividendos generador = new GeneradorArchivosDividendos(
+                Double.parseDouble(opciones.getOrDefault("duplicados", "0.05")),
+                Double.parseDouble(opciones.getOrDefault("traslape", "0.10")),
+                Long.parseLong(opciones.getOrDefault("semilla", "42")));
+        Path claro = raiz.resolve("claro.txt");
+        Path cifrado = raiz.resolve("cifrado.pgp");
+        long bytesClaros = 0;
+        for (int i = 0; i < ARCHIVOS.length; i++) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(claro), 1 << 16)) {
+                generador.generar(i, lineas / ARCHIVOS.length, out);
+            }
+            bytesClaros += Files.size(claro);
+            try (InputStream in = Files.newInputStream(claro);
+                    OutputStream out = new BufferedOutputStream(Files.newOutputStream(cifrado), 1 << 16)) {
+                llaves.cifrar(in, out);
+            }
+            try (InputStream in = Files.newInputStream(cifrado)) {
+                objectStore.put(BUCKET_ENTRADA, configuracion.getRutaEntrada() + ARCHIVOS[i] + ".pgp", in,
+                        Files.size(cifrado), "application/octet-stream");
+            }
+        }
+        Files.delete(claro);
+        Files.delete(cifrado);
+        return bytesClaros;
+    }
+
+    /**
+     * Compara los resultados contra la línea base: es regresión que los
+     * registros/s caigan o que el pico de RSS crezca más que la tolerancia.
+     *
+     * @param  base       La línea base.
+     * @param  resultados Los resultados de la corrida.
+     * @param  tolerancia La variación relativa permitida.
+     * @return            La descripción de cada regresión encontrada.
+     */
+    static List<String> comparar(Properties base, Properties resultados, double tolerancia) {
+        List<String> regresiones = new ArrayList<>();
+        for (String clave : new TreeSet<>(base.stringPropertyNames())) {
+            String actual = resultados.getProperty(clave);
+            if (actual == null || CLAVE_JVM.equals(clave)) {
+                continue;
+            }
+            double esperado = Double.parseDouble(base.getProperty(clave));
+            double medido = Double.parseDouble(actual);
+            boolean regresion = clave.endsWith(".registros_por_segundo") && medido < esperado * (1 - tolerancia)
+                    || clave.endsWith(".pico_rss_mb") && medido > esperado * (1 + tolerancia);
+            if (regresion) {
+                regresiones.add(String.format("[REGRESION] %s: %.2f frente a %.2f de la linea base", clave, medido,
+                        esperado));
+            }
+        }
+        return regresiones;
+    }
+
+    /**
+     * Percentil por rango más cercano.
+     */
+    static double percentil(long[] valores, int percentil) {
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int rango = (int) Math.ceil(percentil / 100.0 * ordenados.length);
+        return ordenados[Math.max(0, rango - 1)];
+    }
+
+    /**
+     * Retorna la JVM que ejecuta la prueba: el nombre de la máquina virtual y
+     * la versión mayor de Java, por ejemplo
+     * {@code OpenJDK 64-Bit Server VM 21}.
+     */
+    static String jvm() {
+        return System.getProperty("java.vm.name") + " " + Runtime.version().feature();
+    }
+
+    /**
+     * Guarda los resultados ordenados por clave, para que la línea base sea
+     * legible y sus cambios se puedan revisar, junto con la JVM que los midió.
+     */
+    private static void guardar(Properties resultados, Path archivo) throws IOException {
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            writer.write("# BenchmarkExtremoAExtremo " + System.getProperty("java.vm.name") + " "
+                    + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors()
+                    + " CPU, -Xmx" + Runtime.getRuntime().maxMemory() / (1024 * 1024) + "m\n");
+            writer.write(CLAVE_JVM + "=" + jvm() + "\n");
+            for (String clave : new TreeSet<>(resultados.stringPropertyNames())) {
+                writer.write(clave + "=" + resultados.getProperty(clave) + "\n");
+            }
+        }
+    }
+
+    /**
+     * Lectura del pico de memoria residente del proceso desde {@code /proc}. Fuera
+     * de Linux retorna 0.
+     */
+    static final class PicoRss {
+
+        private static final Path STATUS = Paths.get("/proc/self/status");
+
+        private static final Path CLEAR_REFS = Paths.get("/proc/self/clear_refs");
+
+        private PicoRss() {
+        }
+
+        /**
+         * Reinicia el pico de RSS (VmHWM); el kernel lo permite desde Linux 4.0.
+         */
+        static void reiniciar() {
+            try {
+                Files.write(CLEAR_REFS, "5".getBytes(StandardCharsets.US_ASCII));
+            } catch (IOException | SecurityException e) {
+                // Sin permisos el pico se reporta desde el inicio del proceso.
+            }
+        }
+
+        /**
+         * @return El pico de RSS en bytes.
+         */
+        static long actual() {
+            try {
+                for (String linea : Files.readAllLines(STATUS, StandardCharsets.US_ASCII)) {
+                    if (linea.startsWith("VmHWM:")) {
+                        return Long.parseLong(linea.replaceAll("[^0-9]", "")) * 1024L;
+                    }
+                }
+            } catch (IOException e) {
+                // Sin /proc no hay medición de RSS.
+            }
+            return 0L;
+        }
+    }
+}
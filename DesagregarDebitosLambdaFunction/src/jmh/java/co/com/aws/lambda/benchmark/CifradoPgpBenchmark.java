@@ -0,0 +1,171 @@
+package co.com.aws.lambda.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.bcpg.CompressionAlgorithmTags;
+import org.bouncycastle.bcpg.SymmetricKeyAlgorithmTags;
+import org.bouncycastle.openpgp.PGPException;
+import org.bouncycastle.openpgp.PGPPrivateKey;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.com.ath.aws.cifrado.PgpDecryptionUtil;
+import co.com.ath.aws.cifrado.PgpEncryptionUtil;
+
+/**
+ * Benchmarks JMH del throughput de cifrado y descifrado PGP de un archivo de
+ * dividendos sintético, variando el algoritmo simétrico, la compresión y el
+ * tamaño de buffer. El contador auxiliar {@code megabytes} reporta MB/s en
+ * claro.
+ * <p>
+ * {@code cifrarUtilidad} y {@code descifrarUtilidad} miden las utilidades de
+ * {@code aws-utils} que usa la Lambda, que leen la llave en cada llamada, como
+ * referencia. {@code cifrarUtilidad} siempre usa AES-256 y ZIP, por lo que sus
+ * resultados no dependen de los parámetros.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=org.openjdk.jmh.Main \
+ *     -Dbenchmark.args="CifradoPgpBenchmark -p compresion=ZIP"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g" })
+public class CifradoPgpBenchmark {
+
+    private static final String FRASE_SECRETA = "benchmark";
+
+    /**
+     * Líneas del archivo sintético, aproximadamente 8 MB en claro.
+     */
+    private static final int REGISTROS = 80_000;
+
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    @Param({ "AES_128", "AES_256", "CAMELLIA_256" })
+    String algoritmo;
+
+    @Param({ "UNCOMPRESSED", "ZIP", "ZLIB" })
+    String compresion;
+
+    @Param({ "4096", "65536", "1048576" })
+    int tamanoBuffer;
+
+    private LlavesPgpPrueba llaves;
+
+    private PGPPrivateKey llavePrivada;
+
+    private byte[] claro;
+
+    private byte[] cifrado;
+
+    /**
+     * Contador de MB procesados por iteración, reportado como MB/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+
+        private double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            megabytes = 0;
+        }
+
+        public double megabytes() {
+            return megabytes;
+        }
+    }
+
+    @Setup
+    public void generar() throws IOException, PGPException {
+        llaves = LlavesPgpPrueba.generar(FRASE_SECRETA, 2048);
+        llavePrivada = LlavesPgpPrueba.desbloquear(
+                LlavesPgpPrueba.leerLlavesPrivadas(llaves.getLlavePrivadaArmor()).getKeyRings().next().getSecretKey(),
+                FRASE_SECRETA);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(REGISTROS * 102);
+        new GeneradorArchivosDividendos(0.05, 0.0, 42L).generar(0, REGISTROS, salida);
+        claro = salida.toByteArray();
+        ByteArrayOutputStream mensaje = new ByteArrayOutputStream();
+        llaves.cifrar(new ByteArrayInputStream(claro), mensaje, algoritmoSimetrico(), algoritmoCompresion(),
+                tamanoBuffer);
+        cifrado = mensaje.toByteArray();
+    }
+
+    @Benchmark
+    public void cifrar(Throughput throughput) throws IOException {
+        llaves.cifrar(new ByteArrayInputStream(claro), OutputStream.nullOutputStream(), algoritmoSimetrico(),
+                algoritmoCompresion(), tamanoBuffer);
+        throughput.megabytes += claro.length / MEGABYTE;
+    }
+
+    @Benchmark
+    public void descifrar(Throughput throughput) throws IOException {
+        long bytes = LlavesPgpPrueba.descifrar(new ByteArrayInputStream(cifrado), llavePrivada,
+                OutputStream.nullOutputStream(), tamanoBuffer);
+        throughput.megabytes += bytes / MEGABYTE;
+    }
+
+    @Benchmark
+    public void cifrarUtilidad(Throughput throughput) throws IOException {
+        try (InputStream mensaje = PgpEncryptionUtil.cifrarArchivo(new ByteArrayInputStream(claro), claro.length,
+                new ByteArrayInputStream(llaves.getLlavePublicaArmor()))) {
+            mensaje.transferTo(OutputStream.nullOutputStream());
+        }
+        throughput.megabytes += claro.length / MEGABYTE;
+    }
+
+    @Benchmark
+    public void descifrarUtilidad(Throughput throughput) throws Exception {
+        try (InputStream mensaje = PgpDecryptionUtil.descifrarArchivo(new ByteArrayInputStream(cifrado),
+                FRASE_SECRETA, new ByteArrayInputStream(llaves.getLlavePrivadaArmor()))) {
+            throughput.megabytes += mensaje.transferTo(OutputStream.nullOutputStream()) / MEGABYTE;
+        }
+    }
+
+    private int algoritmoSimetrico() {
+        switch (algoritmo) {
+        case "AES_128":
+            return SymmetricKeyAlgorithmTags.AES_128;
+        case "CAMELLIA_256":
+            return SymmetricKeyAlgorithmTags.CAMELLIA_256;
+        default:
+            return SymmetricKeyAlgorithmTags.AES_256;
+        }
+    }
+
+    private int algoritmoCompresion() {
+        switch (compresion) {
+        case "ZIP":
+            return CompressionAlgorithmTags.ZIP;
+        case "ZLIB":
+            return CompressionAlgorithmTags.ZLIB;
+        default:
+            return CompressionAlgorithmTags.UNCOMPRESSED;
+        }
+    }
+}
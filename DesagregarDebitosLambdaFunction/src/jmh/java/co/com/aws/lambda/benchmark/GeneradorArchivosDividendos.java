@@ -0,0 +1,128 @@
+package co.com.aws.lambda.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de archivos sintéticos de dividendos con el mismo formato de ancho
+ * fijo de los archivos reales: un encabezado seguido de registros con el número
+ * de factura en las columnas 1 a 13 y el valor en las columnas 89 a 101.
+ * <p>
+ * La proporción de duplicados controla cuántos registros repiten una factura ya
+ * emitida en el mismo archivo, y la proporción de traslape cuántas facturas de
+ * los archivos siguientes al primero se toman del rango del primero. La salida
+ * es determinística para una misma semilla.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class GeneradorArchivosDividendos {
+
+    /**
+     * Longitud de cada línea sin el salto de línea.
+     */
+    public static final int LONGITUD_LINEA = 101;
+
+    private static final int INICIO_FACTURA = 1;
+
+    private static final int INICIO_VALOR = 89;
+
+    private static final int DIGITOS = 12;
+
+    private static final long BASE_FACTURAS = 100_000_000_000L;
+
+    private static final byte[] RELLENO = "00000177ACCAVAL DIVIDENDO ORDINARIO CC 0000000000000000 BOGOTA D.C. COLOMBIA  "
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final double proporcionDuplicados;
+
+    private final double proporcionTraslape;
+
+    private final long semilla;
+
+    /**
+     * Constructor del generador.
+     *
+     * @param proporcionDuplicados Fracción de registros, entre 0 y 1, que repiten
+     *                             una factura anterior del mismo archivo.
+     * @param proporcionTraslape   Fracción de facturas únicas, entre 0 y 1, que
+     *                             los archivos diferentes al primero toman del
+     *                             rango del primero.
+     * @param semilla              La semilla de los números aleatorios.
+     */
+    public GeneradorArchivosDividendos(double proporcionDuplicados, double proporcionTraslape, long semilla) {
+        if (proporcionDuplicados < 0 || proporcionDuplicados >= 1 || proporcionTraslape < 0
+                || proporcionTraslape > 1) {
+            throw new IllegalArgumentException("Las proporciones deben estar entre 0 y 1");
+        }
+        this.proporcionDuplicados = proporcionDuplicados;
+        this.proporcionTraslape = proporcionTraslape;
+        this.semilla = semilla;
+    }
+
+    /**
+     * Escribe un archivo con el encabezado y {@code registros - 1} líneas de
+     * detalle.
+     *
+     * @param  numeroArchivo El número del archivo, desde 0; determina el rango de
+     *                       facturas propio.
+     * @param  registros     El total de líneas del archivo, incluido el
+     *                       encabezado.
+     * @param  salida        El flujo donde se escribe el archivo.
+     * @return               El número de líneas duplicadas generadas.
+     * @throws IOException   Si ocurre un error escribiendo la salida.
+     */
+    public long generar(int numeroArchivo, long registros, OutputStream salida) throws IOException {
+        SplittableRandom random = new SplittableRandom(semilla + numeroArchivo);
+        long baseArchivo = BASE_FACTURAS * (numeroArchivo + 1L);
+        byte[] linea = new byte[LONGITUD_LINEA + 1];
+        linea[LONGITUD_LINEA] = '\n';
+        escribirEncabezado(linea, registros);
+        salida.write(linea);
+
+        Arrays.fill(linea, 0, LONGITUD_LINEA, (byte) ' ');
+        linea[0] = '2';
+        System.arraycopy(RELLENO, 0, linea, INICIO_FACTURA + DIGITOS,
+                Math.min(RELLENO.length, INICIO_VALOR - INICIO_FACTURA - DIGITOS));
+        long[] emitidas = new long[(int) Math.min(registros, Integer.MAX_VALUE - 8)];
+        int unicas = 0;
+        long duplicados = 0;
+        for (long i = 1; i < registros; i++) {
+            long factura;
+            if (unicas > 0 && random.nextDouble() < proporcionDuplicados) {
+                factura = emitidas[random.nextInt(unicas)];
+                duplicados++;
+            } else {
+                if (numeroArchivo > 0 && random.nextDouble() < proporcionTraslape) {
+                    factura = BASE_FACTURAS + random.nextLong(registros);
+                } else {
+                    factura = baseArchivo + unicas;
+                }
+                emitidas[unicas++] = factura;
+            }
+            escribirNumero(linea, INICIO_FACTURA, factura);
+            escribirNumero(linea, INICIO_VALOR, 1 + random.nextLong(99_999_999_999L));
+            salida.write(linea);
+        }
+        return duplicados;
+    }
+
+    private static void escribirEncabezado(byte[] linea, long registros) {
+        Arrays.fill(linea, 0, LONGITUD_LINEA, (byte) ' ');
+        byte[] encabezado = "100000177ACCAVAL20261019DIVIDENDOS".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(encabezado, 0, linea, 0, encabezado.length);
+        escribirNumero(linea, INICIO_VALOR, registros);
+    }
+
+    private static void escribirNumero(byte[] linea, int inicio, long numero) {
+        long resto = numero;
+        for (int i = inicio + DIGITOS - 1; i >= inicio; i--) {
+            linea[i] = (byte) ('0' + resto % 10);
+            resto /= 10;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package co.com.aws.lambda.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.openpgp.PGPException;
+import org.bouncycastle.openpgp.PGPPrivateKey;
+import org.bouncycastle.openpgp.PGPPublicKeyRingCollection;
+import org.bouncycastle.openpgp.PGPSecretKey;
+import org.bouncycastle.openpgp.PGPSecretKeyRingCollection;
+import org.bouncycastle.openpgp.PGPUtil;
+import org.bouncycastle.openpgp.operator.jcajce.JcaKeyFingerprintCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.com.ath.aws.cifrado.PgpDecryptionUtil;
+
+/**
+ * Benchmarks JMH del manejo de llaves PGP: lectura de las llaves en ASCII armor,
+ * desbloqueo S2K de la llave privada y el descifrado de un archivo pequeño con
+ * y sin llave en caché.
+ * <p>
+ * {@code descifrarSinCache} reproduce lo que hace la Lambda por cada archivo
+ * ({@link PgpDecryptionUtil#descifrarArchivo} lee y desbloquea la llave en cada
+ * llamada); la diferencia con {@code descifrarConCache} es lo que ahorraría
+ * cachear la llave privada desbloqueada entre archivos e invocaciones.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=org.openjdk.jmh.Main -Dbenchmark.args="LlavesPgpBenchmark"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LlavesPgpBenchmark {
+
+    private static final String FRASE_SECRETA = "benchmark";
+
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    @Param({ "2048", "4096" })
+    int bitsRsa;
+
+    private byte[] llavePublica;
+
+    private byte[] llavePrivada;
+
+    private PGPSecretKey llaveSecreta;
+
+    private PGPPrivateKey llavePrivadaDesbloqueada;
+
+    private byte[] archivoCifrado;
+
+    @Setup
+    public void generar() throws IOException, PGPException {
+        LlavesPgpPrueba llaves = LlavesPgpPrueba.generar(FRASE_SECRETA, bitsRsa);
+        llavePublica = llaves.getLlavePublicaArmor();
+        llavePrivada = llaves.getLlavePrivadaArmor();
+        llaveSecreta = LlavesPgpPrueba.leerLlavesPrivadas(llavePrivada).getKeyRings().next().getSecretKey();
+        llavePrivadaDesbloqueada = LlavesPgpPrueba.desbloquear(llaveSecreta, FRASE_SECRETA);
+        ByteArrayOutputStream claro = new ByteArrayOutputStream();
+        new GeneradorArchivosDividendos(0.05, 0.0, 42L).generar(0, 1_000, claro);
+        ByteArrayOutputStream cifrado = new ByteArrayOutputStream();
+        llaves.cifrar(new ByteArrayInputStream(claro.toByteArray()), cifrado);
+        archivoCifrado = cifrado.toByteArray();
+    }
+
+    @Benchmark
+    public PGPPublicKeyRingCollection leerLlavePublica() throws IOException, PGPException {
+        return new PGPPublicKeyRingCollection(PGPUtil.getDecoderStream(new ByteArrayInputStream(llavePublica)),
+                new JcaKeyFingerprintCalculator());
+    }
+
+    @Benchmark
+    public PGPSecretKeyRingCollection leerLlavePrivada() throws IOException {
+        return LlavesPgpPrueba.leerLlavesPrivadas(llavePrivada);
+    }
+
+    @Benchmark
+    public PGPPrivateKey desbloquearLlavePrivada() throws PGPException {
+        return LlavesPgpPrueba.desbloquear(llaveSecreta, FRASE_SECRETA);
+    }
+
+    @Benchmark
+    public long descifrarConCache() throws IOException {
+        return LlavesPgpPrueba.descifrar(new ByteArrayInputStream(archivoCifrado), llavePrivadaDesbloqueada,
+                OutputStream.nullOutputStream(), TAMANO_BUFFER);
+    }
+
+    @Benchmark
+    public long descifrarSinCache() throws Exception {
+        try (InputStream claro = PgpDecryptionUtil.descifrarArchivo(new ByteArrayInputStream(archivoCifrado),
+                FRASE_SECRETA, new ByteArrayInputStream(llavePrivada))) {
+            return claro.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package co.com.aws.lambda.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.Date;
+
+import org.bouncycastle.bcpg.ArmoredOutputStream;
+import org.bouncycastle.bcpg.CompressionAlgorithmTags;
+import org.bouncycastle.bcpg.HashAlgorithmTags;
+import org.bouncycastle.bcpg.PublicKeyAlgorithmTags;
+import org.bouncycastle.bcpg.SymmetricKeyAlgorithmTags;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openpgp.PGPCompressedData;
+import org.bouncycastle.openpgp.PGPCompressedDataGenerator;
+import org.bouncycastle.openpgp.PGPEncryptedDataGenerator;
+import org.bouncycastle.openpgp.PGPEncryptedDataList;
+import org.bouncycastle.openpgp.PGPException;
+import org.bouncycastle.openpgp.PGPKeyPair;
+import org.bouncycastle.openpgp.PGPLiteralData;
+import org.bouncycastle.openpgp.PGPLiteralDataGenerator;
+import org.bouncycastle.openpgp.PGPPrivateKey;
+import org.bouncycastle.openpgp.PGPPublicKey;
+import org.bouncycastle.openpgp.PGPPublicKeyEncryptedData;
+import org.bouncycastle.openpgp.PGPSecretKey;
+import org.bouncycastle.openpgp.PGPSecretKeyRingCollection;
+import org.bouncycastle.openpgp.PGPSignature;
+import org.bouncycastle.openpgp.PGPUtil;
+import org.bouncycastle.openpgp.jcajce.JcaPGPObjectFactory;
+import org.bouncycastle.openpgp.operator.PGPDigestCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaKeyFingerprintCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPContentSignerBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPDigestCalculatorProviderBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPKeyPair;
+import org.bouncycastle.openpgp.operator.jcajce.JcePBESecretKeyDecryptorBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcePBESecretKeyEncryptorBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcePGPDataEncryptorBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcePublicKeyDataDecryptorFactoryBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcePublicKeyKeyEncryptionMethodGenerator;
+
+/**
+ * Par de llaves PGP RSA desechable para las pruebas de rendimiento. Las llaves
+ * se generan en memoria, se exportan en formato ASCII armor (el mismo que se
+ * guarda en el bucket de llaves) y permiten cifrar y descifrar en streaming con
+ * distintos algoritmos, compresión y tamaño de buffer.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class LlavesPgpPrueba {
+
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final PGPPublicKey llavePublica;
+
+    private final byte[] llavePublicaArmor;
+
+    private final byte[] llavePrivadaArmor;
+
+    private LlavesPgpPrueba(PGPPublicKey llavePublica, byte[] llavePublicaArmor, byte[] llavePrivadaArmor) {
+        this.llavePublica = llavePublica;
+        this.llavePublicaArmor = llavePublicaArmor;
+        this.llavePrivadaArmor = llavePrivadaArmor;
+    }
+
+    /**
+     * Genera un par de llaves RSA cuya llave privada queda protegida con la frase
+     * secreta.
+     *
+     * @param  fraseSecreta La frase secreta de la llave privada.
+     * @param  bitsRsa      El tamaño de la llave RSA en bits.
+     * @return              Las llaves generadas.
+     */
+    public static LlavesPgpPrueba generar(String fraseSecreta, int bitsRsa) {
+        Security.addProvider(new BouncyCastleProvider());
+        try {
+            KeyPairGenerator generador = KeyPairGenerator.getInstance("RSA", BouncyCastleProvider.PROVIDER_NAME);
+            generador.initialize(bitsRsa, new SecureRandom());
+            PGPKeyPair parLlaves = new JcaPGPKeyPair(PublicKeyAlgorithmTags.RSA_GENERAL, generador.generateKeyPair(),
+                    new Date());
+            PGPDigestCalculator sha1 = new JcaPGPDigestCalculatorProviderBuilder().build()
+                    .get(HashAlgorithmTags.SHA1);
+            PGPSecretKey llaveSecreta = new PGPSecretKey(PGPSignature.DEFAULT_CERTIFICATION, parLlaves,
+                    "benchmark <benchmark@localhost>", sha1, null, null,
+                    new JcaPGPContentSignerBuilder(PublicKeyAlgorithmTags.RSA_GENERAL, HashAlgorithmTags.SHA256),
+                    new JcePBESecretKeyEncryptorBuilder(SymmetricKeyAlgorithmTags.AES_256, sha1)
+                            .setProvider(BouncyCastleProvider.PROVIDER_NAME).build(fraseSecreta.toCharArray()));
+            ByteArrayOutputStream privada = new ByteArrayOutputStream();
+            try (ArmoredOutputStream armor = new ArmoredOutputStream(privada)) {
+                llaveSecreta.encode(armor);
+            }
+            ByteArrayOutputStream publica = new ByteArrayOutputStream();
+            try (ArmoredOutputStream armor = new ArmoredOutputStream(publica)) {
+                llaveSecreta.getPublicKey().encode(armor);
+            }
+            return new LlavesPgpPrueba(llaveSecreta.getPublicKey(), publica.toByteArray(), privada.toByteArray());
+        } catch (Exception e) {
+            throw new IllegalStateException("No fue posible generar las llaves PGP de prueba", e);
+        }
+    }
+
+    /**
+     * Cifra un flujo con la llave pública usando AES-256 con paquete de
+     * integridad y compresión ZIP, sin cargar el contenido en memoria.
+     *
+     * @param  claro       El contenido en claro.
+     * @param  cifrado     El flujo donde se escribe el mensaje PGP binario.
+     * @throws IOException Si ocurre un error de lectura, escritura o cifrado.
+     */
+    public void cifrar(InputStream claro, OutputStream cifrado) throws IOException {
+        cifrar(claro, cifrado, SymmetricKeyAlgorithmTags.AES_256, CompressionAlgorithmTags.ZIP, TAMANO_BUFFER);
+    }
+
+    /**
+     * Cifra un flujo con la llave pública y los parámetros indicados. Con
+     * {@link CompressionAlgorithmTags#UNCOMPRESSED} se omite el paquete de
+     * compresión.
+     *
+     * @param  claro              El contenido en claro.
+     * @param  cifrado            El flujo donde se escribe el mensaje PGP binario.
+     * @param  algoritmoSimetrico El algoritmo de {@link SymmetricKeyAlgorithmTags}.
+     * @param  compresion         El algoritmo de {@link CompressionAlgorithmTags}.
+     * @param  tamanoBuffer       El tamaño de los paquetes parciales, potencia de
+     *                            2.
+     * @throws IOException        Si ocurre un error de lectura, escritura o
+     *                            cifrado.
+     */
+    public void cifrar(InputStream claro, OutputStream cifrado, int algoritmoSimetrico, int compresion,
+            int tamanoBuffer) throws IOException {
+        PGPEncryptedDataGenerator generador = new PGPEncryptedDataGenerator(
+                new JcePGPDataEncryptorBuilder(algoritmoSimetrico).setWithIntegrityPacket(true)
+                        .setSecureRandom(new SecureRandom()).setProvider(BouncyCastleProvider.PROVIDER_NAME));
+        generador.addMethod(
+                new JcePublicKeyKeyEncryptionMethodGenerator(llavePublica).setProvider(BouncyCastleProvider.PROVIDER_NAME));
+        try (OutputStream encriptado = generador.open(cifrado, new byte[tamanoBuffer])) {
+            PGPCompressedDataGenerator compresor = new PGPCompressedDataGenerator(compresion);
+            OutputStream destino = compresion == CompressionAlgorithmTags.UNCOMPRESSED ? encriptado
+                    : compresor.open(encriptado);
+            PGPLiteralDataGenerator literal = new PGPLiteralDataGenerator();
+            try (OutputStream datos = literal.open(destino, PGPLiteralData.BINARY, PGPLiteralData.CONSOLE, new Date(),
+                    new byte[tamanoBuffer])) {
+                claro.transferTo(datos);
+            }
+            compresor.close();
+        } catch (PGPException e) {
+            throw new IOException("Error cifrando el archivo de prueba", e);
+        }
+    }
+
+    /**
+     * Descifra un mensaje PGP con una llave privada ya desbloqueada y escribe el
+     * contenido en claro, leyendo en bloques del tamaño indicado.
+     *
+     * @param  cifrado      El mensaje PGP.
+     * @param  llavePrivada La llave privada extraída.
+     * @param  claro        El flujo donde se escribe el contenido.
+     * @param  tamanoBuffer El tamaño del bloque de lectura.
+     * @return              El número de bytes en claro.
+     * @throws IOException  Si ocurre un error de lectura o descifrado.
+     */
+    public static long descifrar(InputStream cifrado, PGPPrivateKey llavePrivada, OutputStream claro,
+            int tamanoBuffer) throws IOException {
+        try {
+            JcaPGPObjectFactory fabrica = new JcaPGPObjectFactory(PGPUtil.getDecoderStream(cifrado));
+            Object objeto = fabrica.nextObject();
+            if (!(objeto instanceof PGPEncryptedDataList)) {
+                objeto = fabrica.nextObject();
+            }
+            PGPPublicKeyEncryptedData datos = (PGPPublicKeyEncryptedData) ((PGPEncryptedDataList) objeto).get(0);
+            fabrica = new JcaPGPObjectFactory(datos.getDataStream(new JcePublicKeyDataDecryptorFactoryBuilder()
+                    .setProvider(BouncyCastleProvider.PROVIDER_NAME).build(llavePrivada)));
+            objeto = fabrica.nextObject();
+            if (objeto instanceof PGPCompressedData) {
+                fabrica = new JcaPGPObjectFactory(((PGPCompressedData) objeto).getDataStream());
+                objeto = fabrica.nextObject();
+            }
+            InputStream literal = ((PGPLiteralData) objeto).getInputStream();
+            byte[] buffer = new byte[tamanoBuffer];
+            long total = 0;
+            int leidos;
+            while ((leidos = literal.read(buffer)) > 0) {
+                claro.write(buffer, 0, leidos);
+                total += leidos;
+            }
+            return total;
+        } catch (PGPException e) {
+            throw new IOException("Error descifrando el archivo de prueba", e);
+        }
+    }
+
+    /**
+     * Lee la colección de llaves privadas desde su representación ASCII armor.
+     *
+     * @param  armor       La llave privada exportada.
+     * @return             La colección de llaves.
+     * @throws IOException Si la llave no es válida.
+     */
+    public static PGPSecretKeyRingCollection leerLlavesPrivadas(byte[] armor) throws IOException {
+        try {
+            return new PGPSecretKeyRingCollection(PGPUtil.getDecoderStream(new ByteArrayInputStream(armor)),
+                    new JcaKeyFingerprintCalculator());
+        } catch (PGPException e) {
+            throw new IOException("Llave privada no valida", e);
+        }
+    }
+
+    /**
+     * Desbloquea la llave privada (S2K) con la frase secreta.
+     *
+     * @param  llaveSecreta La llave secreta cifrada.
+     * @param  fraseSecreta La frase secreta.
+     * @return              La llave privada.
+     * @throws PGPException Si la frase no corresponde.
+     */
+    public static PGPPrivateKey desbloquear(PGPSecretKey llaveSecreta, String fraseSecreta) throws PGPException {
+        return llaveSecreta.extractPrivateKey(new JcePBESecretKeyDecryptorBuilder()
+                .setProvider(BouncyCastleProvider.PROVIDER_NAME).build(fraseSecreta.toCharArray()));
+    }
+
+    /**
+     * Retorna la llave pública en formato ASCII armor.
+     *
+     * @return La llave pública.
+     */
+    public byte[] getLlavePublicaArmor() {
+        return llavePublicaArmor.clone();
+    }
+
+    /**
+     * Retorna la llave privada cifrada en formato ASCII armor.
+     *
+     * @return La llave privada.
+     */
+    public byte[] getLlavePrivadaArmor() {
+        return llavePrivadaArmor.clone();
+    }
+}
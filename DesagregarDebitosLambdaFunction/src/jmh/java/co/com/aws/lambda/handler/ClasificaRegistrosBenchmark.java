@@ -0,0 +1,234 @@
+package co.com.aws.lambda.handler;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import co.com.aws.lambda.benchmark.GeneradorArchivosDividendos;
+import co.com.aws.lambda.constants.Constantes;
+
+/**
+ * Microbenchmarks JMH del camino por registro de {@link ClasificaRegistros}:
+ * lectura de líneas, extracción de la factura, búsqueda de la primera
+ * ocurrencia, construcción del mensaje de duplicado y la clasificación completa
+ * de un archivo.
+ * <p>
+ * Cada invocación procesa las {@link #REGISTROS} líneas de un archivo
+ * sintético, por lo que los tiempos se reportan por registro. {@link #main}
+ * agrega el perfilador de GC, cuya métrica {@code gc.alloc.rate.norm} da los
+ * bytes asignados por registro.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=co.com.aws.lambda.handler.ClasificaRegistrosBenchmark
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g" })
+public class ClasificaRegistrosBenchmark {
+
+    /**
+     * Líneas de cada archivo sintético, incluido el encabezado.
+     */
+    static final int REGISTROS = 100_000;
+
+    private static final String NOMBRE_ARCHIVO = "5402ORDINARIO";
+
+    @Param({ "0.0", "0.05", "0.25", "0.5" })
+    double proporcionDuplicados;
+
+    private final ClasificaRegistros clasificaRegistros = new ClasificaRegistros();
+
+    private byte[] contenido;
+
+    private String[] lineas;
+
+    private String[] facturas;
+
+    private String[] llaves;
+
+    private String[] duplicadas;
+
+    private Map<String, String> primerasOcurrencias;
+
+    private PrintStream salidaOriginal;
+
+    /**
+     * Ejecuta los benchmarks de esta clase con el perfilador de GC, que agrega
+     * los bytes asignados por registro. Acepta las opciones de línea de comandos
+     * de JMH, por ejemplo {@code -p proporcionDuplicados=0.05}.
+     *
+     * @param  args                       Opciones de JMH.
+     * @throws RunnerException            Si falla la ejecución de JMH.
+     * @throws CommandLineOptionException Si las opciones no son válidas.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+                .include(ClasificaRegistrosBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build())
+                .run();
+    }
+
+    @Setup(Level.Trial)
+    public void generar() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(REGISTROS * 102);
+        new GeneradorArchivosDividendos(proporcionDuplicados, 0.0, 42L).generar(0, REGISTROS, salida);
+        contenido = salida.toByteArray();
+        lineas = new String(contenido).split("\n");
+        facturas = new String[lineas.length];
+        llaves = new String[lineas.length];
+        primerasOcurrencias = new HashMap<>();
+        List<String> repetidas = new ArrayList<>();
+        for (int i = 0; i < lineas.length; i++) {
+            facturas[i] = lineas[i].substring(1, 13);
+            llaves[i] = NOMBRE_ARCHIVO + "_" + i;
+            if (primerasOcurrencias.putIfAbsent(facturas[i], llaves[i]) != null) {
+                repetidas.add(lineas[i]);
+            }
+        }
+        duplicadas = repetidas.isEmpty() ? new String[] { lineas[1] } : repetidas.toArray(new String[0]);
+        // El LOGGER de la Lambda escribe en System.out en cada archivo; se descarta
+        // para no medir la consola.
+        salidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restaurarSalida() {
+        System.setOut(salidaOriginal);
+    }
+
+    /**
+     * Lectura de líneas con {@link BufferedReader}, igual que
+     * {@link ClasificaRegistros#createMapsUniqueAndDuplicate}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void leerLineas(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(contenido)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                blackhole.consume(line);
+            }
+        }
+    }
+
+    /**
+     * {@code trim} y extracción del número de factura de cada línea.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void extraerFactura(Blackhole blackhole) {
+        for (String linea : lineas) {
+            String line = linea.trim();
+            blackhole.consume(line.substring(1, 13));
+        }
+    }
+
+    /**
+     * Búsqueda en el mapa de primeras ocurrencias, con el mapa ya poblado.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void buscarPrimeraOcurrencia(Blackhole blackhole) {
+        for (String factura : facturas) {
+            blackhole.consume(primerasOcurrencias.containsKey(factura));
+        }
+    }
+
+    /**
+     * {@link ClasificaRegistros#processLine} sobre todas las líneas, con mapas
+     * nuevos en cada invocación.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public Map<String, Map<String, String>> processLine() {
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        clasificaRegistros.initializeMaps(typesMaps);
+        Map<String, String> firstOccurrence = new HashMap<>();
+        for (int i = 0; i < lineas.length; i++) {
+            clasificaRegistros.processLine(i > 0, facturas[i], llaves[i], lineas[i], firstOccurrence, typesMaps);
+        }
+        return typesMaps;
+    }
+
+    /**
+     * {@link ClasificaRegistros#processSubsequentLines} sobre las líneas de
+     * detalle; el costo de los duplicados crece con la proporción.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public Map<String, Map<String, String>> processSubsequentLines() {
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        clasificaRegistros.initializeMaps(typesMaps);
+        Map<String, String> firstOccurrence = new HashMap<>();
+        for (int i = 1; i < lineas.length; i++) {
+            clasificaRegistros.processSubsequentLines(facturas[i], llaves[i], lineas[i], firstOccurrence,
+                    typesMaps);
+        }
+        return typesMaps;
+    }
+
+    /**
+     * Construcción del mensaje de un registro duplicado.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void createOutText(Blackhole blackhole) {
+        for (int i = 0; i < REGISTROS; i++) {
+            blackhole.consume(clasificaRegistros.createOutText(llaves[i], duplicadas[i % duplicadas.length]));
+        }
+    }
+
+    /**
+     * Clasificación completa de un archivo en claro con
+     * {@link ClasificaRegistros#createMapsUniqueAndDuplicate}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public int clasificarArchivo(Blackhole blackhole) {
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        int registros = clasificaRegistros.createMapsUniqueAndDuplicate(NOMBRE_ARCHIVO,
+                new ByteArrayInputStream(contenido), typesMaps);
+        blackhole.consume(typesMaps.get(Constantes.ARCHIVO_FUSIONADO));
+        return registros;
+    }
+}
@@ -0,0 +1,127 @@
+package co.com.aws.lambda.indice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH de la deduplicación concurrente de un archivo: varios hilos
+ * registran la primera aparición de cada factura con el
+ * {@link IndicePrimeraAparicion} y con un {@link ConcurrentHashMap} de llaves
+ * {@code archivo_factura} y {@code merge(Math::min)}, la alternativa directa
+ * con las llaves de texto de la clasificación secuencial. Cada operación
+ * registra todos los registros en un índice nuevo y retorna la cantidad de
+ * facturas distintas.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=org.openjdk.jmh.Main \
+ *     -Dbenchmark.args="IndicePrimeraAparicionBenchmark -prof gc"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndicePrimeraAparicionBenchmark {
+
+    @Param({ "1000000" })
+    int registros;
+
+    /**
+     * Porcentaje de registros cuya factura ya apareció en el archivo.
+     */
+    @Param({ "20" })
+    int duplicados;
+
+    @Param({ "1", "4" })
+    int hilos;
+
+    private String[] lineas;
+
+    private ExecutorService pool;
+
+    @Setup
+    public void configurar() {
+        Random random = new Random(20261019L);
+        int facturas = registros * (100 - duplicados) / 100;
+        lineas = new String[registros];
+        for (int i = 0; i < registros; i++) {
+            lineas[i] = String.format("2%012d%s%012d", random.nextInt(facturas), " ".repeat(76), i);
+        }
+        pool = Executors.newFixedThreadPool(hilos);
+    }
+
+    @TearDown
+    public void terminar() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public long indice() throws Exception {
+        IndicePrimeraAparicion indice = new IndicePrimeraAparicion(hilos);
+        registrar(inicio -> {
+            for (int i = inicio; i < lineas.length; i += hilos) {
+                indice.registrar(0, lineas[i], i);
+            }
+        });
+        return indice.getCantidad();
+    }
+
+    @Benchmark
+    public long concurrentHashMap() throws Exception {
+        Map<String, Long> indice = new ConcurrentHashMap<>();
+        registrar(inicio -> {
+            for (int i = inicio; i < lineas.length; i += hilos) {
+                indice.merge("0_" + lineas[i].substring(1, 13), (long) i, Math::min);
+            }
+        });
+        return indice.size();
+    }
+
+    /**
+     * Reparte los registros entre los hilos y espera a que todos terminen.
+     */
+    private void registrar(Tarea tarea) throws Exception {
+        List<Callable<Void>> tareas = new ArrayList<>(hilos);
+        for (int hilo = 0; hilo < hilos; hilo++) {
+            int inicio = hilo;
+            tareas.add(() -> {
+                tarea.ejecutar(inicio);
+                return null;
+            });
+        }
+        for (Future<Void> futuro : pool.invokeAll(tareas)) {
+            futuro.get();
+        }
+    }
+
+    private interface Tarea {
+
+        void ejecutar(int inicio);
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks JMH del costo de la instrumentación habilitada (sin exportadores)
+ * y deshabilitada: abrir y cerrar un tramo anidado, incrementar un contador y
+ * registrar un valor en un histograma.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=org.openjdk.jmh.Main \
+ *     -Dbenchmark.args="InstrumentacionBenchmark -prof gc"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentacionBenchmark {
+
+    @Param({ "true", "false" })
+    boolean habilitada;
+
+    @Setup
+    public void configurar() {
+        Instrumentacion.habilitar(habilitada, List.of());
+        Instrumentacion.iniciarInvocacion();
+    }
+
+    @Benchmark
+    public long tramo() {
+        try (Tramo tramo = Instrumentacion.tramo("createMapsUniqueAndDuplicate", "5402ORDINARIO")) {
+            return tramo.getInicio();
+        }
+    }
+
+    @Benchmark
+    public void contador() {
+        Instrumentacion.contar(MetricasEjecucion.REGISTROS_PROCESADOS, 1);
+    }
+
+    @Benchmark
+    public void histograma() {
+        Instrumentacion.registrar("RegistrosPorArchivo", 1_000);
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.aws.lambda.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH de {@link EjecutorIo} con hilos virtuales y con el pool de
+ * plataforma sobre muchas operaciones pequeñas de almacenamiento: cada una
+ * espera la latencia de una llamada a S3 y escribe y lee un objeto pequeño en
+ * un {@link LocalObjectStore}.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=org.openjdk.jmh.Main \
+ *     -Dbenchmark.args="EjecutorIoBenchmark -p operaciones=1000"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EjecutorIoBenchmark {
+
+    @Param({ "VIRTUAL", "PLATAFORMA" })
+    EjecutorIo.Modo modo;
+
+    @Param({ "100", "1000" })
+    int operaciones;
+
+    /**
+     * Latencia simulada de cada llamada, en microsegundos.
+     */
+    @Param({ "2000" })
+    long latenciaMicros;
+
+    @Param({ "16" })
+    int hilos;
+
+    private EjecutorIo ejecutorIo;
+
+    private LocalObjectStore objectStore;
+
+    private List<Callable<Integer>> tareas;
+
+    @Setup
+    public void configurar() throws IOException {
+        ejecutorIo = new EjecutorIo(modo, hilos);
+        objectStore = new LocalObjectStore(Files.createTempDirectory("ejecutor-io"));
+        byte[] contenido = new byte[256];
+        long latenciaNanos = TimeUnit.MICROSECONDS.toNanos(latenciaMicros);
+        tareas = new ArrayList<>(operaciones);
+        for (int i = 0; i < operaciones; i++) {
+            String llave = String.format("objetos/%05d", i);
+            tareas.add(() -> {
+                LockSupport.parkNanos(latenciaNanos);
+                objectStore.put("benchmark", llave, contenido, "application/octet-stream");
+                try (InputStream objeto = objectStore.get("benchmark", llave)) {
+                    return objeto.readAllBytes().length;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public List<Integer> operaciones() {
+        return ejecutorIo.todos(tareas);
+    }
+}
@@ -0,0 +1,101 @@
+package co.com.aws.lambda.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH de la lectura de la factura y el importe de un lote de
+ * registros con {@link CampoNumerico}: SWAR y escalar sobre los bytes y sobre
+ * el texto del registro, y {@code Long.parseLong} sobre la subcadena del campo.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbenchmark.main=org.openjdk.jmh.Main \
+ *     -Dbenchmark.args="CampoNumericoBenchmark"
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampoNumericoBenchmark {
+
+    private static final int REGISTROS = 1024;
+
+    private String[] textos;
+
+    private byte[][] bytes;
+
+    @Setup
+    public void configurar() {
+        Random random = new Random(20261019L);
+        textos = new String[REGISTROS];
+        bytes = new byte[REGISTROS][];
+        for (int i = 0; i < REGISTROS; i++) {
+            textos[i] = String.format("2%012d%s%012d", (long) (random.nextDouble() * 1e12), " ".repeat(76),
+                    random.nextInt(1_000_000_000));
+            bytes[i] = textos[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Benchmark
+    public long swarBytes() {
+        long suma = 0;
+        for (byte[] registro : bytes) {
+            suma += CampoNumerico.leer(registro, 1, 13) + CampoNumerico.leer(registro, 89, 101);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public long escalarBytes() {
+        long suma = 0;
+        for (byte[] registro : bytes) {
+            suma += CampoNumerico.leerEscalar(registro, 1, 13) + CampoNumerico.leerEscalar(registro, 89, 101);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public long swarTexto() {
+        long suma = 0;
+        for (String registro : textos) {
+            suma += CampoNumerico.leer(registro, 1, 13) + CampoNumerico.leer(registro, 89, 101);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public long escalarTexto() {
+        long suma = 0;
+        for (String registro : textos) {
+            suma += CampoNumerico.leerEscalar(registro, 1, 13) + CampoNumerico.leerEscalar(registro, 89, 101);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public long parseLong() {
+        long suma = 0;
+        for (String registro : textos) {
+            suma += Long.parseLong(registro.substring(1, 13)) + Long.parseLong(registro.substring(89, 101));
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,165 @@
+package co.com.aws.lambda.bootstrap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.lambda.runtime.events.models.s3.S3EventNotification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.handler.BillpayLambdaHandler;
+
+/**
+ * Runtime personalizado de la Lambda para el ejecutable nativo (perfil
+ * {@code native}): consulta la Runtime API de Lambda, convierte cada evento en
+ * un {@link S3Event}, lo procesa con {@link BillpayLambdaHandler} y publica la
+ * respuesta o el error de la invocación.
+ * <p>
+ * El evento se lee como árbol JSON y los modelos se construyen con sus
+ * constructores, sin reflexión, para que el ejecutable nativo no dependa de la
+ * configuración de reflexión de los eventos. Los errores del handler se
+ * reportan como error de la invocación y el ciclo continúa; los errores de la
+ * Runtime API terminan el proceso para que Lambda reinicie el entorno.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class Bootstrap {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * Propiedad del sistema con el encabezado de traza de X-Ray de la
+     * invocación, como en el runtime administrado de Java.
+     */
+    static final String PROPIEDAD_TRAZA = "com.amazonaws.xray.traceHeader";
+
+    private final ClienteApiRuntime cliente;
+
+    private final BillpayLambdaHandler handler;
+
+    /**
+     * Constructor del runtime.
+     *
+     * @param cliente El cliente de la Runtime API.
+     * @param handler El handler que procesa los eventos.
+     */
+    public Bootstrap(ClienteApiRuntime cliente, BillpayLambdaHandler handler) {
+        this.cliente = cliente;
+        this.handler = handler;
+    }
+
+    /**
+     * Punto de entrada del ejecutable nativo.
+     *
+     * @param args No se usan.
+     */
+    public static void main(String[] args) {
+        ClienteApiRuntime cliente = new ClienteApiRuntime(System.getenv("AWS_LAMBDA_RUNTIME_API"));
+        BillpayLambdaHandler handler;
+        try {
+            handler = new BillpayLambdaHandler();
+        } catch (RuntimeException | Error e) {
+            LOGGER.log("[ERROR] Error inicializando el handler: " + e.getMessage() + "\n");
+            cliente.reportarErrorInicio(e);
+            System.exit(1);
+            return;
+        }
+        new Bootstrap(cliente, handler).ejecutar();
+    }
+
+    /**
+     * Atiende invocaciones hasta que la Runtime API falle.
+     *
+     * @throws AthException Si la comunicación con la Runtime API falla.
+     */
+    public void ejecutar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            procesarSiguiente();
+        }
+    }
+
+    /**
+     * Atiende la siguiente invocación.
+     *
+     * @return              {@code true} si el handler terminó sin error.
+     * @throws AthException Si la comunicación con la Runtime API falla.
+     */
+    public boolean procesarSiguiente() {
+        Invocacion invocacion = cliente.siguiente();
+        if (invocacion.getIdTraza() != null) {
+            System.setProperty(PROPIEDAD_TRAZA, invocacion.getIdTraza());
+        } else {
+            System.clearProperty(PROPIEDAD_TRAZA);
+        }
+        try {
+            handler.handleRequest(leerEvento(invocacion.getEvento()), new ContextoInvocacion(invocacion));
+        } catch (RuntimeException e) {
+            LOGGER.log("[ERROR] Invocación " + invocacion.getIdSolicitud() + " fallida: " + e.getMessage() + "\n");
+            cliente.reportarError(invocacion.getIdSolicitud(), e);
+            return false;
+        } catch (Error e) {
+            cliente.reportarError(invocacion.getIdSolicitud(), e);
+            throw e;
+        }
+        cliente.responder(invocacion.getIdSolicitud(), "null");
+        return true;
+    }
+
+    /**
+     * Convierte una notificación de eventos de S3 en JSON en un
+     * {@link S3Event}.
+     *
+     * @param  json         El evento en JSON.
+     * @return              El evento.
+     * @throws AthException Si el evento no es un JSON válido.
+     */
+    static S3Event leerEvento(String json) {
+        JsonNode evento;
+        try {
+            evento = JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new AthException("[ERROR][15.1]", "[ERROR] El evento no es un JSON válido: " + e.getMessage(), e);
+        }
+        List<S3EventNotification.S3EventNotificationRecord> registros = new ArrayList<>();
+        for (JsonNode registro : evento.path("Records")) {
+            JsonNode s3 = registro.path("s3");
+            JsonNode bucket = s3.path("bucket");
+            JsonNode objeto = s3.path("object");
+            S3EventNotification.S3BucketEntity entidadBucket = new S3EventNotification.S3BucketEntity(
+                    texto(bucket, "name"), identidad(bucket.path("ownerIdentity")), texto(bucket, "arn"));
+            S3EventNotification.S3ObjectEntity entidadObjeto = new S3EventNotification.S3ObjectEntity(
+                    texto(objeto, "key"), objeto.has("size") ? objeto.get("size").asLong() : null,
+                    texto(objeto, "eTag"), texto(objeto, "versionId"), texto(objeto, "sequencer"));
+            JsonNode respuesta = registro.path("responseElements");
+            registros.add(new S3EventNotification.S3EventNotificationRecord(texto(registro, "awsRegion"),
+                    texto(registro, "eventName"), texto(registro, "eventSource"), texto(registro, "eventTime"),
+                    texto(registro, "eventVersion"),
+                    new S3EventNotification.RequestParametersEntity(
+                            texto(registro.path("requestParameters"), "sourceIPAddress")),
+                    new S3EventNotification.ResponseElementsEntity(texto(respuesta, "x-amz-id-2"),
+                            texto(respuesta, "x-amz-request-id")),
+                    new S3EventNotification.S3Entity(texto(s3, "configurationId"), entidadBucket, entidadObjeto,
+                            texto(s3, "s3SchemaVersion")),
+                    identidad(registro.path("userIdentity"))));
+        }
+        return new S3Event(registros);
+    }
+
+    private static S3EventNotification.UserIdentityEntity identidad(JsonNode nodo) {
+        return new S3EventNotification.UserIdentityEntity(texto(nodo, "principalId"));
+    }
+
+    private static String texto(JsonNode nodo, String campo) {
+        JsonNode valor = nodo.get(campo);
+        return valor != null && !valor.isNull() ? valor.asText() : null;
+    }
+}
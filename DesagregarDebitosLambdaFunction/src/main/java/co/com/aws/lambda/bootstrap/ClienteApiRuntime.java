@@ -0,0 +1,140 @@
+package co.com.aws.lambda.bootstrap;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import co.com.ath.aws.exception.AthException;
+
+/**
+ * Cliente HTTP de la Runtime API de Lambda (versión {@code 2018-06-01}):
+ * solicita la siguiente invocación y publica su respuesta o su error, o el
+ * error de inicialización del runtime.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ClienteApiRuntime {
+
+    static final String ENCABEZADO_ID_SOLICITUD = "Lambda-Runtime-Aws-Request-Id";
+
+    static final String ENCABEZADO_VENCIMIENTO = "Lambda-Runtime-Deadline-Ms";
+
+    static final String ENCABEZADO_ARN = "Lambda-Runtime-Invoked-Function-Arn";
+
+    static final String ENCABEZADO_TRAZA = "Lambda-Runtime-Trace-Id";
+
+    static final String ENCABEZADO_TIPO_ERROR = "Lambda-Runtime-Function-Error-Type";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+
+    private final String base;
+
+    /**
+     * Constructor del cliente.
+     *
+     * @param direccion El host y puerto de la Runtime API, el valor de la
+     *                  variable de entorno {@code AWS_LAMBDA_RUNTIME_API}.
+     */
+    public ClienteApiRuntime(String direccion) {
+        this.http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.base = "http://" + direccion + "/2018-06-01/runtime/";
+    }
+
+    /**
+     * Espera y retorna la siguiente invocación.
+     *
+     * @return              La invocación.
+     * @throws AthException Si la Runtime API no responde o responde con error.
+     */
+    public Invocacion siguiente() {
+        HttpResponse<String> respuesta = enviar(HttpRequest.newBuilder(URI.create(base + "invocation/next")).GET()
+                .build());
+        String vencimiento = respuesta.headers().firstValue(ENCABEZADO_VENCIMIENTO).orElse("0");
+        return new Invocacion(respuesta.headers().firstValue(ENCABEZADO_ID_SOLICITUD).orElseThrow(
+                () -> new AthException("[ERROR][15]", "[ERROR] La Runtime API no informó el id de la solicitud")),
+                Long.parseLong(vencimiento), respuesta.headers().firstValue(ENCABEZADO_ARN).orElse(null),
+                respuesta.headers().firstValue(ENCABEZADO_TRAZA).orElse(null), respuesta.body());
+    }
+
+    /**
+     * Publica la respuesta de una invocación.
+     *
+     * @param idSolicitud El identificador de la solicitud.
+     * @param cuerpo      La respuesta en JSON.
+     */
+    public void responder(String idSolicitud, String cuerpo) {
+        enviar(HttpRequest.newBuilder(URI.create(base + "invocation/" + idSolicitud + "/response"))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo, StandardCharsets.UTF_8)).build());
+    }
+
+    /**
+     * Publica el error de una invocación.
+     *
+     * @param idSolicitud El identificador de la solicitud.
+     * @param error       El error del handler.
+     */
+    public void reportarError(String idSolicitud, Throwable error) {
+        enviar(solicitudError("invocation/" + idSolicitud + "/error", error));
+    }
+
+    /**
+     * Publica un error de inicialización; Lambda descarta el entorno de
+     * ejecución.
+     *
+     * @param error El error de inicialización.
+     */
+    public void reportarErrorInicio(Throwable error) {
+        enviar(solicitudError("init/error", error));
+    }
+
+    /**
+     * Construye el cuerpo de error que espera la Runtime API.
+     *
+     * @param  error El error.
+     * @return       El error en JSON.
+     */
+    static String cuerpoError(Throwable error) {
+        ObjectNode cuerpo = JSON.createObjectNode();
+        cuerpo.put("errorMessage", error.getMessage());
+        cuerpo.put("errorType", error.getClass().getName());
+        ArrayNode traza = cuerpo.putArray("stackTrace");
+        for (StackTraceElement elemento : error.getStackTrace()) {
+            traza.add(elemento.toString());
+        }
+        return cuerpo.toString();
+    }
+
+    private HttpRequest solicitudError(String ruta, Throwable error) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .header(ENCABEZADO_TIPO_ERROR, error.getClass().getSimpleName())
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpoError(error), StandardCharsets.UTF_8)).build();
+    }
+
+    private HttpResponse<String> enviar(HttpRequest solicitud) {
+        try {
+            HttpResponse<String> respuesta = http.send(solicitud,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (respuesta.statusCode() / 100 != 2) {
+                throw new AthException("[ERROR][15]", "[ERROR] La Runtime API respondió " + respuesta.statusCode()
+                        + " a " + solicitud.uri().getPath() + ": " + respuesta.body());
+            }
+            return respuesta;
+        } catch (IOException e) {
+            throw new AthException("[ERROR][15]", "[ERROR] Error comunicándose con la Runtime API: " + e.getMessage(),
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AthException("[ERROR][15]", "[ERROR] Comunicación con la Runtime API interrumpida", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package co.com.aws.lambda.bootstrap;
+
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+/**
+ * {@link Context} de una invocación atendida por el {@link Bootstrap}: el
+ * tiempo restante se calcula con el vencimiento que informa la Runtime API y
+ * los datos de la función se leen de las variables de entorno de Lambda.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ContextoInvocacion implements Context {
+
+    private final Invocacion invocacion;
+
+    private final LongSupplier reloj;
+
+    /**
+     * Constructor del contexto sobre el reloj del sistema.
+     *
+     * @param invocacion La invocación en curso.
+     */
+    public ContextoInvocacion(Invocacion invocacion) {
+        this(invocacion, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor del contexto con un reloj en milisegundos desde la época, para
+     * pruebas.
+     *
+     * @param invocacion La invocación en curso.
+     * @param reloj      El reloj.
+     */
+    ContextoInvocacion(Invocacion invocacion, LongSupplier reloj) {
+        this.invocacion = invocacion;
+        this.reloj = reloj;
+    }
+
+    @Override
+    public String getAwsRequestId() {
+        return invocacion.getIdSolicitud();
+    }
+
+    @Override
+    public String getLogGroupName() {
+        return System.getenv("AWS_LAMBDA_LOG_GROUP_NAME");
+    }
+
+    @Override
+    public String getLogStreamName() {
+        return System.getenv("AWS_LAMBDA_LOG_STREAM_NAME");
+    }
+
+    @Override
+    public String getFunctionName() {
+        return System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+    }
+
+    @Override
+    public String getFunctionVersion() {
+        return System.getenv("AWS_LAMBDA_FUNCTION_VERSION");
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+        return invocacion.getArnFuncion();
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+        return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+        return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+        long restante = invocacion.getVencimientoMs() - reloj.getAsLong();
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, restante));
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+        String memoria = System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE");
+        return memoria != null ? Integer.parseInt(memoria) : 0;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+        return LambdaRuntime.getLogger();
+    }
+}
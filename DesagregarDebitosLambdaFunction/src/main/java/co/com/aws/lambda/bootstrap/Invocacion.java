@@ -0,0 +1,60 @@
+package co.com.aws.lambda.bootstrap;
+
+/**
+ * Invocación recibida de la Runtime API de Lambda: los encabezados de la
+ * respuesta de {@code invocation/next} y el evento en JSON.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class Invocacion {
+
+    private final String idSolicitud;
+
+    private final long vencimientoMs;
+
+    private final String arnFuncion;
+
+    private final String idTraza;
+
+    private final String evento;
+
+    /**
+     * Constructor de la invocación.
+     *
+     * @param idSolicitud   El identificador de la solicitud
+     *                      ({@code Lambda-Runtime-Aws-Request-Id}).
+     * @param vencimientoMs El instante de vencimiento en milisegundos desde la
+     *                      época ({@code Lambda-Runtime-Deadline-Ms}).
+     * @param arnFuncion    El ARN de la función invocada.
+     * @param idTraza       El encabezado de traza de X-Ray, o {@code null}.
+     * @param evento        El evento en JSON.
+     */
+    public Invocacion(String idSolicitud, long vencimientoMs, String arnFuncion, String idTraza, String evento) {
+        this.idSolicitud = idSolicitud;
+        this.vencimientoMs = vencimientoMs;
+        this.arnFuncion = arnFuncion;
+        this.idTraza = idTraza;
+        this.evento = evento;
+    }
+
+    public String getIdSolicitud() {
+        return idSolicitud;
+    }
+
+    public long getVencimientoMs() {
+        return vencimientoMs;
+    }
+
+    public String getArnFuncion() {
+        return arnFuncion;
+    }
+
+    public String getIdTraza() {
+        return idTraza;
+    }
+
+    public String getEvento() {
+        return evento;
+    }
+}
@@ -36,8 +36,8 @@ public class Constantes {
 	public static final String QUERY_REGISTRAR_AUDITORIA = " INSERT INTO " + AthConstants.BD_BILLPAY + "."
 			+ AUDITORIA_DIVIDENDOS
 			+ " (nombre_archivo1,nombre_archivo2,hora_inicio,hora_fin,total_registros_archivo1,total_registros_archivo2,"
-			+ " total_registros_duplicados,total_registros_fusionados,archivos_cargados) "
-			+ " VALUES (?,?,?,?,?,?,?,?,?)";
+			+ " total_registros_duplicados,total_registros_fusionados,archivos_cargados,detalle_ejecucion) "
+			+ " VALUES (?,?,?,?,?,?,?,?,?,?)";
 
 	/**
 	 * Identificador para el archivo fusionado.
@@ -49,6 +49,12 @@ public class Constantes {
 	 */
 	public static final String ARCHIVO_DIVIDENDOS = "DIVIDENDOS";
 
+	/**
+	 * Identificador para el archivo de los registros en cuarentena, que no
+	 * cumplen el diseño de registro.
+	 */
+	public static final String ARCHIVO_CUARENTENA = "CUARENTENA";
+
 	/**
 	 * Nombre del bucket de llaves de PGP utilizado en el proyecto. Su valor puede
 	 * ser sobrescrito mediante la variable de entorno BUCKET_LLAVES.
@@ -118,4 +124,164 @@ public class Constantes {
 	public static final String RUTA_LLAVE_PUBLICAPGP = (System.getenv("RUTA_LLAVE_PUBLICA_PGP") != null)
 			? System.getenv("RUTA_LLAVE_PUBLICA_PGP")
 			: "ruta_llave_publica";
+
+	/**
+	 * Segundos que se conservan en caché la frase secreta y la llave privada PGP,
+	 * puede ser sobrescrito mediante la variable de entorno TTL_CACHE_SEGUNDOS.
+	 */
+	public static final long TTL_CACHE_SEGUNDOS = (System.getenv("TTL_CACHE_SEGUNDOS") != null)
+			? Long.parseLong(System.getenv("TTL_CACHE_SEGUNDOS"))
+			: 900L;
+
+	/**
+	 * Indica si cada invocación graba un archivo de JDK Flight Recorder y lo
+	 * publica en la ruta de diagnósticos, puede ser sobrescrito mediante la
+	 * variable de entorno GRABACION_JFR.
+	 */
+	public static final boolean GRABACION_JFR = Boolean.parseBoolean(System.getenv("GRABACION_JFR"));
+
+	/**
+	 * Ruta del bucket de salida donde se publican las grabaciones de JDK Flight
+	 * Recorder, puede ser sobrescrito mediante la variable de entorno
+	 * RUTA_DIAGNOSTICOS.
+	 */
+	public static final String RUTA_DIAGNOSTICOS = (System.getenv("RUTA_DIAGNOSTICOS") != null)
+			? System.getenv("RUTA_DIAGNOSTICOS")
+			: "DividendosAval/DiagnosticosDividendosAval/";
+
+	/**
+	 * Memoria asignada a la función en MB, tomada de la variable de entorno
+	 * AWS_LAMBDA_FUNCTION_MEMORY_SIZE que define el runtime de Lambda.
+	 */
+	public static final int MEMORIA_FUNCION_MB = (System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE") != null)
+			? Integer.parseInt(System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE"))
+			: 512;
+
+	/**
+	 * Estrategia de memoria del proceso: auto, memoria, disco o externa. Con
+	 * auto el gobernador de memoria la elige según el tamaño de los archivos;
+	 * puede ser sobrescrita mediante la variable de entorno ESTRATEGIA_MEMORIA.
+	 */
+	public static final String ESTRATEGIA_MEMORIA = (System.getenv("ESTRATEGIA_MEMORIA") != null)
+			? System.getenv("ESTRATEGIA_MEMORIA")
+			: "auto";
+
+	/**
+	 * Relación entre el tamaño del archivo descifrado y el del archivo PGP
+	 * comprimido, usada para estimar los registros de la entrada; puede ser
+	 * sobrescrita mediante la variable de entorno FACTOR_EXPANSION_PGP.
+	 */
+	public static final double FACTOR_EXPANSION_PGP = (System.getenv("FACTOR_EXPANSION_PGP") != null)
+			? Double.parseDouble(System.getenv("FACTOR_EXPANSION_PGP"))
+			: 3.0;
+
+	/**
+	 * Milisegundos antes del vencimiento de la invocación en los que el proceso
+	 * se detiene y guarda su punto de control, puede ser sobrescrito mediante la
+	 * variable de entorno MARGEN_PLAZO_MS.
+	 */
+	public static final long MARGEN_PLAZO_MS = (System.getenv("MARGEN_PLAZO_MS") != null)
+			? Long.parseLong(System.getenv("MARGEN_PLAZO_MS"))
+			: 10_000L;
+
+	/**
+	 * Reintentos de una invocación asíncrona fallida, configurados en
+	 * EventInvokeConfig de template.yaml; cada reintento continúa desde el punto
+	 * de control.
+	 */
+	public static final int REINTENTOS_ASINCRONOS = 2;
+
+	/**
+	 * Ruta del bucket de salida donde se publican los puntos de control de las
+	 * ejecuciones interrumpidas por el plazo, puede ser sobrescrita mediante la
+	 * variable de entorno RUTA_PUNTOS_CONTROL.
+	 */
+	public static final String RUTA_PUNTOS_CONTROL = (System.getenv("RUTA_PUNTOS_CONTROL") != null)
+			? System.getenv("RUTA_PUNTOS_CONTROL")
+			: "DividendosAval/PuntosControlDividendosAval/";
+
+	/**
+	 * Cantidad de trabajadores de la clasificación fragmentada; con uno los
+	 * archivos se clasifican de forma secuencial. Puede ser sobrescrita mediante
+	 * la variable de entorno TRABAJADORES_FRAGMENTACION.
+	 */
+	public static final int TRABAJADORES_FRAGMENTACION = (System.getenv("TRABAJADORES_FRAGMENTACION") != null)
+			? Integer.parseInt(System.getenv("TRABAJADORES_FRAGMENTACION"))
+			: 1;
+
+	/**
+	 * Modo de ejecución de las operaciones de almacenamiento que se hacen en
+	 * paralelo: virtual, plataforma o secuencial. Puede ser sobrescrito mediante
+	 * la variable de entorno MODO_IO.
+	 */
+	public static final String MODO_IO = (System.getenv("MODO_IO") != null)
+			? System.getenv("MODO_IO")
+			: "virtual";
+
+	/**
+	 * Hilos del pool de plataforma para las operaciones de almacenamiento. Puede
+	 * ser sobrescrito mediante la variable de entorno HILOS_IO.
+	 */
+	public static final int HILOS_IO = (System.getenv("HILOS_IO") != null)
+			? Integer.parseInt(System.getenv("HILOS_IO"))
+			: 16;
+
+	/**
+	 * Indica si junto al archivo fusionado se publica su índice de facturas
+	 * cifrado ({@code .idx.pgp}). Está deshabilitado por defecto porque los
+	 * desplazamientos del índice se refieren al texto descifrado y solo sirven
+	 * con una copia descifrada del archivo que se pueda leer por rangos. Puede
+	 * ser sobrescrito mediante la variable de entorno INDICE_FACTURAS.
+	 */
+	public static final boolean INDICE_FACTURAS = Boolean.parseBoolean(System.getenv("INDICE_FACTURAS"));
+
+	/**
+	 * Indica si la clasificación consulta el histórico de facturas de las
+	 * ejecuciones anteriores y publica en él las facturas del archivo fusionado.
+	 * Puede ser sobrescrito mediante la variable de entorno HISTORICO_FACTURAS.
+	 */
+	public static final boolean HISTORICO_FACTURAS = Boolean.parseBoolean(System.getenv("HISTORICO_FACTURAS"));
+
+	/**
+	 * Ruta del bucket de salida donde se publican los segmentos del histórico de
+	 * facturas, puede ser sobrescrita mediante la variable de entorno
+	 * RUTA_HISTORICO_FACTURAS.
+	 */
+	public static final String RUTA_HISTORICO_FACTURAS = (System.getenv("RUTA_HISTORICO_FACTURAS") != null)
+			? System.getenv("RUTA_HISTORICO_FACTURAS")
+			: "DividendosAval/HistoricoFacturasDividendosAval/";
+
+	/**
+	 * Indica si los archivos de entrada llegan ordenados por número de factura,
+	 * lo que permite detectar los duplicados comparando cada registro con el
+	 * anterior. Puede ser sobrescrito mediante la variable de entorno
+	 * ENTRADAS_ORDENADAS.
+	 */
+	public static final boolean ENTRADAS_ORDENADAS = Boolean.parseBoolean(System.getenv("ENTRADAS_ORDENADAS"));
+
+	/**
+	 * Indica si los registros se validan contra el diseño de registro y los que
+	 * no lo cumplen se envían al archivo de cuarentena. Puede ser sobrescrito
+	 * mediante la variable de entorno VALIDACION_REGISTROS.
+	 */
+	public static final boolean VALIDACION_REGISTROS = (System.getenv("VALIDACION_REGISTROS") == null)
+			|| Boolean.parseBoolean(System.getenv("VALIDACION_REGISTROS"));
+
+	/**
+	 * Pares (factura, línea) que la clasificación con ordenamiento externo
+	 * ordena en memoria antes de escribir una corrida en el directorio temporal.
+	 * Puede ser sobrescrita mediante la variable de entorno REGISTROS_POR_CORRIDA.
+	 */
+	public static final int REGISTROS_POR_CORRIDA = (System.getenv("REGISTROS_POR_CORRIDA") != null)
+			? Integer.parseInt(System.getenv("REGISTROS_POR_CORRIDA"))
+			: 200_000;
+
+	/**
+	 * Bloques de 64 KB entre el hilo que descifra un archivo y el que lo
+	 * clasifica; cero descifra en el mismo hilo de la clasificación. Puede ser
+	 * sobrescrito mediante la variable de entorno BLOQUES_DESCIFRADO.
+	 */
+	public static final int BLOQUES_DESCIFRADO = (System.getenv("BLOQUES_DESCIFRADO") != null)
+			? Integer.parseInt(System.getenv("BLOQUES_DESCIFRADO"))
+			: 8;
 }
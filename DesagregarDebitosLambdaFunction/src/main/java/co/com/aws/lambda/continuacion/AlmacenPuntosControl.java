@@ -0,0 +1,265 @@
+package co.com.aws.lambda.continuacion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.storage.ObjectStore;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Almacén de los puntos de control. El punto de control y sus segmentos de
+ * registros se guardan comprimidos y cifrados en el directorio temporal, que
+ * sobrevive entre invocaciones del mismo entorno de ejecución, y se publican en
+ * la ruta de puntos de control del bucket de salida para que un entorno nuevo
+ * también pueda continuar. Ningún contenido se escribe en claro.
+ * <p>
+ * Cada guardado publica primero un segmento con los registros clasificados
+ * desde el guardado anterior y después el punto de control que lo cuenta; si
+ * falla entre ambos, el punto de control publicado sigue siendo consistente.
+ * Al cargar se prefiere la copia local; un punto de control de otros archivos
+ * de entrada se ignora.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class AlmacenPuntosControl {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    public static final String NOMBRE_ARCHIVO = "DesagregarDebitos.ckpt";
+
+    private final ObjectStore objectStore;
+
+    private final ConfiguracionDto configuracion;
+
+    private final CifradoPuntosControl cifrado;
+
+    private final Path directorio;
+
+    /**
+     * Constructor del almacén sobre el directorio temporal del sistema.
+     *
+     * @param objectStore   El almacenamiento de objetos donde se publica el punto
+     *                      de control.
+     * @param configuracion La configuración con el bucket de salida y la ruta de
+     *                      puntos de control.
+     * @param cifrado       El cifrado del punto de control.
+     */
+    public AlmacenPuntosControl(ObjectStore objectStore, ConfiguracionDto configuracion,
+            CifradoPuntosControl cifrado) {
+        this(objectStore, configuracion, cifrado, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Constructor del almacén sobre un directorio local indicado.
+     *
+     * @param objectStore   El almacenamiento de objetos donde se publica el punto
+     *                      de control.
+     * @param configuracion La configuración del proceso.
+     * @param cifrado       El cifrado del punto de control.
+     * @param directorio    El directorio local de los puntos de control.
+     */
+    public AlmacenPuntosControl(ObjectStore objectStore, ConfiguracionDto configuracion,
+            CifradoPuntosControl cifrado, Path directorio) {
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        this.cifrado = cifrado;
+        this.directorio = directorio;
+    }
+
+    /**
+     * Carga el punto de control de los archivos de entrada y restaura los
+     * registros de sus segmentos en los mapas indicados.
+     *
+     * @param  archivosBucket Los archivos de entrada.
+     * @param  typesMaps      Los mapas donde se restauran los registros.
+     * @return                El punto de control restaurado, o uno nuevo si no
+     *                        hay un punto de control de estos archivos.
+     */
+    public PuntoControl cargar(List<S3Object> archivosBucket, Map<String, Map<String, String>> typesMaps) {
+        String huella = PuntoControl.huella(archivosBucket);
+        PuntoControl puntoControl = null;
+        try {
+            puntoControl = leerPuntoControl(leer(NOMBRE_ARCHIVO, true), huella);
+            if (puntoControl == null) {
+                puntoControl = leerPuntoControl(leer(NOMBRE_ARCHIVO, false), huella);
+            }
+            if (puntoControl != null) {
+                restaurar(puntoControl, typesMaps);
+            }
+        } catch (NoSuchKeyException e) {
+            typesMaps.values().forEach(Map::clear);
+            puntoControl = null;
+        } catch (IOException e) {
+            LOGGER.log("[WARN] Se descarta el punto de control por un error de lectura: " + e.getMessage() + "\n");
+            typesMaps.values().forEach(Map::clear);
+            puntoControl = null;
+        }
+        if (puntoControl == null) {
+            return new PuntoControl(huella, System.currentTimeMillis());
+        }
+        LOGGER.log("[INFO] Continúa desde el punto de control: " + puntoControl + "\n");
+        return puntoControl;
+    }
+
+    /**
+     * Guarda en el directorio local y publica en el bucket de salida un segmento
+     * con los registros clasificados desde el guardado anterior y, después, el
+     * punto de control.
+     *
+     * @param  puntoControl El punto de control.
+     * @param  typesMaps    Los mapas de registros clasificados.
+     * @throws AthException Si no se puede guardar el punto de control.
+     */
+    public void guardar(PuntoControl puntoControl, Map<String, Map<String, String>> typesMaps) {
+        try {
+            String segmento = NOMBRE_ARCHIVO + "." + puntoControl.getSegmentos();
+            publicar(segmento, comprimir(salida -> puntoControl.escribirSegmento(salida, typesMaps)));
+            publicar(NOMBRE_ARCHIVO, comprimir(puntoControl::escribir));
+            LOGGER.log("[WARN] Punto de control guardado en [" + llave() + "]: " + puntoControl + "\n");
+        } catch (IOException e) {
+            throw new AthException("[ERROR][12.1]", "[ERROR] Error al guardar el punto de control: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Elimina el punto de control y sus segmentos, locales y publicados, al
+     * terminar la ejecución.
+     */
+    public void eliminar() {
+        try (DirectoryStream<Path> locales = Files.newDirectoryStream(directorio, NOMBRE_ARCHIVO + "*")) {
+            for (Path local : locales) {
+                Files.deleteIfExists(local);
+            }
+            for (S3Object publicado : objectStore.list(configuracion.getNombreBucketArchivosSalida(), llave())) {
+                objectStore.delete(configuracion.getNombreBucketArchivosSalida(), publicado.key());
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log("[WARN] No se pudo eliminar el punto de control: " + e.getMessage() + "\n");
+        }
+    }
+
+    /**
+     * Retorna la llave del punto de control en el bucket de salida.
+     *
+     * @return La ruta de puntos de control seguida del nombre del archivo.
+     */
+    public String llave() {
+        return configuracion.getRutaPuntosControl() + NOMBRE_ARCHIVO;
+    }
+
+    private void restaurar(PuntoControl puntoControl, Map<String, Map<String, String>> typesMaps)
+            throws IOException {
+        for (int i = 0; i < puntoControl.getSegmentos(); i++) {
+            String segmento = NOMBRE_ARCHIVO + "." + i;
+            InputStream contenido = leer(segmento, true);
+            try (DataInputStream entrada = descomprimir(contenido != null ? contenido : leer(segmento, false))) {
+                puntoControl.leerSegmento(entrada, typesMaps);
+            }
+        }
+        for (Map.Entry<String, Integer> publicados : puntoControl.getPublicados().entrySet()) {
+            Map<String, String> mapa = typesMaps.get(publicados.getKey());
+            if (mapa == null || mapa.size() != publicados.getValue()) {
+                throw new IOException("Faltan registros de [" + publicados.getKey() + "] en los segmentos");
+            }
+        }
+    }
+
+    private PuntoControl leerPuntoControl(InputStream contenido, String huella) throws IOException {
+        if (contenido == null) {
+            return null;
+        }
+        try (DataInputStream entrada = descomprimir(contenido)) {
+            return PuntoControl.leer(entrada, huella);
+        }
+    }
+
+    /**
+     * Abre la copia local de un archivo del punto de control o, si no es local,
+     * la publicada.
+     *
+     * @return El contenido cifrado, o {@code null} si no hay copia local.
+     */
+    private InputStream leer(String nombre, boolean local) throws IOException {
+        if (!local) {
+            return objectStore.get(configuracion.getNombreBucketArchivosSalida(),
+                    configuracion.getRutaPuntosControl() + nombre);
+        }
+        Path archivo = directorio.resolve(nombre);
+        return Files.isRegularFile(archivo) ? Files.newInputStream(archivo) : null;
+    }
+
+    private DataInputStream descomprimir(InputStream contenido) throws IOException {
+        try {
+            return new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(cifrado.descifrar(contenido), 64 * 1024), 64 * 1024));
+        } catch (IOException | RuntimeException e) {
+            contenido.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Serializa y comprime un contenido en memoria, para cifrarlo sin escribirlo
+     * en claro en disco.
+     */
+    private static byte[] comprimir(Escritura escritura) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(bytes, 64 * 1024), 64 * 1024))) {
+            escritura.escribir(salida);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Cifra un contenido, lo guarda en el directorio local con un reemplazo
+     * atómico y lo publica en la ruta de puntos de control.
+     */
+    private void publicar(String nombre, byte[] comprimido) throws IOException {
+        Path local = directorio.resolve(nombre);
+        Path temporal = Files.createTempFile(directorio, nombre, ".tmp");
+        try (InputStream cifrado = this.cifrado.cifrar(new ByteArrayInputStream(comprimido), comprimido.length)) {
+            Files.copy(cifrado, temporal, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporal, local, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        try (InputStream contenido = Files.newInputStream(local)) {
+            objectStore.put(configuracion.getNombreBucketArchivosSalida(), configuracion.getRutaPuntosControl()
+                    + nombre, contenido, Files.size(local), "application/octet-stream");
+        }
+    }
+
+    /**
+     * Escritura de un contenido del punto de control.
+     */
+    @FunctionalInterface
+    private interface Escritura {
+
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+}
@@ -0,0 +1,93 @@
+package co.com.aws.lambda.continuacion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import co.com.aws.lambda.metricas.Conciliacion;
+
+/**
+ * Avance de la clasificación de un archivo de entrada: las líneas y bytes del
+ * archivo descifrado ya leídos, los registros clasificados y el índice de la
+ * primera ocurrencia de cada factura, necesario para continuar la detección de
+ * duplicados del archivo, y los totales de conciliación acumulados.
+ * <p>
+ * Solo se actualiza en los límites de lote de la clasificación, donde los
+ * mapas de registros corresponden exactamente a las líneas leídas.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class AvanceArchivo {
+
+    private long lineas;
+
+    private long registros;
+
+    private long bytes;
+
+    private boolean terminado;
+
+    private Map<String, String> indiceFacturas = new HashMap<>();
+
+    private final Conciliacion.Totales totales = new Conciliacion.Totales();
+
+    /**
+     * Registra el avance de la clasificación hasta un límite de lote.
+     *
+     * @param lineas    Las líneas leídas del archivo descifrado.
+     * @param registros Los registros clasificados.
+     * @param bytes     Los bytes leídos del archivo descifrado.
+     */
+    public void registrar(long lineas, long registros, long bytes) {
+        this.lineas = lineas;
+        this.registros = registros;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Marca el archivo como clasificado y libera su índice de facturas.
+     *
+     * @param lineas    Las líneas del archivo descifrado.
+     * @param registros Los registros clasificados.
+     * @param bytes     Los bytes del archivo descifrado.
+     */
+    public void terminar(long lineas, long registros, long bytes) {
+        registrar(lineas, registros, bytes);
+        this.terminado = true;
+        this.indiceFacturas = new HashMap<>();
+    }
+
+    public long getLineas() {
+        return lineas;
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public boolean isTerminado() {
+        return terminado;
+    }
+
+    public Map<String, String> getIndiceFacturas() {
+        return indiceFacturas;
+    }
+
+    public Conciliacion.Totales getTotales() {
+        return totales;
+    }
+
+    void setTerminado(boolean terminado) {
+        this.terminado = terminado;
+    }
+
+    @Override
+    public String toString() {
+        return "lineas=" + lineas + " registros=" + registros + " bytes=" + bytes + " terminado=" + terminado;
+    }
+}
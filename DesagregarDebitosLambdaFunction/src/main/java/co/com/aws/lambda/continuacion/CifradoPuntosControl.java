@@ -0,0 +1,35 @@
+package co.com.aws.lambda.continuacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Cifrado de los puntos de control y de sus segmentos de registros. El
+ * contenido de un punto de control incluye facturas y registros de los
+ * archivos de entrada, por lo que solo se escribe cifrado, tanto en el
+ * directorio temporal como en el bucket de salida.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public interface CifradoPuntosControl {
+
+    /**
+     * Cifra un contenido.
+     *
+     * @param  contenido   El contenido en claro.
+     * @param  longitud    La longitud del contenido en bytes.
+     * @return             El contenido cifrado.
+     * @throws IOException Si ocurre un error al cifrar.
+     */
+    InputStream cifrar(InputStream contenido, long longitud) throws IOException;
+
+    /**
+     * Descifra un contenido cifrado con {@link #cifrar(InputStream, long)}.
+     *
+     * @param  cifrado     El contenido cifrado.
+     * @return             El contenido en claro.
+     * @throws IOException Si ocurre un error al descifrar.
+     */
+    InputStream descifrar(InputStream cifrado) throws IOException;
+}
@@ -0,0 +1,112 @@
+package co.com.aws.lambda.continuacion;
+
+/**
+ * Estado de continuación de la invocación en curso: el plazo y el punto de
+ * control que las etapas del proceso consultan y actualizan. La invocación en
+ * curso se obtiene con {@link #actual()}; como la Lambda atiende una sola
+ * invocación a la vez por entorno de ejecución, basta con una referencia
+ * global.
+ * <p>
+ * Fuera de una invocación la continuación está inactiva: el plazo no se agota y
+ * cada archivo se clasifica desde el inicio con un avance nuevo.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class Continuacion {
+
+    private static final Continuacion INACTIVA = new Continuacion(Plazo.SIN_LIMITE, null);
+
+    private static volatile Continuacion actual = INACTIVA;
+
+    private final Plazo plazo;
+
+    private final PuntoControl puntoControl;
+
+    private Continuacion(Plazo plazo, PuntoControl puntoControl) {
+        this.plazo = plazo;
+        this.puntoControl = puntoControl;
+    }
+
+    /**
+     * Inicia la continuación de una invocación.
+     *
+     * @param  plazo        El plazo de la invocación.
+     * @param  puntoControl El punto de control nuevo o restaurado.
+     * @return              La continuación en curso.
+     */
+    public static Continuacion iniciar(Plazo plazo, PuntoControl puntoControl) {
+        Continuacion continuacion = new Continuacion(plazo, puntoControl);
+        actual = continuacion;
+        return continuacion;
+    }
+
+    /**
+     * Retorna la continuación de la invocación en curso.
+     *
+     * @return La continuación en curso, o una inactiva fuera de una invocación.
+     */
+    public static Continuacion actual() {
+        return actual;
+    }
+
+    /**
+     * Termina la continuación de la invocación en curso.
+     */
+    public static void terminar() {
+        actual = INACTIVA;
+    }
+
+    /**
+     * Interrumpe el proceso si el plazo de la invocación se agotó.
+     *
+     * @param  etapa                 La etapa que consulta el plazo.
+     * @throws PlazoAgotadoException Si el plazo se agotó.
+     */
+    public void verificarPlazo(String etapa) {
+        if (plazo.agotado()) {
+            throw new PlazoAgotadoException(etapa, plazo.getTiempoRestanteMs());
+        }
+    }
+
+    /**
+     * Retorna el avance de la clasificación de un archivo.
+     *
+     * @param  archivo El nombre del archivo de entrada.
+     * @return         El avance registrado en el punto de control, o uno nuevo si
+     *                 la continuación está inactiva.
+     */
+    public AvanceArchivo avance(String archivo) {
+        return puntoControl != null ? puntoControl.avance(archivo) : new AvanceArchivo();
+    }
+
+    /**
+     * Indica si un archivo de salida ya fue publicado en una invocación anterior.
+     *
+     * @param  nombreArchivo El nombre del archivo de salida.
+     * @return               {@code true} si ya se publicó.
+     */
+    public boolean isCargaCompletada(String nombreArchivo) {
+        return puntoControl != null && puntoControl.isCargaCompletada(nombreArchivo);
+    }
+
+    /**
+     * Registra un archivo de salida publicado.
+     *
+     * @param nombreArchivo El nombre del archivo de salida.
+     */
+    public void registrarCarga(String nombreArchivo) {
+        if (puntoControl != null) {
+            puntoControl.registrarCarga(nombreArchivo);
+        }
+    }
+
+    public Plazo getPlazo() {
+        return plazo;
+    }
+
+    public PuntoControl getPuntoControl() {
+        return puntoControl;
+    }
+}
@@ -0,0 +1,74 @@
+package co.com.aws.lambda.continuacion;
+
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.lambda.runtime.Context;
+
+/**
+ * Tiempo restante de la invocación. El plazo se considera agotado cuando el
+ * tiempo restante es menor o igual al margen reservado para guardar el punto
+ * de control.
+ * <p>
+ * En Lambda el tiempo restante se obtiene de
+ * {@link Context#getRemainingTimeInMillis()}; las pruebas lo construyen con un
+ * reloj falso.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class Plazo {
+
+    /**
+     * Plazo que nunca se agota, para ejecuciones sin contexto de Lambda.
+     */
+    public static final Plazo SIN_LIMITE = new Plazo(() -> Long.MAX_VALUE, 0);
+
+    private final LongSupplier tiempoRestanteMs;
+
+    private final long margenMs;
+
+    /**
+     * Constructor del plazo.
+     *
+     * @param tiempoRestanteMs El reloj que retorna el tiempo restante en
+     *                         milisegundos.
+     * @param margenMs         Los milisegundos reservados para guardar el punto
+     *                         de control.
+     */
+    public Plazo(LongSupplier tiempoRestanteMs, long margenMs) {
+        this.tiempoRestanteMs = tiempoRestanteMs;
+        this.margenMs = margenMs;
+    }
+
+    /**
+     * Crea el plazo de una invocación de Lambda.
+     *
+     * @param  context  El contexto de la invocación; si es nulo el plazo no se
+     *                  agota.
+     * @param  margenMs Los milisegundos reservados para guardar el punto de
+     *                  control.
+     * @return          El plazo de la invocación.
+     */
+    public static Plazo desde(Context context, long margenMs) {
+        return context != null ? new Plazo(context::getRemainingTimeInMillis, margenMs) : SIN_LIMITE;
+    }
+
+    /**
+     * Indica si el tiempo restante ya no supera el margen.
+     *
+     * @return {@code true} si se debe guardar el punto de control y terminar.
+     */
+    public boolean agotado() {
+        return tiempoRestanteMs.getAsLong() <= margenMs;
+    }
+
+    /**
+     * Retorna el tiempo restante de la invocación.
+     *
+     * @return Los milisegundos restantes.
+     */
+    public long getTiempoRestanteMs() {
+        return tiempoRestanteMs.getAsLong();
+    }
+}
@@ -0,0 +1,28 @@
+package co.com.aws.lambda.continuacion;
+
+import co.com.ath.aws.exception.AthException;
+
+/**
+ * Error con el que se interrumpe el proceso cuando el plazo de la invocación se
+ * agota. Las clases del proceso la propagan sin envolverla para que el
+ * manejador guarde el punto de control; la invocación termina con error y el
+ * reintento de Lambda continúa desde el punto guardado.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class PlazoAgotadoException extends AthException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor de la excepción.
+     *
+     * @param etapa            La etapa en la que se agotó el plazo.
+     * @param tiempoRestanteMs Los milisegundos que quedaban de la invocación.
+     */
+    public PlazoAgotadoException(String etapa, long tiempoRestanteMs) {
+        super("[ERROR][12]", "[ERROR] Plazo de la invocación agotado en la etapa [" + etapa + "] con "
+                + tiempoRestanteMs + " ms restantes");
+    }
+}
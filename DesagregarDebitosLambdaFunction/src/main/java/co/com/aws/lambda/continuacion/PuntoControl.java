@@ -0,0 +1,327 @@
+package co.com.aws.lambda.continuacion;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.util.MapaEnDisco;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Progreso de una ejecución sobre un par de archivos de entrada: el avance de
+ * la clasificación de cada archivo y los archivos de salida ya publicados. Se
+ * identifica con la huella de los archivos de entrada (clave, tamaño y fecha
+ * de modificación), por lo que un punto de control de otros archivos no se
+ * aplica.
+ * <p>
+ * Los registros clasificados no forman parte del punto de control: se guardan
+ * aparte en segmentos, cada uno con los registros agregados a los mapas desde
+ * el segmento anterior, de modo que guardar cuesta lo clasificado en la
+ * invocación y no lo clasificado desde el inicio. El punto de control lleva la
+ * cantidad de segmentos y de registros publicados de cada mapa. El registro de
+ * totales del archivo fusionado no se guarda; se recalcula al continuar.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class PuntoControl {
+
+    private static final int VERSION = 3;
+
+    private final String huella;
+
+    private final long horaInicio;
+
+    private final Map<String, AvanceArchivo> archivos = new LinkedHashMap<>();
+
+    private final Set<String> cargasCompletadas = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Integer> publicados = new HashMap<>();
+
+    private int segmentos;
+
+    /**
+     * Constructor de un punto de control vacío.
+     *
+     * @param huella     La huella de los archivos de entrada.
+     * @param horaInicio La hora de inicio de la ejecución en milisegundos.
+     */
+    public PuntoControl(String huella, long horaInicio) {
+        this.huella = huella;
+        this.horaInicio = horaInicio;
+    }
+
+    /**
+     * Calcula la huella de los archivos de entrada.
+     *
+     * @param  archivosBucket Los archivos de entrada.
+     * @return                La clave, tamaño y fecha de modificación de cada
+     *                        archivo.
+     */
+    public static String huella(List<S3Object> archivosBucket) {
+        return archivosBucket.stream()
+                .map(archivo -> archivo.key() + "|" + archivo.size() + "|" + archivo.lastModified())
+                .collect(Collectors.joining(";"));
+    }
+
+    /**
+     * Retorna el avance de un archivo, creándolo si no existe.
+     *
+     * @param  archivo El nombre del archivo de entrada.
+     * @return         El avance del archivo.
+     */
+    public synchronized AvanceArchivo avance(String archivo) {
+        return archivos.computeIfAbsent(archivo, nombre -> new AvanceArchivo());
+    }
+
+    /**
+     * Registra un archivo de salida publicado.
+     *
+     * @param nombreArchivo El nombre del archivo de salida.
+     */
+    public void registrarCarga(String nombreArchivo) {
+        cargasCompletadas.add(nombreArchivo);
+    }
+
+    /**
+     * Indica si un archivo de salida ya fue publicado.
+     *
+     * @param  nombreArchivo El nombre del archivo de salida.
+     * @return               {@code true} si ya se publicó.
+     */
+    public boolean isCargaCompletada(String nombreArchivo) {
+        return cargasCompletadas.contains(nombreArchivo);
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public long getHoraInicio() {
+        return horaInicio;
+    }
+
+    public synchronized Map<String, AvanceArchivo> getArchivos() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(archivos));
+    }
+
+    public Set<String> getCargasCompletadas() {
+        return Collections.unmodifiableSet(cargasCompletadas);
+    }
+
+    public synchronized int getSegmentos() {
+        return segmentos;
+    }
+
+    public synchronized Map<String, Integer> getPublicados() {
+        return Collections.unmodifiableMap(new HashMap<>(publicados));
+    }
+
+    /**
+     * Escribe el punto de control: el avance de cada archivo con su índice de
+     * facturas, los archivos de salida publicados y los segmentos de registros.
+     *
+     * @param  salida      El flujo de salida.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public synchronized void escribir(DataOutputStream salida) throws IOException {
+        salida.writeInt(VERSION);
+        escribirTexto(salida, huella);
+        salida.writeLong(horaInicio);
+        salida.writeInt(archivos.size());
+        for (Map.Entry<String, AvanceArchivo> archivo : archivos.entrySet()) {
+            AvanceArchivo avance = archivo.getValue();
+            escribirTexto(salida, archivo.getKey());
+            salida.writeLong(avance.getLineas());
+            salida.writeLong(avance.getRegistros());
+            salida.writeLong(avance.getBytes());
+            salida.writeBoolean(avance.isTerminado());
+            salida.writeInt(avance.getIndiceFacturas().size());
+            for (Map.Entry<String, String> factura : avance.getIndiceFacturas().entrySet()) {
+                escribirTexto(salida, factura.getKey());
+                escribirTexto(salida, factura.getValue());
+            }
+            Conciliacion.Totales totales = avance.getTotales();
+            salida.writeLong(totales.getUnicos());
+            salida.writeLong(totales.getImporteUnicos());
+            salida.writeLong(totales.getDuplicados());
+            salida.writeLong(totales.getImporteDuplicados());
+            salida.writeLong(totales.getSinImporte());
+        }
+        salida.writeInt(cargasCompletadas.size());
+        for (String carga : cargasCompletadas) {
+            escribirTexto(salida, carga);
+        }
+        salida.writeInt(segmentos);
+        salida.writeInt(publicados.size());
+        for (Map.Entry<String, Integer> mapa : publicados.entrySet()) {
+            escribirTexto(salida, mapa.getKey());
+            salida.writeInt(mapa.getValue());
+        }
+    }
+
+    /**
+     * Lee un punto de control, siempre que corresponda a la huella esperada.
+     *
+     * @param  entrada        El flujo de entrada.
+     * @param  huellaEsperada La huella de los archivos de entrada actuales.
+     * @return                El punto de control, o {@code null} si es de otra
+     *                        versión o de otros archivos.
+     * @throws IOException    Si ocurre un error al leer.
+     */
+    public static PuntoControl leer(DataInputStream entrada, String huellaEsperada) throws IOException {
+        if (entrada.readInt() != VERSION) {
+            return null;
+        }
+        String huella = leerTexto(entrada);
+        if (!huella.equals(huellaEsperada)) {
+            return null;
+        }
+        PuntoControl puntoControl = new PuntoControl(huella, entrada.readLong());
+        int archivos = entrada.readInt();
+        for (int i = 0; i < archivos; i++) {
+            AvanceArchivo avance = puntoControl.avance(leerTexto(entrada));
+            avance.registrar(entrada.readLong(), entrada.readLong(), entrada.readLong());
+            avance.setTerminado(entrada.readBoolean());
+            int facturas = entrada.readInt();
+            for (int j = 0; j < facturas; j++) {
+                avance.getIndiceFacturas().put(leerTexto(entrada), leerTexto(entrada));
+            }
+            avance.getTotales().restaurar(entrada.readLong(), entrada.readLong(), entrada.readLong(),
+                    entrada.readLong(), entrada.readLong());
+        }
+        int cargas = entrada.readInt();
+        for (int i = 0; i < cargas; i++) {
+            puntoControl.registrarCarga(leerTexto(entrada));
+        }
+        puntoControl.segmentos = entrada.readInt();
+        int mapas = entrada.readInt();
+        for (int i = 0; i < mapas; i++) {
+            puntoControl.publicados.put(leerTexto(entrada), entrada.readInt());
+        }
+        return puntoControl;
+    }
+
+    /**
+     * Escribe el siguiente segmento de registros: los agregados a cada mapa
+     * después de los ya publicados, que pasan a contarse como publicados.
+     *
+     * @param  salida      El flujo de salida.
+     * @param  typesMaps   Los mapas de registros por archivo de salida.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public synchronized void escribirSegmento(DataOutputStream salida, Map<String, Map<String, String>> typesMaps)
+            throws IOException {
+        salida.writeInt(VERSION);
+        escribirTexto(salida, huella);
+        salida.writeInt(typesMaps.size());
+        Map<String, Integer> escritos = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> mapa : typesMaps.entrySet()) {
+            int desde = publicados.getOrDefault(mapa.getKey(), 0);
+            escribirTexto(salida, mapa.getKey());
+            escritos.put(mapa.getKey(), desde + escribirMapa(salida, mapa.getValue(), desde,
+                    Constantes.ARCHIVO_FUSIONADO.equals(mapa.getKey()) ? "total" : null));
+        }
+        publicados.putAll(escritos);
+        segmentos++;
+    }
+
+    /**
+     * Lee un segmento de registros y los agrega a los mapas indicados.
+     *
+     * @param  entrada     El flujo de entrada.
+     * @param  typesMaps   Los mapas donde se restauran los registros.
+     * @throws IOException Si ocurre un error al leer o el segmento no es de
+     *                     este punto de control.
+     */
+    public void leerSegmento(DataInputStream entrada, Map<String, Map<String, String>> typesMaps)
+            throws IOException {
+        if (entrada.readInt() != VERSION || !leerTexto(entrada).equals(huella)) {
+            throw new IOException("El segmento de registros no corresponde al punto de control");
+        }
+        int mapas = entrada.readInt();
+        for (int i = 0; i < mapas; i++) {
+            Map<String, String> mapa = typesMaps.computeIfAbsent(leerTexto(entrada), nombre -> new LinkedHashMap<>());
+            int tamano = entrada.readInt();
+            for (int j = 0; j < tamano; j++) {
+                mapa.put(leerTexto(entrada), leerTexto(entrada));
+            }
+        }
+    }
+
+    /**
+     * Escribe las entradas de un mapa a partir de una posición, sin la llave
+     * excluida, que de existir es la última: solo se compara la última llave,
+     * sin consultar el mapa por llave.
+     */
+    private static int escribirMapa(DataOutputStream salida, Map<String, String> mapa, int desde, String excluida)
+            throws IOException {
+        int tamano = Math.max(0, mapa.size() - desde
+                - (excluida != null && terminaEn(mapa, excluida) ? 1 : 0));
+        salida.writeInt(tamano);
+        Iterator<Map.Entry<String, String>> entradas;
+        if (mapa instanceof MapaEnDisco) {
+            entradas = ((MapaEnDisco) mapa).entradas(desde);
+        } else {
+            entradas = mapa.entrySet().iterator();
+            for (int i = 0; i < desde && entradas.hasNext(); i++) {
+                entradas.next();
+            }
+        }
+        for (int i = 0; i < tamano; i++) {
+            Map.Entry<String, String> entrada = entradas.next();
+            escribirTexto(salida, entrada.getKey());
+            escribirTexto(salida, entrada.getValue());
+        }
+        return tamano;
+    }
+
+    /**
+     * Indica si la última entrada de un mapa tiene la llave indicada. Los mapas
+     * en disco y los de orden de inserción la leen directamente; en un mapa sin
+     * orden, que está en memoria, basta con buscar la llave.
+     */
+    private static boolean terminaEn(Map<String, String> mapa, String llave) {
+        if (mapa.isEmpty()) {
+            return false;
+        }
+        if (mapa instanceof MapaEnDisco) {
+            return llave.equals(((MapaEnDisco) mapa).ultimaLlave());
+        }
+        if (mapa instanceof SequencedMap) {
+            return llave.equals(((SequencedMap<String, String>) mapa).lastEntry().getKey());
+        }
+        return mapa.containsKey(llave);
+    }
+
+    private static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    private static String leerTexto(DataInputStream entrada) throws IOException {
+        byte[] bytes = new byte[entrada.readInt()];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "archivos=" + archivos + " cargas=" + cargasCompletadas + " segmentos=" + segmentos;
+    }
+}
@@ -15,6 +15,8 @@ import co.com.ath.aws.exception.AthException;
 import co.com.ath.aws.secretmanagerutil.ObtenerSecretoDB;
 import co.com.aws.lambda.constants.Constantes;
 import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.Tramo;
 
 /**
  * Clase que tiene la logica para la gestion de auditoria en BD
@@ -33,37 +35,37 @@ public class AuditoriaDividendosDao {
 	 * @return boolean : true insercion exitosa - false error en la insercion
 	 */
 	public boolean registrarAuditoria(AuditoriaDividendosDto auditoriaDividendosDto) {
-		LOGGER.log("[INFO] 10.1.Inicio registrarAuditoria\n");
-		Connection conection = getConnection(ObtenerSecretoDB.obtenerSecreto(AthConstants.SECRET_NAME_BILLPAY),
-				AthConstants.BD_BILLPAY);
-		String queryRegistro = Constantes.QUERY_REGISTRAR_AUDITORIA;
-		try (PreparedStatement stmt = conection.prepareStatement(queryRegistro)) {
-			stmt.setString(1, auditoriaDividendosDto.getNombreArchivo1());
-			stmt.setString(2, auditoriaDividendosDto.getNombreArchivo2());
-			stmt.setTimestamp(3, auditoriaDividendosDto.getHoraInicio());
-			stmt.setTimestamp(4, auditoriaDividendosDto.getHoraFin());
-			stmt.setInt(5, auditoriaDividendosDto.getTotalRegistrosArchivo1());
-			stmt.setInt(6, auditoriaDividendosDto.getTotalRegistrosArchivo2());
-			stmt.setInt(7, auditoriaDividendosDto.getTotalRegistrosDuplicados());
-			stmt.setInt(8, auditoriaDividendosDto.getTotalRegistrosFusionados());
-			stmt.setInt(9, auditoriaDividendosDto.getArchivosCargados());
-			if (stmt.executeUpdate() == 0) {
-				LOGGER.log(AthConstants.ERROR_INSERT_TABLA + Constantes.AUDITORIA_DIVIDENDOS + " "
-						+ "insercion auditoria no realizada");
+		try (Tramo tramo = Instrumentacion.tramo("registrarAuditoria")) {
+			Connection conection = getConnection(ObtenerSecretoDB.obtenerSecreto(AthConstants.SECRET_NAME_BILLPAY),
+					AthConstants.BD_BILLPAY);
+			String queryRegistro = Constantes.QUERY_REGISTRAR_AUDITORIA;
+			try (PreparedStatement stmt = conection.prepareStatement(queryRegistro)) {
+				stmt.setString(1, auditoriaDividendosDto.getNombreArchivo1());
+				stmt.setString(2, auditoriaDividendosDto.getNombreArchivo2());
+				stmt.setTimestamp(3, auditoriaDividendosDto.getHoraInicio());
+				stmt.setTimestamp(4, auditoriaDividendosDto.getHoraFin());
+				stmt.setInt(5, auditoriaDividendosDto.getTotalRegistrosArchivo1());
+				stmt.setInt(6, auditoriaDividendosDto.getTotalRegistrosArchivo2());
+				stmt.setInt(7, auditoriaDividendosDto.getTotalRegistrosDuplicados());
+				stmt.setInt(8, auditoriaDividendosDto.getTotalRegistrosFusionados());
+				stmt.setInt(9, auditoriaDividendosDto.getArchivosCargados());
+				stmt.setString(10, auditoriaDividendosDto.getDetalleEjecucion());
+				if (stmt.executeUpdate() == 0) {
+					LOGGER.log(AthConstants.ERROR_INSERT_TABLA + Constantes.AUDITORIA_DIVIDENDOS + " "
+							+ "insercion auditoria no realizada");
+					return false;
+				}
+			} catch (SQLException e) {
+				LOGGER.log(AthConstants.ERROR_CONSULTA_TABLA + AthConstants.CONVENIOS_EJECUCION_GAP + " " + e.getMessage()
+						+ ":::" + e);
 				return false;
 			}
-		} catch (SQLException e) {
-			LOGGER.log(AthConstants.ERROR_CONSULTA_TABLA + AthConstants.CONVENIOS_EJECUCION_GAP + " " + e.getMessage()
-					+ ":::" + e);
-			return false;
+			return true;
 		}
-		LOGGER.log("[INFO] 10.3.Registro Auditoria Exitoso\n");
-		return true;
 	}
 
 	public static Connection getConnection(SecretAWSConnectionDto secret, String baseDeDatos) {
-		try {
-			LOGGER.log("[INFO] 10.2.Conectando a base de datos " + baseDeDatos);
+		try (Tramo tramo = Instrumentacion.tramo("getConnection", baseDeDatos)) {
 			return DriverManager.getConnection("jdbc:mysql://" + secret.getHost() + ":" + secret.getPort(),
 					secret.getUsername(), secret.getPassword());
 		} catch (SQLException e) {
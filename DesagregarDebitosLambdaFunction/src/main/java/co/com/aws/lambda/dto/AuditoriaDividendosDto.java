@@ -31,12 +31,19 @@ public class AuditoriaDividendosDto {
 
 	private int archivosCargados;
 
+	/**
+	 * Detalle de la ejecución en JSON (resumen de las llamadas a S3), ver
+	 * {@code MetricasEjecucion#getDetalleEjecucion()}.
+	 */
+	private String detalleEjecucion;
+
 	@Override
 	public String toString() {
 		return "AuditoriaDividendosDto [nombreArchivo1=" + nombreArchivo1 + ", nombreArchivo2=" + nombreArchivo2
 				+ ", horaInicio=" + horaInicio + ", horaFin=" + horaFin + ", totalRegistrosArchivo1="
 				+ totalRegistrosArchivo1 + ", totalRegistrosArchivo2=" + totalRegistrosArchivo2
 				+ ", totalRegistrosDuplicados=" + totalRegistrosDuplicados + ", totalRegistrosFusionados="
-				+ totalRegistrosFusionados + ", archivosCargados=" + archivosCargados + "]";
+				+ totalRegistrosFusionados + ", archivosCargados=" + archivosCargados + ", detalleEjecucion="
+				+ detalleEjecucion + "]";
 	}
 }
@@ -0,0 +1,193 @@
+package co.com.aws.lambda.dto;
+
+import co.com.aws.lambda.constants.Constantes;
+import lombok.Generated;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Parámetros de ejecución del proceso: buckets, rutas y llaves PGP. En la Lambda
+ * se construye a partir de {@link Constantes} (variables de entorno); el
+ * ejecutor local los sobrescribe con los argumentos de línea de comandos.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@Generated
+@Getter
+@Setter
+public class ConfiguracionDto {
+
+	private String nombreBucketLlaves;
+
+	private String nombreBucketArchivosEntrada;
+
+	private String nombreBucketArchivosSalida;
+
+	private String rutaEntrada;
+
+	private String rutaSalida;
+
+	private String rutaProcesados;
+
+	private String fraseSecretaPgp;
+
+	/**
+	 * Frase secreta PGP en claro. Cuando está presente no se consulta Secrets
+	 * Manager para descifrar {@link #fraseSecretaPgp}; solo la usa el ejecutor
+	 * local.
+	 */
+	private String fraseSecretaPgpDescifrada;
+
+	private String rutaLlavePrivadaPgp;
+
+	private String rutaLlavePublicaPgp;
+
+	/**
+	 * Segundos que se conservan en memoria la frase secreta y la llave privada
+	 * PGP entre archivos e invocaciones; cero deshabilita la caché.
+	 */
+	private long ttlCacheSegundos;
+
+	/**
+	 * Indica si la invocación se graba con JDK Flight Recorder y el archivo
+	 * {@code .jfr} se publica en {@link #rutaDiagnosticos} del bucket de salida.
+	 */
+	private boolean grabacionJfr;
+
+	private String rutaDiagnosticos;
+
+	/**
+	 * Memoria asignada a la función en MB, usada por el gobernador de memoria
+	 * para estimar el heap disponible.
+	 */
+	private int memoriaMb;
+
+	/**
+	 * Estrategia de memoria: {@code auto}, {@code memoria}, {@code disco} o
+	 * {@code externa}.
+	 */
+	private String estrategiaMemoria;
+
+	/**
+	 * Relación entre el tamaño descifrado y el tamaño PGP de los archivos de
+	 * entrada.
+	 */
+	private double factorExpansionPgp;
+
+	/**
+	 * Milisegundos antes del vencimiento de la invocación en los que se guarda el
+	 * punto de control.
+	 */
+	private long margenPlazoMs;
+
+	private String rutaPuntosControl;
+
+	/**
+	 * Trabajadores de la clasificación fragmentada; con uno o menos la
+	 * clasificación es secuencial.
+	 */
+	private int trabajadoresFragmentacion;
+
+	/**
+	 * Modo de las operaciones de almacenamiento en paralelo: {@code virtual},
+	 * {@code plataforma} o {@code secuencial}.
+	 */
+	private String modoIo;
+
+	/**
+	 * Hilos del pool de plataforma para las operaciones de almacenamiento.
+	 */
+	private int hilosIo;
+
+	/**
+	 * Indica si junto al archivo fusionado se publica su índice de facturas.
+	 */
+	private boolean indiceFacturas;
+
+	/**
+	 * Indica si las facturas de las ejecuciones anteriores se consultan en el
+	 * histórico y si las de esta ejecución se agregan a él.
+	 */
+	private boolean historicoFacturas;
+
+	private String rutaHistoricoFacturas;
+
+	/**
+	 * Indica si los archivos de entrada llegan ordenados por número de factura;
+	 * aplica a la clasificación secuencial.
+	 */
+	private boolean entradasOrdenadas;
+
+	/**
+	 * Indica si los registros se validan contra el diseño de registro y los que
+	 * no lo cumplen se envían al archivo de cuarentena.
+	 */
+	private boolean validacionRegistros;
+
+	/**
+	 * Pares que se ordenan en memoria por corrida en la estrategia
+	 * {@code externa}.
+	 */
+	private int registrosPorCorrida;
+
+	/**
+	 * Bloques entre el hilo que descifra y el que clasifica; cero descifra en el
+	 * hilo de la clasificación.
+	 */
+	private int bloquesDescifrado;
+
+	/**
+	 * Crea la configuración con los valores de {@link Constantes}.
+	 *
+	 * @return La configuración de la Lambda según las variables de entorno.
+	 */
+	public static ConfiguracionDto desdeConstantes() {
+		ConfiguracionDto configuracion = new ConfiguracionDto();
+		configuracion.setNombreBucketLlaves(Constantes.NOMBRE_BUCKET_LLAVES);
+		configuracion.setNombreBucketArchivosEntrada(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA);
+		configuracion.setNombreBucketArchivosSalida(Constantes.NOMBRE_BUCKET_ARCHIVOS_SALIDA);
+		configuracion.setRutaEntrada(Constantes.RUTA_ENTRADA);
+		configuracion.setRutaSalida(Constantes.RUTA_SALIDA);
+		configuracion.setRutaProcesados(Constantes.RUTA_PROCESADOS);
+		configuracion.setFraseSecretaPgp(Constantes.FRASE_SECRETAPGP);
+		configuracion.setRutaLlavePrivadaPgp(Constantes.RUTA_LLAVE_PRIVADAPGP);
+		configuracion.setRutaLlavePublicaPgp(Constantes.RUTA_LLAVE_PUBLICAPGP);
+		configuracion.setTtlCacheSegundos(Constantes.TTL_CACHE_SEGUNDOS);
+		configuracion.setGrabacionJfr(Constantes.GRABACION_JFR);
+		configuracion.setRutaDiagnosticos(Constantes.RUTA_DIAGNOSTICOS);
+		configuracion.setMemoriaMb(Constantes.MEMORIA_FUNCION_MB);
+		configuracion.setEstrategiaMemoria(Constantes.ESTRATEGIA_MEMORIA);
+		configuracion.setFactorExpansionPgp(Constantes.FACTOR_EXPANSION_PGP);
+		configuracion.setMargenPlazoMs(Constantes.MARGEN_PLAZO_MS);
+		configuracion.setRutaPuntosControl(Constantes.RUTA_PUNTOS_CONTROL);
+		configuracion.setTrabajadoresFragmentacion(Constantes.TRABAJADORES_FRAGMENTACION);
+		configuracion.setModoIo(Constantes.MODO_IO);
+		configuracion.setHilosIo(Constantes.HILOS_IO);
+		configuracion.setIndiceFacturas(Constantes.INDICE_FACTURAS);
+		configuracion.setHistoricoFacturas(Constantes.HISTORICO_FACTURAS);
+		configuracion.setRutaHistoricoFacturas(Constantes.RUTA_HISTORICO_FACTURAS);
+		configuracion.setEntradasOrdenadas(Constantes.ENTRADAS_ORDENADAS);
+		configuracion.setValidacionRegistros(Constantes.VALIDACION_REGISTROS);
+		configuracion.setRegistrosPorCorrida(Constantes.REGISTROS_POR_CORRIDA);
+		configuracion.setBloquesDescifrado(Constantes.BLOQUES_DESCIFRADO);
+		return configuracion;
+	}
+
+	@Override
+	public String toString() {
+		return "ConfiguracionDto [nombreBucketLlaves=" + nombreBucketLlaves + ", nombreBucketArchivosEntrada="
+				+ nombreBucketArchivosEntrada + ", nombreBucketArchivosSalida=" + nombreBucketArchivosSalida
+				+ ", rutaEntrada=" + rutaEntrada + ", rutaSalida=" + rutaSalida + ", rutaProcesados="
+				+ rutaProcesados + ", rutaLlavePrivadaPgp=" + rutaLlavePrivadaPgp + ", rutaLlavePublicaPgp="
+				+ rutaLlavePublicaPgp + ", ttlCacheSegundos=" + ttlCacheSegundos + ", grabacionJfr="
+				+ grabacionJfr + ", rutaDiagnosticos=" + rutaDiagnosticos + ", memoriaMb=" + memoriaMb
+				+ ", estrategiaMemoria=" + estrategiaMemoria + ", factorExpansionPgp=" + factorExpansionPgp
+				+ ", margenPlazoMs=" + margenPlazoMs + ", rutaPuntosControl=" + rutaPuntosControl
+				+ ", trabajadoresFragmentacion=" + trabajadoresFragmentacion + ", modoIo=" + modoIo + ", hilosIo="
+				+ hilosIo + ", indiceFacturas=" + indiceFacturas + ", historicoFacturas=" + historicoFacturas
+				+ ", rutaHistoricoFacturas=" + rutaHistoricoFacturas + ", entradasOrdenadas=" + entradasOrdenadas
+				+ ", validacionRegistros=" + validacionRegistros + ", registrosPorCorrida=" + registrosPorCorrida
+				+ ", bloquesDescifrado=" + bloquesDescifrado + "]";
+	}
+}
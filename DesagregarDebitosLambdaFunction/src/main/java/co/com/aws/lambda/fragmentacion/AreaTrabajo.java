@@ -0,0 +1,286 @@
+package co.com.aws.lambda.fragmentacion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.storage.ObjectStore;
+
+/**
+ * Área de trabajo compartida entre el coordinador y los trabajadores de la
+ * clasificación fragmentada: las entradas descifradas, las particiones por
+ * fragmento y los segmentos parciales se intercambian como objetos de un
+ * {@link ObjectStore} bajo un prefijo, de forma que los trabajadores pueden ser
+ * hilos del mismo proceso o invocaciones independientes.
+ * <p>
+ * Los objetos se escriben primero en un archivo temporal y se publican con su
+ * longitud conocida. Al cerrar el área se eliminan todos sus objetos.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class AreaTrabajo implements Closeable {
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final ObjectStore objectStore;
+
+    private final String bucket;
+
+    private final String prefijo;
+
+    private final Path directorioPropio;
+
+    /**
+     * Constructor del área de trabajo sobre un almacenamiento de objetos.
+     *
+     * @param objectStore El almacenamiento de objetos compartido.
+     * @param bucket      El bucket del área de trabajo.
+     * @param prefijo     El prefijo de los objetos del área de trabajo.
+     */
+    public AreaTrabajo(ObjectStore objectStore, String bucket, String prefijo) {
+        this(objectStore, bucket, prefijo, null);
+    }
+
+    private AreaTrabajo(ObjectStore objectStore, String bucket, String prefijo, Path directorioPropio) {
+        this.objectStore = objectStore;
+        this.bucket = bucket;
+        this.prefijo = prefijo;
+        this.directorioPropio = directorioPropio;
+    }
+
+    /**
+     * Crea un área de trabajo local en un directorio temporal, que se elimina al
+     * cerrarla; la usan los trabajadores en proceso.
+     *
+     * @return              El área de trabajo.
+     * @throws AthException Si no se puede crear el directorio.
+     */
+    public static AreaTrabajo temporal() {
+        try {
+            Path directorio = Files.createTempDirectory("fragmentos");
+            return new AreaTrabajo(new LocalObjectStore(directorio), "trabajo", "", directorio);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][13.1]", "[ERROR] Error al crear el área de trabajo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Crea un objeto del área de trabajo; el objeto solo es visible después de
+     * {@link Escritor#publicar()}.
+     *
+     * @param  llave        La llave del objeto, relativa al prefijo.
+     * @return              El escritor del objeto; el llamador debe cerrarlo.
+     * @throws AthException Si no se puede crear el archivo temporal.
+     */
+    public Escritor crear(String llave) {
+        try {
+            return new Escritor(llave, Files.createTempFile("fragmento", ".tmp"));
+        } catch (IOException e) {
+            throw new AthException("[ERROR][13.1]",
+                    "[ERROR] Error al escribir [" + llave + "] en el área de trabajo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Abre un objeto del área de trabajo para lectura.
+     *
+     * @param  llave La llave del objeto, relativa al prefijo.
+     * @return       El flujo del objeto; el llamador debe cerrarlo.
+     */
+    public DataInputStream leer(String llave) {
+        return new DataInputStream(new BufferedInputStream(objectStore.get(bucket, prefijo + llave), TAMANO_BUFFER));
+    }
+
+    /**
+     * Abre un rango de bytes de un objeto del área de trabajo.
+     *
+     * @param  llave        La llave del objeto, relativa al prefijo.
+     * @param  inicio       La posición del primer byte del rango.
+     * @param  fin          La posición siguiente al último byte del rango.
+     * @return              El flujo del rango; el llamador debe cerrarlo.
+     * @throws IOException  Si ocurre un error al posicionarse en el rango.
+     */
+    public InputStream leerRango(String llave, long inicio, long fin) throws IOException {
+        InputStream contenido = objectStore.get(bucket, prefijo + llave);
+        long pendiente = inicio;
+        while (pendiente > 0) {
+            long saltados = contenido.skip(pendiente);
+            if (saltados <= 0) {
+                if (contenido.read() < 0) {
+                    break;
+                }
+                saltados = 1;
+            }
+            pendiente -= saltados;
+        }
+        return new FlujoAcotado(contenido, fin - inicio);
+    }
+
+    /**
+     * Elimina los objetos del área de trabajo y, si es temporal, su directorio.
+     */
+    @Override
+    public void close() {
+        objectStore.list(bucket, prefijo).forEach(objeto -> objectStore.delete(bucket, objeto.key()));
+        if (directorioPropio != null) {
+            try (Stream<Path> rutas = Files.walk(directorioPropio)) {
+                rutas.sorted(Comparator.reverseOrder()).forEach(AreaTrabajo::eliminarTemporal);
+            } catch (IOException e) {
+                throw new AthException("[ERROR][13.1]",
+                        "[ERROR] Error al eliminar el área de trabajo: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Escribe un texto como su longitud en bytes seguida de su contenido UTF-8.
+     *
+     * @param  salida      El flujo de salida.
+     * @param  texto       El texto.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    /**
+     * Lee un texto escrito con {@link #escribirTexto(DataOutputStream, String)}.
+     *
+     * @param  entrada     El flujo de entrada.
+     * @return             El texto.
+     * @throws IOException Si ocurre un error al leer.
+     */
+    static String leerTexto(DataInputStream entrada) throws IOException {
+        byte[] bytes = new byte[entrada.readInt()];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void eliminarTemporal(Path ruta) {
+        if (ruta == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(ruta);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][13.1]", "[ERROR] Error al eliminar [" + ruta + "]: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Escritura de un objeto del área de trabajo sobre un archivo temporal, que
+     * se elimina al cerrar el escritor.
+     */
+    public final class Escritor implements Closeable {
+
+        private final String llave;
+
+        private final Path temporal;
+
+        private final DataOutputStream salida;
+
+        private Escritor(String llave, Path temporal) throws IOException {
+            this.llave = llave;
+            this.temporal = temporal;
+            this.salida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporal), TAMANO_BUFFER));
+        }
+
+        public DataOutputStream getSalida() {
+            return salida;
+        }
+
+        /**
+         * Publica el objeto con el contenido escrito.
+         *
+         * @throws AthException Si ocurre un error al publicar el objeto.
+         */
+        public void publicar() {
+            try {
+                salida.close();
+                try (InputStream contenido = Files.newInputStream(temporal)) {
+                    objectStore.put(bucket, prefijo + llave, contenido, Files.size(temporal),
+                            "application/octet-stream");
+                }
+            } catch (IOException e) {
+                throw new AthException("[ERROR][13.1]",
+                        "[ERROR] Error al publicar [" + llave + "] en el área de trabajo: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                salida.close();
+            } catch (IOException e) {
+                // El contenido se descarta con el archivo temporal.
+            }
+            eliminarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Flujo que entrega como máximo una cantidad de bytes del flujo subyacente.
+     */
+    private static final class FlujoAcotado extends FilterInputStream {
+
+        private long restantes;
+
+        FlujoAcotado(InputStream contenido, long limite) {
+            super(contenido);
+            this.restantes = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (restantes <= 0) {
+                return -1;
+            }
+            int leido = super.read();
+            if (leido >= 0) {
+                restantes--;
+            }
+            return leido;
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int longitud) throws IOException {
+            if (restantes <= 0) {
+                return -1;
+            }
+            int leidos = super.read(destino, desde, (int) Math.min(longitud, restantes));
+            if (leidos > 0) {
+                restantes -= leidos;
+            }
+            return leidos;
+        }
+
+        @Override
+        public long skip(long cantidad) throws IOException {
+            long saltados = super.skip(Math.min(cantidad, restantes));
+            restantes -= saltados;
+            return saltados;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), restantes);
+        }
+    }
+}
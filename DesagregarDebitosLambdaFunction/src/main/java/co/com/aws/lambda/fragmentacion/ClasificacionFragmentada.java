@@ -0,0 +1,458 @@
+package co.com.aws.lambda.fragmentacion;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.Continuacion;
+import co.com.aws.lambda.indice.HistoricoFacturas;
+import co.com.aws.lambda.indice.IndicePrimeraAparicion;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.validacion.Cuarentena;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
+
+/**
+ * Coordinador de la clasificación fragmentada, para pares de archivos que no
+ * alcanzan a clasificarse de forma secuencial dentro del plazo de una
+ * invocación.
+ * <ol>
+ * <li>Cada entrada descifrada se publica en el {@link AreaTrabajo} y se divide
+ * en rangos de bytes alineados al inicio de una línea.</li>
+ * <li>Los trabajadores particionan los rangos por el hash del número de
+ * factura y deduplican cada fragmento de forma local
+ * ({@link TrabajadorFragmentos}).</li>
+ * <li>La fusión recorre los segmentos parciales en el orden de sus posiciones,
+ * restaura el orden global de la lectura secuencial y llena los mapas
+ * FUSIONADO y DIVIDENDOS con las mismas llaves, valores y orden de
+ * {@code ClasificaRegistros}, incluidas las facturas del
+ * {@link HistoricoFacturas}; el total del archivo fusionado se calcula después
+ * sobre el mapa, como en la clasificación secuencial. En el mismo recorrido se
+ * acumulan los totales de conciliación de cada archivo.</li>
+ * <li>Las líneas que los trabajadores enviaron a cuarentena se agregan a la
+ * {@link Cuarentena} de cada archivo con su número de línea física, a partir
+ * de las líneas leídas en los rangos anteriores del mismo archivo.</li>
+ * </ol>
+ * <p>
+ * Los trabajadores se ejecutan con un {@link InvocadorTrabajadores}; por
+ * defecto, hilos del mismo proceso sobre un área de trabajo en el directorio
+ * temporal, que comparten un {@link IndicePrimeraAparicion} para deduplicar.
+ * Cada instancia clasifica una sola vez.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ClasificacionFragmentada implements Closeable {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    /**
+     * Bytes mínimos entre dos posiciones de corte candidatas de una entrada.
+     */
+    static final int TAMANO_BLOQUE = 64 * 1024;
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final AreaTrabajo areaTrabajo;
+
+    private final InvocadorTrabajadores invocador;
+
+    private final int trabajadores;
+
+    private final int tamanoBloque;
+
+    private final BinaryOperator<String> textoDuplicado;
+
+    private final List<Entrada> entradas = new ArrayList<>();
+
+    private final Map<String, Conciliacion.Totales> totales = new LinkedHashMap<>();
+
+    /**
+     * Constructor de la clasificación con trabajadores en hilos del mismo
+     * proceso y un área de trabajo temporal.
+     *
+     * @param trabajadores   La cantidad de trabajadores, rangos por archivo y
+     *                       fragmentos.
+     * @param textoDuplicado El texto del registro duplicado a partir de la llave
+     *                       de la primera aparición y la línea duplicada.
+     */
+    public ClasificacionFragmentada(int trabajadores, BinaryOperator<String> textoDuplicado) {
+        this(trabajadores, textoDuplicado, ValidadorRegistros.INACTIVO);
+    }
+
+    /**
+     * Constructor de la clasificación con trabajadores en hilos del mismo
+     * proceso, un área de trabajo temporal y validación del diseño de
+     * registro.
+     *
+     * @param trabajadores   La cantidad de trabajadores, rangos por archivo y
+     *                       fragmentos.
+     * @param textoDuplicado El texto del registro duplicado a partir de la llave
+     *                       de la primera aparición y la línea duplicada.
+     * @param validador      El validador del diseño de registro de los
+     *                       trabajadores.
+     */
+    public ClasificacionFragmentada(int trabajadores, BinaryOperator<String> textoDuplicado,
+            ValidadorRegistros validador) {
+        this(AreaTrabajo.temporal(), trabajadores, TAMANO_BLOQUE, textoDuplicado, validador);
+    }
+
+    ClasificacionFragmentada(AreaTrabajo areaTrabajo, int trabajadores, int tamanoBloque,
+            BinaryOperator<String> textoDuplicado) {
+        this(areaTrabajo, trabajadores, tamanoBloque, textoDuplicado, ValidadorRegistros.INACTIVO);
+    }
+
+    ClasificacionFragmentada(AreaTrabajo areaTrabajo, int trabajadores, int tamanoBloque,
+            BinaryOperator<String> textoDuplicado, ValidadorRegistros validador) {
+        this(areaTrabajo, new InvocadorEnProceso(new TrabajadorFragmentos(areaTrabajo, validador,
+                new IndicePrimeraAparicion(trabajadores)), trabajadores), trabajadores, tamanoBloque, textoDuplicado);
+    }
+
+    /**
+     * Constructor de la clasificación con el invocador de trabajadores indicado.
+     *
+     * @param areaTrabajo    El área de trabajo compartida con los trabajadores.
+     * @param invocador      El invocador de los trabajadores.
+     * @param trabajadores   La cantidad de rangos por archivo y de fragmentos.
+     * @param tamanoBloque   Los bytes mínimos entre dos cortes de una entrada.
+     * @param textoDuplicado El texto del registro duplicado a partir de la llave
+     *                       de la primera aparición y la línea duplicada.
+     */
+    public ClasificacionFragmentada(AreaTrabajo areaTrabajo, InvocadorTrabajadores invocador, int trabajadores,
+            int tamanoBloque, BinaryOperator<String> textoDuplicado) {
+        this.areaTrabajo = areaTrabajo;
+        this.invocador = invocador;
+        this.trabajadores = Math.max(1, trabajadores);
+        this.tamanoBloque = tamanoBloque;
+        this.textoDuplicado = textoDuplicado;
+    }
+
+    /**
+     * Publica una entrada descifrada en el área de trabajo y registra sus
+     * posibles cortes: la posición siguiente al primer salto de línea después de
+     * cada bloque.
+     *
+     * @param  nombreArchivo El nombre del archivo, sin ruta ni extensión.
+     * @param  descifrado    El contenido descifrado.
+     * @throws AthException  Si ocurre un error al leer la entrada.
+     */
+    public void agregarArchivo(String nombreArchivo, InputStream descifrado) {
+        String llave = String.format("entradas/%03d", entradas.size());
+        List<Long> cortes = new ArrayList<>();
+        try (AreaTrabajo.Escritor escritor = areaTrabajo.crear(llave)) {
+            byte[] buffer = new byte[TAMANO_BUFFER];
+            long posicion = 0;
+            long siguienteCorte = tamanoBloque;
+            int leidos;
+            while ((leidos = descifrado.read(buffer)) >= 0) {
+                int i = (int) Math.max(0, Math.min(leidos, siguienteCorte - posicion));
+                for (; i < leidos; i++) {
+                    if (buffer[i] == '\n') {
+                        cortes.add(posicion + i + 1);
+                        siguienteCorte = posicion + i + 1 + tamanoBloque;
+                        i = (int) Math.min(leidos, siguienteCorte - posicion) - 1;
+                    }
+                }
+                escritor.getSalida().write(buffer, 0, leidos);
+                posicion += leidos;
+            }
+            escritor.publicar();
+            entradas.add(new Entrada(nombreArchivo, llave, posicion, cortes));
+        } catch (IOException e) {
+            throw new AthException("[ERROR][13.1]",
+                    "[ERROR] Error al publicar la entrada [" + nombreArchivo + "]: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Clasifica las entradas agregadas y llena los mapas de registros.
+     *
+     * @param  typesMaps    Los mapas de registros por archivo de salida.
+     * @return              Los registros de cada archivo, incluido el
+     *                      encabezado, en el orden en que se agregaron.
+     * @throws AthException Si falla un trabajador o la fusión.
+     */
+    public Map<String, Integer> clasificar(Map<String, Map<String, String>> typesMaps) {
+        List<RangoArchivo> rangos = new ArrayList<>();
+        for (int archivo = 0; archivo < entradas.size(); archivo++) {
+            rangos.addAll(dividir(entradas.get(archivo), archivo, rangos.size()));
+        }
+        Continuacion.actual().verificarPlazo("particion");
+        List<ResultadoTrabajo> particiones;
+        try (Tramo tramo = Instrumentacion.tramo("particion", rangos.size() + " rangos")) {
+            particiones = invocador.invocar(rangos.stream()
+                    .map(rango -> SolicitudTrabajo.particion(rango, trabajadores)).collect(Collectors.toList()));
+        }
+
+        int[] archivoPorRango = new int[rangos.size()];
+        int[] desplazamientos = new int[rangos.size()];
+        long[] lineasPrevias = new long[rangos.size()];
+        long[] encabezados = new long[entradas.size()];
+        int[] registros = new int[entradas.size()];
+        long[] lineas = new long[entradas.size()];
+        Arrays.fill(encabezados, TrabajadorFragmentos.FIN);
+        for (int rango = 0; rango < rangos.size(); rango++) {
+            int archivo = rangos.get(rango).getArchivo();
+            archivoPorRango[rango] = archivo;
+            desplazamientos[rango] = registros[archivo];
+            lineasPrevias[rango] = lineas[archivo];
+            lineas[archivo] += particiones.get(rango).getLineas();
+            if (encabezados[archivo] == TrabajadorFragmentos.FIN && particiones.get(rango).getRegistros() > 0) {
+                encabezados[archivo] = TrabajadorFragmentos.posicion(rango, 0);
+            }
+            registros[archivo] += particiones.get(rango).getRegistros();
+        }
+
+        Continuacion.actual().verificarPlazo("deduplicacion");
+        List<ResultadoTrabajo> fragmentos;
+        try (Tramo tramo = Instrumentacion.tramo("deduplicacion", trabajadores + " fragmentos")) {
+            fragmentos = invocador.invocar(IntStream.range(0, trabajadores)
+                    .mapToObj(fragmento -> SolicitudTrabajo.deduplicacion(fragmento, archivoPorRango, encabezados))
+                    .collect(Collectors.toList()));
+        }
+
+        try (Tramo tramo = Instrumentacion.tramo("fusion")) {
+            fusionar(typesMaps, archivoPorRango, desplazamientos, encabezados);
+            ponerEnCuarentena(typesMaps, archivoPorRango, lineasPrevias);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][13.1]", "[ERROR] Error al fusionar los segmentos: " + e.getMessage(), e);
+        }
+        Map<String, Integer> totales = new LinkedHashMap<>();
+        for (int archivo = 0; archivo < entradas.size(); archivo++) {
+            totales.put(entradas.get(archivo).nombre, registros[archivo]);
+        }
+        LOGGER.log(String.format("[INFO] Clasificación fragmentada: archivos=%d rangos=%d fragmentos=%d "
+                + "registros=%d duplicados=%d%n", entradas.size(), rangos.size(), trabajadores,
+                fragmentos.stream().mapToInt(ResultadoTrabajo::getRegistros).sum(),
+                fragmentos.stream().mapToInt(ResultadoTrabajo::getDuplicados).sum()));
+        return totales;
+    }
+
+    /**
+     * Retorna los totales de conciliación de cada archivo clasificado con
+     * {@link #clasificar}.
+     *
+     * @return Los totales por archivo, en el orden en que se agregaron.
+     */
+    public Map<String, Conciliacion.Totales> getTotales() {
+        return totales;
+    }
+
+    /**
+     * Elimina las entradas, particiones y segmentos del área de trabajo.
+     */
+    @Override
+    public void close() {
+        entradas.clear();
+        areaTrabajo.close();
+    }
+
+    /**
+     * Divide una entrada en hasta {@code trabajadores} rangos de tamaño similar,
+     * cortando en las posiciones registradas al publicarla.
+     *
+     * @param  entrada      La entrada a dividir.
+     * @param  archivo      El orden del archivo.
+     * @param  primerIndice El índice global del primer rango.
+     * @return              Los rangos de la entrada; al menos uno.
+     */
+    List<RangoArchivo> dividir(Entrada entrada, int archivo, int primerIndice) {
+        List<RangoArchivo> rangos = new ArrayList<>();
+        long inicio = 0;
+        for (int parte = 1; parte < trabajadores; parte++) {
+            long objetivo = entrada.tamano * parte / trabajadores;
+            int candidato = Collections.binarySearch(entrada.cortes, objetivo);
+            int indice = candidato >= 0 ? candidato : -candidato - 1;
+            if (indice >= entrada.cortes.size()) {
+                break;
+            }
+            long corte = entrada.cortes.get(indice);
+            if (corte > inicio && corte < entrada.tamano) {
+                rangos.add(new RangoArchivo(primerIndice + rangos.size(), archivo, entrada.llave, inicio, corte));
+                inicio = corte;
+            }
+        }
+        rangos.add(new RangoArchivo(primerIndice + rangos.size(), archivo, entrada.llave, inicio, entrada.tamano));
+        return rangos;
+    }
+
+    List<Entrada> getEntradas() {
+        return entradas;
+    }
+
+    private void fusionar(Map<String, Map<String, String>> typesMaps, int[] archivoPorRango, int[] desplazamientos,
+            long[] encabezados) throws IOException {
+        typesMaps.putIfAbsent(Constantes.ARCHIVO_FUSIONADO, new LinkedHashMap<>());
+        typesMaps.putIfAbsent(Constantes.ARCHIVO_DIVIDENDOS, new LinkedHashMap<>());
+        Map<String, String> fusionado = typesMaps.get(Constantes.ARCHIVO_FUSIONADO);
+        Map<String, String> dividendos = typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS);
+        Conciliacion.Totales[] totalesArchivo = new Conciliacion.Totales[entradas.size()];
+        for (int archivo = 0; archivo < entradas.size(); archivo++) {
+            totalesArchivo[archivo] = new Conciliacion.Totales();
+            totales.put(entradas.get(archivo).nombre, totalesArchivo[archivo]);
+        }
+        HistoricoFacturas historico = HistoricoFacturas.actual();
+        recorrer(cursor -> {
+            int archivo = archivoPorRango[rango(cursor.posicion)];
+            String llave = llave(cursor.posicion, archivoPorRango, desplazamientos);
+            if (cursor.duplicados) {
+                dividendos.put(llave, textoDuplicado.apply(llave(cursor.primera, archivoPorRango, desplazamientos),
+                        cursor.linea));
+                totalesArchivo[archivo].sumar(true, Conciliacion.importe(cursor.linea));
+            } else if (cursor.posicion == encabezados[archivo]) {
+                if (fusionado.isEmpty()) {
+                    fusionado.put(llave, cursor.linea);
+                }
+            } else if (historico.contiene(cursor.linea.substring(1, 13))) {
+                dividendos.put(llave, HistoricoFacturas.textoDuplicado(cursor.linea));
+                totalesArchivo[archivo].sumar(true, Conciliacion.importe(cursor.linea));
+                Instrumentacion.contar(MetricasEjecucion.DUPLICADOS_HISTORICO, 1);
+            } else {
+                fusionado.put(llave, cursor.linea);
+                totalesArchivo[archivo].sumar(false, Conciliacion.importe(cursor.linea));
+            }
+        });
+    }
+
+    /**
+     * Agrega a la cuarentena de cada archivo las líneas de los segmentos de
+     * cuarentena de sus rangos, en el orden de los rangos.
+     */
+    private void ponerEnCuarentena(Map<String, Map<String, String>> typesMaps, int[] archivoPorRango,
+            long[] lineasPrevias) throws IOException {
+        Cuarentena[] cuarentenas = new Cuarentena[entradas.size()];
+        for (int archivo = 0; archivo < entradas.size(); archivo++) {
+            cuarentenas[archivo] = new Cuarentena(entradas.get(archivo).nombre, typesMaps);
+        }
+        ValidadorRegistros.Motivo[] motivos = ValidadorRegistros.Motivo.values();
+        for (int rango = 0; rango < archivoPorRango.length; rango++) {
+            Cuarentena cuarentena = cuarentenas[archivoPorRango[rango]];
+            try (DataInputStream segmento = areaTrabajo.leer(TrabajadorFragmentos.cuarentena(rango))) {
+                long linea = segmento.readLong();
+                while (linea != TrabajadorFragmentos.FIN) {
+                    ValidadorRegistros.Motivo motivo = motivos[segmento.readByte()];
+                    cuarentena.agregar(lineasPrevias[rango] + linea, motivo, AreaTrabajo.leerTexto(segmento));
+                    linea = segmento.readLong();
+                }
+            }
+        }
+        for (Cuarentena cuarentena : cuarentenas) {
+            cuarentena.registrar();
+        }
+    }
+
+    /**
+     * Recorre los segmentos de únicos y de duplicados de todos los fragmentos
+     * en el orden global de sus posiciones, el mismo de la lectura secuencial.
+     */
+    private void recorrer(Consumer<Cursor> destino) throws IOException {
+        PriorityQueue<Cursor> cola = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.posicion));
+        List<Cursor> cursores = new ArrayList<>(2 * trabajadores);
+        try {
+            for (int fragmento = 0; fragmento < trabajadores; fragmento++) {
+                cursores.add(new Cursor(areaTrabajo.leer(TrabajadorFragmentos.unicos(fragmento)), false));
+                cursores.add(new Cursor(areaTrabajo.leer(TrabajadorFragmentos.duplicados(fragmento)), true));
+            }
+            for (Cursor cursor : cursores) {
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+            while (!cola.isEmpty()) {
+                Cursor cursor = cola.poll();
+                destino.accept(cursor);
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+        } finally {
+            for (Cursor cursor : cursores) {
+                cursor.entrada.close();
+            }
+        }
+    }
+
+    private String llave(long posicion, int[] archivoPorRango, int[] desplazamientos) {
+        int rango = rango(posicion);
+        return entradas.get(archivoPorRango[rango]).nombre + "_" + (desplazamientos[rango] + (int) posicion);
+    }
+
+    private static int rango(long posicion) {
+        return (int) (posicion >>> 32);
+    }
+
+    /**
+     * Entrada descifrada publicada en el área de trabajo.
+     */
+    static final class Entrada {
+
+        private final String nombre;
+
+        private final String llave;
+
+        private final long tamano;
+
+        private final List<Long> cortes;
+
+        Entrada(String nombre, String llave, long tamano, List<Long> cortes) {
+            this.nombre = nombre;
+            this.llave = llave;
+            this.tamano = tamano;
+            this.cortes = cortes;
+        }
+    }
+
+    /**
+     * Registro actual de un segmento parcial.
+     */
+    private static final class Cursor {
+
+        private final DataInputStream entrada;
+
+        private final boolean duplicados;
+
+        private long posicion;
+
+        private long primera;
+
+        private String linea;
+
+        Cursor(DataInputStream entrada, boolean duplicados) {
+            this.entrada = entrada;
+            this.duplicados = duplicados;
+        }
+
+        boolean avanzar() throws IOException {
+            posicion = entrada.readLong();
+            if (posicion == TrabajadorFragmentos.FIN) {
+                return false;
+            }
+            if (duplicados) {
+                primera = entrada.readLong();
+            }
+            linea = AreaTrabajo.leerTexto(entrada);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package co.com.aws.lambda.fragmentacion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import co.com.ath.aws.exception.AthException;
+
+/**
+ * {@link InvocadorTrabajadores} que ejecuta cada solicitud en un hilo de un
+ * pool fijo, en representación de una invocación por trabajador.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class InvocadorEnProceso implements InvocadorTrabajadores {
+
+    private final TrabajadorFragmentos trabajador;
+
+    private final int hilos;
+
+    /**
+     * Constructor del invocador.
+     *
+     * @param trabajador El trabajador que atiende las solicitudes.
+     * @param hilos      La cantidad de solicitudes que se atienden a la vez.
+     */
+    public InvocadorEnProceso(TrabajadorFragmentos trabajador, int hilos) {
+        this.trabajador = trabajador;
+        this.hilos = Math.max(1, hilos);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws AthException La excepción de la primera solicitud que falle.
+     */
+    @Override
+    public List<ResultadoTrabajo> invocar(List<SolicitudTrabajo> solicitudes) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(hilos, Math.max(1, solicitudes.size())));
+        try {
+            List<Callable<ResultadoTrabajo>> tareas = solicitudes.stream()
+                    .map(solicitud -> (Callable<ResultadoTrabajo>) () -> trabajador.procesar(solicitud))
+                    .collect(Collectors.toList());
+            List<ResultadoTrabajo> resultados = new ArrayList<>(solicitudes.size());
+            for (Future<ResultadoTrabajo> futuro : pool.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AthException) {
+                throw (AthException) e.getCause();
+            }
+            throw new AthException("[ERROR][13]", "[ERROR] Error en un trabajador de la clasificación fragmentada: "
+                    + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AthException("[ERROR][13]", "[ERROR] Clasificación fragmentada interrumpida", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package co.com.aws.lambda.fragmentacion;
+
+import java.util.List;
+
+/**
+ * Punto de extensión que ejecuta las solicitudes de una fase de la
+ * clasificación fragmentada, en hilos del mismo proceso o como invocaciones
+ * independientes que comparten el {@link AreaTrabajo}.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public interface InvocadorTrabajadores {
+
+    /**
+     * Ejecuta las solicitudes y espera a que terminen todas.
+     *
+     * @param  solicitudes Las solicitudes de una fase.
+     * @return             Los resultados, en el orden de las solicitudes.
+     */
+    List<ResultadoTrabajo> invocar(List<SolicitudTrabajo> solicitudes);
+}
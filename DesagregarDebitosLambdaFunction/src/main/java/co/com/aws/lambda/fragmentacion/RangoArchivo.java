@@ -0,0 +1,65 @@
+package co.com.aws.lambda.fragmentacion;
+
+/**
+ * Rango de bytes de una entrada descifrada, alineado al inicio de una línea,
+ * que clasifica un trabajador. Los rangos se numeran de forma global en el
+ * orden de los archivos, por lo que el par (rango, registro dentro del rango)
+ * ordena los registros igual que la lectura secuencial.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class RangoArchivo {
+
+    private final int indice;
+
+    private final int archivo;
+
+    private final String llave;
+
+    private final long inicio;
+
+    private final long fin;
+
+    /**
+     * Constructor del rango.
+     *
+     * @param indice  El índice global del rango.
+     * @param archivo El orden del archivo al que pertenece el rango.
+     * @param llave   La llave de la entrada descifrada en el área de trabajo.
+     * @param inicio  La posición del primer byte del rango.
+     * @param fin     La posición siguiente al último byte del rango.
+     */
+    public RangoArchivo(int indice, int archivo, String llave, long inicio, long fin) {
+        this.indice = indice;
+        this.archivo = archivo;
+        this.llave = llave;
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public int getArchivo() {
+        return archivo;
+    }
+
+    public String getLlave() {
+        return llave;
+    }
+
+    public long getInicio() {
+        return inicio;
+    }
+
+    public long getFin() {
+        return fin;
+    }
+
+    @Override
+    public String toString() {
+        return "rango=" + indice + " archivo=" + archivo + " [" + inicio + ", " + fin + ")";
+    }
+}
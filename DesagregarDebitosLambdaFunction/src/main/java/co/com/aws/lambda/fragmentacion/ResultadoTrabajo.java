@@ -0,0 +1,59 @@
+package co.com.aws.lambda.fragmentacion;
+
+/**
+ * Resultado de una {@link SolicitudTrabajo}: en la partición, los registros y
+ * las líneas físicas del rango; en la deduplicación, los registros únicos y
+ * duplicados del fragmento.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ResultadoTrabajo {
+
+    private final int registros;
+
+    private final int duplicados;
+
+    private final int lineas;
+
+    /**
+     * Constructor del resultado.
+     *
+     * @param registros  Los registros procesados.
+     * @param duplicados Los registros duplicados.
+     */
+    public ResultadoTrabajo(int registros, int duplicados) {
+        this(registros, duplicados, 0);
+    }
+
+    /**
+     * Constructor del resultado con las líneas físicas leídas.
+     *
+     * @param registros  Los registros procesados.
+     * @param duplicados Los registros duplicados.
+     * @param lineas     Las líneas leídas, incluidas las omitidas y las
+     *                   enviadas a cuarentena.
+     */
+    public ResultadoTrabajo(int registros, int duplicados, int lineas) {
+        this.registros = registros;
+        this.duplicados = duplicados;
+        this.lineas = lineas;
+    }
+
+    public int getRegistros() {
+        return registros;
+    }
+
+    public int getDuplicados() {
+        return duplicados;
+    }
+
+    public int getLineas() {
+        return lineas;
+    }
+
+    @Override
+    public String toString() {
+        return "registros=" + registros + " duplicados=" + duplicados + " lineas=" + lineas;
+    }
+}
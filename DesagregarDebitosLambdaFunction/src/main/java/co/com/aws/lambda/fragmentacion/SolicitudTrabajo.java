@@ -0,0 +1,99 @@
+package co.com.aws.lambda.fragmentacion;
+
+/**
+ * Solicitud que el coordinador envía a un trabajador; contiene solo datos, de
+ * forma que puede viajar como la carga de una invocación.
+ * <ul>
+ * <li>{@link Tipo#PARTICION}: leer un rango de una entrada y repartir sus
+ * registros entre los fragmentos según el hash del número de factura.</li>
+ * <li>{@link Tipo#DEDUPLICACION}: leer las particiones de un fragmento de todos
+ * los rangos y separar los registros únicos de los duplicados.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class SolicitudTrabajo {
+
+    /**
+     * Fases del trabajo fragmentado.
+     */
+    public enum Tipo {
+        PARTICION, DEDUPLICACION
+    }
+
+    private final Tipo tipo;
+
+    private final int fragmentos;
+
+    private final RangoArchivo rango;
+
+    private final int fragmento;
+
+    private final int[] archivoPorRango;
+
+    private final long[] encabezados;
+
+    private SolicitudTrabajo(Tipo tipo, int fragmentos, RangoArchivo rango, int fragmento, int[] archivoPorRango,
+            long[] encabezados) {
+        this.tipo = tipo;
+        this.fragmentos = fragmentos;
+        this.rango = rango;
+        this.fragmento = fragmento;
+        this.archivoPorRango = archivoPorRango;
+        this.encabezados = encabezados;
+    }
+
+    /**
+     * Crea la solicitud de partición de un rango.
+     *
+     * @param  rango      El rango a particionar.
+     * @param  fragmentos La cantidad de fragmentos.
+     * @return            La solicitud.
+     */
+    public static SolicitudTrabajo particion(RangoArchivo rango, int fragmentos) {
+        return new SolicitudTrabajo(Tipo.PARTICION, fragmentos, rango, -1, null, null);
+    }
+
+    /**
+     * Crea la solicitud de deduplicación de un fragmento.
+     *
+     * @param  fragmento       El fragmento a deduplicar.
+     * @param  archivoPorRango El orden del archivo de cada rango global.
+     * @param  encabezados     La posición del encabezado de cada archivo, o -1
+     *                         si el archivo no tiene registros.
+     * @return                 La solicitud.
+     */
+    public static SolicitudTrabajo deduplicacion(int fragmento, int[] archivoPorRango, long[] encabezados) {
+        return new SolicitudTrabajo(Tipo.DEDUPLICACION, 0, null, fragmento, archivoPorRango, encabezados);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getFragmentos() {
+        return fragmentos;
+    }
+
+    public RangoArchivo getRango() {
+        return rango;
+    }
+
+    public int getFragmento() {
+        return fragmento;
+    }
+
+    public int[] getArchivoPorRango() {
+        return archivoPorRango;
+    }
+
+    public long[] getEncabezados() {
+        return encabezados;
+    }
+
+    @Override
+    public String toString() {
+        return tipo == Tipo.PARTICION ? tipo + " " + rango : tipo + " fragmento=" + fragmento;
+    }
+}
@@ -0,0 +1,242 @@
+package co.com.aws.lambda.fragmentacion;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.indice.IndicePrimeraAparicion;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
+
+/**
+ * Trabajador de la clasificación fragmentada. Atiende las dos fases que le
+ * asigna el coordinador sobre el {@link AreaTrabajo}:
+ * <ol>
+ * <li>Partición: lee un rango de una entrada con las mismas reglas de
+ * {@code ClasificaRegistros} (líneas recortadas y validadas con el
+ * {@link ValidadorRegistros}) y escribe cada registro con su posición en la
+ * partición del fragmento que corresponde al hash de su número de factura.
+ * Las líneas que no cumplen el diseño de registro se escriben, con su número
+ * de línea dentro del rango, en el segmento de cuarentena del rango.</li>
+ * <li>Deduplicación: lee las particiones de su fragmento en el orden de los
+ * rangos, de modo que la primera aparición de una factura en cada archivo es
+ * la de menor posición, y escribe los segmentos parciales de registros únicos
+ * (FUSIONADO) y duplicados (DIVIDENDOS), ordenados por posición. Los
+ * encabezados de los archivos no participan de la deduplicación.</li>
+ * </ol>
+ * <p>
+ * Como todas las apariciones de una factura caen en el mismo fragmento, cada
+ * fragmento deduplica sin consultar a los demás.
+ * </p>
+ * <p>
+ * Con un {@link IndicePrimeraAparicion} compartido, los trabajadores de la
+ * partición registran cada factura en él a la vez y la deduplicación consulta
+ * la primera aparición en el índice en lugar de construir un mapa por
+ * archivo; el resultado es el mismo en cualquier orden de ejecución. Solo
+ * aplica a trabajadores del mismo proceso.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class TrabajadorFragmentos {
+
+    /**
+     * Posición que marca el fin de una partición o segmento.
+     */
+    static final long FIN = -1L;
+
+    private final AreaTrabajo areaTrabajo;
+
+    private final ValidadorRegistros validador;
+
+    private final IndicePrimeraAparicion indice;
+
+    /**
+     * Constructor del trabajador sin validación del diseño de registro.
+     *
+     * @param areaTrabajo El área de trabajo compartida con el coordinador.
+     */
+    public TrabajadorFragmentos(AreaTrabajo areaTrabajo) {
+        this(areaTrabajo, ValidadorRegistros.INACTIVO);
+    }
+
+    /**
+     * Constructor del trabajador.
+     *
+     * @param areaTrabajo El área de trabajo compartida con el coordinador.
+     * @param validador   El validador del diseño de registro.
+     */
+    public TrabajadorFragmentos(AreaTrabajo areaTrabajo, ValidadorRegistros validador) {
+        this(areaTrabajo, validador, null);
+    }
+
+    /**
+     * Constructor del trabajador con un índice de primeras apariciones
+     * compartido por los trabajadores del mismo proceso.
+     *
+     * @param areaTrabajo El área de trabajo compartida con el coordinador.
+     * @param validador   El validador del diseño de registro.
+     * @param indice      El índice compartido, o {@code null} para deduplicar
+     *                    con un mapa por archivo en cada fragmento.
+     */
+    public TrabajadorFragmentos(AreaTrabajo areaTrabajo, ValidadorRegistros validador,
+            IndicePrimeraAparicion indice) {
+        this.areaTrabajo = areaTrabajo;
+        this.validador = validador;
+        this.indice = indice;
+    }
+
+    /**
+     * Atiende una solicitud del coordinador.
+     *
+     * @param  solicitud    La solicitud de partición o deduplicación.
+     * @return              El resultado de la solicitud.
+     * @throws AthException Si ocurre un error al leer o escribir en el área de
+     *                      trabajo.
+     */
+    public ResultadoTrabajo procesar(SolicitudTrabajo solicitud) {
+        try {
+            return solicitud.getTipo() == SolicitudTrabajo.Tipo.PARTICION ? particionar(solicitud)
+                    : deduplicar(solicitud);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][13.1]",
+                    "[ERROR] Error en la solicitud [" + solicitud + "]: " + e.getMessage(), e);
+        }
+    }
+
+    private ResultadoTrabajo particionar(SolicitudTrabajo solicitud) throws IOException {
+        RangoArchivo rango = solicitud.getRango();
+        List<AreaTrabajo.Escritor> particiones = new ArrayList<>(solicitud.getFragmentos());
+        try {
+            for (int fragmento = 0; fragmento < solicitud.getFragmentos(); fragmento++) {
+                particiones.add(areaTrabajo.crear(particion(rango.getIndice(), fragmento)));
+            }
+            AreaTrabajo.Escritor enCuarentena = areaTrabajo.crear(cuarentena(rango.getIndice()));
+            particiones.add(enCuarentena);
+            int registro = 0;
+            int lineas = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    areaTrabajo.leerRango(rango.getLlave(), rango.getInicio(), rango.getFin())))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineas++;
+                    line = line.trim();
+                    if (validador.omitir(line))
+                        continue;
+                    boolean encabezado = rango.getInicio() == 0 && registro == 0;
+                    ValidadorRegistros.Motivo motivo = validador.validar(line, encabezado);
+                    if (motivo != null) {
+                        enCuarentena.getSalida().writeLong(lineas);
+                        enCuarentena.getSalida().writeByte(motivo.ordinal());
+                        AreaTrabajo.escribirTexto(enCuarentena.getSalida(), line);
+                        continue;
+                    }
+                    String numFactura = line.substring(1, 13);
+                    DataOutputStream salida = particiones
+                            .get(Math.floorMod(numFactura.hashCode(), solicitud.getFragmentos())).getSalida();
+                    long posicion = posicion(rango.getIndice(), registro);
+                    if (indice != null && !encabezado) {
+                        indice.registrar(rango.getArchivo(), line, posicion);
+                    }
+                    salida.writeLong(posicion);
+                    AreaTrabajo.escribirTexto(salida, line);
+                    registro++;
+                }
+            }
+            for (AreaTrabajo.Escritor particion : particiones) {
+                particion.getSalida().writeLong(FIN);
+                particion.publicar();
+            }
+            return new ResultadoTrabajo(registro, 0, lineas);
+        } finally {
+            particiones.forEach(AreaTrabajo.Escritor::close);
+        }
+    }
+
+    private ResultadoTrabajo deduplicar(SolicitudTrabajo solicitud) throws IOException {
+        int[] archivoPorRango = solicitud.getArchivoPorRango();
+        long[] encabezados = solicitud.getEncabezados();
+        List<Map<String, Long>> primeraAparicion = new ArrayList<>(encabezados.length);
+        for (int archivo = 0; indice == null && archivo < encabezados.length; archivo++) {
+            primeraAparicion.add(new HashMap<>());
+        }
+        int registros = 0;
+        int duplicados = 0;
+        try (AreaTrabajo.Escritor unicos = areaTrabajo.crear(unicos(solicitud.getFragmento()));
+                AreaTrabajo.Escritor repetidos = areaTrabajo.crear(duplicados(solicitud.getFragmento()))) {
+            for (int rango = 0; rango < archivoPorRango.length; rango++) {
+                int archivo = archivoPorRango[rango];
+                try (DataInputStream particion = areaTrabajo.leer(particion(rango, solicitud.getFragmento()))) {
+                    for (long posicion = particion.readLong(); posicion != FIN; posicion = particion.readLong()) {
+                        String linea = AreaTrabajo.leerTexto(particion);
+                        registros++;
+                        Long primera = posicion == encabezados[archivo] ? null
+                                : primeraAparicion(primeraAparicion, archivo, linea, posicion);
+                        if (primera == null) {
+                            unicos.getSalida().writeLong(posicion);
+                        } else {
+                            duplicados++;
+                            repetidos.getSalida().writeLong(posicion);
+                            repetidos.getSalida().writeLong(primera);
+                        }
+                        AreaTrabajo.escribirTexto(primera == null ? unicos.getSalida() : repetidos.getSalida(), linea);
+                    }
+                }
+            }
+            unicos.getSalida().writeLong(FIN);
+            repetidos.getSalida().writeLong(FIN);
+            unicos.publicar();
+            repetidos.publicar();
+        }
+        return new ResultadoTrabajo(registros, duplicados);
+    }
+
+    /**
+     * Retorna la primera aparición de la factura de un registro si es anterior
+     * al registro, o {@code null} si el registro es la primera aparición.
+     */
+    private Long primeraAparicion(List<Map<String, Long>> primeraAparicion, int archivo, String linea,
+            long posicion) {
+        if (indice == null) {
+            return primeraAparicion.get(archivo).putIfAbsent(linea.substring(1, 13), posicion);
+        }
+        long primera = indice.primera(archivo, linea);
+        return primera == IndicePrimeraAparicion.NINGUNA || primera == posicion ? null : primera;
+    }
+
+    /**
+     * Codifica la posición de un registro: el rango global en los 32 bits altos y
+     * el registro dentro del rango en los bajos, de modo que el orden numérico es
+     * el orden de lectura secuencial.
+     *
+     * @param  rango    El índice global del rango.
+     * @param  registro El registro dentro del rango.
+     * @return          La posición del registro.
+     */
+    static long posicion(int rango, int registro) {
+        return ((long) rango << 32) | registro;
+    }
+
+    static String particion(int rango, int fragmento) {
+        return String.format("particiones/%05d-%03d", rango, fragmento);
+    }
+
+    static String unicos(int fragmento) {
+        return String.format("fusionado/%03d", fragmento);
+    }
+
+    static String duplicados(int fragmento) {
+        return String.format("dividendos/%03d", fragmento);
+    }
+
+    static String cuarentena(int rango) {
+        return String.format("cuarentena/%05d", rango);
+    }
+}
@@ -7,15 +7,31 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.LambdaRuntime;
 import com.amazonaws.services.lambda.runtime.events.S3Event;
 
 import co.com.ath.aws.exception.AthException;
 import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.AlmacenPuntosControl;
+import co.com.aws.lambda.continuacion.Continuacion;
+import co.com.aws.lambda.continuacion.Plazo;
+import co.com.aws.lambda.continuacion.PlazoAgotadoException;
+import co.com.aws.lambda.continuacion.PuntoControl;
 import co.com.aws.lambda.dao.AuditoriaDividendosDao;
 import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.indice.HistoricoFacturas;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.jfr.GrabacionJfr;
+import co.com.aws.lambda.metricas.jfr.ObjectStoreJfr;
+import co.com.aws.lambda.storage.InterceptorS3;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.storage.S3ObjectStore;
 import co.com.aws.lambda.util.FileValidation;
+import co.com.aws.lambda.util.GobernadorMemoria;
 import co.com.aws.lambda.util.UtilsLambda;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
@@ -34,6 +50,31 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  * La clase también interactúa con el bucket de entrada y salida, y otros
  * servicios asociados a la auditoría y manejo de archivos.
  * </p>
+ * <p>
+ * Cada paso se mide como una etapa de {@link Instrumentacion}; al terminar la
+ * invocación, exitosa o no, los exportadores configurados publican sus
+ * métricas (por defecto en el log y en formato EMF de CloudWatch). Con
+ * {@link ConfiguracionDto#isGrabacionJfr()} la invocación además se graba con
+ * JDK Flight Recorder y el archivo se publica en la ruta de diagnósticos.
+ * </p>
+ * <p>
+ * Antes de descifrar, el {@link GobernadorMemoria} estima el consumo de los
+ * archivos listados y elige si los registros se clasifican en el heap o en
+ * archivos temporales.
+ * </p>
+ * <p>
+ * Con el {@link Context} de Lambda el proceso vigila el tiempo restante de la
+ * invocación: cuando queda menos de {@link ConfiguracionDto#getMargenPlazoMs()}
+ * guarda un {@link PuntoControl} en {@code /tmp} y en el bucket de salida y
+ * termina con error, de modo que el reintento de la invocación asíncrona
+ * continúa desde ese punto en lugar de empezar de nuevo.
+ * </p>
+ * <p>
+ * Con {@link ConfiguracionDto#isHistoricoFacturas()} las facturas que ya se
+ * publicaron en una ejecución anterior se clasifican como duplicadas, y las
+ * del archivo fusionado se agregan al {@link HistoricoFacturas} después de
+ * publicarlo.
+ * </p>
  * 
  * @author  David Alfonso
  * @version 1.0
@@ -43,7 +84,9 @@ public class BillpayLambdaHandler {
 
     private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
 
-    private final S3Client s3Client;
+    private final ObjectStore objectStore;
+
+    private final ConfiguracionDto configuracion;
 
     private DesencriptaArchivos desencriptaArchivos;
 
@@ -53,19 +96,75 @@ public class BillpayLambdaHandler {
 
     private MoverArchivosFinales moverArchivosFinales;
 
+    private final GobernadorMemoria gobernadorMemoria;
+
+    private final AlmacenPuntosControl almacenPuntosControl;
+
     /**
      * Constructor por defecto que inicializa los componentes necesarios para la
      * Lambda: el cliente de S3, las clases encargadas de desencriptar y encriptar
      * archivos, el DAO para auditoría y la clase encargada de mover archivos
-     * finales.
+     * finales. Cada operación sobre S3 se registra como evento de JFR y en el
+     * resumen de llamadas a S3 de la invocación.
      */
     public BillpayLambdaHandler() {
-        this.s3Client = S3Client.builder().region(Region.US_EAST_1)
-                .credentialsProvider(DefaultCredentialsProvider.create()).build();
-        this.desencriptaArchivos = new DesencriptaArchivos(this.s3Client);
-        this.encriptarArchivos = new EncriptarArchivos(this.s3Client);
-        this.moverArchivosFinales = new MoverArchivosFinales(this.s3Client);
-        this.auditoriaDividendosDao = new AuditoriaDividendosDao();
+        this(new ObjectStoreJfr(new S3ObjectStore(S3Client.builder().region(Region.US_EAST_1)
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .overrideConfiguration(c -> c.addExecutionInterceptor(new InterceptorS3())).build())));
+    }
+
+    /**
+     * Constructor que inicializa los componentes de la Lambda sobre el
+     * almacenamiento de objetos indicado, permitiendo ejecutar el proceso sobre S3
+     * o sobre un almacenamiento local.
+     * 
+     * @param objectStore El almacenamiento de objetos de entrada, salida y llaves.
+     */
+    public BillpayLambdaHandler(ObjectStore objectStore) {
+        this(objectStore, ConfiguracionDto.desdeConstantes());
+    }
+
+    /**
+     * Constructor que inicializa los componentes de la Lambda sobre el
+     * almacenamiento de objetos y la configuración indicados.
+     * 
+     * @param objectStore   El almacenamiento de objetos de entrada, salida y
+     *                      llaves.
+     * @param configuracion La configuración de buckets, rutas y llaves del proceso.
+     */
+    public BillpayLambdaHandler(ObjectStore objectStore, ConfiguracionDto configuracion) {
+        this(objectStore, configuracion, new DesencriptaArchivos(objectStore, configuracion),
+                new EncriptarArchivos(objectStore, configuracion), new MoverArchivosFinales(objectStore, configuracion),
+                new AuditoriaDividendosDao());
+    }
+
+    /**
+     * Constructor que recibe cada uno de los componentes del proceso.
+     * 
+     * @param objectStore            El almacenamiento de objetos de entrada,
+     *                               salida y llaves.
+     * @param configuracion          La configuración de buckets, rutas y llaves
+     *                               del proceso.
+     * @param desencriptaArchivos    El componente que desencripta y clasifica los
+     *                               archivos.
+     * @param encriptarArchivos      El componente que encripta y publica los
+     *                               archivos resultantes.
+     * @param moverArchivosFinales   El componente que mueve los archivos
+     *                               procesados.
+     * @param auditoriaDividendosDao El DAO donde se registra la auditoría.
+     */
+    public BillpayLambdaHandler(ObjectStore objectStore, ConfiguracionDto configuracion,
+            DesencriptaArchivos desencriptaArchivos, EncriptarArchivos encriptarArchivos,
+            MoverArchivosFinales moverArchivosFinales, AuditoriaDividendosDao auditoriaDividendosDao) {
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        this.desencriptaArchivos = desencriptaArchivos;
+        this.encriptarArchivos = encriptarArchivos;
+        this.moverArchivosFinales = moverArchivosFinales;
+        this.auditoriaDividendosDao = auditoriaDividendosDao;
+        this.gobernadorMemoria = new GobernadorMemoria(configuracion);
+        this.almacenPuntosControl = new AlmacenPuntosControl(objectStore, configuracion,
+                new CifradoPgpPuntosControl(objectStore, configuracion, desencriptaArchivos));
     }
 
     /**
@@ -78,7 +177,25 @@ public class BillpayLambdaHandler {
      *                procesar.
      */
     public void handleRequest(final S3Event s3Event) {
-        List<S3Object> archivosBucket;
+        handleRequest(s3Event, null);
+    }
+
+    /**
+     * Método que maneja el evento de entrada S3Event con el contexto de la
+     * invocación, cuyo tiempo restante define el plazo del proceso. Si existe un
+     * punto de control de los mismos archivos de entrada, el proceso continúa
+     * desde él.
+     * 
+     * @param  s3Event               El evento S3 que contiene los registros de
+     *                               los archivos a procesar.
+     * @param  context               El contexto de la invocación; sin contexto el
+     *                               plazo no se agota.
+     * @throws PlazoAgotadoException Si el plazo se agota; el punto de control
+     *                               queda guardado y la ejecución continúa en
+     *                               la siguiente invocación con el mismo
+     *                               evento.
+     */
+    public void handleRequest(final S3Event s3Event, final Context context) {
         LocalDateTime fechaEjecucion = LocalDateTime.now();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd_HH-mm-ss");
         LOGGER.log(String.format("[INFO] Inicia Lambda DesagregarDebitosLambdaFunction [%s]%s",
@@ -87,24 +204,96 @@ public class BillpayLambdaHandler {
             LOGGER.log("[WARN] No hay archivos para procesar\n");
             return;
         }
-        processFileValidation(s3Event);
-        archivosBucket = UtilsLambda.verificarArchivosEnBucket(s3Client);
-        AuditoriaDividendosDto auditoriaDividendosDto = new AuditoriaDividendosDto();
-        auditoriaDividendosDto.setHoraInicio(Timestamp.valueOf(LocalDateTime.now()));
+        MetricasEjecucion metricas = Instrumentacion.iniciarInvocacion();
+        GrabacionJfr grabacion = configuracion.isGrabacionJfr() ? GrabacionJfr.iniciar("DesagregarDebitos") : null;
+        Plazo plazo = Plazo.desde(context, configuracion.getMargenPlazoMs());
         Map<String, Map<String, String>> typesMaps = new HashMap<>();
-        this.desencriptaArchivos.getFiles(archivosBucket, typesMaps, auditoriaDividendosDto);
-        int totalRegitrosUnicos = calculateTotalRecords(typesMaps);
-        processAuditoria(typesMaps, auditoriaDividendosDto, totalRegitrosUnicos);
-        this.encriptarArchivos.getEncrypRecords(typesMaps);
-        auditoriaDividendosDto.setHoraFin(Timestamp.valueOf(LocalDateTime.now()));
-        this.moverArchivosFinales.moverArchivos(archivosBucket);
+        PuntoControl puntoControl = null;
+        try {
+            Instrumentacion.medir("validacion", () -> processFileValidation(s3Event));
+            List<S3Object> archivosBucket = Instrumentacion.medir("listado",
+                    () -> UtilsLambda.verificarArchivosEnBucket(objectStore,
+                            configuracion.getNombreBucketArchivosEntrada(), configuracion.getRutaEntrada()));
+            GobernadorMemoria.Decision decision = Instrumentacion.medir("gobernador",
+                    () -> gobernadorMemoria.decidir(archivosBucket));
+            typesMaps.putAll(decision.crearMapas());
+            puntoControl = Instrumentacion.medir("reanudacion",
+                    () -> almacenPuntosControl.cargar(archivosBucket, typesMaps));
+            Continuacion continuacion = Continuacion.iniciar(plazo, puntoControl);
+            if (configuracion.isHistoricoFacturas()) {
+                Instrumentacion.medir("historico",
+                        () -> HistoricoFacturas.iniciar(objectStore, configuracion, archivosBucket));
+            }
+            AuditoriaDividendosDto auditoriaDividendosDto = new AuditoriaDividendosDto();
+            auditoriaDividendosDto.setHoraInicio(new Timestamp(puntoControl.getHoraInicio()));
+            Instrumentacion.medir("desencriptar_clasificar",
+                    () -> this.desencriptaArchivos.getFiles(archivosBucket, typesMaps, auditoriaDividendosDto,
+                            decision.getEstrategia()));
+            LOGGER.log("[INFO] Conciliación de importes:\n" + metricas.getConciliacion() + "\n");
+            Instrumentacion.medir("totales",
+                    () -> processAuditoria(typesMaps, auditoriaDividendosDto, calculateTotalRecords(typesMaps)));
+            Map<String, String> dividendos = typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS);
+            Instrumentacion.contar(MetricasEjecucion.REGISTROS_DUPLICADOS, dividendos != null ? dividendos.size() : 0);
+            Instrumentacion.medir("encriptar", () -> this.encriptarArchivos.getEncrypRecords(typesMaps));
+            if (configuracion.isHistoricoFacturas()) {
+                Instrumentacion.medir("publicar_historico",
+                        () -> HistoricoFacturas.actual().publicar(typesMaps.get(Constantes.ARCHIVO_FUSIONADO)));
+            }
+            auditoriaDividendosDto.setHoraFin(Timestamp.valueOf(LocalDateTime.now()));
+            continuacion.verificarPlazo("mover");
+            Instrumentacion.medir("mover", () -> this.moverArchivosFinales.moverArchivos(archivosBucket));
+            auditoriaDividendosDto.setDetalleEjecucion(metricas.getDetalleEjecucion());
+            Instrumentacion.medir("auditoria", () -> registrarAuditoria(auditoriaDividendosDto));
+            almacenPuntosControl.eliminar();
+        } catch (PlazoAgotadoException e) {
+            Instrumentacion.contar(MetricasEjecucion.ERRORES, 1);
+            LOGGER.log(e.getMessage() + "\n");
+            PuntoControl avance = puntoControl;
+            Instrumentacion.medir("punto_control", () -> almacenPuntosControl.guardar(avance, typesMaps));
+            LOGGER.log(String.format("[WARN] La ejecución continúa solo si la función se invoca de nuevo con el mismo "
+                    + "evento: un reintento asíncrono (máximo %d) o una nueva invocación síncrona%n",
+                    Constantes.REINTENTOS_ASINCRONOS));
+            throw e;
+        } catch (RuntimeException e) {
+            Instrumentacion.contar(MetricasEjecucion.ERRORES, 1);
+            throw e;
+        } finally {
+            Continuacion.terminar();
+            HistoricoFacturas.terminar();
+            GobernadorMemoria.liberarMapas(typesMaps);
+            Instrumentacion.terminarInvocacion();
+            if (grabacion != null) {
+                grabacion.publicar(objectStore, configuracion.getNombreBucketArchivosSalida(),
+                        GrabacionJfr.llave(configuracion.getRutaDiagnosticos(), fechaEjecucion));
+            }
+        }
+        LOGGER.log("[INFO] Fin Lambda DesagregarDebitosLambdaFunction\n");
+    }
+
+    /**
+     * Registra la auditoría de la ejecución en la base de datos. Si el registro
+     * no se inserta (por ejemplo porque falta la columna
+     * {@code detalle_ejecucion}), la ejecución no falla, porque los archivos de
+     * salida ya se publicaron y los de entrada ya se movieron, y un reintento no
+     * los encontraría: se registra un WARN con la auditoría completa, para
+     * insertarla manualmente, y se cuenta en
+     * {@link MetricasEjecucion#AUDITORIAS_FALLIDAS}.
+     * 
+     * @param  auditoriaDividendosDto El objeto de auditoría a registrar.
+     * @throws AthException           Si ocurre un error al registrar la auditoría.
+     */
+    private void registrarAuditoria(AuditoriaDividendosDto auditoriaDividendosDto) {
+        boolean registrada;
         try {
-            LOGGER.log("[INFO] 10.Registra Auditoria\n");
-            auditoriaDividendosDao.registrarAuditoria(auditoriaDividendosDto);
+            registrada = auditoriaDividendosDao.registrarAuditoria(auditoriaDividendosDto);
         } catch (Exception e) {
             throw new AthException("[ERROR][10]", "[ERROR] Error al registrar auditoria: ", e);
         }
-        LOGGER.log("[INFO] Fin Lambda DesagregarDebitosLambdaFunction\n");
+        if (!registrada) {
+            Instrumentacion.contar(MetricasEjecucion.AUDITORIAS_FALLIDAS, 1);
+            LOGGER.log(String.format("[WARN] La auditoría no se registró en %s: %s%n", Constantes.AUDITORIA_DIVIDENDOS,
+                    auditoriaDividendosDto));
+        }
     }
 
     /**
@@ -116,8 +305,8 @@ public class BillpayLambdaHandler {
      *                validar.
      */
     protected void processFileValidation(S3Event s3Event) {
-        FileValidation fileValidation = new FileValidation(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA,
-                Constantes.RUTA_ENTRADA);
+        FileValidation fileValidation = new FileValidation(configuracion.getNombreBucketArchivosEntrada(),
+                configuracion.getRutaEntrada());
         s3Event.getRecords().forEach(fileRecords -> {
             if (!fileValidation.isValidFile(fileRecords)) {
                 fileValidation.logInvalidFile(fileRecords);
@@ -0,0 +1,58 @@
+package co.com.aws.lambda.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import co.com.ath.aws.cifrado.PgpEncryptionUtil;
+import co.com.aws.lambda.continuacion.CifradoPuntosControl;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.util.UtilsLambda;
+
+/**
+ * Cifrado PGP de los puntos de control con las mismas llaves de los archivos
+ * de salida: se cifra con la llave pública del bucket de llaves y se descifra
+ * con la llave privada y la frase secreta en caché de
+ * {@link DesencriptaArchivos}.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class CifradoPgpPuntosControl implements CifradoPuntosControl {
+
+    private final ObjectStore objectStore;
+
+    private final ConfiguracionDto configuracion;
+
+    private final DesencriptaArchivos desencriptaArchivos;
+
+    /**
+     * Constructor del cifrado.
+     *
+     * @param objectStore         El almacenamiento de objetos con el bucket de
+     *                            llaves.
+     * @param configuracion       La configuración con el bucket y la ruta de la
+     *                            llave pública.
+     * @param desencriptaArchivos El componente que descifra con la llave
+     *                            privada.
+     */
+    public CifradoPgpPuntosControl(ObjectStore objectStore, ConfiguracionDto configuracion,
+            DesencriptaArchivos desencriptaArchivos) {
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        this.desencriptaArchivos = desencriptaArchivos;
+    }
+
+    @Override
+    public InputStream cifrar(InputStream contenido, long longitud) throws IOException {
+        try (InputStream llavePublica = UtilsLambda.obtenerLlavePgp(objectStore,
+                configuracion.getNombreBucketLlaves(), configuracion.getRutaLlavePublicaPgp())) {
+            return PgpEncryptionUtil.cifrarArchivo(contenido, longitud, llavePublica);
+        }
+    }
+
+    @Override
+    public InputStream descifrar(InputStream cifrado) throws IOException {
+        return desencriptaArchivos.descifrarContenido(cifrado);
+    }
+}
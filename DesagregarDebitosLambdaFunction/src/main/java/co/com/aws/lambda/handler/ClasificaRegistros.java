@@ -4,7 +4,6 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -14,6 +13,17 @@ import com.amazonaws.services.lambda.runtime.LambdaRuntime;
 import co.com.ath.aws.commons.AthConstants;
 import co.com.ath.aws.exception.AthException;
 import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.AvanceArchivo;
+import co.com.aws.lambda.continuacion.Continuacion;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.indice.HistoricoFacturas;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.metricas.jfr.EventoLoteClasificacionJfr;
+import co.com.aws.lambda.validacion.Cuarentena;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
 /**
@@ -28,6 +38,21 @@ import software.amazon.awssdk.services.s3.model.S3Exception;
  * registros de factura, diferenciando entre registros únicos y duplicados, y
  * gestionando la creación de mensajes para los registros duplicados.
  * </p>
+ * <p>
+ * Con {@link ConfiguracionDto#isEntradasOrdenadas()} los archivos llegan
+ * ordenados por número de factura y las repetidas quedan en líneas contiguas:
+ * en lugar del mapa de primeras apariciones se conserva solo la última factura
+ * leída y la llave de su primera aparición, y cada línea se compara con ella.
+ * Si una factura es menor que la anterior, el archivo no está ordenado y la
+ * clasificación continúa con el mapa, reconstruido a partir de los registros
+ * ya clasificados del archivo, con el mismo resultado que sin la opción.
+ * </p>
+ * <p>
+ * Con {@link ConfiguracionDto#isValidacionRegistros()} cada línea se valida
+ * contra el diseño de registro con el {@link ValidadorRegistros} antes de
+ * clasificarse, y las que no lo cumplen van a la {@link Cuarentena} sin ocupar
+ * un número de registro.
+ * </p>
  *
  * @author  David Alfonso
  * @version 1.0
@@ -37,6 +62,30 @@ public class ClasificaRegistros {
 
     private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
 
+    private final boolean entradasOrdenadas;
+
+    private final ValidadorRegistros validador;
+
+    /**
+     * Constructor de la clase; clasifica con el mapa de primeras apariciones y
+     * sin validar el diseño de registro.
+     */
+    public ClasificaRegistros() {
+        this(null);
+    }
+
+    /**
+     * Constructor de la clase con la configuración del proceso.
+     *
+     * @param configuracion La configuración del proceso; indica si los archivos
+     *                      llegan ordenados por número de factura y si se valida
+     *                      el diseño de registro.
+     */
+    public ClasificaRegistros(ConfiguracionDto configuracion) {
+        this.entradasOrdenadas = configuracion != null && configuracion.isEntradasOrdenadas();
+        this.validador = ValidadorRegistros.de(configuracion);
+    }
+
     /**
      * Método principal para procesar los archivos. Este método invoca otros métodos
      * para leer el archivo y clasificar los registros como únicos o duplicados.
@@ -49,7 +98,6 @@ public class ClasificaRegistros {
      */
     public Integer processFiles(String srcFile, InputStream descifrado, Map<String, Map<String, String>> typesMaps) {
         int totalRecords = 0;
-        LOGGER.log("[INFO] 4.processFiles\n");
         int lastSlashIndex = srcFile.lastIndexOf('/');
         String nombreArchivo = srcFile.substring(lastSlashIndex + 1).replace(AthConstants.PGP_EXTENSION, "");
         totalRecords = createMapsUniqueAndDuplicate(nombreArchivo, descifrado, typesMaps);
@@ -58,7 +106,19 @@ public class ClasificaRegistros {
 
     /**
      * Método encargado de crear los mapas para registros únicos y duplicados. Este
-     * método lee el archivo línea por línea y procesa cada registro.
+     * método lee el archivo línea por línea y procesa cada registro. Cada
+     * {@link EventoLoteClasificacionJfr#TAMANO_LOTE} registros se emite un evento
+     * de JFR con los duplicados encontrados en el lote, se registra el avance del
+     * archivo en la {@link Continuacion} y se verifica el plazo de la invocación.
+     * Si el archivo tiene un avance restaurado de un punto de control, la lectura
+     * continúa después de las líneas ya clasificadas. En la misma lectura se
+     * acumulan los registros e importes de conciliación del archivo en su avance,
+     * que al terminar se registran en la {@link Conciliacion} de la invocación.
+     * Con entradas ordenadas, el mapa de primeras apariciones del avance guarda
+     * solo la última factura, que es lo que necesita un punto de control para
+     * continuar la comparación. Las líneas que no cumplen el diseño de registro
+     * se envían a la {@link Cuarentena} del archivo con su número de línea
+     * física.
      *
      * @param  nombreArchivo El nombre del archivo.
      * @param  descifrado    El InputStream con el contenido del archivo
@@ -68,25 +128,78 @@ public class ClasificaRegistros {
      */
     protected Integer createMapsUniqueAndDuplicate(String nombreArchivo, InputStream descifrado,
             Map<String, Map<String, String>> typesMaps) {
-        LOGGER.log("[INFO] 5.createMapsUniqueAndDuplicate\n");
-        boolean firstLineProcessed = false;
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(descifrado))) {
+        Continuacion continuacion = Continuacion.actual();
+        AvanceArchivo avance = continuacion.avance(nombreArchivo);
+        if (avance.isTerminado()) {
+            return (int) avance.getRegistros();
+        }
+        try (Tramo tramo = Instrumentacion.tramo("createMapsUniqueAndDuplicate", nombreArchivo);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(descifrado))) {
             String line;
-            int lineNumber = 0;
+            int lineNumber = (int) avance.getRegistros();
+            boolean firstLineProcessed = lineNumber > 0;
+            long lineasLeidas = saltarLineas(reader, avance.getLineas());
+            long bytesLeidos = avance.getBytes();
             initializeMaps(typesMaps);
-            Map<String, String> firstOccurrence = new HashMap<>();
+            Map<String, String> firstOccurrence = avance.getIndiceFacturas();
+            Map<String, String> dividendos = typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS);
+            Conciliacion.Totales totales = avance.getTotales();
+            EventoLoteClasificacionJfr lote = EventoLoteClasificacionJfr.iniciar(nombreArchivo, lineNumber);
+            int duplicadosPrevios = dividendos.size();
+            boolean ordenado = entradasOrdenadas && firstOccurrence.size() <= 1;
+            FacturaAnterior anterior = ordenado ? new FacturaAnterior(firstOccurrence) : null;
+            Cuarentena cuarentena = new Cuarentena(nombreArchivo, typesMaps);
             while ((line = reader.readLine()) != null) {
+                lineasLeidas++;
+                bytesLeidos += line.length() + 1;
                 line = line.trim();
-                if (line.length() < 13)
+                if (validador.omitir(line))
+                    continue;
+                ValidadorRegistros.Motivo motivo = validador.validar(line, !firstLineProcessed);
+                if (motivo != null) {
+                    cuarentena.agregar(lineasLeidas, motivo, line);
                     continue;
+                }
                 String numFactura = line.substring(1, 13);
                 String key = nombreArchivo + "_" + lineNumber;
                 String value = line;
-                processLine(firstLineProcessed, numFactura, key, value, firstOccurrence, typesMaps);
+                int duplicadosAntes = dividendos.size();
+                if (ordenado && firstLineProcessed) {
+                    if (!processSortedLine(numFactura, key, value, anterior, typesMaps)) {
+                        ordenado = false;
+                        LOGGER.log(String.format("[WARN] El archivo [%s] no está ordenado en la factura [%s] de la "
+                                + "línea %d; se clasifica con el mapa de primeras apariciones%n", nombreArchivo,
+                                numFactura, lineNumber));
+                        rebuildFirstOccurrence(nombreArchivo, firstOccurrence, typesMaps);
+                        processSubsequentLines(numFactura, key, value, firstOccurrence, typesMaps);
+                    }
+                } else {
+                    processLine(firstLineProcessed, numFactura, key, value, firstOccurrence, typesMaps);
+                }
+                if (firstLineProcessed) {
+                    totales.sumar(dividendos.size() > duplicadosAntes, Conciliacion.importe(line));
+                }
                 lineNumber++;
                 if (!firstLineProcessed)
                     firstLineProcessed = true;
+                if (lineNumber % EventoLoteClasificacionJfr.TAMANO_LOTE == 0) {
+                    lote.terminar(EventoLoteClasificacionJfr.TAMANO_LOTE, dividendos.size() - duplicadosPrevios);
+                    if (ordenado) {
+                        anterior.guardar(firstOccurrence);
+                    }
+                    avance.registrar(lineasLeidas, lineNumber, bytesLeidos);
+                    continuacion.verificarPlazo("clasificacion");
+                    lote = EventoLoteClasificacionJfr.iniciar(nombreArchivo, lineNumber);
+                    duplicadosPrevios = dividendos.size();
+                }
             }
+            lote.terminar(lineNumber % EventoLoteClasificacionJfr.TAMANO_LOTE, dividendos.size() - duplicadosPrevios);
+            if (ordenado) {
+                anterior.guardar(firstOccurrence);
+            }
+            avance.terminar(lineasLeidas, lineNumber, bytesLeidos);
+            MetricasEjecucion.actual().getConciliacion().registrar(nombreArchivo, totales);
+            cuarentena.registrar();
             return lineNumber;
         } catch (S3Exception e) {
             throw new AthException("[ERROR][5.1]", "[ERROR] Error al obtener el archivo desde S3: " + e.getMessage(),
@@ -97,6 +210,22 @@ public class ClasificaRegistros {
         }
     }
 
+    /**
+     * Descarta las líneas ya clasificadas en una invocación anterior.
+     *
+     * @param  reader      El lector del archivo descifrado.
+     * @param  lineas      Las líneas a descartar.
+     * @return             Las líneas descartadas.
+     * @throws IOException Si ocurre un error al leer.
+     */
+    private static long saltarLineas(BufferedReader reader, long lineas) throws IOException {
+        long saltadas = 0;
+        while (saltadas < lineas && reader.readLine() != null) {
+            saltadas++;
+        }
+        return saltadas;
+    }
+
     /**
      * Método que inicializa los mapas donde se guardarán los registros
      * clasificados.
@@ -154,7 +283,10 @@ public class ClasificaRegistros {
     /**
      * Método que procesa las líneas subsecuentes de un archivo. Si una factura ya
      * ha sido procesada previamente, se considera un registro duplicado y se agrega
-     * al mapa de dividendos. Si no, se agrega al mapa de registros fusionados.
+     * al mapa de dividendos. Si no, se agrega al mapa de registros fusionados,
+     * salvo que la factura esté en el {@link HistoricoFacturas} de las
+     * ejecuciones anteriores: en ese caso también va al mapa de dividendos y las
+     * siguientes apariciones se reportan como repetidas de esta.
      * 
      * @param  numFactura      El número de factura extraído de la línea.
      * @param  key             La clave única que identifica la línea.
@@ -173,10 +305,95 @@ public class ClasificaRegistros {
             typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).put(key, createOutText(existingKey, value));
         } else {
             firstOccurrence.put(numFactura, key);
+            processFirstOccurrence(numFactura, key, value, typesMaps);
+        }
+    }
+
+    /**
+     * Método que procesa una línea posterior al encabezado de un archivo
+     * ordenado por número de factura. Si la factura es igual a la anterior, el
+     * registro es un duplicado de la primera aparición de esa factura; si es
+     * mayor, es su primera aparición en el archivo.
+     *
+     * @param  numFactura El número de factura extraído de la línea.
+     * @param  key        La clave única que identifica la línea.
+     * @param  value      El valor de la línea.
+     * @param  anterior   La última factura leída del archivo.
+     * @param  typesMaps  El mapa donde se almacenarán los registros
+     *                    clasificados.
+     * @return            {@code false} si la factura es menor que la anterior;
+     *                    en ese caso la línea no se clasifica.
+     */
+    private boolean processSortedLine(String numFactura, String key, String value, FacturaAnterior anterior,
+            Map<String, Map<String, String>> typesMaps) {
+        int orden = anterior.factura == null ? 1 : numFactura.compareTo(anterior.factura);
+        if (orden < 0) {
+            return false;
+        }
+        if (orden == 0) {
+            typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).put(key, createOutText(anterior.llave, value));
+        } else {
+            anterior.factura = numFactura;
+            anterior.llave = key;
+            processFirstOccurrence(numFactura, key, value, typesMaps);
+        }
+        return true;
+    }
+
+    /**
+     * Clasifica la primera aparición de una factura en el archivo: va al mapa de
+     * registros fusionados, salvo que esté en el {@link HistoricoFacturas}.
+     *
+     * @param numFactura El número de factura extraído de la línea.
+     * @param key        La clave única que identifica la línea.
+     * @param value      El valor de la línea.
+     * @param typesMaps  El mapa donde se almacenarán los registros clasificados.
+     */
+    private static void processFirstOccurrence(String numFactura, String key, String value,
+            Map<String, Map<String, String>> typesMaps) {
+        if (HistoricoFacturas.actual().contiene(numFactura)) {
+            typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).put(key, HistoricoFacturas.textoDuplicado(value));
+            Instrumentacion.contar(MetricasEjecucion.DUPLICADOS_HISTORICO, 1);
+        } else {
             typesMaps.get(Constantes.ARCHIVO_FUSIONADO).put(key, value);
         }
     }
 
+    /**
+     * Reconstruye el mapa de primeras apariciones de un archivo a partir de sus
+     * registros ya clasificados, cuando se descubre que no está ordenado. Las
+     * facturas del mapa de registros fusionados son primeras apariciones; las
+     * del mapa de dividendos lo son si la factura no apareció antes, lo que solo
+     * ocurre con las del {@link HistoricoFacturas}. El número de factura de un
+     * dividendo es el primero entre corchetes de su mensaje.
+     *
+     * @param nombreArchivo   El nombre del archivo.
+     * @param firstOccurrence Mapa que guarda la primera ocurrencia de las
+     *                        facturas.
+     * @param typesMaps       El mapa con los registros clasificados.
+     */
+    private static void rebuildFirstOccurrence(String nombreArchivo, Map<String, String> firstOccurrence,
+            Map<String, Map<String, String>> typesMaps) {
+        firstOccurrence.clear();
+        for (Map.Entry<String, String> registro : typesMaps.get(Constantes.ARCHIVO_FUSIONADO).entrySet()) {
+            if (isDelArchivo(registro.getKey(), nombreArchivo) && !registro.getKey().endsWith("_0")) {
+                firstOccurrence.put(registro.getValue().substring(1, 13), registro.getKey());
+            }
+        }
+        for (Map.Entry<String, String> registro : typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()) {
+            if (isDelArchivo(registro.getKey(), nombreArchivo)) {
+                String texto = registro.getValue();
+                int inicio = texto.indexOf('[') + 1;
+                firstOccurrence.putIfAbsent(texto.substring(inicio, texto.indexOf(']', inicio)), registro.getKey());
+            }
+        }
+    }
+
+    private static boolean isDelArchivo(String key, String nombreArchivo) {
+        int separador = key.lastIndexOf('_');
+        return separador == nombreArchivo.length() && key.startsWith(nombreArchivo);
+    }
+
     /**
      * Método que crea un mensaje de salida para los registros duplicados. Este
      * mensaje contiene información sobre el número de factura y el valor de la
@@ -187,11 +404,36 @@ public class ClasificaRegistros {
      * @return       Un mensaje indicando que la factura se encuentra repetida en el
      *               archivo.
      */
-    protected String createOutText(String key, String value) {
+    public String createOutText(String key, String value) {
         String param = key.toUpperCase().contains("O") ? "5402ORDINARIO.dat" : "0177PREFERENCIAL.dat";
         String numFactura = value.substring(1, 13);
         String valFactura = value.substring(89, 101);
         return String.format("El numero de factura [%s] con el valor [%s] se encuentra repetido en el archivo [%s].",
                 numFactura, valFactura, param);
     }
+
+    /**
+     * Última factura leída de un archivo ordenado y la llave de su primera
+     * aparición.
+     */
+    private static final class FacturaAnterior {
+
+        private String factura;
+
+        private String llave;
+
+        private FacturaAnterior(Map<String, String> firstOccurrence) {
+            for (Map.Entry<String, String> entrada : firstOccurrence.entrySet()) {
+                factura = entrada.getKey();
+                llave = entrada.getValue();
+            }
+        }
+
+        private void guardar(Map<String, String> firstOccurrence) {
+            firstOccurrence.clear();
+            if (factura != null) {
+                firstOccurrence.put(factura, llave);
+            }
+        }
+    }
 }
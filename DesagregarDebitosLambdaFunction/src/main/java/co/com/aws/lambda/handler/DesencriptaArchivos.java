@@ -1,13 +1,17 @@
 package co.com.aws.lambda.handler;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
-import com.amazonaws.services.lambda.runtime.LambdaLogger;
-import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import org.bouncycastle.openpgp.PGPException;
 
 import co.com.ath.aws.cifrado.CifrarFraseUtil;
 import co.com.ath.aws.cifrado.PgpDecryptionUtil;
@@ -16,13 +20,24 @@ import co.com.ath.aws.commons.AthUtil;
 import co.com.ath.aws.exception.AthCodigosError;
 import co.com.ath.aws.exception.AthException;
 import co.com.ath.aws.secretmanagerutil.SecretsManagerUtil;
-import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.AvanceArchivo;
+import co.com.aws.lambda.continuacion.Continuacion;
+import co.com.aws.lambda.continuacion.PlazoAgotadoException;
 import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.fragmentacion.ClasificacionFragmentada;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.ordenamiento.ClasificacionExterna;
+import co.com.aws.lambda.storage.FlujoCanalizado;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.storage.S3ObjectStore;
+import co.com.aws.lambda.util.CacheTemporal;
+import co.com.aws.lambda.util.GobernadorMemoria;
 import co.com.aws.lambda.util.UtilsLambda;
-import software.amazon.awssdk.core.ResponseInputStream;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
@@ -41,6 +56,24 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  * configuradas, con la verificación y el manejo adecuado de errores durante el
  * proceso.
  * </p>
+ * <p>
+ * La frase secreta descifrada y la llave privada se conservan en caché durante
+ * {@link ConfiguracionDto#getTtlCacheSegundos()}, por lo que solo se consultan
+ * en el primer archivo de un entorno de ejecución nuevo.
+ * </p>
+ * <p>
+ * Los archivos que un punto de control registra como clasificados no se
+ * vuelven a descargar; antes de cada archivo se verifica el plazo de la
+ * invocación.
+ * </p>
+ * <p>
+ * Con {@link ConfiguracionDto#getTrabajadoresFragmentacion()} mayor que uno, los
+ * archivos descifrados se clasifican con una {@link ClasificacionFragmentada}
+ * en lugar de la lectura secuencial de {@link ClasificaRegistros}. Con la
+ * estrategia {@link GobernadorMemoria.Estrategia#EXTERNA}, cada archivo se
+ * clasifica completo con una {@link ClasificacionExterna}, salvo que un punto
+ * de control registre parte de su lectura secuencial, que se continúa.
+ * </p>
  *
  * @author  David Alfonso
  * @version 1.0
@@ -48,12 +81,18 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  */
 public class DesencriptaArchivos {
 
-    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
-
-    private final S3Client s3Client;
+    private final ObjectStore objectStore;
 
     private final ClasificaRegistros clasificaRegistros;
 
+    private final ClasificacionExterna clasificacionExterna;
+
+    private final ConfiguracionDto configuracion;
+
+    private final CacheTemporal<String> cacheFraseSecreta;
+
+    private final CacheTemporal<byte[]> cacheLlavePrivada;
+
     /**
      * Constructor de la clase que inicializa el cliente de S3 y el objeto encargado
      * de clasificar los registros.
@@ -61,8 +100,38 @@ public class DesencriptaArchivos {
      * @param s3Client El cliente de S3 utilizado para obtener los archivos.
      */
     public DesencriptaArchivos(S3Client s3Client) {
-        this.clasificaRegistros = new ClasificaRegistros();
-        this.s3Client = s3Client;
+        this(new S3ObjectStore(s3Client));
+    }
+
+    /**
+     * Constructor de la clase que inicializa el almacenamiento de objetos y el
+     * objeto encargado de clasificar los registros.
+     * 
+     * @param objectStore El almacenamiento de objetos utilizado para obtener los
+     *                    archivos y las llaves.
+     */
+    public DesencriptaArchivos(ObjectStore objectStore) {
+        this(objectStore, ConfiguracionDto.desdeConstantes());
+    }
+
+    /**
+     * Constructor de la clase que inicializa el almacenamiento de objetos, la
+     * configuración del proceso y el objeto encargado de clasificar los registros.
+     * 
+     * @param objectStore   El almacenamiento de objetos utilizado para obtener los
+     *                      archivos y las llaves.
+     * @param configuracion La configuración de buckets, rutas y llaves del proceso.
+     */
+    public DesencriptaArchivos(ObjectStore objectStore, ConfiguracionDto configuracion) {
+        this.clasificaRegistros = new ClasificaRegistros(configuracion);
+        this.clasificacionExterna = new ClasificacionExterna(
+                configuracion != null ? configuracion.getRegistrosPorCorrida() : 0, clasificaRegistros::createOutText,
+                ValidadorRegistros.de(configuracion));
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        long ttlCacheSegundos = configuracion != null ? configuracion.getTtlCacheSegundos() : 0;
+        this.cacheFraseSecreta = new CacheTemporal<>(MetricasEjecucion.CACHE_FRASE_SECRETA, ttlCacheSegundos);
+        this.cacheLlavePrivada = new CacheTemporal<>(MetricasEjecucion.CACHE_LLAVE_PRIVADA, ttlCacheSegundos);
     }
 
     /**
@@ -78,26 +147,141 @@ public class DesencriptaArchivos {
      */
     public void getFiles(List<S3Object> archivosBucket, Map<String, Map<String, String>> typesMaps,
             AuditoriaDividendosDto auditoriaDividendosDto) {
-        LOGGER.log("[INFO] 1.getFiles\n");
+        getFiles(archivosBucket, typesMaps, auditoriaDividendosDto, GobernadorMemoria.Estrategia.MEMORIA);
+    }
+
+    /**
+     * Obtiene, desencripta y procesa los archivos con la estrategia de memoria
+     * que eligió el {@link GobernadorMemoria}.
+     * 
+     * @param archivosBucket         Lista de archivos S3 a procesar.
+     * @param typesMaps              Mapas donde se almacenan los registros
+     *                               clasificados.
+     * @param auditoriaDividendosDto Objeto de auditoría para actualizar con la
+     *                               información del procesamiento.
+     * @param estrategia             La estrategia de memoria de la invocación.
+     */
+    public void getFiles(List<S3Object> archivosBucket, Map<String, Map<String, String>> typesMaps,
+            AuditoriaDividendosDto auditoriaDividendosDto, GobernadorMemoria.Estrategia estrategia) {
+        if (configuracion != null && configuracion.getTrabajadoresFragmentacion() > 1) {
+            getFilesFragmentado(archivosBucket, typesMaps, auditoriaDividendosDto);
+            return;
+        }
         auditoriaDividendosDto.setArchivosCargados(2);
         AtomicBoolean firstRecord = new AtomicBoolean(false);
         AtomicInteger totalRecords = new AtomicInteger(0);
         archivosBucket.forEach(fileRecords -> {
-            String srcFile = fileRecords.key();
-            int lastSlashIndex = srcFile.lastIndexOf('/');
-            String nombreArchivo = srcFile.substring(lastSlashIndex + 1).replace(AthConstants.PGP_EXTENSION, "");
-            totalRecords.set(this.decryptionFile(srcFile, typesMaps));
-            if (firstRecord.get()) {
-                auditoriaDividendosDto.setNombreArchivo2(nombreArchivo);
-                auditoriaDividendosDto.setTotalRegistrosArchivo2(totalRecords.get());
+            String nombreArchivo = nombreArchivo(fileRecords.key());
+            AvanceArchivo avance = Continuacion.actual().avance(nombreArchivo);
+            if (avance.isTerminado()) {
+                totalRecords.set((int) avance.getRegistros());
+                MetricasEjecucion.actual().getConciliacion().registrar(nombreArchivo, avance.getTotales());
+            } else if (estrategia == GobernadorMemoria.Estrategia.EXTERNA && avance.getLineas() == 0) {
+                Continuacion.actual().verificarPlazo("desencriptar");
+                totalRecords.set(this.clasificarExterno(fileRecords.key(), nombreArchivo, avance, typesMaps));
             } else {
-                auditoriaDividendosDto.setNombreArchivo1(nombreArchivo);
-                auditoriaDividendosDto.setTotalRegistrosArchivo1(totalRecords.get());
+                Continuacion.actual().verificarPlazo("desencriptar");
+                totalRecords.set(this.decryptionFile(fileRecords.key(), typesMaps));
             }
+            registrarArchivo(fileRecords, nombreArchivo, totalRecords.get(), firstRecord.get(), auditoriaDividendosDto);
             firstRecord.set(true);
         });
     }
 
+    /**
+     * Descifra los archivos y los clasifica con una
+     * {@link ClasificacionFragmentada}: los descifrados se publican en su área
+     * de trabajo y, con todos publicados, los trabajadores los particionan y
+     * deduplican y la fusión llena los mapas. Los archivos clasificados quedan
+     * terminados en la {@link Continuacion}.
+     *
+     * @param archivosBucket         Lista de archivos S3 a procesar.
+     * @param typesMaps              Mapas donde se almacenan los registros
+     *                               clasificados.
+     * @param auditoriaDividendosDto Objeto de auditoría para actualizar con la
+     *                               información del procesamiento.
+     */
+    protected void getFilesFragmentado(List<S3Object> archivosBucket, Map<String, Map<String, String>> typesMaps,
+            AuditoriaDividendosDto auditoriaDividendosDto) {
+        auditoriaDividendosDto.setArchivosCargados(2);
+        Map<String, Integer> totales = new LinkedHashMap<>();
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(
+                configuracion.getTrabajadoresFragmentacion(), clasificaRegistros::createOutText,
+                ValidadorRegistros.de(configuracion))) {
+            for (S3Object fileRecords : archivosBucket) {
+                String nombreArchivo = nombreArchivo(fileRecords.key());
+                AvanceArchivo avance = Continuacion.actual().avance(nombreArchivo);
+                if (avance.isTerminado()) {
+                    totales.put(nombreArchivo, (int) avance.getRegistros());
+                    MetricasEjecucion.actual().getConciliacion().registrar(nombreArchivo, avance.getTotales());
+                } else {
+                    Continuacion.actual().verificarPlazo("desencriptar");
+                    this.descifrar(fileRecords.key(), (llavePrivada, fraseSecreta) -> this.descifrarYProcesar(
+                            fileRecords.key(), llavePrivada, fraseSecreta, descifrado -> {
+                                clasificacion.agregarArchivo(nombreArchivo, descifrado);
+                                return 0;
+                            }));
+                }
+            }
+            clasificacion.clasificar(typesMaps).forEach((nombreArchivo, total) -> {
+                totales.put(nombreArchivo, total);
+                AvanceArchivo avance = Continuacion.actual().avance(nombreArchivo);
+                avance.getTotales().sumar(clasificacion.getTotales().get(nombreArchivo));
+                avance.terminar(0, total, 0);
+                MetricasEjecucion.actual().getConciliacion().registrar(nombreArchivo, avance.getTotales());
+            });
+        }
+        boolean firstRecord = false;
+        for (S3Object fileRecords : archivosBucket) {
+            String nombreArchivo = nombreArchivo(fileRecords.key());
+            registrarArchivo(fileRecords, nombreArchivo, totales.get(nombreArchivo), firstRecord,
+                    auditoriaDividendosDto);
+            firstRecord = true;
+        }
+    }
+
+    /**
+     * Descifra un archivo y lo clasifica completo con la
+     * {@link ClasificacionExterna}; el archivo queda terminado en la
+     * {@link Continuacion}.
+     *
+     * @param  srcFile       El nombre del archivo PGP a desencriptar.
+     * @param  nombreArchivo El nombre del archivo sin ruta ni extensión.
+     * @param  avance        El avance del archivo.
+     * @param  typesMaps     El mapa donde se almacenarán los registros
+     *                       clasificados.
+     * @return               El total de registros procesados.
+     */
+    private Integer clasificarExterno(String srcFile, String nombreArchivo, AvanceArchivo avance,
+            Map<String, Map<String, String>> typesMaps) {
+        return this.descifrar(srcFile, (llavePrivada, fraseSecreta) -> this.descifrarYProcesar(srcFile,
+                llavePrivada, fraseSecreta, descifrado -> {
+                    int total = clasificacionExterna.clasificar(nombreArchivo, descifrado, typesMaps,
+                            avance.getTotales());
+                    avance.terminar(0, total, 0);
+                    MetricasEjecucion.actual().getConciliacion().registrar(nombreArchivo, avance.getTotales());
+                    return total;
+                }));
+    }
+
+    private static String nombreArchivo(String srcFile) {
+        int lastSlashIndex = srcFile.lastIndexOf('/');
+        return srcFile.substring(lastSlashIndex + 1).replace(AthConstants.PGP_EXTENSION, "");
+    }
+
+    private static void registrarArchivo(S3Object fileRecords, String nombreArchivo, int totalRecords,
+            boolean firstRecord, AuditoriaDividendosDto auditoriaDividendosDto) {
+        Instrumentacion.contar(MetricasEjecucion.REGISTROS_PROCESADOS, totalRecords);
+        Instrumentacion.contar(MetricasEjecucion.BYTES_LEIDOS, fileRecords.size() != null ? fileRecords.size() : 0);
+        if (firstRecord) {
+            auditoriaDividendosDto.setNombreArchivo2(nombreArchivo);
+            auditoriaDividendosDto.setTotalRegistrosArchivo2(totalRecords);
+        } else {
+            auditoriaDividendosDto.setNombreArchivo1(nombreArchivo);
+            auditoriaDividendosDto.setTotalRegistrosArchivo1(totalRecords);
+        }
+    }
+
     /**
      * Método encargado de desencriptar el archivo PGP especificado. Obtiene las
      * claves necesarias para la desencriptación y luego delega el procesamiento al
@@ -109,28 +293,28 @@ public class DesencriptaArchivos {
      * @throws AthException Si ocurre un error en el proceso de desencriptación.
      */
     protected Integer decryptionFile(String srcFile, Map<String, Map<String, String>> typesMaps) {
-        LOGGER.log("[INFO] 2.decryptionFile\n");
+        return this.descifrar(srcFile, (llavePrivada, fraseSecreta) -> this.descifrarArchivoPgp(srcFile,
+                llavePrivada, fraseSecreta, typesMaps));
+    }
+
+    /**
+     * Obtiene la frase secreta y la llave privada y descifra el archivo con
+     * ellas.
+     *
+     * @param  srcFile      El nombre del archivo PGP a desencriptar.
+     * @param  descifrado   El descifrado con la llave privada y la frase.
+     * @return              El total de registros procesados.
+     * @throws AthException Si ocurre un error en el proceso de desencriptación.
+     */
+    private Integer descifrar(String srcFile, BiFunction<InputStream, String, Integer> descifrado) {
         int totalRecords = 0;
-        try {
-            if (Constantes.FRASE_SECRETAPGP == null || Constantes.FRASE_SECRETAPGP.isEmpty()) {
-                throw new AthException(AthCodigosError.C021.getCodigo(),
-                        "Error: No se encuentra configurada la frase secreta para descifrar los archivos pgp");
-            }
-            String llavePrivadaChiper = SecretsManagerUtil.getSecretString(AthConstants.KEY_SECRET_NAME_CIPHER,
-                    AthConstants.KEY_SECRET_CIPHER);
-            if (llavePrivadaChiper == null || llavePrivadaChiper.isEmpty()) {
-                throw new AthException(AthCodigosError.C021.getCodigo(),
-                        "Error: No se encuentra configurada la llave secreta para descifrar la frase secreta");
-            }
-            String fraseSecretaPgpDescifrada = CifrarFraseUtil.decrypt(Constantes.FRASE_SECRETAPGP, llavePrivadaChiper);
-            if (fraseSecretaPgpDescifrada == null || fraseSecretaPgpDescifrada.isEmpty()) {
-                throw new AthException(AthCodigosError.C021.getCodigo(),
-                        "Error decrypt fraseSecretaPgp: No se encuentra configurada la frase secreta para descifrar los archivos pgp");
-            }
-            InputStream llavePrivada = UtilsLambda.obtenerLlavePgpS3(s3Client, Constantes.NOMBRE_BUCKET_LLAVES,
-                    Constantes.RUTA_LLAVE_PRIVADAPGP);
-            totalRecords = this.descifrarArchivoPgp(srcFile, llavePrivada, fraseSecretaPgpDescifrada, typesMaps);
+        try (Tramo tramo = Instrumentacion.tramo("decryptionFile", srcFile)) {
+            String fraseSecretaPgpDescifrada = cacheFraseSecreta.obtener(this::obtenerFraseSecretaPgp);
+            InputStream llavePrivada = new ByteArrayInputStream(cacheLlavePrivada.obtener(this::leerLlavePrivada));
+            totalRecords = descifrado.apply(llavePrivada, fraseSecretaPgpDescifrada);
             llavePrivada.close();
+        } catch (PlazoAgotadoException e) {
+            throw e;
         } catch (Exception e) {
             throw new AthException("[ERROR][2]", String.format("[ERROR] %s ::: %s",
                     AthConstants.ERROR_GENERAL + e.getMessage(), AthUtil.getStackTraceMessage(e)));
@@ -138,6 +322,71 @@ public class DesencriptaArchivos {
         return totalRecords;
     }
 
+    /**
+     * Descifra un contenido PGP con la frase secreta y la llave privada en
+     * caché; se usa para los puntos de control.
+     *
+     * @param  cifrado     El contenido cifrado.
+     * @return             El contenido descifrado.
+     * @throws IOException Si ocurre un error al descifrar.
+     */
+    public InputStream descifrarContenido(InputStream cifrado) throws IOException {
+        try {
+            return PgpDecryptionUtil.descifrarArchivo(cifrado, cacheFraseSecreta.obtener(this::obtenerFraseSecretaPgp),
+                    new ByteArrayInputStream(cacheLlavePrivada.obtener(this::leerLlavePrivada)));
+        } catch (PGPException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee completa la llave privada PGP del bucket de llaves, para conservarla en
+     * caché.
+     * 
+     * @return              El contenido de la llave privada.
+     * @throws AthException Si ocurre un error al leer la llave.
+     */
+    private byte[] leerLlavePrivada() {
+        try (InputStream llavePrivada = UtilsLambda.obtenerLlavePgp(objectStore, configuracion.getNombreBucketLlaves(),
+                configuracion.getRutaLlavePrivadaPgp())) {
+            return llavePrivada.readAllBytes();
+        } catch (IOException e) {
+            throw new AthException("[ERROR][2.1]", "[ERROR] Error al leer la llave privada: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Método que obtiene la frase secreta PGP en claro. Si la configuración ya la
+     * trae descifrada (ejecución local) se usa directamente; en caso contrario se
+     * descifra la frase configurada con la llave almacenada en Secrets Manager.
+     * 
+     * @return              La frase secreta PGP descifrada.
+     * @throws AthException Si la frase o la llave secreta no están configuradas.
+     */
+    protected String obtenerFraseSecretaPgp() {
+        String fraseSecretaPgpDescifrada = configuracion.getFraseSecretaPgpDescifrada();
+        if (fraseSecretaPgpDescifrada != null && !fraseSecretaPgpDescifrada.isEmpty()) {
+            return fraseSecretaPgpDescifrada;
+        }
+        String fraseSecretaPgp = configuracion.getFraseSecretaPgp();
+        if (fraseSecretaPgp == null || fraseSecretaPgp.isEmpty()) {
+            throw new AthException(AthCodigosError.C021.getCodigo(),
+                    "Error: No se encuentra configurada la frase secreta para descifrar los archivos pgp");
+        }
+        String llavePrivadaChiper = SecretsManagerUtil.getSecretString(AthConstants.KEY_SECRET_NAME_CIPHER,
+                AthConstants.KEY_SECRET_CIPHER);
+        if (llavePrivadaChiper == null || llavePrivadaChiper.isEmpty()) {
+            throw new AthException(AthCodigosError.C021.getCodigo(),
+                    "Error: No se encuentra configurada la llave secreta para descifrar la frase secreta");
+        }
+        fraseSecretaPgpDescifrada = CifrarFraseUtil.decrypt(fraseSecretaPgp, llavePrivadaChiper);
+        if (fraseSecretaPgpDescifrada == null || fraseSecretaPgpDescifrada.isEmpty()) {
+            throw new AthException(AthCodigosError.C021.getCodigo(),
+                    "Error decrypt fraseSecretaPgp: No se encuentra configurada la frase secreta para descifrar los archivos pgp");
+        }
+        return fraseSecretaPgpDescifrada;
+    }
+
     /**
      * Método encargado de descifrar el archivo PGP desde S3. Utiliza la clave
      * privada y la frase secreta para realizar la desencriptación del archivo y
@@ -153,21 +402,41 @@ public class DesencriptaArchivos {
      */
     protected Integer descifrarArchivoPgp(String srcFile, InputStream llavePrivada, String fraseSecretaPgpDescifrada,
             Map<String, Map<String, String>> typesMaps) {
-        LOGGER.log("[INFO] 3.descifrarArchivoPgp");
-        LOGGER.log("archivo, con nombre: [" + srcFile + "]\n");
-        GetObjectRequest getObjectRequest = UtilsLambda.getObjectRequest(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA,
-                srcFile);
-        try {
-            ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
+        return this.descifrarYProcesar(srcFile, llavePrivada, fraseSecretaPgpDescifrada,
+                archivoDesCifrado -> this.clasificaRegistros.processFiles(srcFile, archivoDesCifrado, typesMaps));
+    }
+
+    /**
+     * Descarga y descifra el archivo PGP y entrega su contenido descifrado al
+     * procesamiento indicado. Con bloques de descifrado configurados, el archivo
+     * se descifra en otro hilo mientras se procesa, por medio de un
+     * {@link FlujoCanalizado} que se cierra aunque el procesamiento falle.
+     *
+     * @param  srcFile                   El nombre del archivo en S3.
+     * @param  llavePrivada              InputStream de la clave privada.
+     * @param  fraseSecretaPgpDescifrada La frase secreta PGP ya descifrada.
+     * @param  procesamiento             El procesamiento del contenido
+     *                                   descifrado.
+     * @return                           El resultado del procesamiento.
+     */
+    private Integer descifrarYProcesar(String srcFile, InputStream llavePrivada, String fraseSecretaPgpDescifrada,
+            Function<InputStream, Integer> procesamiento) {
+        try (Tramo tramo = Instrumentacion.tramo("descifrarArchivoPgp", srcFile)) {
+            InputStream s3Object = objectStore.get(configuracion.getNombreBucketArchivosEntrada(), srcFile);
             InputStream archivoDesCifrado = PgpDecryptionUtil.descifrarArchivo(s3Object, fraseSecretaPgpDescifrada,
                     llavePrivada);
             if (archivoDesCifrado == null) {
                 throw new AthException("[ERROR][3.1]", "[ERROR] Error al desencriptar archivo no tiene contenido.");
             }
-            return this.clasificaRegistros.processFiles(srcFile, archivoDesCifrado, typesMaps);
+            try (InputStream descifrado = FlujoCanalizado.canalizar(archivoDesCifrado,
+                    configuracion.getBloquesDescifrado(), nombreArchivo(srcFile))) {
+                return procesamiento.apply(descifrado);
+            }
         } catch (S3Exception e) {
             throw new AthException("[ERROR][3.2]",
                     "[ERROR] Error al obtener el archivo desde S3: [" + srcFile + "] " + e.getMessage(), e);
+        } catch (PlazoAgotadoException e) {
+            throw e;
         } catch (Exception e) {
             throw new AthException("[ERROR][3.3]",
                     "[ERROR] Error procesando el archivo de texto en la línea: " + e.getMessage(), e);
@@ -0,0 +1,388 @@
+package co.com.aws.lambda.handler;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dao.AuditoriaDividendosDao;
+import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.indice.HistoricoFacturas;
+import co.com.aws.lambda.metricas.ConsumoJvm;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.jfr.GrabacionJfr;
+import co.com.aws.lambda.metricas.jfr.ObjectStoreJfr;
+import co.com.aws.lambda.storage.InterceptorS3;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.storage.S3ObjectStore;
+import co.com.aws.lambda.util.FileValidation;
+import co.com.aws.lambda.util.GobernadorMemoria;
+import co.com.aws.lambda.util.UtilsLambda;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Ejecutor de línea de comandos que corre el proceso completo de la Lambda
+ * (validación, clasificación, encriptación, movimiento y auditoría) fuera de
+ * AWS Lambda, sobre directorios locales o sobre un servicio compatible con S3.
+ * <p>
+ * Los parámetros se reciben como argumentos en lugar de las variables de
+ * entorno de {@link Constantes}, que se usan solo
+ * como valores por defecto. Al finalizar imprime el tiempo de cada etapa, el
+ * pico de heap y el consumo de la JVM con su costo estimado en Lambda, lo que
+ * permite perfilar el proceso (por ejemplo con
+ * {@code -XX:StartFlightRecording}) y dimensionar la memoria de la función.
+ * Las etapas, las operaciones de almacenamiento y los lotes de clasificación se
+ * registran como eventos de JFR, igual que en la Lambda; con
+ * {@code --grabacion-jfr} se graban y se publican en la ruta de diagnósticos.
+ * Con {@code --estrategia} se fuerza la clasificación en memoria, en disco o
+ * con ordenamiento externo en lugar de la que elige el gobernador de memoria,
+ * y con {@code --trabajadores} se clasifica de forma fragmentada con
+ * trabajadores en hilos. Con
+ * {@code --modo-io} se eligen hilos virtuales, un pool de plataforma o la
+ * ejecución secuencial para las operaciones de almacenamiento en paralelo.
+ * Con {@code --historico} las facturas de ejecuciones anteriores se clasifican
+ * como duplicadas y las del archivo fusionado se agregan al histórico, y con
+ * {@code --entradas-ordenadas} los duplicados se detectan comparando cada
+ * registro con el anterior. Con {@code --sin-validacion} los registros no se
+ * validan contra el diseño de registro. Con {@code --bloques-descifrado} se
+ * fijan los bloques entre el hilo que descifra y el que clasifica.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class EjecutorLocal {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    private static final String USO = String.join("\n",
+            "Uso: java -cp <jar> co.com.aws.lambda.handler.EjecutorLocal [opciones]",
+            "  --local <dir>                 Raiz local; cada bucket es un subdirectorio",
+            "  --endpoint <url>              Servicio compatible con S3 (path-style)",
+            "  --region <region>             Region del cliente S3 (us-east-1)",
+            "  --bucket-entrada <bucket>     Bucket de archivos de entrada",
+            "  --bucket-salida <bucket>      Bucket de archivos de salida",
+            "  --bucket-llaves <bucket>      Bucket de llaves PGP",
+            "  --entrada <prefijo>           Ruta de entrada",
+            "  --salida <prefijo>            Ruta de salida",
+            "  --procesados <prefijo>        Ruta de archivos procesados",
+            "  --llave-privada <ruta>        Ruta de la llave privada PGP",
+            "  --llave-publica <ruta>        Ruta de la llave publica PGP",
+            "  --frase-secreta <frase>       Frase secreta PGP en claro (omite Secrets Manager)",
+            "  --conservar-entrada           No mueve los archivos de entrada a procesados",
+            "  --auditoria-bd                Registra la auditoria en base de datos",
+            "  --grabacion-jfr               Graba la ejecucion con JFR y la publica en diagnosticos",
+            "  --diagnosticos <prefijo>      Ruta de diagnosticos en el bucket de salida",
+            "  --memoria-mb <mb>             Memoria de la funcion para el gobernador de memoria",
+            "  --estrategia <estrategia>     Estrategia de memoria: auto, memoria, disco o externa",
+            "  --trabajadores <n>            Trabajadores de la clasificacion fragmentada (1: secuencial)",
+            "  --modo-io <modo>              Operaciones de almacenamiento: virtual, plataforma o secuencial",
+            "  --hilos-io <n>                Hilos del pool de plataforma para el almacenamiento",
+            "  --indice                      Publica el indice de facturas del archivo fusionado",
+            "  --historico                   Consulta y actualiza el historico de facturas de ejecuciones anteriores",
+            "  --ruta-historico <prefijo>    Ruta del historico de facturas en el bucket de salida",
+            "  --entradas-ordenadas          Los archivos llegan ordenados por numero de factura",
+            "  --sin-validacion              No valida el diseno de registro ni genera el archivo de cuarentena",
+            "  --registros-corrida <n>       Pares por corrida del ordenamiento externo",
+            "  --bloques-descifrado <n>      Bloques de 64 KB entre descifrado y clasificacion (0: mismo hilo)",
+            "  --ayuda                       Muestra esta ayuda");
+
+    private final ObjectStore objectStore;
+
+    private final ConfiguracionDto configuracion;
+
+    private final boolean moverEntrada;
+
+    private final AuditoriaDividendosDao auditoriaDividendosDao;
+
+    private MetricasEjecucion metricas = new MetricasEjecucion();
+
+    /**
+     * Constructor del ejecutor.
+     *
+     * @param objectStore            El almacenamiento sobre el que corre el
+     *                               proceso.
+     * @param configuracion          La configuración de buckets, rutas y llaves.
+     * @param moverEntrada           Si se mueven los archivos de entrada a la ruta
+     *                               de procesados al finalizar.
+     * @param auditoriaDividendosDao El DAO donde se registra la auditoría.
+     */
+    public EjecutorLocal(ObjectStore objectStore, ConfiguracionDto configuracion, boolean moverEntrada,
+            AuditoriaDividendosDao auditoriaDividendosDao) {
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        this.moverEntrada = moverEntrada;
+        this.auditoriaDividendosDao = auditoriaDividendosDao;
+    }
+
+    /**
+     * Punto de entrada de línea de comandos.
+     *
+     * @param args Las opciones de ejecución, ver {@link #USO}.
+     */
+    public static void main(String[] args) {
+        Map<String, String> opciones = leerOpciones(args);
+        if (opciones.containsKey("ayuda")) {
+            System.out.println(USO);
+            return;
+        }
+        AuditoriaDividendosDao auditoriaDividendosDao = opciones.containsKey("auditoria-bd")
+                ? new AuditoriaDividendosDao()
+                : new AuditoriaLocalDao();
+        EjecutorLocal ejecutor = new EjecutorLocal(crearObjectStore(opciones), crearConfiguracion(opciones),
+                !opciones.containsKey("conservar-entrada"), auditoriaDividendosDao);
+        ejecutor.ejecutar();
+        ejecutor.imprimirResumen(System.out);
+    }
+
+    /**
+     * Ejecuta el proceso completo midiendo cada etapa, en el mismo orden de
+     * {@link BillpayLambdaHandler#handleRequest}.
+     *
+     * @return El registro de auditoría de la ejecución.
+     */
+    public AuditoriaDividendosDto ejecutar() {
+        LocalDateTime fechaEjecucion = LocalDateTime.now();
+        metricas = Instrumentacion.iniciarInvocacion();
+        GrabacionJfr grabacion = configuracion.isGrabacionJfr() ? GrabacionJfr.iniciar("DesagregarDebitos") : null;
+        try {
+            return ejecutarEtapas();
+        } finally {
+            if (grabacion != null) {
+                grabacion.publicar(objectStore, configuracion.getNombreBucketArchivosSalida(),
+                        GrabacionJfr.llave(configuracion.getRutaDiagnosticos(), fechaEjecucion));
+            }
+        }
+    }
+
+    private AuditoriaDividendosDto ejecutarEtapas() {
+        DesencriptaArchivos desencriptaArchivos = new DesencriptaArchivos(objectStore, configuracion);
+        EncriptarArchivos encriptarArchivos = new EncriptarArchivos(objectStore, configuracion);
+        MoverArchivosFinales moverArchivosFinales = new MoverArchivosFinales(objectStore, configuracion);
+        BillpayLambdaHandler handler = new BillpayLambdaHandler(objectStore, configuracion, desencriptaArchivos,
+                encriptarArchivos, moverArchivosFinales, auditoriaDividendosDao);
+
+        List<S3Object> archivosBucket = Instrumentacion.medir("listado",
+                () -> UtilsLambda.verificarArchivosEnBucket(objectStore, configuracion.getNombreBucketArchivosEntrada(),
+                        configuracion.getRutaEntrada()));
+        Instrumentacion.medir("validacion", () -> validarArchivos(archivosBucket));
+        GobernadorMemoria gobernadorMemoria = new GobernadorMemoria(configuracion);
+        GobernadorMemoria.Decision decision = Instrumentacion.medir("gobernador",
+                () -> gobernadorMemoria.decidir(archivosBucket));
+        AuditoriaDividendosDto auditoriaDividendosDto = new AuditoriaDividendosDto();
+        auditoriaDividendosDto.setHoraInicio(Timestamp.valueOf(LocalDateTime.now()));
+        Map<String, Map<String, String>> typesMaps = decision.crearMapas();
+        try {
+            if (configuracion.isHistoricoFacturas()) {
+                Instrumentacion.medir("historico",
+                        () -> HistoricoFacturas.iniciar(objectStore, configuracion, archivosBucket));
+            }
+            Instrumentacion.medir("desencriptar_clasificar",
+                    () -> desencriptaArchivos.getFiles(archivosBucket, typesMaps, auditoriaDividendosDto,
+                            decision.getEstrategia()));
+            Instrumentacion.medir("totales", () -> handler.processAuditoria(typesMaps, auditoriaDividendosDto,
+                    handler.calculateTotalRecords(typesMaps)));
+            Map<String, String> dividendos = typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS);
+            Instrumentacion.contar(MetricasEjecucion.REGISTROS_DUPLICADOS, dividendos != null ? dividendos.size() : 0);
+            Instrumentacion.medir("encriptar", () -> encriptarArchivos.getEncrypRecords(typesMaps));
+            if (configuracion.isHistoricoFacturas()) {
+                Instrumentacion.medir("publicar_historico",
+                        () -> HistoricoFacturas.actual().publicar(typesMaps.get(Constantes.ARCHIVO_FUSIONADO)));
+            }
+        } finally {
+            HistoricoFacturas.terminar();
+            GobernadorMemoria.liberarMapas(typesMaps);
+        }
+        auditoriaDividendosDto.setHoraFin(Timestamp.valueOf(LocalDateTime.now()));
+        if (moverEntrada) {
+            Instrumentacion.medir("mover", () -> moverArchivosFinales.moverArchivos(archivosBucket));
+        }
+        auditoriaDividendosDto.setDetalleEjecucion(metricas.getDetalleEjecucion());
+        Instrumentacion.medir("auditoria", () -> auditoriaDividendosDao.registrarAuditoria(auditoriaDividendosDto));
+        metricas.medirConsumoJvm();
+        return auditoriaDividendosDto;
+    }
+
+    /**
+     * Imprime el tiempo de cada etapa, el total, el pico de heap, el consumo de la
+     * JVM, los contadores y la conciliación de importes de la última ejecución.
+     *
+     * @param salida El flujo donde se imprime el resumen.
+     */
+    public void imprimirResumen(PrintStream salida) {
+        long total = 0;
+        salida.println("Etapa                      ms");
+        for (Map.Entry<String, Long> etapa : metricas.getEtapas().entrySet()) {
+            long millis = etapa.getValue() / 1_000_000L;
+            total += millis;
+            salida.println(String.format("%-24s %6d", etapa.getKey(), millis));
+        }
+        salida.println(String.format("%-24s %6d", "total", total));
+        salida.println(String.format("Pico de heap: %d MB", getPicoHeap() / (1024 * 1024)));
+        if (metricas.getConsumoJvm() != null) {
+            salida.println("JVM: " + metricas.getConsumoJvm());
+        }
+        metricas.getContadores().forEach((nombre, valor) -> salida.println(String.format("%-24s %d", nombre, valor)));
+        if (!metricas.getConciliacion().isVacio()) {
+            salida.println("Conciliacion");
+            salida.println(metricas.getConciliacion());
+        }
+    }
+
+    /**
+     * Retorna el tiempo en nanosegundos de cada etapa de la última ejecución.
+     *
+     * @return Los tiempos por etapa, en orden de ejecución.
+     */
+    public Map<String, Long> getTiemposEtapas() {
+        return metricas.getEtapas();
+    }
+
+    /**
+     * Retorna las métricas de la última ejecución.
+     *
+     * @return Los contadores y tiempos por etapa.
+     */
+    public MetricasEjecucion getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Retorna el pico de heap de la última ejecución, en bytes.
+     *
+     * @return El pico de heap.
+     */
+    public long getPicoHeap() {
+        ConsumoJvm consumo = metricas.getConsumoJvm();
+        return consumo != null ? consumo.getPicoHeap() : 0;
+    }
+
+    private void validarArchivos(List<S3Object> archivosBucket) {
+        FileValidation fileValidation = new FileValidation(configuracion.getNombreBucketArchivosEntrada(),
+                configuracion.getRutaEntrada());
+        archivosBucket.forEach(archivo -> {
+            if (!fileValidation.isValidFile(configuracion.getNombreBucketArchivosEntrada(), archivo.key())) {
+                throw new AthException("[ERROR]", "[ERROR] El archivo [" + archivo.key() + "] en el bucket ["
+                        + configuracion.getNombreBucketArchivosEntrada() + "] no es válido.");
+            }
+        });
+    }
+
+    /**
+     * Convierte los argumentos {@code --nombre valor} o {@code --nombre=valor} en
+     * un mapa; las opciones sin valor quedan con una cadena vacía.
+     *
+     * @param  args         Los argumentos de línea de comandos.
+     * @return              Las opciones por nombre, sin el prefijo {@code --}.
+     * @throws AthException Si un argumento no inicia con {@code --}.
+     */
+    public static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new AthException("[ERROR]", "[ERROR] Argumento no reconocido: " + args[i] + "\n" + USO);
+            }
+            String nombre = args[i].substring(2);
+            String valor = "";
+            int igual = nombre.indexOf('=');
+            if (igual >= 0) {
+                valor = nombre.substring(igual + 1);
+                nombre = nombre.substring(0, igual);
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                valor = args[++i];
+            }
+            opciones.put(nombre, valor);
+        }
+        return opciones;
+    }
+
+    static ObjectStore crearObjectStore(Map<String, String> opciones) {
+        if (opciones.containsKey("local")) {
+            return new ObjectStoreJfr(new LocalObjectStore(Paths.get(opciones.get("local"))));
+        }
+        Region region = Region.of(opciones.getOrDefault("region", Region.US_EAST_1.id()));
+        if (opciones.containsKey("endpoint")) {
+            return new ObjectStoreJfr(new S3ObjectStore(S3Client.builder().region(region)
+                    .endpointOverride(URI.create(opciones.get("endpoint"))).forcePathStyle(true)
+                    .credentialsProvider(DefaultCredentialsProvider.create())
+                    .overrideConfiguration(c -> c.addExecutionInterceptor(new InterceptorS3())).build()));
+        }
+        return new ObjectStoreJfr(new S3ObjectStore(S3Client.builder().region(region)
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .overrideConfiguration(c -> c.addExecutionInterceptor(new InterceptorS3())).build()));
+    }
+
+    static ConfiguracionDto crearConfiguracion(Map<String, String> opciones) {
+        ConfiguracionDto configuracion = ConfiguracionDto.desdeConstantes();
+        configuracion.setNombreBucketArchivosEntrada(
+                opciones.getOrDefault("bucket-entrada", configuracion.getNombreBucketArchivosEntrada()));
+        configuracion.setNombreBucketArchivosSalida(
+                opciones.getOrDefault("bucket-salida", configuracion.getNombreBucketArchivosSalida()));
+        configuracion.setNombreBucketLlaves(opciones.getOrDefault("bucket-llaves", configuracion.getNombreBucketLlaves()));
+        configuracion.setRutaEntrada(opciones.getOrDefault("entrada", configuracion.getRutaEntrada()));
+        configuracion.setRutaSalida(opciones.getOrDefault("salida", configuracion.getRutaSalida()));
+        configuracion.setRutaProcesados(opciones.getOrDefault("procesados", configuracion.getRutaProcesados()));
+        configuracion.setRutaLlavePrivadaPgp(
+                opciones.getOrDefault("llave-privada", configuracion.getRutaLlavePrivadaPgp()));
+        configuracion.setRutaLlavePublicaPgp(
+                opciones.getOrDefault("llave-publica", configuracion.getRutaLlavePublicaPgp()));
+        configuracion.setFraseSecretaPgpDescifrada(opciones.get("frase-secreta"));
+        configuracion.setGrabacionJfr(opciones.containsKey("grabacion-jfr") || configuracion.isGrabacionJfr());
+        configuracion.setRutaDiagnosticos(opciones.getOrDefault("diagnosticos", configuracion.getRutaDiagnosticos()));
+        if (opciones.containsKey("memoria-mb")) {
+            configuracion.setMemoriaMb(Integer.parseInt(opciones.get("memoria-mb")));
+        }
+        configuracion.setEstrategiaMemoria(opciones.getOrDefault("estrategia", configuracion.getEstrategiaMemoria()));
+        if (opciones.containsKey("trabajadores")) {
+            configuracion.setTrabajadoresFragmentacion(Integer.parseInt(opciones.get("trabajadores")));
+        }
+        configuracion.setModoIo(opciones.getOrDefault("modo-io", configuracion.getModoIo()));
+        if (opciones.containsKey("hilos-io")) {
+            configuracion.setHilosIo(Integer.parseInt(opciones.get("hilos-io")));
+        }
+        configuracion.setIndiceFacturas(opciones.containsKey("indice") || configuracion.isIndiceFacturas());
+        configuracion.setHistoricoFacturas(
+                opciones.containsKey("historico") || configuracion.isHistoricoFacturas());
+        configuracion.setRutaHistoricoFacturas(
+                opciones.getOrDefault("ruta-historico", configuracion.getRutaHistoricoFacturas()));
+        if (opciones.containsKey("registros-corrida")) {
+            configuracion.setRegistrosPorCorrida(Integer.parseInt(opciones.get("registros-corrida")));
+        }
+        configuracion.setEntradasOrdenadas(
+                opciones.containsKey("entradas-ordenadas") || configuracion.isEntradasOrdenadas());
+        configuracion.setValidacionRegistros(
+                !opciones.containsKey("sin-validacion") && configuracion.isValidacionRegistros());
+        if (opciones.containsKey("bloques-descifrado")) {
+            configuracion.setBloquesDescifrado(Integer.parseInt(opciones.get("bloques-descifrado")));
+        }
+        return configuracion;
+    }
+
+    /**
+     * DAO de auditoría que solo registra el resultado en el log, para ejecuciones
+     * locales sin acceso a la base de datos.
+     */
+    public static class AuditoriaLocalDao extends AuditoriaDividendosDao {
+
+        @Override
+        public boolean registrarAuditoria(AuditoriaDividendosDto auditoriaDividendosDto) {
+            LOGGER.log("[INFO] 10.Auditoria local " + auditoriaDividendosDto + "\n");
+            return true;
+        }
+    }
+}
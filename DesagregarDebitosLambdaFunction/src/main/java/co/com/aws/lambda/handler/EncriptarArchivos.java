@@ -1,20 +1,37 @@
 package co.com.aws.lambda.handler;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import com.amazonaws.services.lambda.runtime.LambdaLogger;
-import com.amazonaws.services.lambda.runtime.LambdaRuntime;
 import com.amazonaws.util.IOUtils;
 
 import co.com.ath.aws.cifrado.PgpEncryptionUtil;
 import co.com.ath.aws.commons.AthConstants;
 import co.com.ath.aws.exception.AthException;
 import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.Continuacion;
+import co.com.aws.lambda.continuacion.PlazoAgotadoException;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.indice.IndiceFacturas;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.storage.EjecutorIo;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.storage.S3ObjectStore;
+import co.com.aws.lambda.util.MapaEnDisco;
 import co.com.aws.lambda.util.UtilsLambda;
 import software.amazon.awssdk.services.s3.S3Client;
 
@@ -27,6 +44,25 @@ import software.amazon.awssdk.services.s3.S3Client;
  * bucket de S3, y luego almacenando estos archivos encriptados en un bucket de
  * salida en S3.
  * </p>
+ * <p>
+ * Los registros clasificados en disco ({@link MapaEnDisco}) se cifran de
+ * archivo temporal a archivo temporal sin reunirlos en el heap.
+ * </p>
+ * <p>
+ * Los archivos ya publicados según el punto de control de la invocación se
+ * omiten; antes de cifrar cada archivo se verifica el plazo.
+ * </p>
+ * <p>
+ * Los archivos de salida se cifran uno tras otro y la carga de cada archivo
+ * cifrado se hace con el {@link EjecutorIo} de la configuración mientras se
+ * cifra el siguiente, por lo que el cifrado no ocupa a la vez más heap ni
+ * espacio temporal que el de dos archivos.
+ * </p>
+ * <p>
+ * Junto al archivo fusionado se publica su índice de facturas
+ * ({@link IndiceFacturas}), que permite ubicar el registro de una factura sin
+ * recorrer el archivo.
+ * </p>
  * 
  * @author  David Alfonso
  * @version 1.0
@@ -34,9 +70,11 @@ import software.amazon.awssdk.services.s3.S3Client;
  */
 public class EncriptarArchivos {
 
-    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+    private final ObjectStore objectStore;
 
-    private final S3Client s3Client;
+    private final ConfiguracionDto configuracion;
+
+    private final EjecutorIo ejecutorIo;
 
     /**
      * Constructor de la clase que inicializa el cliente de S3 utilizado para
@@ -46,7 +84,32 @@ public class EncriptarArchivos {
      *                 almacenar los archivos cifrados.
      */
     public EncriptarArchivos(S3Client s3Client) {
-        this.s3Client = s3Client;
+        this(new S3ObjectStore(s3Client));
+    }
+
+    /**
+     * Constructor de la clase que inicializa el almacenamiento de objetos
+     * utilizado para obtener y almacenar los archivos.
+     * 
+     * @param objectStore El almacenamiento de objetos utilizado para obtener las
+     *                    claves públicas y almacenar los archivos cifrados.
+     */
+    public EncriptarArchivos(ObjectStore objectStore) {
+        this(objectStore, ConfiguracionDto.desdeConstantes());
+    }
+
+    /**
+     * Constructor de la clase que inicializa el almacenamiento de objetos y la
+     * configuración de buckets, rutas y llaves del proceso.
+     * 
+     * @param objectStore   El almacenamiento de objetos utilizado para obtener las
+     *                      claves públicas y almacenar los archivos cifrados.
+     * @param configuracion La configuración del proceso.
+     */
+    public EncriptarArchivos(ObjectStore objectStore, ConfiguracionDto configuracion) {
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        this.ejecutorIo = EjecutorIo.desde(configuracion);
     }
 
     /**
@@ -59,22 +122,80 @@ public class EncriptarArchivos {
      * @throws AthException Si ocurre un error durante el proceso de encriptación.
      */
     public void getEncrypRecords(Map<String, Map<String, String>> typesMaps) {
-        LOGGER.log("[INFO] 6.getEncrypRecords\n");
-        typesMaps.entrySet().parallelStream().forEach(entry -> {
+        Continuacion continuacion = Continuacion.actual();
+        ejecutorIo.encadenar(typesMaps.entrySet(), entry -> {
+            String nombreArchivo = entry.getKey() + ".txt";
+            if (continuacion.isCargaCompletada(nombreArchivo)) {
+                return null;
+            }
+            List<Runnable> cargas = new ArrayList<>(2);
             try {
                 Map<String, String> value = entry.getValue();
-                String nombreArchivo = entry.getKey() + ".txt";
-                byte[] fileContent = value.values().stream().collect(Collectors.joining("\n"))
-                        .getBytes(StandardCharsets.UTF_8);
-                ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(fileContent);
-                InputStream llavePublica = UtilsLambda.obtenerLlavePgpS3(s3Client, Constantes.NOMBRE_BUCKET_LLAVES,
-                        Constantes.RUTA_LLAVE_PUBLICAPGP);
-                cifrarArchivoPgp(nombreArchivo, byteArrayInputStream, llavePublica);
+                continuacion.verificarPlazo("encriptar");
+                InputStream llavePublica = UtilsLambda.obtenerLlavePgp(objectStore,
+                        configuracion.getNombreBucketLlaves(), configuracion.getRutaLlavePublicaPgp());
+                if (configuracion.isIndiceFacturas() && Constantes.ARCHIVO_FUSIONADO.equals(entry.getKey())) {
+                    cifrarConIndice(nombreArchivo, value, llavePublica.readAllBytes(), cargas);
+                } else if (value instanceof MapaEnDisco) {
+                    cifrarArchivoPgpEnDisco(nombreArchivo, (MapaEnDisco) value, llavePublica, null, cargas);
+                } else {
+                    byte[] fileContent = value.values().stream().collect(Collectors.joining("\n"))
+                            .getBytes(StandardCharsets.UTF_8);
+                    ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(fileContent);
+                    cifrarArchivoPgp(nombreArchivo, byteArrayInputStream, llavePublica, cargas);
+                }
                 llavePublica.close();
+            } catch (PlazoAgotadoException e) {
+                throw e;
             } catch (Exception e) {
                 throw new AthException("[ERROR][6.1]", "[ERROR] Desencriptando el archivo" + e.getMessage(), e);
             }
-        });
+            return (Runnable) () -> {
+                ejecutorIo.paraCada(cargas, Runnable::run);
+                continuacion.registrarCarga(nombreArchivo);
+            };
+        }, Runnable::run);
+    }
+
+    /**
+     * Cifra y publica un archivo junto con su índice de facturas. El índice se
+     * construye mientras se escribe el texto del archivo, por lo que sus
+     * desplazamientos se refieren al texto descifrado, y se publica cifrado con
+     * la misma llave como {@code <archivo>.idx.pgp}.
+     *
+     * @param  nombreArchivo Nombre del archivo a ser encriptado.
+     * @param  registros     Los registros del archivo, en orden.
+     * @param  llavePublica  Los bytes de la clave pública PGP.
+     * @param  cargas        Las cargas de los archivos cifrados, a las que se
+     *                       agregan las del archivo y su índice.
+     * @throws IOException   Si ocurre un error al escribir el índice.
+     */
+    private void cifrarConIndice(String nombreArchivo, Map<String, String> registros, byte[] llavePublica,
+            List<Runnable> cargas) throws IOException {
+        IndiceFacturas indice = new IndiceFacturas();
+        if (registros instanceof MapaEnDisco) {
+            cifrarArchivoPgpEnDisco(nombreArchivo, (MapaEnDisco) registros, new ByteArrayInputStream(llavePublica),
+                    indice, cargas);
+        } else {
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+            boolean primero = true;
+            for (Map.Entry<String, String> registro : registros.entrySet()) {
+                if (!primero) {
+                    contenido.write('\n');
+                }
+                byte[] valor = registro.getValue().getBytes(StandardCharsets.UTF_8);
+                contenido.writeBytes(valor);
+                indice.agregar(registro.getKey(), valor);
+                primero = false;
+            }
+            cifrarArchivoPgp(nombreArchivo, new ByteArrayInputStream(contenido.toByteArray()),
+                    new ByteArrayInputStream(llavePublica), cargas);
+        }
+        ByteArrayOutputStream contenidoIndice = new ByteArrayOutputStream();
+        indice.escribir(contenidoIndice);
+        cifrarArchivoPgp(nombreArchivo + IndiceFacturas.EXTENSION,
+                new ByteArrayInputStream(contenidoIndice.toByteArray()), new ByteArrayInputStream(llavePublica),
+                cargas);
     }
 
     /**
@@ -93,18 +214,121 @@ public class EncriptarArchivos {
      */
     protected void cifrarArchivoPgp(String nombreArchivo, InputStream archivoDescifrado, InputStream llavePublica)
             throws IOException {
-        LOGGER.log(String.format("[INFO] 7.cifrarArchivoPgp [%s]%s", nombreArchivo, "\n"));
+        List<Runnable> cargas = new ArrayList<>(1);
+        cifrarArchivoPgp(nombreArchivo, archivoDescifrado, llavePublica, cargas);
+        cargas.forEach(Runnable::run);
+    }
+
+    /**
+     * Encripta un archivo utilizando PGP y agrega a las cargas la de su
+     * contenido cifrado, que se almacena en el bucket de salida al ejecutarla.
+     *
+     * @param  nombreArchivo     Nombre del archivo a ser encriptado.
+     * @param  archivoDescifrado El contenido del archivo a ser encriptado.
+     * @param  llavePublica      El InputStream de la clave pública utilizada para
+     *                           el cifrado PGP.
+     * @param  cargas            Las cargas de los archivos cifrados.
+     * @throws IOException       Si ocurre un error durante la lectura del
+     *                           archivo.
+     * @throws AthException      Si ocurre un error durante el proceso de
+     *                           encriptación.
+     */
+    protected void cifrarArchivoPgp(String nombreArchivo, InputStream archivoDescifrado, InputStream llavePublica,
+            List<Runnable> cargas) throws IOException {
         String nombreArchivoCifrado = nombreArchivo + AthConstants.PGP_EXTENSION;
         Integer lengthArchivoDescifrado = archivoDescifrado.available();
-        try {
-            String contentType = "application/octet-stream";
+        byte[] fileContent;
+        try (Tramo tramo = Instrumentacion.tramo("cifrarArchivoPgp", nombreArchivo)) {
             InputStream archivoCifrado = PgpEncryptionUtil.cifrarArchivo(archivoDescifrado, lengthArchivoDescifrado,
                     llavePublica);
-            byte[] fileContent = IOUtils.toByteArray(archivoCifrado);
-            UtilsLambda.printFiles(s3Client, Constantes.NOMBRE_BUCKET_ARCHIVOS_SALIDA, Constantes.RUTA_SALIDA,
-                    nombreArchivoCifrado, fileContent, contentType);
+            fileContent = IOUtils.toByteArray(archivoCifrado);
         } catch (Exception e) {
             throw new AthException("[ERROR][7.1]", "[ERROR] error al cifrarArchivoPgp " + e.getMessage(), e);
         }
+        cargas.add(() -> {
+            UtilsLambda.printFiles(objectStore, configuracion.getNombreBucketArchivosSalida(),
+                    configuracion.getRutaSalida(), nombreArchivoCifrado, fileContent, "application/octet-stream");
+            Instrumentacion.contar(MetricasEjecucion.BYTES_ESCRITOS, fileContent.length);
+        });
+    }
+
+    /**
+     * Método encargado de encriptar los registros de un mapa en disco. Los
+     * registros se escriben en un archivo temporal, el resultado del cifrado se
+     * copia a otro archivo temporal y desde allí se almacena en el bucket de
+     * salida; ambos archivos se eliminan al terminar.
+     * 
+     * @param  nombreArchivo Nombre del archivo a ser encriptado.
+     * @param  registros     Los registros a encriptar, en orden.
+     * @param  llavePublica  El InputStream de la clave pública utilizada para el
+     *                       cifrado PGP.
+     * @throws AthException  Si ocurre un error durante el proceso de
+     *                       encriptación.
+     */
+    protected void cifrarArchivoPgpEnDisco(String nombreArchivo, MapaEnDisco registros, InputStream llavePublica) {
+        List<Runnable> cargas = new ArrayList<>(1);
+        cifrarArchivoPgpEnDisco(nombreArchivo, registros, llavePublica, null, cargas);
+        cargas.forEach(Runnable::run);
+    }
+
+    /**
+     * Encripta los registros de un mapa en disco y agrega a las cargas la del
+     * archivo temporal cifrado, que lo almacena en el bucket de salida y lo
+     * elimina. El archivo temporal descifrado se elimina al terminar el
+     * cifrado.
+     */
+    private void cifrarArchivoPgpEnDisco(String nombreArchivo, MapaEnDisco registros, InputStream llavePublica,
+            IndiceFacturas indice, List<Runnable> cargas) {
+        String nombreArchivoCifrado = nombreArchivo + AthConstants.PGP_EXTENSION;
+        Path descifrado = null;
+        Path cifrado = null;
+        try (Tramo tramo = Instrumentacion.tramo("cifrarArchivoPgp", nombreArchivo)) {
+            descifrado = Files.createTempFile(nombreArchivo, ".tmp");
+            try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(descifrado), 64 * 1024)) {
+                if (indice != null) {
+                    registros.escribirValores(salida, indice::agregar);
+                } else {
+                    registros.escribirValores(salida);
+                }
+            }
+            cifrado = Files.createTempFile(nombreArchivoCifrado, ".tmp");
+            try (InputStream archivoDescifrado = Files.newInputStream(descifrado);
+                    InputStream archivoCifrado = PgpEncryptionUtil.cifrarArchivo(archivoDescifrado,
+                            Files.size(descifrado), llavePublica)) {
+                Files.copy(archivoCifrado, cifrado, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            eliminar(cifrado);
+            throw new AthException("[ERROR][7.2]", "[ERROR] error al cifrarArchivoPgp en disco " + e.getMessage(), e);
+        } finally {
+            eliminar(descifrado);
+        }
+        Path archivoCifrado = cifrado;
+        cargas.add(() -> {
+            try {
+                long longitud = Files.size(archivoCifrado);
+                try (InputStream contenido = Files.newInputStream(archivoCifrado)) {
+                    UtilsLambda.printFiles(objectStore, configuracion.getNombreBucketArchivosSalida(),
+                            configuracion.getRutaSalida(), nombreArchivoCifrado, contenido, longitud,
+                            "application/octet-stream");
+                }
+                Instrumentacion.contar(MetricasEjecucion.BYTES_ESCRITOS, longitud);
+            } catch (IOException e) {
+                throw new AthException("[ERROR][7.2]", "[ERROR] error al cargar " + nombreArchivoCifrado + ": "
+                        + e.getMessage(), e);
+            } finally {
+                eliminar(archivoCifrado);
+            }
+        });
+    }
+
+    private static void eliminar(Path archivo) {
+        if (archivo != null) {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                // El directorio temporal se limpia con el entorno de ejecución.
+            }
+        }
     }
 }
@@ -2,13 +2,13 @@ package co.com.aws.lambda.handler;
 
 import java.util.List;
 
-import com.amazonaws.services.lambda.runtime.LambdaLogger;
-import com.amazonaws.services.lambda.runtime.LambdaRuntime;
-
-import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.storage.EjecutorIo;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.storage.S3ObjectStore;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 /**
@@ -21,6 +21,10 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  * archivos de la ubicación original una vez que han sido correctamente
  * copiados.
  * </p>
+ * <p>
+ * Los archivos se mueven a la vez con el {@link EjecutorIo} de la
+ * configuración; cada archivo se elimina solo después de copiarlo.
+ * </p>
  * 
  * @author  David Alfonso
  * @version 1.0
@@ -28,9 +32,11 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  */
 public class MoverArchivosFinales {
 
-    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+    private final ObjectStore objectStore;
+
+    private final ConfiguracionDto configuracion;
 
-    private final S3Client s3Client;
+    private final EjecutorIo ejecutorIo;
 
     /**
      * Constructor que inicializa el cliente de S3 para interactuar con el servicio.
@@ -39,7 +45,32 @@ public class MoverArchivosFinales {
      *                 archivos en S3.
      */
     public MoverArchivosFinales(S3Client s3Client) {
-        this.s3Client = s3Client;
+        this(new S3ObjectStore(s3Client));
+    }
+
+    /**
+     * Constructor que inicializa el almacenamiento de objetos sobre el que se
+     * mueven los archivos.
+     * 
+     * @param objectStore Almacenamiento de objetos para realizar operaciones de
+     *                    copiar y eliminar archivos.
+     */
+    public MoverArchivosFinales(ObjectStore objectStore) {
+        this(objectStore, ConfiguracionDto.desdeConstantes());
+    }
+
+    /**
+     * Constructor que inicializa el almacenamiento de objetos y la configuración
+     * con las rutas de entrada y de archivos procesados.
+     * 
+     * @param objectStore   Almacenamiento de objetos para realizar operaciones de
+     *                      copiar y eliminar archivos.
+     * @param configuracion La configuración del proceso.
+     */
+    public MoverArchivosFinales(ObjectStore objectStore, ConfiguracionDto configuracion) {
+        this.objectStore = objectStore;
+        this.configuracion = configuracion;
+        this.ejecutorIo = EjecutorIo.desde(configuracion);
     }
 
     /**
@@ -50,12 +81,12 @@ public class MoverArchivosFinales {
      * @param archivosBucket Lista de archivos que deben ser movidos y eliminados.
      */
     public void moverArchivos(List<S3Object> archivosBucket) {
-        LOGGER.log("[INFO] 9.moverArchivos\n");
-        archivosBucket.forEach(fileRecords -> {
+        ejecutorIo.paraCada(archivosBucket, fileRecords -> {
             String origenKey = fileRecords.key();
-            String destinoKey = Constantes.RUTA_PROCESADOS + origenKey.substring(Constantes.RUTA_ENTRADA.length());
-            copiarArchivo(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA, origenKey, destinoKey);
-            eliminarArchivo(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA, origenKey);
+            String destinoKey = configuracion.getRutaProcesados()
+                    + origenKey.substring(configuracion.getRutaEntrada().length());
+            copiarArchivo(configuracion.getNombreBucketArchivosEntrada(), origenKey, destinoKey);
+            eliminarArchivo(configuracion.getNombreBucketArchivosEntrada(), origenKey);
         });
     }
 
@@ -68,11 +99,9 @@ public class MoverArchivosFinales {
      * @param destinoKey La clave (key) del archivo en el bucket de destino.
      */
     protected void copiarArchivo(String bucketName, String origenKey, String destinoKey) {
-        LOGGER.log("[INFO] 9.1.copiarArchivo ");
-        CopyObjectRequest copyRequest = CopyObjectRequest.builder().sourceBucket(bucketName).sourceKey(origenKey)
-                .destinationBucket(bucketName).destinationKey(destinoKey).build();
-        s3Client.copyObject(copyRequest);
-        LOGGER.log(String.format(" Archivo copiado de [%s] a [%s]%s", origenKey, destinoKey, "\n"));
+        try (Tramo tramo = Instrumentacion.tramo("copiarArchivo", origenKey)) {
+            objectStore.copy(bucketName, origenKey, bucketName, destinoKey);
+        }
     }
 
     /**
@@ -84,9 +113,8 @@ public class MoverArchivosFinales {
      *                   eliminar.
      */
     protected void eliminarArchivo(String bucketName, String origenKey) {
-        LOGGER.log("[INFO] 9.2.eliminarArchivo ");
-        DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder().bucket(bucketName).key(origenKey).build();
-        s3Client.deleteObject(deleteRequest);
-        LOGGER.log(String.format(" Archivo eliminado: de [%s]%s", origenKey, "\n"));
+        try (Tramo tramo = Instrumentacion.tramo("eliminarArchivo", origenKey)) {
+            objectStore.delete(bucketName, origenKey);
+        }
     }
 }
@@ -0,0 +1,415 @@
+package co.com.aws.lambda.indice;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.continuacion.PuntoControl;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.storage.EjecutorIo;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.util.CampoNumerico;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Histórico de las facturas publicadas en el archivo fusionado por las
+ * ejecuciones anteriores, para clasificar como duplicada una factura que se
+ * vuelve a enviar otro día. La invocación en curso lo obtiene con
+ * {@link #actual()}; fuera de una invocación, o con el histórico deshabilitado,
+ * no contiene ninguna factura.
+ * <p>
+ * El histórico se guarda en la ruta {@link ConfiguracionDto#getRutaHistoricoFacturas()}
+ * del bucket de salida como {@link SegmentoHistorico segmentos} inmutables.
+ * Al iniciar, los segmentos se descargan al directorio temporal, que conserva
+ * los de invocaciones anteriores del mismo entorno, y se proyectan en memoria.
+ * Al terminar, las facturas del archivo fusionado se publican como un segmento
+ * nuevo. Cuando hay más de {@link #MAXIMO_SEGMENTOS} segmentos, la carga los
+ * compacta en uno solo, de modo que una consulta hace a lo sumo ese número de
+ * búsquedas binarias.
+ * </p>
+ * <p>
+ * El segmento de una ejecución se nombra con la huella de sus archivos de
+ * entrada y no se consulta al cargar: un reintento de los mismos archivos, con
+ * o sin punto de control, clasifica igual que el primer intento aunque este ya
+ * haya publicado su segmento.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class HistoricoFacturas {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    /**
+     * Segmentos a partir de los cuales la carga compacta el histórico.
+     */
+    static final int MAXIMO_SEGMENTOS = 8;
+
+    static final String PREFIJO_SEGMENTO = "segmento-";
+
+    static final String PREFIJO_COMPACTADO = "compactado-";
+
+    private static final int INICIO_FACTURA = 1;
+
+    private static final int FIN_FACTURA = 13;
+
+    private static final HistoricoFacturas INACTIVO = new HistoricoFacturas(null, null, null, null,
+            new SegmentoHistorico[0]);
+
+    private static volatile HistoricoFacturas actual = INACTIVO;
+
+    private final ObjectStore objectStore;
+
+    private final String bucket;
+
+    private final String llaveSegmento;
+
+    private final Path directorio;
+
+    private final SegmentoHistorico[] segmentos;
+
+    private HistoricoFacturas(ObjectStore objectStore, String bucket, String llaveSegmento, Path directorio,
+            SegmentoHistorico[] segmentos) {
+        this.objectStore = objectStore;
+        this.bucket = bucket;
+        this.llaveSegmento = llaveSegmento;
+        this.directorio = directorio;
+        this.segmentos = segmentos;
+    }
+
+    /**
+     * Carga el histórico en el directorio temporal del sistema y lo deja como
+     * el de la invocación en curso.
+     *
+     * @param  objectStore    El almacenamiento de objetos del histórico.
+     * @param  configuracion  La configuración con el bucket de salida y la ruta
+     *                        del histórico.
+     * @param  archivosBucket Los archivos de entrada de la ejecución.
+     * @return                El histórico en curso.
+     * @throws AthException   Si ocurre un error al descargar, compactar o
+     *                        abrir los segmentos.
+     */
+    public static HistoricoFacturas iniciar(ObjectStore objectStore, ConfiguracionDto configuracion,
+            List<S3Object> archivosBucket) {
+        HistoricoFacturas historico = cargar(objectStore, configuracion, archivosBucket,
+                Paths.get(System.getProperty("java.io.tmpdir"), "historico-facturas"));
+        actual = historico;
+        return historico;
+    }
+
+    /**
+     * Retorna el histórico de la invocación en curso.
+     *
+     * @return El histórico en curso, o uno vacío fuera de una invocación.
+     */
+    public static HistoricoFacturas actual() {
+        return actual;
+    }
+
+    /**
+     * Termina el histórico de la invocación en curso.
+     */
+    public static void terminar() {
+        actual = INACTIVO;
+    }
+
+    /**
+     * Carga el histórico sobre un directorio local, sin dejarlo como el de la
+     * invocación en curso.
+     *
+     * @param  objectStore    El almacenamiento de objetos del histórico.
+     * @param  configuracion  La configuración con el bucket de salida y la ruta
+     *                        del histórico.
+     * @param  archivosBucket Los archivos de entrada de la ejecución.
+     * @param  directorio     El directorio local de los segmentos.
+     * @return                El histórico.
+     * @throws AthException   Si ocurre un error al descargar, compactar o
+     *                        abrir los segmentos.
+     */
+    public static HistoricoFacturas cargar(ObjectStore objectStore, ConfiguracionDto configuracion,
+            List<S3Object> archivosBucket, Path directorio) {
+        String bucket = configuracion.getNombreBucketArchivosSalida();
+        String ruta = configuracion.getRutaHistoricoFacturas();
+        String ejecucion = UUID.nameUUIDFromBytes(PuntoControl.huella(archivosBucket)
+                .getBytes(StandardCharsets.UTF_8)).toString();
+        String llaveSegmento = ruta + PREFIJO_SEGMENTO + ejecucion + SegmentoHistorico.EXTENSION;
+        List<S3Object> objetos = objectStore.list(bucket, ruta).stream()
+                .filter(objeto -> objeto.key().endsWith(SegmentoHistorico.EXTENSION))
+                .filter(objeto -> !objeto.key().equals(llaveSegmento)).collect(Collectors.toList());
+        try {
+            Files.createDirectories(directorio);
+            limpiar(directorio, objetos);
+            List<Callable<Path>> descargas = new ArrayList<>();
+            for (S3Object objeto : objetos) {
+                descargas.add(() -> descargar(objectStore, bucket, objeto, directorio));
+            }
+            EjecutorIo ejecutorIo = EjecutorIo.desde(configuracion);
+            List<Path> archivos = ejecutorIo.todos(descargas);
+            if (archivos.size() > MAXIMO_SEGMENTOS) {
+                String llaveCompactado = ruta + PREFIJO_COMPACTADO + ejecucion + SegmentoHistorico.EXTENSION;
+                archivos = List.of(compactar(objectStore, bucket, llaveCompactado, archivos, directorio));
+                ejecutorIo.paraCada(objetos.stream().filter(objeto -> !objeto.key().equals(llaveCompactado))
+                        .collect(Collectors.toList()), objeto -> objectStore.delete(bucket, objeto.key()));
+            }
+            SegmentoHistorico[] segmentos = archivos.stream().map(SegmentoHistorico::abrir)
+                    .toArray(SegmentoHistorico[]::new);
+            HistoricoFacturas historico = new HistoricoFacturas(objectStore, bucket, llaveSegmento, directorio,
+                    segmentos);
+            LOGGER.log(String.format("[INFO] Histórico de facturas: segmentos=%d facturas=%d%n", segmentos.length,
+                    historico.getCantidad()));
+            return historico;
+        } catch (IOException e) {
+            throw new AthException("[ERROR][17]",
+                    "[ERROR] Error al cargar el histórico de facturas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Indica si una factura se publicó en una ejecución anterior.
+     *
+     * @param  numFactura El número de factura del registro (posiciones 1 a 12).
+     * @return            {@code true} si la factura está en el histórico.
+     */
+    public boolean contiene(String numFactura) {
+        if (segmentos.length == 0) {
+            return false;
+        }
+        long factura = factura(numFactura, 0, numFactura.length());
+        if (factura < 0) {
+            return false;
+        }
+        for (SegmentoHistorico segmento : segmentos) {
+            if (segmento.contiene(factura)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna la cantidad de facturas del histórico.
+     *
+     * @return La suma de las facturas de los segmentos.
+     */
+    public long getCantidad() {
+        long cantidad = 0;
+        for (SegmentoHistorico segmento : segmentos) {
+            cantidad += segmento.getCantidad();
+        }
+        return cantidad;
+    }
+
+    /**
+     * Retorna la cantidad de segmentos cargados.
+     *
+     * @return La cantidad de segmentos.
+     */
+    public int getSegmentos() {
+        return segmentos.length;
+    }
+
+    /**
+     * Retorna la llave del segmento de esta ejecución.
+     *
+     * @return La llave en el bucket de salida.
+     */
+    public String getLlaveSegmento() {
+        return llaveSegmento;
+    }
+
+    /**
+     * Publica las facturas del archivo fusionado como el segmento de esta
+     * ejecución. El encabezado (la línea 0 de un archivo) y el total no hacen
+     * parte del segmento.
+     *
+     * @param  fusionado    Los registros del archivo fusionado.
+     * @throws AthException Si ocurre un error al escribir o publicar el
+     *                      segmento.
+     */
+    public void publicar(Map<String, String> fusionado) {
+        long[] facturas = new long[Math.max(16, fusionado.size())];
+        int cantidad = 0;
+        for (Map.Entry<String, String> registro : fusionado.entrySet()) {
+            long factura = registro.getKey().endsWith("_0") ? -1
+                    : factura(registro.getValue(), INICIO_FACTURA, FIN_FACTURA);
+            if (factura >= 0) {
+                facturas[cantidad++] = factura;
+            }
+        }
+        Arrays.sort(facturas, 0, cantidad);
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, PREFIJO_SEGMENTO, ".tmp");
+            int escritas;
+            try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(temporal), 64 * 1024)) {
+                SegmentoHistorico.Escritor escritor = new SegmentoHistorico.Escritor(salida);
+                for (int i = 0; i < cantidad; i++) {
+                    escritor.agregar(facturas[i]);
+                }
+                escritor.terminar();
+                escritas = escritor.getCantidad();
+            }
+            try (InputStream contenido = Files.newInputStream(temporal)) {
+                objectStore.put(bucket, llaveSegmento, contenido, Files.size(temporal), "application/octet-stream");
+            }
+            Files.move(temporal, directorio.resolve(nombre(llaveSegmento)), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.log(String.format("[INFO] Histórico de facturas: segmento [%s] con %d facturas%n", llaveSegmento,
+                    escritas));
+        } catch (IOException e) {
+            throw new AthException("[ERROR][17.1]",
+                    "[ERROR] Error al publicar el segmento del histórico de facturas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Crea el texto del archivo de dividendos para un registro cuya factura se
+     * publicó en una ejecución anterior.
+     *
+     * @param  registro El registro duplicado.
+     * @return          El mensaje del registro duplicado.
+     */
+    public static String textoDuplicado(String registro) {
+        String valFactura = registro.length() >= 101 ? registro.substring(89, 101) : "";
+        return String.format("El numero de factura [%s] con el valor [%s] ya fue procesado en una ejecucion anterior.",
+                registro.substring(INICIO_FACTURA, FIN_FACTURA), valFactura);
+    }
+
+    /**
+     * Lee un número de factura de un rango de caracteres.
+     *
+     * @param  texto  El texto.
+     * @param  inicio La posición del primer dígito.
+     * @param  fin    La posición siguiente al último dígito.
+     * @return        La factura, o {@code -1} si el rango no está completo o no
+     *                es numérico.
+     */
+    static long factura(CharSequence texto, int inicio, int fin) {
+        return CampoNumerico.leer(texto, inicio, fin);
+    }
+
+    /**
+     * Descarga un segmento, salvo que el directorio ya tenga una copia del mismo
+     * tamaño de una invocación anterior.
+     */
+    private static Path descargar(ObjectStore objectStore, String bucket, S3Object objeto, Path directorio)
+            throws IOException {
+        Path local = directorio.resolve(nombre(objeto.key()));
+        if (Files.isRegularFile(local) && objeto.size() != null && Files.size(local) == objeto.size()) {
+            return local;
+        }
+        Path temporal = Files.createTempFile(directorio, PREFIJO_SEGMENTO, ".tmp");
+        try (InputStream contenido = objectStore.get(bucket, objeto.key())) {
+            Files.copy(contenido, temporal, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(temporal, local, StandardCopyOption.REPLACE_EXISTING);
+        return local;
+    }
+
+    /**
+     * Elimina del directorio los segmentos que ya no están publicados.
+     */
+    private static void limpiar(Path directorio, List<S3Object> objetos) throws IOException {
+        Set<String> publicados = new HashSet<>();
+        objetos.forEach(objeto -> publicados.add(nombre(objeto.key())));
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : archivos.collect(Collectors.toList())) {
+                if (!publicados.contains(archivo.getFileName().toString())) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Une los segmentos en uno solo, lo publica y retorna su copia local. Los
+     * segmentos unidos se eliminan del directorio; el llamador los elimina del
+     * bucket después de publicar el compactado.
+     */
+    private static Path compactar(ObjectStore objectStore, String bucket, String llave, List<Path> archivos,
+            Path directorio) throws IOException {
+        Path local = directorio.resolve(nombre(llave));
+        Path temporal = Files.createTempFile(directorio, PREFIJO_COMPACTADO, ".tmp");
+        int cantidad;
+        try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(temporal), 64 * 1024)) {
+            SegmentoHistorico.Escritor escritor = new SegmentoHistorico.Escritor(salida);
+            PriorityQueue<Cursor> cola = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.actual));
+            for (Path archivo : archivos) {
+                Cursor cursor = new Cursor(SegmentoHistorico.abrir(archivo).iterador());
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+            while (!cola.isEmpty()) {
+                Cursor cursor = cola.poll();
+                escritor.agregar(cursor.actual);
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+            escritor.terminar();
+            cantidad = escritor.getCantidad();
+        }
+        try (InputStream contenido = Files.newInputStream(temporal)) {
+            objectStore.put(bucket, llave, contenido, Files.size(temporal), "application/octet-stream");
+        }
+        Files.move(temporal, local, StandardCopyOption.REPLACE_EXISTING);
+        for (Path archivo : archivos) {
+            if (!archivo.equals(local)) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+        LOGGER.log(String.format("[INFO] Histórico de facturas: %d segmentos compactados en [%s] con %d facturas%n",
+                archivos.size(), llave, cantidad));
+        return local;
+    }
+
+    private static String nombre(String llave) {
+        return llave.substring(llave.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Factura actual de un segmento durante la compactación.
+     */
+    private static final class Cursor {
+
+        private final PrimitiveIterator.OfLong facturas;
+
+        private long actual;
+
+        Cursor(PrimitiveIterator.OfLong facturas) {
+            this.facturas = facturas;
+        }
+
+        boolean avanzar() {
+            if (!facturas.hasNext()) {
+                return false;
+            }
+            actual = facturas.nextLong();
+            return true;
+        }
+    }
+}
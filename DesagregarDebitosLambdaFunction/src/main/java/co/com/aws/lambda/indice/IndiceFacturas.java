@@ -0,0 +1,191 @@
+package co.com.aws.lambda.indice;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.util.CampoNumerico;
+
+/**
+ * Índice de un archivo de salida que relaciona cada factura con la posición de
+ * su registro en el texto del archivo. Se construye mientras se escribe el
+ * archivo: cada registro escrito se informa con {@link #agregar}, en el mismo
+ * orden y con los mismos bytes, para llevar el desplazamiento acumulado con los
+ * saltos de línea que los separan.
+ * <p>
+ * La factura es el número de las posiciones 1 a 12 del registro; los registros
+ * más cortos o con esas posiciones no numéricas, como el total, ocupan espacio
+ * en el archivo pero no se indexan. El archivo de entrada es la parte
+ * de la llave del registro anterior al último {@code _}.
+ * </p>
+ * <p>
+ * {@link #escribir} produce el formato binario que lee {@link LectorIndice}:
+ * </p>
+ * <pre>
+ * int    MAGIA ("IDXF")
+ * short  VERSION
+ * short  cantidad de archivos, seguida de sus nombres (writeUTF)
+ * int    cantidad de entradas
+ * por entrada, ordenadas por factura y luego por desplazamiento:
+ *   long factura, long desplazamiento, int longitud, short archivo
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class IndiceFacturas {
+
+    /**
+     * Extensión que se agrega al nombre del archivo de salida para nombrar su
+     * índice.
+     */
+    public static final String EXTENSION = ".idx";
+
+    static final int MAGIA = 0x49445846;
+
+    static final short VERSION = 1;
+
+    static final int INICIO_FACTURA = 1;
+
+    static final int FIN_FACTURA = 13;
+
+    private static final int BITS_FILA = 24;
+
+    private final List<String> archivos = new ArrayList<>();
+
+    private final Map<String, Short> indicesArchivo = new HashMap<>();
+
+    private long[] facturas = new long[1024];
+
+    private long[] desplazamientos = new long[1024];
+
+    private int[] longitudes = new int[1024];
+
+    private short[] archivosEntrada = new short[1024];
+
+    private int cantidad;
+
+    private long posicion;
+
+    /**
+     * Informa un registro escrito en el archivo de salida. Los registros se
+     * separan con un salto de línea, por lo que cada registro posterior al
+     * primero inicia un byte después del fin del anterior.
+     *
+     * @param  llave        La llave del registro ({@code archivo_linea}).
+     * @param  registro     Los bytes escritos del registro.
+     * @throws AthException Si el índice supera la cantidad de archivos de
+     *                      entrada que admite el formato.
+     */
+    public void agregar(String llave, byte[] registro) {
+        long desplazamiento = posicion;
+        posicion += registro.length + 1L;
+        long factura = factura(registro);
+        if (factura < 0) {
+            return;
+        }
+        if (cantidad == facturas.length) {
+            int capacidad = cantidad * 2;
+            facturas = Arrays.copyOf(facturas, capacidad);
+            desplazamientos = Arrays.copyOf(desplazamientos, capacidad);
+            longitudes = Arrays.copyOf(longitudes, capacidad);
+            archivosEntrada = Arrays.copyOf(archivosEntrada, capacidad);
+        }
+        facturas[cantidad] = factura;
+        desplazamientos[cantidad] = desplazamiento;
+        longitudes[cantidad] = registro.length;
+        archivosEntrada[cantidad] = indiceArchivo(llave);
+        cantidad++;
+    }
+
+    /**
+     * Retorna la cantidad de registros indexados.
+     *
+     * @return La cantidad de entradas del índice.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Escribe el índice ordenado por factura. Para una misma factura se
+     * conserva el orden de los registros en el archivo.
+     *
+     * @param  salida      El flujo donde se escribe el índice; no se cierra.
+     * @throws IOException Si ocurre un error al escribir en la salida.
+     */
+    public void escribir(OutputStream salida) throws IOException {
+        DataOutputStream datos = new DataOutputStream(salida);
+        datos.writeInt(MAGIA);
+        datos.writeShort(VERSION);
+        datos.writeShort(archivos.size());
+        for (String archivo : archivos) {
+            datos.writeUTF(archivo);
+        }
+        datos.writeInt(cantidad);
+        for (int fila : ordenar()) {
+            datos.writeLong(facturas[fila]);
+            datos.writeLong(desplazamientos[fila]);
+            datos.writeInt(longitudes[fila]);
+            datos.writeShort(archivosEntrada[fila]);
+        }
+        datos.flush();
+    }
+
+    /**
+     * Ordena las filas por factura de forma estable. Las facturas tienen como
+     * máximo 12 dígitos (menos de 2^40), por lo que la factura y la fila caben
+     * en un {@code long} sin signo que se ordena como primitivo; si la fila no
+     * cabe en los bits restantes se ordena con un comparador.
+     */
+    private int[] ordenar() {
+        int[] orden = new int[cantidad];
+        if (cantidad < (1 << BITS_FILA)) {
+            long[] claves = new long[cantidad];
+            for (int fila = 0; fila < cantidad; fila++) {
+                claves[fila] = ((facturas[fila] << BITS_FILA) | fila) ^ Long.MIN_VALUE;
+            }
+            Arrays.sort(claves);
+            for (int i = 0; i < cantidad; i++) {
+                orden[i] = (int) (claves[i] & ((1 << BITS_FILA) - 1));
+            }
+            return orden;
+        }
+        return IntStream.range(0, cantidad).boxed().sorted(Comparator.comparingLong(fila -> facturas[fila]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    private short indiceArchivo(String llave) {
+        int separador = llave.lastIndexOf('_');
+        String archivo = separador >= 0 ? llave.substring(0, separador) : llave;
+        Short indice = indicesArchivo.get(archivo);
+        if (indice == null) {
+            if (archivos.size() > Short.MAX_VALUE) {
+                throw new AthException("[ERROR][16]",
+                        "[ERROR] El índice de facturas admite hasta " + (Short.MAX_VALUE + 1) + " archivos");
+            }
+            indice = (short) archivos.size();
+            archivos.add(archivo);
+            indicesArchivo.put(archivo, indice);
+        }
+        return indice;
+    }
+
+    /**
+     * Lee la factura de las posiciones 1 a 12 del registro.
+     *
+     * @param  registro Los bytes del registro.
+     * @return          La factura, o {@code -1} si el registro no tiene una.
+     */
+    static long factura(byte[] registro) {
+        return CampoNumerico.leer(registro, INICIO_FACTURA, FIN_FACTURA);
+    }
+}
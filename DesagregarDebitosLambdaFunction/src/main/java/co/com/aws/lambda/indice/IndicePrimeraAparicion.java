@@ -0,0 +1,210 @@
+package co.com.aws.lambda.indice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice concurrente de la primera aparición de cada factura por archivo de
+ * entrada, que varios hilos actualizan a la vez conservando la regla de la
+ * lectura secuencial: la aparición con la menor posición gana y las demás son
+ * duplicadas.
+ * <p>
+ * {@link #registrar} guarda la menor posición vista para la factura. El
+ * resultado no depende del orden en que los hilos registren: cuando todos
+ * terminan, {@link #primera} da la misma ganadora que el recorrido secuencial,
+ * y cada aparición se clasifica comparando su posición con esa ganadora.
+ * </p>
+ * <p>
+ * Las facturas numéricas, las de los registros que cumplen el diseño, se
+ * guardan como {@code long} en tablas de direccionamiento abierto sin objetos
+ * por entrada, repartidas en segmentos con su propio candado según el hash de
+ * la llave. Las facturas no numéricas, que solo llegan sin validación del
+ * diseño, van a un mapa del mismo segmento.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class IndicePrimeraAparicion {
+
+    /**
+     * Resultado de {@link #primera} cuando la factura no está registrada.
+     */
+    public static final long NINGUNA = -1L;
+
+    private static final int INICIO_FACTURA = 1;
+
+    private static final int FIN_FACTURA = 13;
+
+    /**
+     * Bits de la factura numérica en la llave; 10^12 &lt; 2^40.
+     */
+    private static final int BITS_FACTURA = 40;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final Segmento[] segmentos;
+
+    private final int mascara;
+
+    /**
+     * Constructor del índice.
+     *
+     * @param hilos Los hilos que lo actualizan a la vez; se crean al menos
+     *              cuatro segmentos por hilo.
+     */
+    public IndicePrimeraAparicion(int hilos) {
+        int cantidad = Integer.highestOneBit(Math.max(1, hilos) * 4 - 1) << 1;
+        this.segmentos = new Segmento[cantidad];
+        this.mascara = cantidad - 1;
+        for (int i = 0; i < cantidad; i++) {
+            segmentos[i] = new Segmento();
+        }
+    }
+
+    /**
+     * Registra una aparición de una factura: la posición queda como la primera
+     * si es menor que la registrada.
+     *
+     * @param archivo  El orden del archivo de entrada.
+     * @param registro El registro; la factura son sus posiciones 1 a 12.
+     * @param posicion La posición del registro, no negativa, en el orden de la
+     *                 lectura secuencial.
+     */
+    public void registrar(int archivo, String registro, long posicion) {
+        long llave = llave(archivo, registro);
+        if (llave >= 0) {
+            segmentos[segmento(llave)].registrar(llave, posicion);
+            return;
+        }
+        String texto = archivo + "_" + registro.substring(INICIO_FACTURA, FIN_FACTURA);
+        segmentos[mezclar(texto.hashCode()) & mascara].registrar(texto, posicion);
+    }
+
+    /**
+     * Retorna la menor posición registrada de una factura. Es la primera
+     * aparición definitiva cuando terminaron todos los registros.
+     *
+     * @param  archivo  El orden del archivo de entrada.
+     * @param  registro El registro; la factura son sus posiciones 1 a 12.
+     * @return          La posición, o {@link #NINGUNA} si no se registró.
+     */
+    public long primera(int archivo, String registro) {
+        long llave = llave(archivo, registro);
+        if (llave >= 0) {
+            return segmentos[segmento(llave)].primera(llave);
+        }
+        String texto = archivo + "_" + registro.substring(INICIO_FACTURA, FIN_FACTURA);
+        return segmentos[mezclar(texto.hashCode()) & mascara].primera(texto);
+    }
+
+    /**
+     * Retorna la cantidad de facturas distintas registradas.
+     *
+     * @return La suma de las facturas de los segmentos.
+     */
+    public long getCantidad() {
+        long cantidad = 0;
+        for (Segmento segmento : segmentos) {
+            cantidad += segmento.getCantidad();
+        }
+        return cantidad;
+    }
+
+    int getSegmentos() {
+        return segmentos.length;
+    }
+
+    private static long llave(int archivo, String registro) {
+        long factura = HistoricoFacturas.factura(registro, INICIO_FACTURA, FIN_FACTURA);
+        return factura < 0 ? -1 : ((long) archivo << BITS_FACTURA) | factura;
+    }
+
+    private int segmento(long llave) {
+        return (int) (mezclar(llave) >>> 32) & mascara;
+    }
+
+    private static long mezclar(long llave) {
+        long h = llave * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int mezclar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Segmento del índice: una tabla de direccionamiento abierto con sondeo
+     * lineal y un mapa para las facturas no numéricas, con su propio candado.
+     * Las llaves se guardan sumando uno, de modo que cero es una celda libre.
+     */
+    private static final class Segmento {
+
+        private long[] llaves = new long[CAPACIDAD_INICIAL];
+
+        private long[] posiciones = new long[CAPACIDAD_INICIAL];
+
+        private int cantidad;
+
+        private Map<String, Long> otras;
+
+        synchronized void registrar(long llave, long posicion) {
+            int celda = celda(llaves, llave);
+            if (llaves[celda] == 0) {
+                llaves[celda] = llave + 1;
+                posiciones[celda] = posicion;
+                if (++cantidad * 4 > llaves.length * 3) {
+                    crecer();
+                }
+            } else if (posicion < posiciones[celda]) {
+                posiciones[celda] = posicion;
+            }
+        }
+
+        synchronized void registrar(String factura, long posicion) {
+            if (otras == null) {
+                otras = new HashMap<>();
+            }
+            otras.merge(factura, posicion, Math::min);
+        }
+
+        synchronized long primera(long llave) {
+            int celda = celda(llaves, llave);
+            return llaves[celda] == 0 ? NINGUNA : posiciones[celda];
+        }
+
+        synchronized long primera(String factura) {
+            return otras == null ? NINGUNA : otras.getOrDefault(factura, NINGUNA);
+        }
+
+        synchronized long getCantidad() {
+            return cantidad + (otras == null ? 0 : otras.size());
+        }
+
+        private void crecer() {
+            long[] llavesAnteriores = llaves;
+            long[] posicionesAnteriores = posiciones;
+            llaves = new long[llavesAnteriores.length * 2];
+            posiciones = new long[llaves.length];
+            for (int i = 0; i < llavesAnteriores.length; i++) {
+                if (llavesAnteriores[i] != 0) {
+                    int celda = celda(llaves, llavesAnteriores[i] - 1);
+                    llaves[celda] = llavesAnteriores[i];
+                    posiciones[celda] = posicionesAnteriores[i];
+                }
+            }
+        }
+
+        /**
+         * Retorna la celda de la llave, o la celda libre donde se insertaría.
+         */
+        private static int celda(long[] llaves, long llave) {
+            int mascara = llaves.length - 1;
+            int celda = (int) mezclar(llave) & mascara;
+            while (llaves[celda] != 0 && llaves[celda] != llave + 1) {
+                celda = (celda + 1) & mascara;
+            }
+            return celda;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package co.com.aws.lambda.indice;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.openpgp.PGPException;
+
+import co.com.ath.aws.cifrado.PgpDecryptionUtil;
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.storage.ObjectStore;
+
+/**
+ * Lector del índice de facturas que escribe {@link IndiceFacturas}. Carga el
+ * índice en arreglos primitivos, resuelve una factura con búsqueda binaria y
+ * lee el registro con una sola lectura por rango del archivo de salida.
+ * <p>
+ * Los archivos de salida se publican cifrados con PGP, que no admite lecturas
+ * por rango; los desplazamientos se refieren al texto descifrado, por lo que
+ * {@link #leerRegistro} se usa sobre una copia descifrada del archivo.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class LectorIndice {
+
+    private final String[] archivos;
+
+    private final long[] facturas;
+
+    private final long[] desplazamientos;
+
+    private final int[] longitudes;
+
+    private final short[] archivosEntrada;
+
+    private LectorIndice(String[] archivos, int cantidad) {
+        this.archivos = archivos;
+        this.facturas = new long[cantidad];
+        this.desplazamientos = new long[cantidad];
+        this.longitudes = new int[cantidad];
+        this.archivosEntrada = new short[cantidad];
+    }
+
+    /**
+     * Lee un índice sin cifrar.
+     *
+     * @param  contenido    El flujo con el índice; no se cierra.
+     * @return              El lector del índice.
+     * @throws AthException Si el flujo no contiene un índice válido.
+     */
+    public static LectorIndice leer(InputStream contenido) {
+        try {
+            DataInputStream datos = new DataInputStream(new BufferedInputStream(contenido));
+            if (datos.readInt() != IndiceFacturas.MAGIA) {
+                throw new AthException("[ERROR][16.1]", "[ERROR] El contenido no es un índice de facturas");
+            }
+            short version = datos.readShort();
+            if (version != IndiceFacturas.VERSION) {
+                throw new AthException("[ERROR][16.1]",
+                        "[ERROR] Versión del índice de facturas no soportada: " + version);
+            }
+            String[] archivos = new String[datos.readUnsignedShort()];
+            for (int i = 0; i < archivos.length; i++) {
+                archivos[i] = datos.readUTF();
+            }
+            LectorIndice lector = new LectorIndice(archivos, datos.readInt());
+            for (int i = 0; i < lector.facturas.length; i++) {
+                lector.facturas[i] = datos.readLong();
+                lector.desplazamientos[i] = datos.readLong();
+                lector.longitudes[i] = datos.readInt();
+                lector.archivosEntrada[i] = datos.readShort();
+            }
+            return lector;
+        } catch (IOException e) {
+            throw new AthException("[ERROR][16.1]", "[ERROR] Error al leer el índice de facturas: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Descarga y descifra el índice publicado junto a un archivo de salida.
+     *
+     * @param  objectStore  El almacenamiento de objetos.
+     * @param  bucket       El bucket del índice.
+     * @param  llave        La llave del índice cifrado.
+     * @param  fraseSecreta La frase secreta de la llave privada PGP.
+     * @param  llavePrivada El flujo de la llave privada PGP.
+     * @return              El lector del índice.
+     * @throws AthException Si ocurre un error al descargar, descifrar o leer
+     *                      el índice.
+     */
+    public static LectorIndice descargar(ObjectStore objectStore, String bucket, String llave, String fraseSecreta,
+            InputStream llavePrivada) {
+        try (InputStream cifrado = objectStore.get(bucket, llave);
+                InputStream descifrado = PgpDecryptionUtil.descifrarArchivo(cifrado, fraseSecreta, llavePrivada)) {
+            return leer(descifrado);
+        } catch (IOException | PGPException e) {
+            throw new AthException("[ERROR][16.1]", "[ERROR] Error al descargar el índice " + llave + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna la cantidad de entradas del índice.
+     *
+     * @return La cantidad de registros indexados.
+     */
+    public int getCantidad() {
+        return facturas.length;
+    }
+
+    /**
+     * Busca los registros de una factura en el orden en que aparecen en el
+     * archivo.
+     *
+     * @param  factura El número de la factura.
+     * @return         Las ubicaciones de sus registros; vacía si no existe.
+     */
+    public List<UbicacionFactura> buscar(long factura) {
+        int desde = 0;
+        int hasta = facturas.length;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (facturas[medio] < factura) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        List<UbicacionFactura> ubicaciones = new ArrayList<>();
+        for (int i = desde; i < facturas.length && facturas[i] == factura; i++) {
+            ubicaciones.add(new UbicacionFactura(factura, desplazamientos[i], longitudes[i],
+                    archivos[archivosEntrada[i]]));
+        }
+        return ubicaciones;
+    }
+
+    /**
+     * Lee un registro del archivo de salida descifrado con una lectura por
+     * rango.
+     *
+     * @param  objectStore  El almacenamiento de objetos.
+     * @param  bucket       El bucket del archivo descifrado.
+     * @param  llave        La llave del archivo descifrado.
+     * @param  ubicacion    La ubicación del registro.
+     * @return              El registro, sin el salto de línea.
+     * @throws AthException Si ocurre un error al leer el rango.
+     */
+    public static String leerRegistro(ObjectStore objectStore, String bucket, String llave,
+            UbicacionFactura ubicacion) {
+        long inicio = ubicacion.getDesplazamiento();
+        try (InputStream rango = objectStore.getRange(bucket, llave, inicio, inicio + ubicacion.getLongitud() - 1)) {
+            return new String(rango.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][16.2]", "[ERROR] Error al leer el registro de la factura "
+                    + ubicacion.getFactura() + " en " + llave + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package co.com.aws.lambda.indice;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import co.com.ath.aws.exception.AthException;
+
+/**
+ * Segmento inmutable del {@link HistoricoFacturas}: un conjunto ordenado de
+ * números de factura sin repetidos, codificado en bloques de
+ * {@link #TAMANO_BLOQUE} facturas. Cada bloque guarda su primera factura
+ * completa y las siguientes como la diferencia con la anterior en un entero de
+ * longitud variable (7 bits por byte), por lo que una factura ocupa entre uno y
+ * tres bytes en los rangos densos de numeración.
+ * <p>
+ * El segmento se abre con {@link #abrir} proyectando el archivo en memoria; en
+ * el heap solo quedan la primera factura y la posición de cada bloque. Una
+ * consulta busca el bloque con búsqueda binaria y decodifica a lo sumo un
+ * bloque.
+ * </p>
+ * <pre>
+ * int    MAGIA ("HSTF")
+ * short  VERSION
+ * por bloque: long primera factura, diferencias con la anterior (varint)
+ * por bloque: int posición del bloque
+ * int    cantidad de facturas
+ * int    cantidad de bloques
+ * long   posición de la tabla de bloques
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class SegmentoHistorico {
+
+    /**
+     * Extensión de los segmentos en la ruta del histórico.
+     */
+    public static final String EXTENSION = ".hst";
+
+    static final int MAGIA = 0x48535446;
+
+    static final short VERSION = 1;
+
+    /**
+     * Facturas por bloque: la distancia máxima que se decodifica en una
+     * consulta.
+     */
+    static final int TAMANO_BLOQUE = 64;
+
+    private static final int TAMANO_ENCABEZADO = 6;
+
+    private static final int TAMANO_PIE = 16;
+
+    private final ByteBuffer datos;
+
+    private final long[] primeras;
+
+    private final int[] posiciones;
+
+    private final int cantidad;
+
+    private SegmentoHistorico(ByteBuffer datos, long[] primeras, int[] posiciones, int cantidad) {
+        this.datos = datos;
+        this.primeras = primeras;
+        this.posiciones = posiciones;
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Abre un segmento proyectando el archivo en memoria.
+     *
+     * @param  archivo      El archivo del segmento.
+     * @return              El segmento.
+     * @throws AthException Si el archivo no se puede leer o no es un segmento
+     *                      válido.
+     */
+    public static SegmentoHistorico abrir(Path archivo) {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return leer(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        } catch (IOException e) {
+            throw new AthException("[ERROR][17]",
+                    "[ERROR] Error al abrir el segmento del histórico [" + archivo + "]: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee un segmento de un buffer con su contenido completo.
+     *
+     * @param  datos        El contenido del segmento.
+     * @return              El segmento.
+     * @throws AthException Si el contenido no es un segmento válido.
+     */
+    static SegmentoHistorico leer(ByteBuffer datos) {
+        if (datos.limit() < TAMANO_ENCABEZADO + TAMANO_PIE || datos.getInt(0) != MAGIA) {
+            throw new AthException("[ERROR][17]", "[ERROR] El contenido no es un segmento del histórico de facturas");
+        }
+        if (datos.getShort(4) != VERSION) {
+            throw new AthException("[ERROR][17]",
+                    "[ERROR] Versión del segmento del histórico no soportada: " + datos.getShort(4));
+        }
+        int pie = datos.limit() - TAMANO_PIE;
+        int cantidad = datos.getInt(pie);
+        int bloques = datos.getInt(pie + 4);
+        long tabla = datos.getLong(pie + 8);
+        if (bloques != (cantidad + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE || tabla + 4L * bloques != pie) {
+            throw new AthException("[ERROR][17]", "[ERROR] El segmento del histórico está incompleto");
+        }
+        long[] primeras = new long[bloques];
+        int[] posiciones = new int[bloques];
+        for (int bloque = 0; bloque < bloques; bloque++) {
+            posiciones[bloque] = datos.getInt((int) tabla + 4 * bloque);
+            primeras[bloque] = datos.getLong(posiciones[bloque]);
+        }
+        return new SegmentoHistorico(datos, primeras, posiciones, cantidad);
+    }
+
+    /**
+     * Indica si el segmento contiene una factura.
+     *
+     * @param  factura El número de la factura.
+     * @return         {@code true} si la factura está en el segmento.
+     */
+    public boolean contiene(long factura) {
+        int bloque = Arrays.binarySearch(primeras, factura);
+        if (bloque >= 0) {
+            return true;
+        }
+        bloque = -bloque - 2;
+        if (bloque < 0) {
+            return false;
+        }
+        int posicion = posiciones[bloque] + Long.BYTES;
+        long valor = primeras[bloque];
+        int restantes = Math.min(TAMANO_BLOQUE, cantidad - bloque * TAMANO_BLOQUE) - 1;
+        for (; restantes > 0; restantes--) {
+            long diferencia = 0;
+            int corrimiento = 0;
+            byte octeto;
+            do {
+                octeto = datos.get(posicion++);
+                diferencia |= (long) (octeto & 0x7F) << corrimiento;
+                corrimiento += 7;
+            } while (octeto < 0);
+            valor += diferencia;
+            if (valor >= factura) {
+                return valor == factura;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna la cantidad de facturas del segmento.
+     *
+     * @return La cantidad de facturas.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Recorre las facturas del segmento en orden ascendente.
+     *
+     * @return El iterador de las facturas.
+     */
+    public PrimitiveIterator.OfLong iterador() {
+        return new PrimitiveIterator.OfLong() {
+
+            private int indice;
+
+            private int posicion;
+
+            private long valor;
+
+            @Override
+            public boolean hasNext() {
+                return indice < cantidad;
+            }
+
+            @Override
+            public long nextLong() {
+                if (indice >= cantidad) {
+                    throw new NoSuchElementException();
+                }
+                if (indice % TAMANO_BLOQUE == 0) {
+                    int bloque = indice / TAMANO_BLOQUE;
+                    valor = primeras[bloque];
+                    posicion = posiciones[bloque] + Long.BYTES;
+                } else {
+                    long diferencia = 0;
+                    int corrimiento = 0;
+                    byte octeto;
+                    do {
+                        octeto = datos.get(posicion++);
+                        diferencia |= (long) (octeto & 0x7F) << corrimiento;
+                        corrimiento += 7;
+                    } while (octeto < 0);
+                    valor += diferencia;
+                }
+                indice++;
+                return valor;
+            }
+        };
+    }
+
+    /**
+     * Escritor de un segmento. Las facturas se agregan en orden ascendente; las
+     * repetidas consecutivas se descartan.
+     */
+    public static final class Escritor {
+
+        private final DataOutputStream salida;
+
+        private int[] posiciones = new int[64];
+
+        private int cantidad;
+
+        private long anterior;
+
+        private long posicion;
+
+        /**
+         * Constructor del escritor; escribe el encabezado del segmento.
+         *
+         * @param  salida      El flujo del segmento; no se cierra.
+         * @throws IOException Si ocurre un error al escribir.
+         */
+        public Escritor(OutputStream salida) throws IOException {
+            this.salida = new DataOutputStream(salida);
+            this.salida.writeInt(MAGIA);
+            this.salida.writeShort(VERSION);
+            this.posicion = TAMANO_ENCABEZADO;
+        }
+
+        /**
+         * Agrega una factura al segmento.
+         *
+         * @param  factura      El número de la factura, mayor o igual que la
+         *                      anterior.
+         * @throws IOException  Si ocurre un error al escribir.
+         * @throws AthException Si la factura es menor que la anterior o el
+         *                      segmento supera el tamaño que se puede proyectar
+         *                      en memoria.
+         */
+        public void agregar(long factura) throws IOException {
+            if (cantidad > 0 && factura <= anterior) {
+                if (factura == anterior) {
+                    return;
+                }
+                throw new AthException("[ERROR][17.1]", "[ERROR] Las facturas del segmento no están ordenadas: "
+                        + factura + " después de " + anterior);
+            }
+            if (posicion > Integer.MAX_VALUE - TAMANO_PIE - Long.BYTES) {
+                throw new AthException("[ERROR][17.1]", "[ERROR] El segmento del histórico supera 2 GB");
+            }
+            if (cantidad % TAMANO_BLOQUE == 0) {
+                int bloque = cantidad / TAMANO_BLOQUE;
+                if (bloque == posiciones.length) {
+                    posiciones = Arrays.copyOf(posiciones, bloque * 2);
+                }
+                posiciones[bloque] = (int) posicion;
+                salida.writeLong(factura);
+                posicion += Long.BYTES;
+            } else {
+                long diferencia = factura - anterior;
+                while ((diferencia & ~0x7FL) != 0) {
+                    salida.write((int) (diferencia & 0x7F) | 0x80);
+                    diferencia >>>= 7;
+                    posicion++;
+                }
+                salida.write((int) diferencia);
+                posicion++;
+            }
+            anterior = factura;
+            cantidad++;
+        }
+
+        /**
+         * Retorna la cantidad de facturas agregadas.
+         *
+         * @return La cantidad de facturas.
+         */
+        public int getCantidad() {
+            return cantidad;
+        }
+
+        /**
+         * Escribe la tabla de bloques y el pie del segmento.
+         *
+         * @throws IOException Si ocurre un error al escribir.
+         */
+        public void terminar() throws IOException {
+            int bloques = (cantidad + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+            long tabla = posicion;
+            for (int bloque = 0; bloque < bloques; bloque++) {
+                salida.writeInt(posiciones[bloque]);
+            }
+            salida.writeInt(cantidad);
+            salida.writeInt(bloques);
+            salida.writeLong(tabla);
+            salida.flush();
+        }
+    }
+}
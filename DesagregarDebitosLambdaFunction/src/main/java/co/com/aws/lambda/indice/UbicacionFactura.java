@@ -0,0 +1,58 @@
+package co.com.aws.lambda.indice;
+
+/**
+ * Ubicación de un registro de una factura en el texto de un archivo de salida:
+ * su desplazamiento y longitud en bytes y el archivo de entrada del que
+ * proviene.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class UbicacionFactura {
+
+    private final long factura;
+
+    private final long desplazamiento;
+
+    private final int longitud;
+
+    private final String archivo;
+
+    /**
+     * Constructor de la ubicación.
+     *
+     * @param factura        El número de la factura.
+     * @param desplazamiento La posición del primer byte del registro.
+     * @param longitud       La cantidad de bytes del registro, sin el salto de
+     *                       línea.
+     * @param archivo        El archivo de entrada del registro.
+     */
+    public UbicacionFactura(long factura, long desplazamiento, int longitud, String archivo) {
+        this.factura = factura;
+        this.desplazamiento = desplazamiento;
+        this.longitud = longitud;
+        this.archivo = archivo;
+    }
+
+    public long getFactura() {
+        return factura;
+    }
+
+    public long getDesplazamiento() {
+        return desplazamiento;
+    }
+
+    public int getLongitud() {
+        return longitud;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    @Override
+    public String toString() {
+        return "UbicacionFactura [factura=" + factura + ", desplazamiento=" + desplazamiento + ", longitud="
+                + longitud + ", archivo=" + archivo + "]";
+    }
+}
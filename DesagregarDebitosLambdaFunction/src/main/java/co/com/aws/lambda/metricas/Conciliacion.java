@@ -0,0 +1,227 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import co.com.aws.lambda.util.CampoNumerico;
+
+/**
+ * Resumen de conciliación de una invocación: por archivo de entrada, los
+ * registros y el importe de los registros únicos (archivo fusionado) y de los
+ * duplicados (archivo de dividendos). Se alimenta durante la clasificación, sin
+ * una segunda lectura de los archivos, y se guarda con la auditoría aunque la
+ * instrumentación esté deshabilitada.
+ * <p>
+ * El importe es el campo numérico de las posiciones 89 a 100 del registro, en
+ * las unidades del archivo, y se lee con {@link #importe} sin crear cadenas.
+ * Los registros con el campo incompleto o no numérico se cuentan sin importe.
+ * El encabezado y el registro de totales no hacen parte del resumen.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class Conciliacion {
+
+    /**
+     * Posición del primer carácter del importe en el registro.
+     */
+    public static final int INICIO_IMPORTE = 89;
+
+    /**
+     * Posición siguiente al último carácter del importe en el registro.
+     */
+    public static final int FIN_IMPORTE = 101;
+
+    private final Map<String, Totales> archivos = new LinkedHashMap<>();
+
+    /**
+     * Lee el importe de un registro.
+     *
+     * @param  registro El registro.
+     * @return          El importe, o {@code -1} si el registro no tiene el
+     *                  campo completo o no es numérico.
+     */
+    public static long importe(String registro) {
+        return CampoNumerico.leer(registro, INICIO_IMPORTE, FIN_IMPORTE);
+    }
+
+    /**
+     * Registra los totales de un archivo clasificado; reemplaza los registrados
+     * antes para el mismo archivo.
+     *
+     * @param archivo El nombre del archivo de entrada.
+     * @param totales Los totales acumulados del archivo.
+     */
+    public synchronized void registrar(String archivo, Totales totales) {
+        archivos.put(archivo, totales.copia());
+    }
+
+    /**
+     * Retorna una copia de los totales por archivo, en el orden en que se
+     * registraron.
+     *
+     * @return Los totales por archivo.
+     */
+    public synchronized Map<String, Totales> getArchivos() {
+        Map<String, Totales> copia = new LinkedHashMap<>();
+        archivos.forEach((archivo, totales) -> copia.put(archivo, totales.copia()));
+        return copia;
+    }
+
+    /**
+     * Retorna la suma de los totales de todos los archivos.
+     *
+     * @return Los totales de la invocación.
+     */
+    public synchronized Totales getTotal() {
+        Totales total = new Totales();
+        archivos.values().forEach(total::sumar);
+        return total;
+    }
+
+    /**
+     * Indica si no se registró ningún archivo.
+     *
+     * @return {@code true} si el resumen está vacío.
+     */
+    public synchronized boolean isVacio() {
+        return archivos.isEmpty();
+    }
+
+    /**
+     * Serializa el resumen como un objeto JSON con una propiedad por archivo y
+     * la propiedad {@code Total}.
+     *
+     * <pre>
+     * {"5402ORDINARIO":{"Unicos":2,"ImporteUnicos":3000,"Duplicados":1,"ImporteDuplicados":1000,"SinImporte":0},
+     *  "Total":{...}}
+     * </pre>
+     *
+     * @return El resumen en JSON.
+     */
+    public String toJson() {
+        List<String> propiedades = new ArrayList<>();
+        getArchivos().forEach((archivo, totales) -> propiedades.add(Json.texto(archivo) + ":" + totales.toJson()));
+        propiedades.add("\"Total\":" + getTotal().toJson());
+        return "{" + String.join(",", propiedades) + "}";
+    }
+
+    @Override
+    public String toString() {
+        List<String> lineas = new ArrayList<>();
+        getArchivos().forEach((archivo, totales) -> lineas.add(archivo + ": " + totales));
+        lineas.add("Total: " + getTotal());
+        return String.join("\n", lineas);
+    }
+
+    /**
+     * Registros e importe de los registros únicos y duplicados de un archivo.
+     * Se acumula desde un solo hilo, el que clasifica el archivo.
+     */
+    public static class Totales {
+
+        private long unicos;
+
+        private long importeUnicos;
+
+        private long duplicados;
+
+        private long importeDuplicados;
+
+        private long sinImporte;
+
+        /**
+         * Suma un registro clasificado.
+         *
+         * @param duplicado {@code true} si el registro va al archivo de
+         *                  dividendos.
+         * @param importe   El importe del registro, o un valor negativo si no
+         *                  tiene.
+         */
+        public void sumar(boolean duplicado, long importe) {
+            long valor = importe;
+            if (valor < 0) {
+                sinImporte++;
+                valor = 0;
+            }
+            if (duplicado) {
+                duplicados++;
+                importeDuplicados += valor;
+            } else {
+                unicos++;
+                importeUnicos += valor;
+            }
+        }
+
+        /**
+         * Suma los totales de otro archivo o fragmento.
+         *
+         * @param otros Los totales a sumar.
+         */
+        public void sumar(Totales otros) {
+            unicos += otros.unicos;
+            importeUnicos += otros.importeUnicos;
+            duplicados += otros.duplicados;
+            importeDuplicados += otros.importeDuplicados;
+            sinImporte += otros.sinImporte;
+        }
+
+        /**
+         * Restaura los totales guardados en un punto de control.
+         *
+         * @param unicos            Los registros únicos.
+         * @param importeUnicos     El importe de los registros únicos.
+         * @param duplicados        Los registros duplicados.
+         * @param importeDuplicados El importe de los registros duplicados.
+         * @param sinImporte        Los registros sin importe.
+         */
+        public void restaurar(long unicos, long importeUnicos, long duplicados, long importeDuplicados,
+                long sinImporte) {
+            this.unicos = unicos;
+            this.importeUnicos = importeUnicos;
+            this.duplicados = duplicados;
+            this.importeDuplicados = importeDuplicados;
+            this.sinImporte = sinImporte;
+        }
+
+        public long getUnicos() {
+            return unicos;
+        }
+
+        public long getImporteUnicos() {
+            return importeUnicos;
+        }
+
+        public long getDuplicados() {
+            return duplicados;
+        }
+
+        public long getImporteDuplicados() {
+            return importeDuplicados;
+        }
+
+        public long getSinImporte() {
+            return sinImporte;
+        }
+
+        private Totales copia() {
+            Totales copia = new Totales();
+            copia.sumar(this);
+            return copia;
+        }
+
+        private String toJson() {
+            return "{\"Unicos\":" + unicos + ",\"ImporteUnicos\":" + importeUnicos + ",\"Duplicados\":" + duplicados
+                    + ",\"ImporteDuplicados\":" + importeDuplicados + ",\"SinImporte\":" + sinImporte + "}";
+        }
+
+        @Override
+        public String toString() {
+            return "unicos=" + unicos + " importe=" + importeUnicos + " duplicados=" + duplicados + " importe="
+                    + importeDuplicados + " sinImporte=" + sinImporte;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.Locale;
+
+/**
+ * Consumo de recursos de la JVM durante una invocación, medido por
+ * {@link TelemetriaJvm}, con el costo estimado de la invocación según la
+ * memoria configurada de la función.
+ * <p>
+ * El costo usa el precio por GB-segundo de Lambda en x86_64 ({@code us-east-1})
+ * más el cargo por solicitud. La duración es la de la medición, no la
+ * facturada, que incluye la inicialización y se redondea al milisegundo.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ConsumoJvm {
+
+    /**
+     * Precio en USD de un GB-segundo de Lambda en x86_64.
+     */
+    public static final double PRECIO_GB_SEGUNDO = 0.0000166667;
+
+    /**
+     * Precio en USD de una solicitud de Lambda.
+     */
+    public static final double PRECIO_SOLICITUD = 0.0000002;
+
+    private final long duracion;
+
+    private final long picoHeap;
+
+    private final long recolecciones;
+
+    private final long tiempoRecoleccionMs;
+
+    private final long tiempoCpu;
+
+    private final long bytesAsignados;
+
+    private final int memoriaMb;
+
+    /**
+     * Constructor del consumo.
+     *
+     * @param duracion            La duración medida en nanosegundos.
+     * @param picoHeap            El pico de heap en bytes.
+     * @param recolecciones       Las recolecciones de basura.
+     * @param tiempoRecoleccionMs El tiempo de recolección en milisegundos, que
+     *                            no es solo de pausas.
+     * @param tiempoCpu           El tiempo de CPU del proceso en nanosegundos.
+     * @param bytesAsignados      Los bytes asignados.
+     * @param memoriaMb           La memoria configurada de la función en MB.
+     */
+    public ConsumoJvm(long duracion, long picoHeap, long recolecciones, long tiempoRecoleccionMs, long tiempoCpu,
+            long bytesAsignados, int memoriaMb) {
+        this.duracion = duracion;
+        this.picoHeap = picoHeap;
+        this.recolecciones = recolecciones;
+        this.tiempoRecoleccionMs = tiempoRecoleccionMs;
+        this.tiempoCpu = tiempoCpu;
+        this.bytesAsignados = bytesAsignados;
+        this.memoriaMb = memoriaMb;
+    }
+
+    public long getDuracion() {
+        return duracion;
+    }
+
+    public long getPicoHeap() {
+        return picoHeap;
+    }
+
+    public long getRecolecciones() {
+        return recolecciones;
+    }
+
+    public long getTiempoRecoleccionMs() {
+        return tiempoRecoleccionMs;
+    }
+
+    public long getTiempoCpu() {
+        return tiempoCpu;
+    }
+
+    public long getBytesAsignados() {
+        return bytesAsignados;
+    }
+
+    public int getMemoriaMb() {
+        return memoriaMb;
+    }
+
+    /**
+     * Retorna los GB-segundos de la invocación: la memoria configurada por la
+     * duración.
+     *
+     * @return Los GB-segundos.
+     */
+    public double getGbSegundos() {
+        return memoriaMb / 1024.0 * duracion / 1_000_000_000.0;
+    }
+
+    /**
+     * Retorna el costo estimado de la invocación en USD.
+     *
+     * @return El costo estimado.
+     */
+    public double getCostoEstimado() {
+        return getGbSegundos() * PRECIO_GB_SEGUNDO + PRECIO_SOLICITUD;
+    }
+
+    /**
+     * Retorna el porcentaje de la duración que el proceso usó CPU; puede superar
+     * 100 con varios hilos.
+     *
+     * @return El uso de CPU en porcentaje.
+     */
+    public double getUsoCpu() {
+        return duracion > 0 ? tiempoCpu * 100.0 / duracion : 0;
+    }
+
+    /**
+     * Serializa el consumo como un objeto JSON.
+     *
+     * <pre>
+     * {"Duracion":812.417,"PicoHeap":94371840,"Recolecciones":3,"TiempoRecoleccion":12,"TiempoCpu":1020.500,
+     *  "BytesAsignados":201326592,"MemoriaMb":512,"GbSegundos":0.406209,"CostoEstimado":0.0000069701}
+     * </pre>
+     *
+     * @return El consumo en JSON; los tiempos en milisegundos.
+     */
+    public String toJson() {
+        return "{\"Duracion\":" + Json.milisegundos(duracion) + ",\"PicoHeap\":" + picoHeap + ",\"Recolecciones\":"
+                + recolecciones + ",\"TiempoRecoleccion\":" + tiempoRecoleccionMs + ",\"TiempoCpu\":"
+                + Json.milisegundos(tiempoCpu) + ",\"BytesAsignados\":" + bytesAsignados + ",\"MemoriaMb\":"
+                + memoriaMb + ",\"GbSegundos\":" + String.format(Locale.ROOT, "%.6f", getGbSegundos())
+                + ",\"CostoEstimado\":" + String.format(Locale.ROOT, "%.10f", getCostoEstimado()) + "}";
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "duracion=%.3f ms picoHeap=%d MB gc=%d recoleccion=%d ms cpu=%.3f ms (%.0f%%) asignados=%d MB "
+                        + "memoria=%d MB gbSegundos=%.6f costo=%.10f USD",
+                duracion / 1_000_000.0, picoHeap / (1024 * 1024), recolecciones, tiempoRecoleccionMs,
+                tiempoCpu / 1_000_000.0, getUsoCpu(), bytesAsignados / (1024 * 1024), memoriaMb, getGbSegundos(),
+                getCostoEstimado());
+    }
+}
@@ -0,0 +1,183 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+/**
+ * Emite las métricas de una invocación en el formato de métricas embebidas de
+ * CloudWatch (EMF): un registro JSON por línea de log que CloudWatch Logs
+ * convierte en métricas sin llamadas adicionales a la API.
+ * <p>
+ * Por cada invocación se emite un registro por etapa, con la dimensión
+ * {@code Etapa} y su latencia, y un registro de la invocación con los
+ * contadores, la duración total, la tasa de aciertos de cada caché consultada
+ * y el consumo de la JVM (pico de heap, tiempo de recolección y de CPU, bytes
+ * asignados y GB-segundos). Todos los registros llevan la dimensión {@code Funcion}. Los histogramas se
+ * agregan al registro de la invocación como la propiedad {@code Histogramas}
+ * (conteo, p50, p99 y máximo, en las unidades registradas: nanosegundos para
+ * los tramos), que se puede consultar con CloudWatch Logs Insights pero no
+ * genera métricas.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class EmisorEmf implements Exportador {
+
+    /**
+     * Espacio de nombres de las métricas en CloudWatch.
+     */
+    public static final String NAMESPACE = "DesagregarDebitos";
+
+    private static final String[] CONTADORES = { MetricasEjecucion.REGISTROS_PROCESADOS,
+            MetricasEjecucion.REGISTROS_DUPLICADOS, MetricasEjecucion.BYTES_LEIDOS, MetricasEjecucion.BYTES_ESCRITOS,
+            MetricasEjecucion.ERRORES, MetricasEjecucion.AUDITORIAS_FALLIDAS };
+
+    private static final String[] CACHES = { MetricasEjecucion.CACHE_FRASE_SECRETA,
+            MetricasEjecucion.CACHE_LLAVE_PRIVADA };
+
+    private final LambdaLogger logger;
+
+    private final String funcion;
+
+    /**
+     * Constructor que toma el nombre de la función de la variable de entorno
+     * {@code AWS_LAMBDA_FUNCTION_NAME}.
+     *
+     * @param logger El logger de la Lambda donde se escriben los registros.
+     */
+    public EmisorEmf(LambdaLogger logger) {
+        this(logger, System.getenv("AWS_LAMBDA_FUNCTION_NAME") != null ? System.getenv("AWS_LAMBDA_FUNCTION_NAME")
+                : "DesagregarDebitosLambdaFunction");
+    }
+
+    /**
+     * Constructor que recibe el nombre de la función usado como dimensión.
+     *
+     * @param logger  El logger de la Lambda donde se escriben los registros.
+     * @param funcion El valor de la dimensión {@code Funcion}.
+     */
+    public EmisorEmf(LambdaLogger logger, String funcion) {
+        this.logger = logger;
+        this.funcion = funcion;
+    }
+
+    @Override
+    public void invocacionTerminada(MetricasEjecucion metricas) {
+        emitir(metricas);
+    }
+
+    /**
+     * Emite los registros de cada etapa y el de la invocación con la hora actual.
+     *
+     * @param metricas Las métricas de la invocación.
+     */
+    public void emitir(MetricasEjecucion metricas) {
+        emitir(metricas, System.currentTimeMillis());
+    }
+
+    /**
+     * Emite los registros de cada etapa y el de la invocación.
+     *
+     * @param metricas  Las métricas de la invocación.
+     * @param timestamp La marca de tiempo de los registros, en milisegundos desde
+     *                  la época.
+     */
+    public void emitir(MetricasEjecucion metricas, long timestamp) {
+        for (Map.Entry<String, Long> etapa : metricas.getEtapas().entrySet()) {
+            logger.log(registroEtapa(etapa.getKey(), etapa.getValue(), timestamp) + "\n");
+        }
+        logger.log(registroInvocacion(metricas, timestamp) + "\n");
+    }
+
+    /**
+     * Construye el registro EMF de una etapa.
+     *
+     * @param  etapa     El nombre de la etapa.
+     * @param  nanos     La duración de la etapa en nanosegundos.
+     * @param  timestamp La marca de tiempo del registro.
+     * @return           El registro JSON en una sola línea.
+     */
+    String registroEtapa(String etapa, long nanos, long timestamp) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        valores.put("Latencia", Json.milisegundos(nanos));
+        Map<String, String> unidades = new LinkedHashMap<>();
+        unidades.put("Latencia", "Milliseconds");
+        Map<String, String> dimensiones = new LinkedHashMap<>();
+        dimensiones.put("Funcion", funcion);
+        dimensiones.put("Etapa", etapa);
+        return registro(timestamp, dimensiones, unidades, valores);
+    }
+
+    /**
+     * Construye el registro EMF de la invocación.
+     *
+     * @param  metricas  Las métricas de la invocación.
+     * @param  timestamp La marca de tiempo del registro.
+     * @return           El registro JSON en una sola línea.
+     */
+    String registroInvocacion(MetricasEjecucion metricas, long timestamp) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        Map<String, String> unidades = new LinkedHashMap<>();
+        for (String contador : CONTADORES) {
+            valores.put(contador, Long.toString(metricas.getContador(contador)));
+            unidades.put(contador, contador.startsWith("Bytes") ? "Bytes" : "Count");
+        }
+        long total = metricas.getEtapas().values().stream().mapToLong(Long::longValue).sum();
+        valores.put("DuracionTotal", Json.milisegundos(total));
+        unidades.put("DuracionTotal", "Milliseconds");
+        for (String cache : CACHES) {
+            Double tasa = metricas.getTasaAciertos(cache);
+            if (tasa != null) {
+                valores.put("TasaAciertos" + cache, String.format(Locale.ROOT, "%.2f", tasa));
+                unidades.put("TasaAciertos" + cache, "Percent");
+            }
+        }
+        ConsumoJvm consumo = metricas.getConsumoJvm();
+        if (consumo != null) {
+            valores.put("PicoHeap", Long.toString(consumo.getPicoHeap()));
+            unidades.put("PicoHeap", "Bytes");
+            valores.put("TiempoRecoleccion", Long.toString(consumo.getTiempoRecoleccionMs()));
+            unidades.put("TiempoRecoleccion", "Milliseconds");
+            valores.put("TiempoCpu", Json.milisegundos(consumo.getTiempoCpu()));
+            unidades.put("TiempoCpu", "Milliseconds");
+            valores.put("BytesAsignados", Long.toString(consumo.getBytesAsignados()));
+            unidades.put("BytesAsignados", "Bytes");
+            valores.put("GbSegundos", String.format(Locale.ROOT, "%.6f", consumo.getGbSegundos()));
+            unidades.put("GbSegundos", "None");
+        }
+        Map<String, Histograma> histogramas = metricas.getHistogramas();
+        if (!histogramas.isEmpty()) {
+            List<String> resumenes = new ArrayList<>();
+            histogramas.forEach((nombre, histograma) -> resumenes.add(Json.texto(nombre) + ":{\"Conteo\":"
+                    + histograma.getConteo() + ",\"P50\":" + histograma.getPercentil(50) + ",\"P99\":"
+                    + histograma.getPercentil(99) + ",\"Maximo\":" + histograma.getMaximo() + "}"));
+            valores.put("Histogramas", "{" + String.join(",", resumenes) + "}");
+        }
+        Map<String, String> dimensiones = new LinkedHashMap<>();
+        dimensiones.put("Funcion", funcion);
+        return registro(timestamp, dimensiones, unidades, valores);
+    }
+
+    private static String registro(long timestamp, Map<String, String> dimensiones, Map<String, String> unidades,
+            Map<String, String> valores) {
+        List<String> nombresDimensiones = new ArrayList<>();
+        dimensiones.keySet().forEach(nombre -> nombresDimensiones.add(Json.texto(nombre)));
+        List<String> definiciones = new ArrayList<>();
+        unidades.forEach((nombre, unidad) -> definiciones
+                .add("{\"Name\":" + Json.texto(nombre) + ",\"Unit\":" + Json.texto(unidad) + "}"));
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"_aws\":{\"Timestamp\":").append(timestamp).append(",\"CloudWatchMetrics\":[{\"Namespace\":")
+                .append(Json.texto(NAMESPACE)).append(",\"Dimensions\":[[").append(String.join(",", nombresDimensiones))
+                .append("]],\"Metrics\":[").append(String.join(",", definiciones)).append("]}]}");
+        dimensiones.forEach(
+                (nombre, valor) -> json.append(',').append(Json.texto(nombre)).append(':').append(Json.texto(valor)));
+        valores.forEach((nombre, valor) -> json.append(',').append(Json.texto(nombre)).append(':').append(valor));
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,37 @@
+package co.com.aws.lambda.metricas;
+
+/**
+ * Destino de la instrumentación: recibe los tramos al iniciar y al cerrar, y
+ * las métricas acumuladas al terminar cada invocación. Los métodos se invocan
+ * desde el hilo que ejecuta el tramo, por lo que deben ser rápidos y seguros
+ * entre hilos.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public interface Exportador {
+
+    /**
+     * Se invoca al abrir un tramo.
+     *
+     * @param tramo El tramo abierto.
+     */
+    default void tramoIniciado(Tramo tramo) {
+    }
+
+    /**
+     * Se invoca al cerrar un tramo, con su duración ya calculada.
+     *
+     * @param tramo El tramo cerrado.
+     */
+    default void tramoCerrado(Tramo tramo) {
+    }
+
+    /**
+     * Se invoca al terminar la invocación, exitosa o no.
+     *
+     * @param metricas Las métricas acumuladas en la invocación.
+     */
+    default void invocacionTerminada(MetricasEjecucion metricas) {
+    }
+}
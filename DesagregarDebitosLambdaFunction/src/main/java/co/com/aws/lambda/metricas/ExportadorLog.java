@@ -0,0 +1,64 @@
+package co.com.aws.lambda.metricas;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+/**
+ * Exportador que escribe una línea de log por cada tramo cerrado, con su ruta,
+ * su detalle y su duración, en reemplazo de los mensajes numerados de cada
+ * paso del proceso. Al terminar la invocación escribe además una línea por
+ * cada operación de S3 realizada y una con el consumo de la JVM.
+ *
+ * <pre>
+ * [INFO] desencriptar_clasificar/decryptionFile [in/5402ORDINARIO.pgp] 812.417 ms
+ * [INFO] S3 GetObject llamadas=2 errores=0 limitadas=0 reintentos=0 enviados=0 recibidos=52000
+ *        total=41.250 ms max=30.100 ms [in/5402ORDINARIO.pgp]
+ * [INFO] JVM duracion=812.417 ms picoHeap=90 MB gc=3 recoleccion=12 ms cpu=1020.500 ms (126%)
+ *        asignados=192 MB memoria=512 MB gbSegundos=0.406209 costo=0.0000069701 USD
+ * </pre>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ExportadorLog implements Exportador {
+
+    private final LambdaLogger logger;
+
+    /**
+     * Constructor del exportador.
+     *
+     * @param logger El logger de la Lambda donde se escriben las líneas.
+     */
+    public ExportadorLog(LambdaLogger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void tramoCerrado(Tramo tramo) {
+        logger.log(linea(tramo) + "\n");
+    }
+
+    @Override
+    public void invocacionTerminada(MetricasEjecucion metricas) {
+        metricas.getOperacionesS3().getEstadisticas()
+                .forEach((operacion, estadistica) -> logger.log("[INFO] S3 " + operacion + " " + estadistica + "\n"));
+        if (metricas.getConsumoJvm() != null) {
+            logger.log("[INFO] JVM " + metricas.getConsumoJvm() + "\n");
+        }
+    }
+
+    /**
+     * Construye la línea de log de un tramo cerrado.
+     *
+     * @param  tramo El tramo cerrado.
+     * @return       La línea, sin salto de línea final.
+     */
+    String linea(Tramo tramo) {
+        StringBuilder linea = new StringBuilder(96).append("[INFO] ").append(tramo.getRuta());
+        if (tramo.getDetalle() != null) {
+            linea.append(" [").append(tramo.getDetalle()).append(']');
+        }
+        long micros = tramo.getDuracion() / 1_000L;
+        return linea.append(' ').append(micros / 1_000L).append('.').append(String.format("%03d", micros % 1_000L))
+                .append(" ms").toString();
+    }
+}
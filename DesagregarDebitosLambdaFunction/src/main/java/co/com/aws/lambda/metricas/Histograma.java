@@ -0,0 +1,97 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores no negativos con cubetas de potencias de dos. Registrar
+ * un valor cuesta unas pocas operaciones atómicas y no asigna memoria, por lo
+ * que se puede usar desde varios hilos en el camino crítico.
+ * <p>
+ * Los percentiles se aproximan con el límite superior de la cubeta, acotado por
+ * el máximo registrado; el error relativo es menor al doble del valor real.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class Histograma {
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(Long.SIZE);
+
+    private final LongAdder conteo = new LongAdder();
+
+    private final LongAdder suma = new LongAdder();
+
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra un valor; los valores negativos se registran como cero.
+     *
+     * @param valor El valor a registrar.
+     */
+    public void registrar(long valor) {
+        long positivo = Math.max(0, valor);
+        cubetas.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(positivo));
+        conteo.increment();
+        suma.add(positivo);
+        maximo.accumulateAndGet(positivo, Math::max);
+    }
+
+    /**
+     * Retorna la cantidad de valores registrados.
+     *
+     * @return La cantidad de valores.
+     */
+    public long getConteo() {
+        return conteo.sum();
+    }
+
+    /**
+     * Retorna la suma de los valores registrados.
+     *
+     * @return La suma de los valores.
+     */
+    public long getSuma() {
+        return suma.sum();
+    }
+
+    /**
+     * Retorna el mayor valor registrado.
+     *
+     * @return El máximo, o cero si no hay valores.
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Aproxima el percentil indicado.
+     *
+     * @param  percentil El percentil entre 0 y 100.
+     * @return           El límite superior de la cubeta que contiene el
+     *                   percentil, o cero si no hay valores.
+     */
+    public long getPercentil(double percentil) {
+        long total = 0;
+        long[] copia = new long[cubetas.length()];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                long limite = (1L << i) - 1;
+                return Math.min(limite, getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+}
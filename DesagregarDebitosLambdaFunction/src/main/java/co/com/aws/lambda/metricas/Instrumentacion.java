@@ -0,0 +1,294 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.aws.lambda.metricas.jfr.ExportadorJfr;
+
+/**
+ * Punto de entrada de la instrumentación del proceso: tramos anidados,
+ * contadores e histogramas de la invocación en curso, y los exportadores que
+ * los publican (log, EMF u otros).
+ * <p>
+ * Con la instrumentación habilitada, abrir y cerrar un tramo cuesta dos
+ * lecturas de {@link System#nanoTime()} y unas pocas operaciones atómicas, más
+ * lo que cueste cada exportador. Deshabilitada, {@link #tramo} retorna
+ * {@link Tramo#NULO} y los contadores no hacen nada, sin construir textos ni
+ * asignar memoria.
+ * </p>
+ * <p>
+ * La variable de entorno {@code INSTRUMENTACION} define la configuración
+ * inicial: {@code false} la deshabilita, o una lista separada por comas de los
+ * exportadores a usar ({@code log}, {@code emf}, {@code jfr}); por defecto se
+ * usan todos. El exportador {@code jfr} solo registra eventos cuando hay una
+ * grabación de JDK Flight Recorder en curso.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class Instrumentacion {
+
+    private static final ThreadLocal<Tramo> ACTUAL = new ThreadLocal<>();
+
+    private static final List<Exportador> EXPORTADORES = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean habilitada;
+
+    static {
+        configurar(System.getenv("INSTRUMENTACION"));
+    }
+
+    private Instrumentacion() {
+        throw new UnsupportedOperationException("Esta clase no debe ser instanciada");
+    }
+
+    /**
+     * Aplica una configuración con el formato de la variable de entorno
+     * {@code INSTRUMENTACION}, reemplazando los exportadores registrados.
+     *
+     * @param configuracion {@code false}, una lista de exportadores separada por
+     *                      comas, o {@code null} para la configuración por
+     *                      defecto.
+     */
+    public static void configurar(String configuracion) {
+        String valor = configuracion == null || configuracion.isBlank() ? "log,emf,jfr"
+                : configuracion.trim().toLowerCase(Locale.ROOT);
+        List<Exportador> exportadores = new ArrayList<>();
+        for (String nombre : valor.split(",")) {
+            switch (nombre.trim()) {
+            case "log":
+                exportadores.add(new ExportadorLog(LambdaRuntime.getLogger()));
+                break;
+            case "emf":
+                exportadores.add(new EmisorEmf(LambdaRuntime.getLogger()));
+                break;
+            case "jfr":
+                exportadores.add(new ExportadorJfr());
+                break;
+            default:
+                break;
+            }
+        }
+        habilitar(!"false".equals(valor), exportadores);
+    }
+
+    /**
+     * Habilita o deshabilita la instrumentación y reemplaza los exportadores.
+     *
+     * @param activa       {@code true} para habilitarla.
+     * @param exportadores Los exportadores a notificar.
+     */
+    public static void habilitar(boolean activa, List<? extends Exportador> exportadores) {
+        EXPORTADORES.clear();
+        EXPORTADORES.addAll(exportadores);
+        habilitada = activa;
+    }
+
+    /**
+     * Agrega un exportador a los registrados.
+     *
+     * @param exportador El exportador a agregar.
+     */
+    public static void agregarExportador(Exportador exportador) {
+        EXPORTADORES.add(exportador);
+    }
+
+    /**
+     * Quita un exportador de los registrados.
+     *
+     * @param exportador El exportador a quitar.
+     */
+    public static void quitarExportador(Exportador exportador) {
+        EXPORTADORES.remove(exportador);
+    }
+
+    /**
+     * Indica si la instrumentación está habilitada.
+     *
+     * @return {@code true} si está habilitada.
+     */
+    public static boolean isHabilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Inicia las métricas de una invocación nueva.
+     *
+     * @return Las métricas de la invocación.
+     */
+    public static MetricasEjecucion iniciarInvocacion() {
+        return MetricasEjecucion.iniciar();
+    }
+
+    /**
+     * Mide el consumo final de la JVM y notifica a los exportadores que la
+     * invocación terminó.
+     */
+    public static void terminarInvocacion() {
+        if (!habilitada) {
+            return;
+        }
+        MetricasEjecucion metricas = MetricasEjecucion.actual();
+        metricas.medirConsumoJvm();
+        for (Exportador exportador : EXPORTADORES) {
+            exportador.invocacionTerminada(metricas);
+        }
+    }
+
+    /**
+     * Abre una etapa de la invocación: un tramo cuya duración se reporta además
+     * en los tiempos por etapa.
+     *
+     * @param  nombre El nombre de la etapa.
+     * @return        El tramo abierto.
+     */
+    public static Tramo etapa(String nombre) {
+        return abrir(nombre, null, true);
+    }
+
+    /**
+     * Abre un tramo anidado en el tramo abierto del hilo actual.
+     *
+     * @param  nombre El nombre del tramo.
+     * @return        El tramo abierto.
+     */
+    public static Tramo tramo(String nombre) {
+        return abrir(nombre, null, false);
+    }
+
+    /**
+     * Abre un tramo anidado con un detalle, por ejemplo la llave del archivo.
+     *
+     * @param  nombre  El nombre del tramo.
+     * @param  detalle El detalle que reportan los exportadores.
+     * @return         El tramo abierto.
+     */
+    public static Tramo tramo(String nombre, String detalle) {
+        return abrir(nombre, detalle, false);
+    }
+
+    /**
+     * Ejecuta un paso dentro de una etapa.
+     *
+     * @param  <T>    El tipo del resultado del paso.
+     * @param  nombre El nombre de la etapa.
+     * @param  paso   El paso a ejecutar.
+     * @return        El resultado del paso.
+     */
+    public static <T> T medir(String nombre, Supplier<T> paso) {
+        try (Tramo tramo = etapa(nombre)) {
+            return paso.get();
+        }
+    }
+
+    /**
+     * Ejecuta un paso sin resultado dentro de una etapa.
+     *
+     * @param nombre El nombre de la etapa.
+     * @param paso   El paso a ejecutar.
+     */
+    public static void medir(String nombre, Runnable paso) {
+        try (Tramo tramo = etapa(nombre)) {
+            paso.run();
+        }
+    }
+
+    /**
+     * Suma un valor a un contador de la invocación.
+     *
+     * @param nombre El nombre del contador.
+     * @param valor  El valor a sumar.
+     */
+    public static void contar(String nombre, long valor) {
+        if (habilitada) {
+            MetricasEjecucion.actual().incrementar(nombre, valor);
+        }
+    }
+
+    /**
+     * Registra un acierto o un fallo de una caché.
+     *
+     * @param cache   El nombre de la caché.
+     * @param acierto {@code true} si el valor se encontró en la caché.
+     */
+    public static void registrarCache(String cache, boolean acierto) {
+        if (habilitada) {
+            MetricasEjecucion.actual().registrarCache(cache, acierto);
+        }
+    }
+
+    /**
+     * Registra un valor en un histograma de la invocación.
+     *
+     * @param nombre El nombre del histograma.
+     * @param valor  El valor a registrar.
+     */
+    public static void registrar(String nombre, long valor) {
+        if (habilitada) {
+            MetricasEjecucion.actual().registrar(nombre, valor);
+        }
+    }
+
+    /**
+     * Envuelve una tarea que se ejecutará en otro hilo para que los tramos que
+     * abra queden anidados bajo el tramo actual del hilo que la crea.
+     *
+     * @param  <T>   El tipo del resultado de la tarea.
+     * @param  tarea La tarea a envolver.
+     * @return       La tarea con el tramo actual como padre.
+     */
+    public static <T> Callable<T> propagar(Callable<T> tarea) {
+        Tramo padre = ACTUAL.get();
+        if (padre == null) {
+            return tarea;
+        }
+        return () -> {
+            Tramo previo = ACTUAL.get();
+            ACTUAL.set(padre);
+            try {
+                return tarea.call();
+            } finally {
+                if (previo != null) {
+                    ACTUAL.set(previo);
+                } else {
+                    ACTUAL.remove();
+                }
+            }
+        };
+    }
+
+    private static Tramo abrir(String nombre, String detalle, boolean etapa) {
+        if (!habilitada) {
+            return Tramo.NULO;
+        }
+        Tramo tramo = new Tramo(ACTUAL.get(), nombre, detalle, etapa, System.nanoTime());
+        ACTUAL.set(tramo);
+        for (Exportador exportador : EXPORTADORES) {
+            exportador.tramoIniciado(tramo);
+        }
+        return tramo;
+    }
+
+    static void cerrar(Tramo tramo) {
+        if (ACTUAL.get() == tramo) {
+            if (tramo.getPadre() != null) {
+                ACTUAL.set(tramo.getPadre());
+            } else {
+                ACTUAL.remove();
+            }
+        }
+    }
+
+    static void notificarCierre(Tramo tramo) {
+        for (Exportador exportador : EXPORTADORES) {
+            exportador.tramoCerrado(tramo);
+        }
+    }
+}
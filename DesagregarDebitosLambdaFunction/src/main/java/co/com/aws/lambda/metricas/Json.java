@@ -0,0 +1,47 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.Locale;
+
+/**
+ * Utilidades para construir a mano los documentos JSON de métricas, sin una
+ * librería de serialización.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+final class Json {
+
+    private Json() {
+        throw new UnsupportedOperationException("Esta clase no debe ser instanciada");
+    }
+
+    /**
+     * Escapa un texto como cadena JSON.
+     *
+     * @param  valor El texto.
+     * @return       La cadena JSON, con comillas.
+     */
+    static String texto(String valor) {
+        StringBuilder json = new StringBuilder(valor.length() + 2).append('"');
+        for (char caracter : valor.toCharArray()) {
+            if (caracter == '"' || caracter == '\\') {
+                json.append('\\').append(caracter);
+            } else if (caracter < 0x20) {
+                json.append(String.format("\\u%04x", (int) caracter));
+            } else {
+                json.append(caracter);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Convierte nanosegundos en milisegundos con tres decimales.
+     *
+     * @param  nanos La duración en nanosegundos.
+     * @return       El número JSON en milisegundos.
+     */
+    static String milisegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
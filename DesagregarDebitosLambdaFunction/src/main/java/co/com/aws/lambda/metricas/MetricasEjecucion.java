@@ -0,0 +1,312 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula las métricas de una invocación de la Lambda: contadores (registros,
+ * duplicados, bytes leídos y escritos, aciertos y fallos de caché),
+ * histogramas (la duración de cada tramo, en nanosegundos), el tiempo de cada
+ * etapa del proceso, el resumen de las llamadas a S3, la conciliación de
+ * importes y el consumo de recursos de la JVM. Se alimenta a través de
+ * {@link Instrumentacion}, salvo el resumen de S3, que lo alimenta el
+ * interceptor del cliente de S3, y la conciliación, que la alimenta la
+ * clasificación; ambos se registran aunque la instrumentación esté
+ * deshabilitada, porque hacen parte de la auditoría.
+ * <p>
+ * Los contadores se pueden incrementar desde varios hilos (por ejemplo desde el
+ * {@code parallelStream} de la encriptación). La instancia de la invocación en
+ * curso se obtiene con {@link #actual()}; como la Lambda atiende una sola
+ * invocación a la vez por entorno de ejecución, {@link #iniciar()} reemplaza la
+ * instancia al inicio de cada invocación.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class MetricasEjecucion {
+
+    /**
+     * Registros leídos de los archivos de entrada, con el mismo conteo de la
+     * auditoría.
+     */
+    public static final String REGISTROS_PROCESADOS = "RegistrosProcesados";
+
+    /**
+     * Registros duplicados enviados al archivo de dividendos.
+     */
+    public static final String REGISTROS_DUPLICADOS = "RegistrosDuplicados";
+
+    /**
+     * Registros enviados al archivo de dividendos porque su factura está en el
+     * histórico de las ejecuciones anteriores.
+     */
+    public static final String DUPLICADOS_HISTORICO = "DuplicadosHistorico";
+
+    /**
+     * Registros enviados al archivo de cuarentena porque no cumplen el diseño de
+     * registro.
+     */
+    public static final String REGISTROS_CUARENTENA = "RegistrosCuarentena";
+
+    /**
+     * Bytes cifrados de los archivos de entrada.
+     */
+    public static final String BYTES_LEIDOS = "BytesLeidos";
+
+    /**
+     * Bytes cifrados de los archivos de salida.
+     */
+    public static final String BYTES_ESCRITOS = "BytesEscritos";
+
+    /**
+     * Invocaciones terminadas con error.
+     */
+    public static final String ERRORES = "Errores";
+
+    /**
+     * Ejecuciones terminadas cuya auditoría no se pudo registrar en la base de
+     * datos.
+     */
+    public static final String AUDITORIAS_FALLIDAS = "AuditoriasFallidas";
+
+    /**
+     * Milisegundos que el hilo productor de una canalización esperó un bloque
+     * libre, es decir, que el descifrado esperó a la clasificación.
+     */
+    public static final String ESPERA_PRODUCTOR_CANALIZACION = "EsperaProductorCanalizacionMs";
+
+    /**
+     * Milisegundos que el hilo que clasifica esperó un bloque lleno de una
+     * canalización, es decir, que la clasificación esperó al descifrado.
+     */
+    public static final String ESPERA_CONSUMIDOR_CANALIZACION = "EsperaConsumidorCanalizacionMs";
+
+    /**
+     * Nombre de la caché de la frase secreta PGP descifrada.
+     */
+    public static final String CACHE_FRASE_SECRETA = "CacheFraseSecreta";
+
+    /**
+     * Nombre de la caché de la llave privada PGP.
+     */
+    public static final String CACHE_LLAVE_PRIVADA = "CacheLlavePrivada";
+
+    /**
+     * Sufijo de los contadores de aciertos de una caché.
+     */
+    public static final String ACIERTOS = "Aciertos";
+
+    /**
+     * Sufijo de los contadores de fallos de una caché.
+     */
+    public static final String FALLOS = "Fallos";
+
+    private static volatile MetricasEjecucion actual = new MetricasEjecucion();
+
+    private final Map<String, LongAdder> contadores = new ConcurrentHashMap<>();
+
+    private final Map<String, Histograma> histogramas = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> etapas = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final OperacionesS3 operacionesS3 = new OperacionesS3();
+
+    private final Conciliacion conciliacion = new Conciliacion();
+
+    private TelemetriaJvm telemetriaJvm;
+
+    private volatile ConsumoJvm consumoJvm;
+
+    /**
+     * Crea un acumulador nuevo y lo deja como el de la invocación en curso. Toma
+     * la línea base de {@link TelemetriaJvm} para medir el consumo de la
+     * invocación.
+     *
+     * @return El acumulador de la invocación.
+     */
+    public static MetricasEjecucion iniciar() {
+        MetricasEjecucion metricas = new MetricasEjecucion();
+        metricas.telemetriaJvm = TelemetriaJvm.iniciar();
+        actual = metricas;
+        return metricas;
+    }
+
+    /**
+     * Retorna el acumulador de la invocación en curso.
+     *
+     * @return El acumulador de la invocación.
+     */
+    public static MetricasEjecucion actual() {
+        return actual;
+    }
+
+    /**
+     * Suma un valor al contador indicado.
+     *
+     * @param nombre El nombre del contador.
+     * @param valor  El valor a sumar.
+     */
+    public void incrementar(String nombre, long valor) {
+        contadores.computeIfAbsent(nombre, llave -> new LongAdder()).add(valor);
+    }
+
+    /**
+     * Registra un acierto o un fallo de la caché indicada.
+     *
+     * @param cache   El nombre de la caché.
+     * @param acierto {@code true} si el valor se encontró en la caché.
+     */
+    public void registrarCache(String cache, boolean acierto) {
+        incrementar(cache + (acierto ? ACIERTOS : FALLOS), 1);
+    }
+
+    /**
+     * Retorna el valor del contador indicado.
+     *
+     * @param  nombre El nombre del contador.
+     * @return        El valor del contador, o cero si no se ha incrementado.
+     */
+    public long getContador(String nombre) {
+        LongAdder contador = contadores.get(nombre);
+        return contador != null ? contador.sum() : 0;
+    }
+
+    /**
+     * Retorna el porcentaje de aciertos de la caché indicada.
+     *
+     * @param  cache El nombre de la caché.
+     * @return       El porcentaje de aciertos, o {@code null} si la caché no se
+     *               consultó en la invocación.
+     */
+    public Double getTasaAciertos(String cache) {
+        long aciertos = getContador(cache + ACIERTOS);
+        long consultas = aciertos + getContador(cache + FALLOS);
+        return consultas > 0 ? aciertos * 100.0 / consultas : null;
+    }
+
+    /**
+     * Retorna una copia de los contadores, ordenados por nombre.
+     *
+     * @return Los contadores de la invocación.
+     */
+    public Map<String, Long> getContadores() {
+        Map<String, Long> copia = new TreeMap<>();
+        contadores.forEach((nombre, contador) -> copia.put(nombre, contador.sum()));
+        return copia;
+    }
+
+    /**
+     * Registra un valor en el histograma indicado.
+     *
+     * @param nombre El nombre del histograma.
+     * @param valor  El valor a registrar.
+     */
+    public void registrar(String nombre, long valor) {
+        histogramas.computeIfAbsent(nombre, llave -> new Histograma()).registrar(valor);
+    }
+
+    /**
+     * Retorna el histograma indicado.
+     *
+     * @param  nombre El nombre del histograma.
+     * @return        El histograma, o {@code null} si no tiene valores.
+     */
+    public Histograma getHistograma(String nombre) {
+        return histogramas.get(nombre);
+    }
+
+    /**
+     * Retorna los histogramas de la invocación, ordenados por nombre.
+     *
+     * @return Los histogramas por nombre.
+     */
+    public Map<String, Histograma> getHistogramas() {
+        return new TreeMap<>(histogramas);
+    }
+
+    /**
+     * Registra la duración de una etapa.
+     *
+     * @param etapa  El nombre de la etapa.
+     * @param nanos  La duración en nanosegundos.
+     */
+    public void registrarEtapa(String etapa, long nanos) {
+        etapas.put(etapa, nanos);
+    }
+
+    /**
+     * Retorna una copia de la duración de cada etapa en nanosegundos, en orden de
+     * ejecución.
+     *
+     * @return Las duraciones por etapa.
+     */
+    public Map<String, Long> getEtapas() {
+        synchronized (etapas) {
+            return new LinkedHashMap<>(etapas);
+        }
+    }
+
+    /**
+     * Retorna el resumen de las llamadas a S3 de la invocación.
+     *
+     * @return El resumen de las llamadas a S3.
+     */
+    public OperacionesS3 getOperacionesS3() {
+        return operacionesS3;
+    }
+
+    /**
+     * Retorna el resumen de conciliación de la invocación.
+     *
+     * @return La conciliación de importes por archivo.
+     */
+    public Conciliacion getConciliacion() {
+        return conciliacion;
+    }
+
+    /**
+     * Mide el consumo de la JVM desde el inicio de la invocación hasta este
+     * momento y lo conserva como el último medido.
+     *
+     * @return El consumo, o {@code null} si el acumulador no se creó con
+     *         {@link #iniciar()}.
+     */
+    public ConsumoJvm medirConsumoJvm() {
+        if (telemetriaJvm == null) {
+            return null;
+        }
+        consumoJvm = telemetriaJvm.medir();
+        return consumoJvm;
+    }
+
+    /**
+     * Retorna el último consumo de la JVM medido con {@link #medirConsumoJvm()}.
+     *
+     * @return El consumo, o {@code null} si no se ha medido.
+     */
+    public ConsumoJvm getConsumoJvm() {
+        return consumoJvm;
+    }
+
+    /**
+     * Construye el detalle de la ejecución que se guarda con la auditoría, como un
+     * objeto JSON. Mide el consumo de la JVM hasta este momento.
+     *
+     * <pre>
+     * {"S3":{"GetObject":{...},"PutObject":{...}},"Jvm":{"Duracion":812.417,...},
+     *  "Conciliacion":{"5402ORDINARIO":{...},"Total":{...}}}
+     * </pre>
+     *
+     * @return El detalle de la ejecución en JSON.
+     */
+    public String getDetalleEjecucion() {
+        ConsumoJvm consumo = medirConsumoJvm();
+        return "{\"S3\":" + operacionesS3.toJson() + (consumo != null ? ",\"Jvm\":" + consumo.toJson() : "")
+                + (!conciliacion.isVacio() ? ",\"Conciliacion\":" + conciliacion.toJson() : "") + "}";
+    }
+}
@@ -0,0 +1,182 @@
+package co.com.aws.lambda.metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resumen de las llamadas a S3 de una invocación, agrupadas por operación:
+ * llamadas, errores, respuestas de limitación (503 o 429), reintentos, bytes
+ * enviados y recibidos, y la latencia total y máxima con la llave de la llamada
+ * más lenta. Permite distinguir en la auditoría un almacenamiento lento de un
+ * procesamiento lento.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class OperacionesS3 {
+
+    private final Map<String, Estadistica> estadisticas = new TreeMap<>();
+
+    /**
+     * Registra una llamada terminada, exitosa o no.
+     *
+     * @param operacion      El nombre de la operación, por ejemplo
+     *                       {@code GetObject}.
+     * @param llave          La llave o prefijo de la llamada; puede ser
+     *                       {@code null}.
+     * @param estado         El código HTTP de la última respuesta, o cero si no
+     *                       hubo respuesta.
+     * @param intentos       Los intentos realizados, incluidos los reintentos.
+     * @param bytesEnviados  Los bytes del cuerpo de la petición.
+     * @param bytesRecibidos Los bytes del cuerpo de la respuesta.
+     * @param nanos          La latencia de la llamada en nanosegundos.
+     */
+    public synchronized void registrar(String operacion, String llave, int estado, int intentos, long bytesEnviados,
+            long bytesRecibidos, long nanos) {
+        Estadistica estadistica = estadisticas.computeIfAbsent(operacion, nombre -> new Estadistica());
+        estadistica.llamadas++;
+        if (estado < 200 || estado >= 300) {
+            estadistica.errores++;
+        }
+        if (estado == 503 || estado == 429) {
+            estadistica.limitadas++;
+        }
+        estadistica.reintentos += Math.max(intentos - 1, 0);
+        estadistica.bytesEnviados += bytesEnviados;
+        estadistica.bytesRecibidos += bytesRecibidos;
+        estadistica.latenciaTotal += nanos;
+        if (nanos >= estadistica.latenciaMaxima) {
+            estadistica.latenciaMaxima = nanos;
+            estadistica.llaveMasLenta = llave;
+        }
+    }
+
+    /**
+     * Retorna una copia de las estadísticas por operación, ordenadas por nombre.
+     *
+     * @return Las estadísticas por operación.
+     */
+    public synchronized Map<String, Estadistica> getEstadisticas() {
+        Map<String, Estadistica> copia = new TreeMap<>();
+        estadisticas.forEach((operacion, estadistica) -> copia.put(operacion, estadistica.copia()));
+        return copia;
+    }
+
+    /**
+     * Indica si no se registró ninguna llamada.
+     *
+     * @return {@code true} si no hubo llamadas a S3.
+     */
+    public synchronized boolean isVacio() {
+        return estadisticas.isEmpty();
+    }
+
+    /**
+     * Serializa el resumen como un objeto JSON con una propiedad por operación.
+     *
+     * <pre>
+     * {"GetObject":{"Llamadas":2,"Errores":0,"Limitadas":0,"Reintentos":0,"BytesEnviados":0,
+     *  "BytesRecibidos":52000,"LatenciaTotal":41.250,"LatenciaMaxima":30.100,"LlaveMasLenta":"in/5402ORDINARIO.pgp"}}
+     * </pre>
+     *
+     * @return El resumen en JSON; las latencias en milisegundos.
+     */
+    public String toJson() {
+        List<String> operaciones = new ArrayList<>();
+        getEstadisticas().forEach((operacion, estadistica) -> operaciones.add(Json.texto(operacion) + ":"
+                + estadistica.toJson()));
+        return "{" + String.join(",", operaciones) + "}";
+    }
+
+    /**
+     * Estadísticas acumuladas de una operación.
+     */
+    public static class Estadistica {
+
+        private long llamadas;
+
+        private long errores;
+
+        private long limitadas;
+
+        private long reintentos;
+
+        private long bytesEnviados;
+
+        private long bytesRecibidos;
+
+        private long latenciaTotal;
+
+        private long latenciaMaxima;
+
+        private String llaveMasLenta;
+
+        public long getLlamadas() {
+            return llamadas;
+        }
+
+        public long getErrores() {
+            return errores;
+        }
+
+        public long getLimitadas() {
+            return limitadas;
+        }
+
+        public long getReintentos() {
+            return reintentos;
+        }
+
+        public long getBytesEnviados() {
+            return bytesEnviados;
+        }
+
+        public long getBytesRecibidos() {
+            return bytesRecibidos;
+        }
+
+        public long getLatenciaTotal() {
+            return latenciaTotal;
+        }
+
+        public long getLatenciaMaxima() {
+            return latenciaMaxima;
+        }
+
+        public String getLlaveMasLenta() {
+            return llaveMasLenta;
+        }
+
+        private Estadistica copia() {
+            Estadistica copia = new Estadistica();
+            copia.llamadas = llamadas;
+            copia.errores = errores;
+            copia.limitadas = limitadas;
+            copia.reintentos = reintentos;
+            copia.bytesEnviados = bytesEnviados;
+            copia.bytesRecibidos = bytesRecibidos;
+            copia.latenciaTotal = latenciaTotal;
+            copia.latenciaMaxima = latenciaMaxima;
+            copia.llaveMasLenta = llaveMasLenta;
+            return copia;
+        }
+
+        private String toJson() {
+            return "{\"Llamadas\":" + llamadas + ",\"Errores\":" + errores + ",\"Limitadas\":" + limitadas
+                    + ",\"Reintentos\":" + reintentos + ",\"BytesEnviados\":" + bytesEnviados + ",\"BytesRecibidos\":"
+                    + bytesRecibidos + ",\"LatenciaTotal\":" + Json.milisegundos(latenciaTotal) + ",\"LatenciaMaxima\":"
+                    + Json.milisegundos(latenciaMaxima) + ",\"LlaveMasLenta\":"
+                    + (llaveMasLenta != null ? Json.texto(llaveMasLenta) : "null") + "}";
+        }
+
+        @Override
+        public String toString() {
+            return "llamadas=" + llamadas + " errores=" + errores + " limitadas=" + limitadas + " reintentos="
+                    + reintentos + " enviados=" + bytesEnviados + " recibidos=" + bytesRecibidos + " total="
+                    + Json.milisegundos(latenciaTotal) + " ms max=" + Json.milisegundos(latenciaMaxima) + " ms ["
+                    + llaveMasLenta + "]";
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package co.com.aws.lambda.metricas;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Línea base de los contadores de la JVM al inicio de una invocación, a partir
+ * de la cual {@link #medir()} calcula el consumo: pico de heap, recolecciones
+ * de basura y su tiempo, tiempo de CPU del proceso y bytes asignados.
+ * <p>
+ * Las lecturas usan los MXBeans de la JVM y cuestan unos pocos microsegundos;
+ * las que dependen de extensiones de HotSpot ({@code com.sun.management})
+ * quedan en cero si la JVM no las soporta.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class TelemetriaJvm {
+
+    /**
+     * Memoria de la función en MB por defecto, la de {@code template.yaml},
+     * cuando no se ejecuta en Lambda.
+     */
+    static final int MEMORIA_POR_DEFECTO_MB = 512;
+
+    private final int memoriaMb;
+
+    private final long inicio;
+
+    private final long recolecciones;
+
+    private final long tiempoRecoleccion;
+
+    private final long cpu;
+
+    private final long asignados;
+
+    private TelemetriaJvm(int memoriaMb) {
+        this.memoriaMb = memoriaMb;
+        reiniciarPicosHeap();
+        this.recolecciones = recolecciones();
+        this.tiempoRecoleccion = tiempoRecoleccion();
+        this.cpu = tiempoCpu();
+        this.asignados = bytesAsignados();
+        this.inicio = System.nanoTime();
+    }
+
+    /**
+     * Toma la línea base con la memoria configurada de la función, según la
+     * variable de entorno {@code AWS_LAMBDA_FUNCTION_MEMORY_SIZE}. Reinicia el
+     * pico de los pools de heap para medir solo la invocación.
+     *
+     * @return La línea base.
+     */
+    public static TelemetriaJvm iniciar() {
+        String memoria = System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE");
+        return iniciar(memoria != null ? Integer.parseInt(memoria) : MEMORIA_POR_DEFECTO_MB);
+    }
+
+    /**
+     * Toma la línea base con la memoria indicada.
+     *
+     * @param  memoriaMb La memoria configurada de la función, en MB.
+     * @return           La línea base.
+     */
+    public static TelemetriaJvm iniciar(int memoriaMb) {
+        return new TelemetriaJvm(memoriaMb);
+    }
+
+    /**
+     * Calcula el consumo desde la línea base hasta este momento.
+     *
+     * @return El consumo de la invocación.
+     */
+    public ConsumoJvm medir() {
+        long duracion = System.nanoTime() - inicio;
+        return new ConsumoJvm(duracion, picoHeap(), recolecciones() - recolecciones,
+                tiempoRecoleccion() - tiempoRecoleccion, tiempoCpu() - cpu, bytesAsignados() - asignados,
+                memoriaMb);
+    }
+
+    /**
+     * Reinicia el pico de uso de los pools de heap.
+     */
+    public static void reiniciarPicosHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Suma el pico de uso de los pools de heap desde el último reinicio. Como cada
+     * pool alcanza su pico en momentos distintos, el valor es una cota superior
+     * del pico real.
+     *
+     * @return El pico de heap en bytes.
+     */
+    public static long picoHeap() {
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        return pico;
+    }
+
+    /**
+     * Retorna los bytes asignados por todos los hilos desde el inicio de la JVM,
+     * incluidos los de hilos que ya terminaron, como los trabajadores de
+     * fragmentación o el productor de una canalización. El valor solo crece,
+     * por lo que la diferencia entre dos lecturas es lo asignado entre ambas.
+     *
+     * @return Los bytes asignados, o cero si la JVM no los reporta.
+     */
+    public static long bytesAsignados() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+        return Math.max(0, hotspot.getTotalThreadAllocatedBytes());
+    }
+
+    private static long recolecciones() {
+        long total = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, recolector.getCollectionCount());
+        }
+        return total;
+    }
+
+    /**
+     * Tiempo acumulado de recolección en milisegundos, como lo reporta cada
+     * recolector. No es el tiempo de pausa: con G1 incluye el del ciclo
+     * concurrente, que corre junto a la aplicación.
+     */
+    private static long tiempoRecoleccion() {
+        long total = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, recolector.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long tiempoCpu() {
+        OperatingSystemMXBean sistema = ManagementFactory.getOperatingSystemMXBean();
+        if (sistema instanceof com.sun.management.OperatingSystemMXBean) {
+            return Math.max(0, ((com.sun.management.OperatingSystemMXBean) sistema).getProcessCpuTime());
+        }
+        return 0;
+    }
+}
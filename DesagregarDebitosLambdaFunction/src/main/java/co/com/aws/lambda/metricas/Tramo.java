@@ -0,0 +1,129 @@
+package co.com.aws.lambda.metricas;
+
+/**
+ * Intervalo medido del proceso. Se abre con {@link Instrumentacion#etapa} o
+ * {@link Instrumentacion#tramo} y se cierra con try-with-resources; al cerrar
+ * registra su duración en el histograma con su nombre y, si es una etapa, en
+ * los tiempos por etapa de la invocación.
+ * <p>
+ * Los tramos abiertos en el mismo hilo se anidan: el tramo abierto más reciente
+ * es el padre del siguiente. Con la instrumentación deshabilitada se retorna
+ * {@link #NULO}, que no mide ni registra nada.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class Tramo implements AutoCloseable {
+
+    /**
+     * Tramo que no mide nada, usado cuando la instrumentación está deshabilitada.
+     */
+    public static final Tramo NULO = new Tramo(null, "", null, false, 0) {
+
+        @Override
+        public void close() {
+            // La instrumentación está deshabilitada.
+        }
+    };
+
+    private final MetricasEjecucion metricas;
+
+    private final String nombre;
+
+    private final String detalle;
+
+    private final boolean etapa;
+
+    private final Tramo padre;
+
+    private final long inicio;
+
+    private long duracion = -1;
+
+    Tramo(Tramo padre, String nombre, String detalle, boolean etapa, long inicio) {
+        this.metricas = MetricasEjecucion.actual();
+        this.padre = padre;
+        this.nombre = nombre;
+        this.detalle = detalle;
+        this.etapa = etapa;
+        this.inicio = inicio;
+    }
+
+    @Override
+    public void close() {
+        if (duracion >= 0) {
+            return;
+        }
+        duracion = System.nanoTime() - inicio;
+        Instrumentacion.cerrar(this);
+        metricas.registrar(nombre, duracion);
+        if (etapa) {
+            metricas.registrarEtapa(nombre, duracion);
+        }
+        Instrumentacion.notificarCierre(this);
+    }
+
+    /**
+     * Retorna el nombre del tramo.
+     *
+     * @return El nombre.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Retorna el detalle del tramo, por ejemplo la llave del archivo procesado.
+     *
+     * @return El detalle, o {@code null} si no tiene.
+     */
+    public String getDetalle() {
+        return detalle;
+    }
+
+    /**
+     * Indica si el tramo es una etapa de la invocación.
+     *
+     * @return {@code true} si es una etapa.
+     */
+    public boolean isEtapa() {
+        return etapa;
+    }
+
+    /**
+     * Retorna el tramo que estaba abierto en el mismo hilo al abrir este.
+     *
+     * @return El padre, o {@code null} si es un tramo raíz.
+     */
+    public Tramo getPadre() {
+        return padre;
+    }
+
+    /**
+     * Retorna los nombres del tramo y sus padres separados por {@code /}.
+     *
+     * @return La ruta del tramo.
+     */
+    public String getRuta() {
+        return padre != null ? padre.getRuta() + "/" + nombre : nombre;
+    }
+
+    /**
+     * Retorna el instante de inicio según {@link System#nanoTime()}.
+     *
+     * @return El inicio en nanosegundos.
+     */
+    public long getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Retorna la duración del tramo.
+     *
+     * @return La duración en nanosegundos, o -1 si no se ha cerrado.
+     */
+    public long getDuracion() {
+        return duracion;
+    }
+}
@@ -0,0 +1,72 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder de un lote de líneas clasificadas de un
+ * archivo. Se usa a través de {@link #iniciar} y {@link #terminar} para que la
+ * clasificación no dependa del API de JFR.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@Name("co.com.aws.lambda.LoteClasificacion")
+@Label("Lote de clasificación")
+@Category({ "DesagregarDebitos" })
+@Description("Lote de líneas de un archivo clasificadas en únicas y duplicadas")
+@StackTrace(false)
+public class EventoLoteClasificacionJfr extends Event {
+
+    /**
+     * Cantidad de líneas de cada lote.
+     */
+    public static final int TAMANO_LOTE = 10_000;
+
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Línea inicial")
+    long lineaInicial;
+
+    @Label("Registros")
+    long registros;
+
+    @Label("Duplicados")
+    long duplicados;
+
+    /**
+     * Inicia el evento de un lote.
+     *
+     * @param  archivo      El nombre del archivo clasificado.
+     * @param  lineaInicial El número de la primera línea del lote.
+     * @return              El evento iniciado.
+     */
+    public static EventoLoteClasificacionJfr iniciar(String archivo, long lineaInicial) {
+        EventoLoteClasificacionJfr evento = new EventoLoteClasificacionJfr();
+        if (evento.isEnabled()) {
+            evento.archivo = archivo;
+            evento.lineaInicial = lineaInicial;
+            evento.begin();
+        }
+        return evento;
+    }
+
+    /**
+     * Termina y registra el evento del lote.
+     *
+     * @param registros  Las líneas clasificadas en el lote.
+     * @param duplicados Los registros duplicados encontrados en el lote.
+     */
+    public void terminar(long registros, long duplicados) {
+        if (registros > 0 && shouldCommit()) {
+            this.registros = registros;
+            this.duplicados = duplicados;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder de una operación sobre el almacenamiento de
+ * objetos (S3 o el directorio local del ejecutor), con la llave, los bytes
+ * transferidos y su duración.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@Name("co.com.aws.lambda.S3")
+@Label("Operación de almacenamiento")
+@Category({ "DesagregarDebitos" })
+@Description("Operación sobre el almacenamiento de objetos; en las lecturas incluye la transferencia del contenido")
+@StackTrace(false)
+class EventoS3Jfr extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Bucket")
+    String bucket;
+
+    @Label("Llave")
+    String llave;
+
+    @Label("Llave destino")
+    String llaveDestino;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    @Label("Error")
+    String error;
+}
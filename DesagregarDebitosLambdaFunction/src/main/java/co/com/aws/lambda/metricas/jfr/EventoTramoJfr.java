@@ -0,0 +1,36 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder de un tramo de la instrumentación (una etapa
+ * del proceso o un paso anidado), para correlacionarlo con las pausas de GC, la
+ * asignación de memoria y la actividad de los hilos en JDK Mission Control.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+@Name("co.com.aws.lambda.Tramo")
+@Label("Tramo del proceso")
+@Category({ "DesagregarDebitos" })
+@Description("Etapa o paso anidado del proceso de desagregación de débitos")
+@StackTrace(false)
+class EventoTramoJfr extends Event {
+
+    @Label("Nombre")
+    String nombre;
+
+    @Label("Ruta")
+    String ruta;
+
+    @Label("Detalle")
+    String detalle;
+
+    @Label("Etapa")
+    boolean etapa;
+}
@@ -0,0 +1,41 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import co.com.aws.lambda.metricas.Exportador;
+import co.com.aws.lambda.metricas.Tramo;
+
+/**
+ * Exportador que registra cada tramo como un {@link EventoTramoJfr}. Si no hay
+ * una grabación de JFR en curso el evento está deshabilitado y el exportador no
+ * conserva nada.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ExportadorJfr implements Exportador {
+
+    private final Map<Tramo, EventoTramoJfr> abiertos = new ConcurrentHashMap<>();
+
+    @Override
+    public void tramoIniciado(Tramo tramo) {
+        EventoTramoJfr evento = new EventoTramoJfr();
+        if (evento.isEnabled()) {
+            evento.begin();
+            abiertos.put(tramo, evento);
+        }
+    }
+
+    @Override
+    public void tramoCerrado(Tramo tramo) {
+        EventoTramoJfr evento = abiertos.remove(tramo);
+        if (evento != null && evento.shouldCommit()) {
+            evento.nombre = tramo.getNombre();
+            evento.ruta = tramo.getRuta();
+            evento.detalle = tramo.getDetalle();
+            evento.etapa = tramo.isEtapa();
+            evento.commit();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.aws.lambda.storage.ObjectStore;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Grabación de JDK Flight Recorder de una invocación. Usa la configuración
+ * {@code profile} del JDK más los eventos propios del proceso sin umbral, y al
+ * terminar se publica como un archivo {@code .jfr} en el almacenamiento de
+ * objetos para abrirlo con JDK Mission Control o {@code jfr print}.
+ * <p>
+ * La grabación es solo de diagnóstico: si no puede iniciarse o publicarse se
+ * registra una advertencia en el log y el proceso continúa.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class GrabacionJfr {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyyMMdd_HH-mm-ss");
+
+    private Recording recording;
+
+    private GrabacionJfr(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Inicia una grabación.
+     *
+     * @param  nombre El nombre de la grabación.
+     * @return        La grabación iniciada; si no fue posible iniciarla, una
+     *                grabación que no publica nada.
+     */
+    public static GrabacionJfr iniciar(String nombre) {
+        Recording recording = null;
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName(nombre);
+            recording.enable(EventoTramoJfr.class).withThreshold(Duration.ZERO);
+            recording.enable(EventoS3Jfr.class).withThreshold(Duration.ZERO);
+            recording.enable(EventoLoteClasificacionJfr.class).withThreshold(Duration.ZERO);
+            recording.start();
+            return new GrabacionJfr(recording);
+        } catch (IOException | ParseException | RuntimeException e) {
+            LOGGER.log("[WARN] No fue posible iniciar la grabación JFR: " + e.getMessage() + "\n");
+            if (recording != null) {
+                recording.close();
+            }
+            return new GrabacionJfr(null);
+        }
+    }
+
+    /**
+     * Retorna la llave del archivo de una grabación.
+     *
+     * @param  ruta  La ruta de diagnósticos.
+     * @param  fecha La fecha de la ejecución.
+     * @return       La llave del archivo {@code .jfr}.
+     */
+    public static String llave(String ruta, LocalDateTime fecha) {
+        return ruta + "DesagregarDebitos_" + fecha.format(FORMATO_FECHA) + ".jfr";
+    }
+
+    /**
+     * Detiene la grabación y la publica en el almacenamiento de objetos. El
+     * archivo se escribe primero en el directorio temporal ({@code /tmp} en
+     * Lambda) y se elimina después de publicarlo. La grabación se cierra aunque
+     * no pueda publicarse, por lo que solo se publica una vez.
+     *
+     * @param  objectStore El almacenamiento donde se publica.
+     * @param  bucket      El bucket de destino.
+     * @param  llave       La llave del archivo.
+     * @return             {@code true} si la grabación se publicó.
+     */
+    public boolean publicar(ObjectStore objectStore, String bucket, String llave) {
+        if (recording == null) {
+            return false;
+        }
+        Path archivo = null;
+        try {
+            recording.stop();
+            archivo = Files.createTempFile("DesagregarDebitos", ".jfr");
+            recording.dump(archivo);
+            try (InputStream contenido = Files.newInputStream(archivo)) {
+                objectStore.put(bucket, llave, contenido, Files.size(archivo), "application/octet-stream");
+            }
+            LOGGER.log("[INFO] Grabación JFR publicada en " + bucket + "/" + llave + "\n");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log("[WARN] No fue posible publicar la grabación JFR: " + e.getMessage() + "\n");
+            return false;
+        } finally {
+            recording.close();
+            recording = null;
+            if (archivo != null) {
+                try {
+                    Files.deleteIfExists(archivo);
+                } catch (IOException e) {
+                    LOGGER.log("[WARN] No fue posible eliminar " + archivo + ": " + e.getMessage() + "\n");
+                }
+            }
+        }
+    }
+}
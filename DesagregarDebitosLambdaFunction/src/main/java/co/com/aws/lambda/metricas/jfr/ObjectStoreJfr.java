@@ -0,0 +1,275 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import co.com.aws.lambda.storage.MultipartUpload;
+import co.com.aws.lambda.storage.ObjectStore;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Decorador de {@link ObjectStore} que registra cada operación como un
+ * {@link EventoS3Jfr}. En {@link #get} y {@link #getRange} el evento termina
+ * al leer el contenido completo o al cerrar el flujo, por lo que su duración
+ * incluye la transferencia y sus bytes son los leídos.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ObjectStoreJfr implements ObjectStore {
+
+    private final ObjectStore delegado;
+
+    /**
+     * Constructor del decorador.
+     *
+     * @param delegado El almacenamiento sobre el que se realizan las operaciones.
+     */
+    public ObjectStoreJfr(ObjectStore delegado) {
+        this.delegado = delegado;
+    }
+
+    /**
+     * Retorna el almacenamiento decorado.
+     *
+     * @return El almacenamiento decorado.
+     */
+    public ObjectStore getDelegado() {
+        return delegado;
+    }
+
+    @Override
+    public List<S3Object> list(String bucket, String prefix) {
+        EventoS3Jfr evento = iniciar("ListObjectsV2", bucket, prefix);
+        try {
+            List<S3Object> objetos = delegado.list(bucket, prefix);
+            terminar(evento, 0, null);
+            return objetos;
+        } catch (RuntimeException e) {
+            terminar(evento, 0, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream get(String bucket, String key) {
+        EventoS3Jfr evento = iniciar("GetObject", bucket, key);
+        try {
+            return new LecturaMedida(delegado.get(bucket, key), evento);
+        } catch (RuntimeException e) {
+            terminar(evento, 0, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getRange(String bucket, String key, long inicio, long fin) {
+        EventoS3Jfr evento = iniciar("GetObject", bucket, key);
+        try {
+            return new LecturaMedida(delegado.getRange(bucket, key, inicio, fin), evento);
+        } catch (RuntimeException e) {
+            terminar(evento, 0, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(String bucket, String key, byte[] content, String contentType) {
+        EventoS3Jfr evento = iniciar("PutObject", bucket, key);
+        try {
+            delegado.put(bucket, key, content, contentType);
+            terminar(evento, content.length, null);
+        } catch (RuntimeException e) {
+            terminar(evento, content.length, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(String bucket, String key, InputStream content, long length, String contentType) {
+        EventoS3Jfr evento = iniciar("PutObject", bucket, key);
+        try {
+            delegado.put(bucket, key, content, length, contentType);
+            terminar(evento, length, null);
+        } catch (RuntimeException e) {
+            terminar(evento, length, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void copy(String sourceBucket, String sourceKey, String destinationBucket, String destinationKey) {
+        EventoS3Jfr evento = iniciar("CopyObject", sourceBucket, sourceKey);
+        evento.llaveDestino = destinationKey;
+        try {
+            delegado.copy(sourceBucket, sourceKey, destinationBucket, destinationKey);
+            terminar(evento, 0, null);
+        } catch (RuntimeException e) {
+            terminar(evento, 0, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        EventoS3Jfr evento = iniciar("DeleteObject", bucket, key);
+        try {
+            delegado.delete(bucket, key);
+            terminar(evento, 0, null);
+        } catch (RuntimeException e) {
+            terminar(evento, 0, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public MultipartUpload createMultipartUpload(String bucket, String key, String contentType) {
+        EventoS3Jfr evento = iniciar("CreateMultipartUpload", bucket, key);
+        try {
+            MultipartUpload carga = delegado.createMultipartUpload(bucket, key, contentType);
+            terminar(evento, 0, null);
+            return new CargaMedida(carga, bucket, key);
+        } catch (RuntimeException e) {
+            terminar(evento, 0, e);
+            throw e;
+        }
+    }
+
+    private static EventoS3Jfr iniciar(String operacion, String bucket, String llave) {
+        EventoS3Jfr evento = new EventoS3Jfr();
+        evento.operacion = operacion;
+        evento.bucket = bucket;
+        evento.llave = llave;
+        evento.begin();
+        return evento;
+    }
+
+    private static void terminar(EventoS3Jfr evento, long bytes, RuntimeException error) {
+        if (evento.shouldCommit()) {
+            evento.bytes = bytes;
+            evento.exitosa = error == null;
+            evento.error = error != null ? error.getClass().getSimpleName() + ": " + error.getMessage() : null;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Flujo de lectura que cuenta los bytes leídos y registra el evento al llegar
+     * al final o al cerrarse, lo que ocurra primero.
+     */
+    private static final class LecturaMedida extends FilterInputStream {
+
+        private final EventoS3Jfr evento;
+
+        private long bytes;
+
+        private boolean terminado;
+
+        LecturaMedida(InputStream in, EventoS3Jfr evento) {
+            super(in);
+            this.evento = evento;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int leido = super.read();
+            if (leido < 0) {
+                terminar();
+            } else {
+                bytes++;
+            }
+            return leido;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int leidos = super.read(b, off, len);
+            if (leidos < 0) {
+                terminar();
+            } else {
+                bytes += leidos;
+            }
+            return leidos;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long saltados = super.skip(n);
+            bytes += saltados;
+            return saltados;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                terminar();
+            }
+        }
+
+        private void terminar() {
+            if (!terminado) {
+                terminado = true;
+                ObjectStoreJfr.terminar(evento, bytes, null);
+            }
+        }
+    }
+
+    /**
+     * Carga multiparte que registra cada parte, la finalización y la
+     * cancelación como eventos.
+     */
+    private static final class CargaMedida implements MultipartUpload {
+
+        private final MultipartUpload delegado;
+
+        private final String bucket;
+
+        private final String llave;
+
+        CargaMedida(MultipartUpload delegado, String bucket, String llave) {
+            this.delegado = delegado;
+            this.bucket = bucket;
+            this.llave = llave;
+        }
+
+        @Override
+        public void uploadPart(byte[] data, int offset, int length) {
+            EventoS3Jfr evento = iniciar("UploadPart", bucket, llave);
+            try {
+                delegado.uploadPart(data, offset, length);
+                ObjectStoreJfr.terminar(evento, length, null);
+            } catch (RuntimeException e) {
+                ObjectStoreJfr.terminar(evento, length, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void complete() {
+            EventoS3Jfr evento = iniciar("CompleteMultipartUpload", bucket, llave);
+            try {
+                delegado.complete();
+                ObjectStoreJfr.terminar(evento, 0, null);
+            } catch (RuntimeException e) {
+                ObjectStoreJfr.terminar(evento, 0, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void abort() {
+            EventoS3Jfr evento = iniciar("AbortMultipartUpload", bucket, llave);
+            try {
+                delegado.abort();
+                ObjectStoreJfr.terminar(evento, 0, null);
+            } catch (RuntimeException e) {
+                ObjectStoreJfr.terminar(evento, 0, e);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package co.com.aws.lambda.ordenamiento;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.Continuacion;
+import co.com.aws.lambda.indice.HistoricoFacturas;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.validacion.Cuarentena;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
+
+/**
+ * Clasificación de un archivo con ordenamiento externo, para entradas sin
+ * orden cuyo mapa de primeras apariciones no cabe en el heap.
+ * <ol>
+ * <li>El archivo descifrado se copia al directorio temporal con las mismas
+ * reglas de {@code ClasificaRegistros} (líneas recortadas, validadas con el
+ * {@link ValidadorRegistros}; las que no cumplen el diseño van a la
+ * {@link Cuarentena} y no se copian) y los pares (factura, línea) de sus
+ * registros se
+ * ordenan por factura en corridas de {@code registrosPorCorrida} pares, que se
+ * escriben en archivos.</li>
+ * <li>La fusión de las corridas agrupa las apariciones de cada factura: la de
+ * menor línea es la primera y las demás son duplicados, que se escriben como
+ * pares (línea, primera aparición) en corridas ordenadas por línea.</li>
+ * <li>La copia se vuelve a leer junto con la fusión de los duplicados y se
+ * llenan los mapas FUSIONADO y DIVIDENDOS con las mismas llaves, valores y
+ * orden de {@code ClasificaRegistros}, incluidas las facturas del
+ * {@link HistoricoFacturas}, y los totales de conciliación del archivo.</li>
+ * </ol>
+ * <p>
+ * En el heap quedan una corrida y un par por corrida abierta; con más de
+ * {@link #MAXIMO_CORRIDAS_FUSION} corridas se fusionan primero por grupos. Los
+ * archivos temporales se eliminan al terminar el archivo.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class ClasificacionExterna {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    /**
+     * Corridas que se fusionan a la vez.
+     */
+    static final int MAXIMO_CORRIDAS_FUSION = 64;
+
+    private static final int PARES_INICIALES = 4_096;
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private static final int TAMANO_BUFFER_CORRIDA = 16 * 1024;
+
+    private final int registrosPorCorrida;
+
+    private final BinaryOperator<String> textoDuplicado;
+
+    private final ValidadorRegistros validador;
+
+    /**
+     * Constructor de la clasificación sin validación del diseño de registro.
+     *
+     * @param registrosPorCorrida Los pares que se ordenan en memoria antes de
+     *                            escribir una corrida.
+     * @param textoDuplicado      El texto del registro duplicado a partir de la
+     *                            llave de la primera aparición y la línea
+     *                            duplicada.
+     */
+    public ClasificacionExterna(int registrosPorCorrida, BinaryOperator<String> textoDuplicado) {
+        this(registrosPorCorrida, textoDuplicado, ValidadorRegistros.INACTIVO);
+    }
+
+    /**
+     * Constructor de la clasificación.
+     *
+     * @param registrosPorCorrida Los pares que se ordenan en memoria antes de
+     *                            escribir una corrida.
+     * @param textoDuplicado      El texto del registro duplicado a partir de la
+     *                            llave de la primera aparición y la línea
+     *                            duplicada.
+     * @param validador           El validador del diseño de registro.
+     */
+    public ClasificacionExterna(int registrosPorCorrida, BinaryOperator<String> textoDuplicado,
+            ValidadorRegistros validador) {
+        this.registrosPorCorrida = Math.max(1, registrosPorCorrida);
+        this.textoDuplicado = textoDuplicado;
+        this.validador = validador;
+    }
+
+    /**
+     * Clasifica un archivo completo y llena los mapas de registros.
+     *
+     * @param  nombreArchivo El nombre del archivo, sin ruta ni extensión.
+     * @param  descifrado    El contenido descifrado.
+     * @param  typesMaps     Los mapas de registros por archivo de salida.
+     * @param  totales       Los totales de conciliación del archivo.
+     * @return               Los registros del archivo, incluido el encabezado.
+     * @throws AthException  Si ocurre un error al leer la entrada o con los
+     *                       archivos temporales.
+     */
+    public int clasificar(String nombreArchivo, InputStream descifrado, Map<String, Map<String, String>> typesMaps,
+            Conciliacion.Totales totales) {
+        Path directorio = null;
+        try (Tramo tramo = Instrumentacion.tramo("clasificacionExterna", nombreArchivo)) {
+            directorio = Files.createTempDirectory("ordenamiento");
+            Path copia = directorio.resolve("registros.txt");
+            List<Path> corridasFacturas = new ArrayList<>();
+            Cuarentena cuarentena = new Cuarentena(nombreArchivo, typesMaps);
+            int registros = copiar(descifrado, copia, directorio, corridasFacturas, cuarentena);
+            Continuacion.actual().verificarPlazo("ordenamiento");
+            List<Path> corridasDuplicados = new ArrayList<>();
+            int duplicados = separarDuplicados(corridasFacturas, directorio, corridasDuplicados);
+            Continuacion.actual().verificarPlazo("clasificacion");
+            llenarMapas(nombreArchivo, copia, directorio, corridasDuplicados, typesMaps, totales);
+            LOGGER.log(String.format("[INFO] Clasificación externa [%s]: registros=%d corridas=%d duplicados=%d%n",
+                    nombreArchivo, registros, corridasFacturas.size(), duplicados));
+            cuarentena.registrar();
+            return registros;
+        } catch (IOException e) {
+            throw new AthException("[ERROR][18]", "[ERROR] Error en la clasificación externa del archivo ["
+                    + nombreArchivo + "]: " + e.getMessage(), e);
+        } finally {
+            eliminar(directorio);
+        }
+    }
+
+    /**
+     * Copia los registros de la entrada y escribe las corridas ordenadas de
+     * pares (factura, línea) de los registros posteriores al encabezado. Las
+     * líneas que no cumplen el diseño de registro van a la cuarentena.
+     *
+     * @return Los registros copiados, incluido el encabezado.
+     */
+    private int copiar(InputStream descifrado, Path copia, Path directorio, List<Path> corridas,
+            Cuarentena cuarentena) throws IOException {
+        Par[] pares = new Par[Math.min(registrosPorCorrida, PARES_INICIALES)];
+        int pendientes = 0;
+        int linea = 0;
+        long lineasLeidas = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(descifrado));
+                BufferedWriter escritor = Files.newBufferedWriter(copia, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineasLeidas++;
+                line = line.trim();
+                if (validador.omitir(line))
+                    continue;
+                ValidadorRegistros.Motivo motivo = validador.validar(line, linea == 0);
+                if (motivo != null) {
+                    cuarentena.agregar(lineasLeidas, motivo, line);
+                    continue;
+                }
+                escritor.write(line);
+                escritor.write('\n');
+                if (linea > 0) {
+                    if (pendientes == pares.length) {
+                        if (pendientes == registrosPorCorrida) {
+                            corridas.add(escribirCorrida(pares, pendientes, directorio, corridas.size()));
+                            pendientes = 0;
+                        } else {
+                            pares = Arrays.copyOf(pares, (int) Math.min(registrosPorCorrida, 2L * pares.length));
+                        }
+                    }
+                    pares[pendientes++] = new Par(line.substring(1, 13), linea);
+                }
+                linea++;
+            }
+        }
+        if (pendientes > 0) {
+            corridas.add(escribirCorrida(pares, pendientes, directorio, corridas.size()));
+        }
+        return linea;
+    }
+
+    /**
+     * Ordena los pares por factura y los escribe en una corrida. El
+     * ordenamiento es estable, por lo que las apariciones de una factura quedan
+     * en el orden de sus líneas.
+     */
+    private static Path escribirCorrida(Par[] pares, int cantidad, Path directorio, int indice) throws IOException {
+        Arrays.sort(pares, 0, cantidad, Comparator.comparing(par -> par.factura));
+        Path corrida = directorio.resolve(String.format("facturas-0-%05d", indice));
+        try (DataOutputStream salida = crear(corrida)) {
+            salida.writeInt(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                salida.writeUTF(pares[i].factura);
+                salida.writeInt(pares[i].linea);
+            }
+        }
+        return corrida;
+    }
+
+    /**
+     * Fusiona las corridas de facturas y escribe las corridas de duplicados,
+     * ordenadas por línea.
+     *
+     * @return Los registros duplicados del archivo.
+     */
+    private int separarDuplicados(List<Path> corridasFacturas, Path directorio, List<Path> corridasDuplicados)
+            throws IOException {
+        long[] duplicados = new long[Math.min(registrosPorCorrida, PARES_INICIALES)];
+        int pendientes = 0;
+        int total = 0;
+        try (Fusion<CursorFacturas> fusion = new Fusion<>(
+                reducir(corridasFacturas, CursorFacturas::new, directorio, "facturas"), CursorFacturas::new)) {
+            String factura = null;
+            int primera = 0;
+            for (CursorFacturas par = fusion.siguiente(); par != null; par = fusion.siguiente()) {
+                if (!par.factura.equals(factura)) {
+                    factura = par.factura;
+                    primera = par.linea;
+                    continue;
+                }
+                if (pendientes == duplicados.length) {
+                    if (pendientes == registrosPorCorrida) {
+                        corridasDuplicados.add(escribirDuplicados(duplicados, pendientes, directorio,
+                                corridasDuplicados.size()));
+                        pendientes = 0;
+                    } else {
+                        duplicados = Arrays.copyOf(duplicados,
+                                (int) Math.min(registrosPorCorrida, 2L * duplicados.length));
+                    }
+                }
+                duplicados[pendientes++] = ((long) par.linea << 32) | primera;
+                total++;
+            }
+        }
+        if (pendientes > 0) {
+            corridasDuplicados.add(escribirDuplicados(duplicados, pendientes, directorio, corridasDuplicados.size()));
+        }
+        return total;
+    }
+
+    private static Path escribirDuplicados(long[] duplicados, int cantidad, Path directorio, int indice)
+            throws IOException {
+        Arrays.sort(duplicados, 0, cantidad);
+        Path corrida = directorio.resolve(String.format("duplicados-0-%05d", indice));
+        try (DataOutputStream salida = crear(corrida)) {
+            salida.writeInt(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                salida.writeLong(duplicados[i]);
+            }
+        }
+        return corrida;
+    }
+
+    /**
+     * Lee la copia en el orden de sus líneas junto con los duplicados y llena
+     * los mapas como la lectura secuencial.
+     */
+    private void llenarMapas(String nombreArchivo, Path copia, Path directorio, List<Path> corridasDuplicados,
+            Map<String, Map<String, String>> typesMaps, Conciliacion.Totales totales) throws IOException {
+        typesMaps.putIfAbsent(Constantes.ARCHIVO_FUSIONADO, new LinkedHashMap<>());
+        typesMaps.putIfAbsent(Constantes.ARCHIVO_DIVIDENDOS, new LinkedHashMap<>());
+        Map<String, String> fusionado = typesMaps.get(Constantes.ARCHIVO_FUSIONADO);
+        Map<String, String> dividendos = typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS);
+        HistoricoFacturas historico = HistoricoFacturas.actual();
+        try (BufferedReader reader = Files.newBufferedReader(copia, StandardCharsets.UTF_8);
+                Fusion<CursorDuplicados> fusion = new Fusion<>(
+                        reducir(corridasDuplicados, CursorDuplicados::new, directorio, "duplicados"),
+                        CursorDuplicados::new)) {
+            CursorDuplicados duplicado = fusion.siguiente();
+            String line;
+            int linea = 0;
+            while ((line = reader.readLine()) != null) {
+                String llave = nombreArchivo + "_" + linea;
+                if (linea == 0) {
+                    if (fusionado.isEmpty()) {
+                        fusionado.put(llave, line);
+                    }
+                } else if (duplicado != null && duplicado.linea == linea) {
+                    dividendos.put(llave, textoDuplicado.apply(nombreArchivo + "_" + duplicado.primera, line));
+                    totales.sumar(true, Conciliacion.importe(line));
+                    duplicado = fusion.siguiente();
+                } else if (historico.contiene(line.substring(1, 13))) {
+                    dividendos.put(llave, HistoricoFacturas.textoDuplicado(line));
+                    totales.sumar(true, Conciliacion.importe(line));
+                    Instrumentacion.contar(MetricasEjecucion.DUPLICADOS_HISTORICO, 1);
+                } else {
+                    fusionado.put(llave, line);
+                    totales.sumar(false, Conciliacion.importe(line));
+                }
+                linea++;
+            }
+        }
+    }
+
+    /**
+     * Fusiona por grupos de {@link #MAXIMO_CORRIDAS_FUSION} hasta que las
+     * corridas se pueden fusionar a la vez; elimina las corridas fusionadas.
+     *
+     * @return Las corridas que quedan.
+     */
+    private static <C extends Cursor<C>> List<Path> reducir(List<Path> corridas, Function<DataInputStream, C> tipo,
+            Path directorio, String prefijo) throws IOException {
+        List<Path> actuales = corridas;
+        for (int nivel = 1; actuales.size() > MAXIMO_CORRIDAS_FUSION; nivel++) {
+            List<Path> siguientes = new ArrayList<>();
+            for (int inicio = 0; inicio < actuales.size(); inicio += MAXIMO_CORRIDAS_FUSION) {
+                List<Path> grupo = actuales.subList(inicio,
+                        Math.min(actuales.size(), inicio + MAXIMO_CORRIDAS_FUSION));
+                Path destino = directorio.resolve(String.format("%s-%d-%05d", prefijo, nivel, siguientes.size()));
+                try (Fusion<C> fusion = new Fusion<>(grupo, tipo); DataOutputStream salida = crear(destino)) {
+                    salida.writeInt(fusion.cantidad);
+                    for (C cursor = fusion.siguiente(); cursor != null; cursor = fusion.siguiente()) {
+                        cursor.escribir(salida);
+                    }
+                }
+                for (Path corrida : grupo) {
+                    Files.delete(corrida);
+                }
+                siguientes.add(destino);
+            }
+            actuales = siguientes;
+        }
+        return actuales;
+    }
+
+    private static DataOutputStream crear(Path archivo) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo), TAMANO_BUFFER));
+    }
+
+    private static void eliminar(Path directorio) {
+        if (directorio == null) {
+            return;
+        }
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : (Iterable<Path>) rutas.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(ruta);
+            }
+        } catch (IOException e) {
+            LOGGER.log("[WARN] No se pudo eliminar el directorio temporal [" + directorio + "]: " + e.getMessage()
+                    + "\n");
+        }
+    }
+
+    /**
+     * Par (factura, línea) de la corrida en memoria.
+     */
+    private static final class Par {
+
+        private final String factura;
+
+        private final int linea;
+
+        Par(String factura, int linea) {
+            this.factura = factura;
+            this.linea = linea;
+        }
+    }
+
+    /**
+     * Fusión de varias corridas del mismo tipo en el orden de sus cursores.
+     */
+    private static final class Fusion<C extends Cursor<C>> implements Closeable {
+
+        private final PriorityQueue<C> cola = new PriorityQueue<>();
+
+        private final List<C> cursores = new ArrayList<>();
+
+        private int cantidad;
+
+        private C actual;
+
+        Fusion(List<Path> corridas, Function<DataInputStream, C> tipo) throws IOException {
+            try {
+                for (Path corrida : corridas) {
+                    C cursor = tipo.apply(new DataInputStream(
+                            new BufferedInputStream(Files.newInputStream(corrida), TAMANO_BUFFER_CORRIDA)));
+                    cursores.add(cursor);
+                    cantidad += cursor.abrir();
+                    if (cursor.avanzar()) {
+                        cola.add(cursor);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Avanza al siguiente elemento de la fusión; el cursor anterior deja de
+         * ser válido.
+         *
+         * @return El cursor del siguiente elemento, o {@code null} al terminar.
+         */
+        C siguiente() throws IOException {
+            if (actual != null && actual.avanzar()) {
+                cola.add(actual);
+            }
+            actual = cola.poll();
+            return actual;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (C cursor : cursores) {
+                cursor.entrada.close();
+            }
+        }
+    }
+
+    /**
+     * Elemento actual de una corrida, precedida por su cantidad de elementos.
+     */
+    private abstract static class Cursor<C extends Cursor<C>> implements Comparable<C> {
+
+        protected final DataInputStream entrada;
+
+        private int restantes;
+
+        Cursor(DataInputStream entrada) {
+            this.entrada = entrada;
+        }
+
+        int abrir() throws IOException {
+            restantes = entrada.readInt();
+            return restantes;
+        }
+
+        boolean avanzar() throws IOException {
+            if (restantes == 0) {
+                return false;
+            }
+            restantes--;
+            leer();
+            return true;
+        }
+
+        abstract void leer() throws IOException;
+
+        abstract void escribir(DataOutputStream salida) throws IOException;
+    }
+
+    /**
+     * Cursor de una corrida de pares (factura, línea), ordenada por factura y
+     * línea.
+     */
+    private static final class CursorFacturas extends Cursor<CursorFacturas> {
+
+        private String factura;
+
+        private int linea;
+
+        CursorFacturas(DataInputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        void leer() throws IOException {
+            factura = entrada.readUTF();
+            linea = entrada.readInt();
+        }
+
+        @Override
+        void escribir(DataOutputStream salida) throws IOException {
+            salida.writeUTF(factura);
+            salida.writeInt(linea);
+        }
+
+        @Override
+        public int compareTo(CursorFacturas otro) {
+            int orden = factura.compareTo(otro.factura);
+            return orden != 0 ? orden : Integer.compare(linea, otro.linea);
+        }
+    }
+
+    /**
+     * Cursor de una corrida de duplicados (línea, primera aparición), ordenada
+     * por línea.
+     */
+    private static final class CursorDuplicados extends Cursor<CursorDuplicados> {
+
+        private int linea;
+
+        private int primera;
+
+        CursorDuplicados(DataInputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        void leer() throws IOException {
+            long duplicado = entrada.readLong();
+            linea = (int) (duplicado >>> 32);
+            primera = (int) duplicado;
+        }
+
+        @Override
+        void escribir(DataOutputStream salida) throws IOException {
+            salida.writeLong(((long) linea << 32) | primera);
+        }
+
+        @Override
+        public int compareTo(CursorDuplicados otro) {
+            return Integer.compare(linea, otro.linea);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package co.com.aws.lambda.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.metricas.Instrumentacion;
+
+/**
+ * Ejecutor de las operaciones de almacenamiento que pueden hacerse a la vez,
+ * como copiar y eliminar los archivos de entrada o cifrar y cargar cada archivo
+ * de salida. Cada llamada a {@link #todos(List)} es un alcance estructurado:
+ * las tareas se ejecutan en un ejecutor propio de la llamada, la primera falla
+ * cancela las demás y la llamada no retorna hasta que todas terminan.
+ * {@link #encadenar(Collection, Function, Consumer)} es el alcance de las
+ * operaciones con una parte que consume memoria o disco, como cifrar, y otra
+ * que solo espera la red, como cargar: la primera se hace en orden en el hilo
+ * que llama y la segunda de cada elemento a la vez con la primera del
+ * siguiente.
+ * <ul>
+ * <li>{@link Modo#VIRTUAL}: un hilo virtual por tarea; una operación bloqueada
+ * en la red no ocupa un hilo de plataforma. Es el modo por defecto.</li>
+ * <li>{@link Modo#PLATAFORMA}: un pool fijo de hasta
+ * {@link ConfiguracionDto#getHilosIo()} hilos de plataforma.</li>
+ * <li>{@link Modo#SECUENCIAL}: las tareas se ejecutan una tras otra en el hilo
+ * que llama, como antes de este ejecutor.</li>
+ * </ul>
+ * <p>
+ * Los tramos que abren las tareas quedan anidados bajo el tramo del hilo que
+ * llama. Con una sola tarea se ejecuta en el hilo que llama en cualquier modo.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class EjecutorIo {
+
+    /**
+     * Modos de ejecución de las operaciones.
+     */
+    public enum Modo {
+        VIRTUAL, PLATAFORMA, SECUENCIAL
+    }
+
+    private final Modo modo;
+
+    private final int hilos;
+
+    /**
+     * Constructor del ejecutor.
+     *
+     * @param modo  El modo de ejecución.
+     * @param hilos Los hilos del pool en el modo {@link Modo#PLATAFORMA}.
+     */
+    public EjecutorIo(Modo modo, int hilos) {
+        this.modo = modo;
+        this.hilos = Math.max(1, hilos);
+    }
+
+    /**
+     * Crea el ejecutor con el modo y los hilos de la configuración; sin
+     * configuración se usan hilos virtuales.
+     *
+     * @param  configuracion La configuración del proceso, o {@code null}.
+     * @return               El ejecutor.
+     * @throws AthException  Si el modo configurado no se reconoce.
+     */
+    public static EjecutorIo desde(ConfiguracionDto configuracion) {
+        if (configuracion == null || configuracion.getModoIo() == null || configuracion.getModoIo().isBlank()) {
+            return new EjecutorIo(Modo.VIRTUAL, configuracion != null ? configuracion.getHilosIo() : 1);
+        }
+        try {
+            return new EjecutorIo(Modo.valueOf(configuracion.getModoIo().trim().toUpperCase(Locale.ROOT)),
+                    configuracion.getHilosIo());
+        } catch (IllegalArgumentException e) {
+            throw new AthException("[ERROR][14]", "[ERROR] Modo de I/O no reconocido: " + configuracion.getModoIo(),
+                    e);
+        }
+    }
+
+    /**
+     * Ejecuta las tareas y retorna sus resultados en el orden de las tareas.
+     *
+     * @param  <T>          El tipo de los resultados.
+     * @param  tareas       Las tareas a ejecutar.
+     * @return              Los resultados de las tareas.
+     * @throws AthException Si una tarea falla con una excepción verificada o la
+     *                      espera es interrumpida; las excepciones no
+     *                      verificadas de las tareas se relanzan sin cambios.
+     */
+    public <T> List<T> todos(List<? extends Callable<? extends T>> tareas) {
+        List<T> resultados = new ArrayList<>(tareas.size());
+        if (modo == Modo.SECUENCIAL || tareas.size() <= 1) {
+            for (Callable<? extends T> tarea : tareas) {
+                resultados.add(ejecutar(tarea));
+            }
+            return resultados;
+        }
+        ExecutorService ejecutor = modo == Modo.VIRTUAL ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Math.min(hilos, tareas.size()));
+        List<Future<T>> futuros = new ArrayList<>(tareas.size());
+        try {
+            CompletionService<T> terminadas = new ExecutorCompletionService<>(ejecutor);
+            for (Callable<? extends T> tarea : tareas) {
+                futuros.add(terminadas.submit(Instrumentacion.propagar(tarea::call)));
+            }
+            for (int i = 0; i < futuros.size(); i++) {
+                terminadas.take().get();
+            }
+            for (Future<T> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (ExecutionException e) {
+            throw relanzar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AthException("[ERROR][14]", "[ERROR] Operaciones de almacenamiento interrumpidas", e);
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+            ejecutor.shutdownNow();
+            ejecutor.close();
+        }
+    }
+
+    /**
+     * Aplica una acción a cada elemento.
+     *
+     * @param <E>       El tipo de los elementos.
+     * @param elementos Los elementos.
+     * @param accion    La acción a aplicar a cada elemento.
+     * @see             #todos(List)
+     */
+    public <E> void paraCada(Collection<? extends E> elementos, Consumer<? super E> accion) {
+        List<Callable<Void>> tareas = new ArrayList<>(elementos.size());
+        for (E elemento : elementos) {
+            tareas.add(() -> {
+                accion.accept(elemento);
+                return null;
+            });
+        }
+        todos(tareas);
+    }
+
+    /**
+     * Prepara los elementos uno tras otro en el hilo que llama y completa cada
+     * uno mientras se prepara el siguiente. A lo sumo hay una finalización en
+     * curso, por lo que solo coexisten dos elementos preparados; en el modo
+     * {@link Modo#SECUENCIAL} cada elemento se completa antes de preparar el
+     * siguiente. Si una preparación falla, la llamada espera la finalización
+     * en curso antes de relanzar la falla.
+     *
+     * @param  <E>          El tipo de los elementos.
+     * @param  <T>          El tipo de los elementos preparados.
+     * @param  elementos    Los elementos.
+     * @param  preparar     La preparación de cada elemento; retorna
+     *                      {@code null} si no hay nada que completar.
+     * @param  completar    La finalización de cada elemento preparado.
+     * @throws AthException Si la espera es interrumpida; las excepciones no
+     *                      verificadas de las tareas se relanzan sin cambios.
+     */
+    public <E, T> void encadenar(Collection<? extends E> elementos, Function<? super E, ? extends T> preparar,
+            Consumer<? super T> completar) {
+        if (modo == Modo.SECUENCIAL || elementos.size() <= 1) {
+            for (E elemento : elementos) {
+                T preparado = preparar.apply(elemento);
+                if (preparado != null) {
+                    completar.accept(preparado);
+                }
+            }
+            return;
+        }
+        ExecutorService ejecutor = modo == Modo.VIRTUAL ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newSingleThreadExecutor();
+        try {
+            Future<Void> enCurso = null;
+            for (E elemento : elementos) {
+                T preparado = preparar.apply(elemento);
+                esperar(enCurso);
+                enCurso = null;
+                if (preparado != null) {
+                    enCurso = ejecutor.submit(Instrumentacion.propagar(() -> {
+                        completar.accept(preparado);
+                        return null;
+                    }));
+                }
+            }
+            esperar(enCurso);
+        } finally {
+            ejecutor.close();
+        }
+    }
+
+    public Modo getModo() {
+        return modo;
+    }
+
+    private static <T> T ejecutar(Callable<? extends T> tarea) {
+        try {
+            return tarea.call();
+        } catch (Exception e) {
+            throw relanzar(e);
+        }
+    }
+
+    private static void esperar(Future<?> futuro) {
+        if (futuro == null) {
+            return;
+        }
+        try {
+            futuro.get();
+        } catch (ExecutionException e) {
+            throw relanzar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AthException("[ERROR][14]", "[ERROR] Operaciones de almacenamiento interrumpidas", e);
+        }
+    }
+
+    private static RuntimeException relanzar(Throwable causa) {
+        if (causa instanceof RuntimeException) {
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof Error) {
+            throw (Error) causa;
+        }
+        return new AthException("[ERROR][14]", "[ERROR] Error en una operación de almacenamiento: "
+                + causa.getMessage(), causa);
+    }
+}
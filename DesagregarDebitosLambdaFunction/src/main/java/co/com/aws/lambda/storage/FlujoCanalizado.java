@@ -0,0 +1,289 @@
+package co.com.aws.lambda.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+
+/**
+ * {@link InputStream} que lee su origen en un hilo productor, para que la
+ * lectura del origen (por ejemplo el descifrado y la descompresión PGP) y el
+ * procesamiento del hilo que consume (la clasificación) ocurran a la vez.
+ * <p>
+ * El productor llena bloques de {@code tamanoBloque} bytes de un conjunto fijo
+ * y los entrega por una cola acotada; el consumidor devuelve cada bloque al
+ * conjunto cuando termina de leerlo. Cuando todos los bloques están llenos el
+ * productor espera, de modo que el heap ocupado no depende del tamaño del
+ * archivo. Una falla del origen se entrega al consumidor como una
+ * {@link IOException} después de los bytes leídos antes de ella, y
+ * {@link #close()} detiene el productor, cierra el origen y espera a que el hilo
+ * termine. Las esperas de ambos hilos se suman a los contadores
+ * {@link MetricasEjecucion#ESPERA_PRODUCTOR_CANALIZACION} y
+ * {@link MetricasEjecucion#ESPERA_CONSUMIDOR_CANALIZACION} de la invocación.
+ * </p>
+ * <p>
+ * Con un solo procesador no hay nada que solapar y {@link #canalizar} retorna
+ * el origen sin hilo productor.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class FlujoCanalizado extends InputStream {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    /**
+     * Tamaño de cada bloque del conjunto.
+     */
+    public static final int TAMANO_BLOQUE = 64 * 1024;
+
+    /**
+     * Milisegundos que {@link #close()} espera a que el productor termine.
+     */
+    static final long ESPERA_CIERRE_MS = 1_000;
+
+    private static final Bloque FIN = new Bloque(0);
+
+    private final InputStream origen;
+
+    private final String nombre;
+
+    private final BlockingQueue<Bloque> libres;
+
+    private final BlockingQueue<Bloque> llenos;
+
+    private final Thread productor;
+
+    private volatile boolean cerrado;
+
+    private volatile Throwable falla;
+
+    private volatile long esperaProductor;
+
+    private long esperaConsumidor;
+
+    private Bloque actual;
+
+    private int posicion;
+
+    private boolean terminado;
+
+    /**
+     * Constructor del flujo; inicia el hilo productor.
+     *
+     * @param origen       El flujo que lee el productor.
+     * @param bloques      Los bloques del conjunto; al menos uno.
+     * @param tamanoBloque Los bytes de cada bloque.
+     * @param nombre       El nombre del flujo, para el hilo y el log.
+     */
+    public FlujoCanalizado(InputStream origen, int bloques, int tamanoBloque, String nombre) {
+        int cantidad = Math.max(1, bloques);
+        this.origen = origen;
+        this.nombre = nombre;
+        this.libres = new ArrayBlockingQueue<>(cantidad);
+        this.llenos = new ArrayBlockingQueue<>(cantidad + 1);
+        for (int i = 0; i < cantidad; i++) {
+            libres.add(new Bloque(tamanoBloque));
+        }
+        this.productor = Thread.ofPlatform().name("canalizacion-" + nombre).daemon(true).start(this::producir);
+    }
+
+    /**
+     * Canaliza un flujo si hay más de un procesador y bloques configurados.
+     *
+     * @param  origen  El flujo a canalizar.
+     * @param  bloques Los bloques del conjunto; cero o menos no canaliza.
+     * @param  nombre  El nombre del flujo, para el hilo y el log.
+     * @return         Un {@link FlujoCanalizado} sobre el origen, o el mismo
+     *                 origen.
+     */
+    public static InputStream canalizar(InputStream origen, int bloques, String nombre) {
+        if (bloques <= 0 || Runtime.getRuntime().availableProcessors() < 2) {
+            return origen;
+        }
+        return new FlujoCanalizado(origen, bloques, TAMANO_BLOQUE, nombre);
+    }
+
+    private void producir() {
+        try (InputStream entrada = origen) {
+            boolean fin = false;
+            while (!fin && !cerrado) {
+                long inicio = System.nanoTime();
+                Bloque bloque = libres.take();
+                esperaProductor += System.nanoTime() - inicio;
+                fin = llenar(entrada, bloque);
+                if (bloque.longitud > 0) {
+                    llenos.put(bloque);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            falla = e;
+        } finally {
+            llenos.offer(FIN);
+        }
+    }
+
+    /**
+     * Llena un bloque desde el origen. Si el origen falla, la falla queda para
+     * el consumidor y el bloque conserva los bytes leídos antes de ella.
+     *
+     * @return {@code true} si el origen terminó o falló.
+     */
+    private boolean llenar(InputStream entrada, Bloque bloque) {
+        bloque.longitud = 0;
+        try {
+            while (bloque.longitud < bloque.datos.length) {
+                int leidos = entrada.read(bloque.datos, bloque.longitud, bloque.datos.length - bloque.longitud);
+                if (leidos < 0) {
+                    return true;
+                }
+                bloque.longitud += leidos;
+            }
+            return false;
+        } catch (Throwable e) {
+            falla = e;
+            return true;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!siguiente()) {
+            return -1;
+        }
+        int valor = actual.datos[posicion++] & 0xFF;
+        liberar();
+        return valor;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!siguiente()) {
+            return -1;
+        }
+        int cantidad = Math.min(len, actual.longitud - posicion);
+        System.arraycopy(actual.datos, posicion, b, off, cantidad);
+        posicion += cantidad;
+        liberar();
+        return cantidad;
+    }
+
+    @Override
+    public int available() {
+        return actual != null ? actual.longitud - posicion : 0;
+    }
+
+    /**
+     * Detiene el productor y cierra el origen, lo que también interrumpe una
+     * lectura del productor que no responde a la interrupción del hilo, y
+     * espera a que el hilo termine. Los bloques pendientes se descartan.
+     *
+     * @throws IOException Si ocurre un error al cerrar el origen.
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        productor.interrupt();
+        try {
+            origen.close();
+        } finally {
+            esperarProductor();
+        }
+    }
+
+    private void esperarProductor() {
+        try {
+            productor.join(ESPERA_CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (productor.isAlive()) {
+            LOGGER.log(String.format("[WARN] La canalización [%s] no terminó en %d ms%n", nombre, ESPERA_CIERRE_MS));
+        }
+        actual = null;
+        llenos.clear();
+        Instrumentacion.contar(MetricasEjecucion.ESPERA_PRODUCTOR_CANALIZACION, esperaProductor / 1_000_000);
+        Instrumentacion.contar(MetricasEjecucion.ESPERA_CONSUMIDOR_CANALIZACION, esperaConsumidor / 1_000_000);
+    }
+
+    boolean isProductorActivo() {
+        return productor.isAlive();
+    }
+
+    /**
+     * Deja en {@link #actual} un bloque con bytes por leer, esperando al
+     * productor si hace falta.
+     *
+     * @return             {@code false} al final del origen.
+     * @throws IOException Si el flujo está cerrado, el origen falló o el hilo
+     *                     fue interrumpido.
+     */
+    private boolean siguiente() throws IOException {
+        if (cerrado) {
+            throw new IOException("La canalización [" + nombre + "] está cerrada");
+        }
+        if (actual != null) {
+            return true;
+        }
+        if (terminado) {
+            return false;
+        }
+        try {
+            long inicio = System.nanoTime();
+            Bloque bloque = llenos.take();
+            esperaConsumidor += System.nanoTime() - inicio;
+            if (bloque != FIN) {
+                actual = bloque;
+                posicion = 0;
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Lectura de la canalización [" + nombre + "] interrumpida");
+        }
+        terminado = true;
+        Throwable causa = falla;
+        if (causa != null) {
+            throw new IOException("Error al leer el origen de la canalización [" + nombre + "]: " + causa.getMessage(),
+                    causa);
+        }
+        return false;
+    }
+
+    private void liberar() {
+        if (posicion == actual.longitud) {
+            libres.offer(actual);
+            actual = null;
+        }
+    }
+
+    /**
+     * Bloque del conjunto y los bytes que contiene.
+     */
+    private static final class Bloque {
+
+        private final byte[] datos;
+
+        private int longitud;
+
+        private Bloque(int tamano) {
+            this.datos = new byte[tamano];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package co.com.aws.lambda.storage;
+
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.OperacionesS3;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+/**
+ * Interceptor del SDK instalado en el cliente de S3 que registra cada llamada
+ * en el resumen {@link OperacionesS3} de la invocación en curso: operación,
+ * llave, código HTTP, intentos, bytes de la petición y de la respuesta (según
+ * {@code Content-Length}, o el contenido sin firmar en las cargas con
+ * {@code aws-chunked}) y latencia.
+ * <p>
+ * La latencia va desde el inicio de la ejecución en el SDK hasta que se recibe
+ * la respuesta, reintentos incluidos. En {@code GetObject} no incluye la lectura
+ * del contenido, que ocurre después de retornar la respuesta.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class InterceptorS3 implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> INICIO = new ExecutionAttribute<>("InterceptorS3.Inicio");
+
+    private static final ExecutionAttribute<Integer> INTENTOS = new ExecutionAttribute<>("InterceptorS3.Intentos");
+
+    private static final ExecutionAttribute<Integer> ESTADO = new ExecutionAttribute<>("InterceptorS3.Estado");
+
+    private static final ExecutionAttribute<Long> BYTES_ENVIADOS = new ExecutionAttribute<>(
+            "InterceptorS3.BytesEnviados");
+
+    private static final ExecutionAttribute<Long> BYTES_RECIBIDOS = new ExecutionAttribute<>(
+            "InterceptorS3.BytesRecibidos");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(INICIO, System.nanoTime());
+        executionAttributes.putAttribute(INTENTOS, 0);
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(INTENTOS, valor(executionAttributes.getAttribute(INTENTOS)) + 1);
+        SdkHttpRequest peticion = context.httpRequest();
+        executionAttributes.putAttribute(BYTES_ENVIADOS, peticion.firstMatchingHeader("x-amz-decoded-content-length")
+                .map(Long::parseLong).orElseGet(() -> longitud(peticion)));
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(ESTADO, context.httpResponse().statusCode());
+        executionAttributes.putAttribute(BYTES_RECIBIDOS, longitud(context.httpResponse()));
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        registrar(context.request(), valor(executionAttributes.getAttribute(ESTADO)), executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        int estado = context.exception() instanceof SdkServiceException
+                ? ((SdkServiceException) context.exception()).statusCode()
+                : valor(executionAttributes.getAttribute(ESTADO));
+        registrar(context.request(), estado, executionAttributes);
+    }
+
+    private static void registrar(SdkRequest request, int estado, ExecutionAttributes executionAttributes) {
+        Long inicio = executionAttributes.getAttribute(INICIO);
+        String llave = request.getValueForField("Key", String.class)
+                .orElseGet(() -> request.getValueForField("Prefix", String.class).orElse(null));
+        MetricasEjecucion.actual().getOperacionesS3().registrar(
+                executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME), llave, estado,
+                valor(executionAttributes.getAttribute(INTENTOS)),
+                valor(executionAttributes.getAttribute(BYTES_ENVIADOS)),
+                valor(executionAttributes.getAttribute(BYTES_RECIBIDOS)),
+                inicio != null ? System.nanoTime() - inicio : 0);
+    }
+
+    private static long longitud(SdkHttpHeaders headers) {
+        return headers.firstMatchingHeader("Content-Length").map(Long::parseLong).orElse(0L);
+    }
+
+    private static int valor(Integer valor) {
+        return valor != null ? valor : 0;
+    }
+
+    private static long valor(Long valor) {
+        return valor != null ? valor : 0;
+    }
+}
@@ -0,0 +1,342 @@
+package co.com.aws.lambda.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import co.com.ath.aws.exception.AthException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Implementación de {@link ObjectStore} sobre el sistema de archivos local. Cada
+ * bucket corresponde a un directorio bajo la raíz configurada y cada clave a la
+ * ruta relativa de un archivo dentro de ese directorio.
+ * <p>
+ * Las lecturas se realizan con archivos mapeados en memoria, las copias y la
+ * composición de cargas multiparte con {@link FileChannel#transferTo} y las
+ * escrituras sobre un archivo temporal que se mueve atómicamente a su destino,
+ * de forma que un objeto nunca es visible a medio escribir, igual que en S3.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class LocalObjectStore implements ObjectStore {
+
+    /**
+     * Directorio bajo la raíz donde se ubican los temporales de escritura y las
+     * partes de las cargas multiparte. Es un nombre de bucket reservado, que
+     * {@link #resolve} rechaza.
+     */
+    private static final String DIRECTORIO_TEMPORALES = ".uploads";
+
+    private final Path root;
+
+    /**
+     * Constructor que recibe el directorio raíz bajo el cual se ubican los
+     * buckets.
+     *
+     * @param root El directorio raíz del almacenamiento local.
+     */
+    public LocalObjectStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Retorna el directorio raíz del almacenamiento local.
+     *
+     * @return El directorio raíz.
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Resuelve la ruta local de un objeto validando que el bucket sea un
+     * directorio inmediato de la raíz distinto del de temporales y que la
+     * clave no salga del directorio del bucket.
+     *
+     * @param  bucket       El nombre del bucket.
+     * @param  key          La clave del objeto.
+     * @return              La ruta del archivo que representa el objeto.
+     * @throws AthException Si el bucket o la clave no son válidos.
+     */
+    public Path resolve(String bucket, String key) {
+        Path bucketDir = bucketDir(bucket);
+        Path path = bucketDir.resolve(key).normalize();
+        if (!path.startsWith(bucketDir) || path.equals(bucketDir)) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Clave no valida para el bucket [" + bucket + "]: " + key);
+        }
+        return path;
+    }
+
+    /**
+     * Resuelve el directorio de un bucket, que debe quedar directamente bajo la
+     * raíz y no puede ser el directorio de temporales.
+     */
+    private Path bucketDir(String bucket) {
+        Path bucketDir = root.resolve(bucket).normalize();
+        if (!bucketDir.startsWith(root) || !root.equals(bucketDir.getParent())
+                || bucketDir.getFileName().toString().equals(DIRECTORIO_TEMPORALES)) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Bucket no valido: " + bucket);
+        }
+        return bucketDir;
+    }
+
+    @Override
+    public List<S3Object> list(String bucket, String prefix) {
+        Path bucketDir = bucketDir(bucket);
+        if (!Files.isDirectory(bucketDir)) {
+            return Collections.emptyList();
+        }
+        String safePrefix = prefix == null ? "" : prefix;
+        try (Stream<Path> paths = Files.walk(bucketDir)) {
+            return paths.filter(Files::isRegularFile).map(path -> toS3Object(bucketDir, path))
+                    .filter(object -> object.key().startsWith(safePrefix))
+                    .sorted(Comparator.comparing(S3Object::key)).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al listar el bucket local [" + bucket + "]", e);
+        }
+    }
+
+    @Override
+    public InputStream get(String bucket, String key) {
+        Path path = resolve(bucket, key);
+        if (!Files.isRegularFile(path)) {
+            throw NoSuchKeyException.builder().message("The specified key does not exist: " + key).build();
+        }
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return Channels.newInputStream(channel);
+            }
+            try (channel) {
+                return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al leer el archivo local: " + path, e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(String bucket, String key, long inicio, long fin) {
+        Path path = resolve(bucket, key);
+        if (!Files.isRegularFile(path)) {
+            throw NoSuchKeyException.builder().message("The specified key does not exist: " + key).build();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long limite = Math.min(fin + 1, channel.size());
+            ByteBuffer rango = ByteBuffer.allocate((int) Math.max(0, limite - inicio));
+            while (rango.hasRemaining()) {
+                if (channel.read(rango, inicio + rango.position()) < 0) {
+                    break;
+                }
+            }
+            return new ByteBufferInputStream(rango.flip());
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al leer el archivo local: " + path, e);
+        }
+    }
+
+    @Override
+    public void put(String bucket, String key, byte[] content, String contentType) {
+        Path target = resolve(bucket, key);
+        Path temporal = crearTemporal();
+        try {
+            try (FileChannel channel = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            publicar(temporal, target);
+        } catch (IOException e) {
+            eliminarSilencioso(temporal);
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al escribir el archivo local: " + target, e);
+        }
+    }
+
+    @Override
+    public void put(String bucket, String key, InputStream content, long length, String contentType) {
+        Path target = resolve(bucket, key);
+        Path temporal = crearTemporal();
+        try {
+            try (FileChannel channel = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(content);
+                long position = 0;
+                while (position < length) {
+                    long transferred = channel.transferFrom(source, position, length - position);
+                    if (transferred <= 0) {
+                        throw new IOException("El contenido tiene menos de " + length + " bytes");
+                    }
+                    position += transferred;
+                }
+            }
+            publicar(temporal, target);
+        } catch (IOException e) {
+            eliminarSilencioso(temporal);
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al escribir el archivo local: " + target, e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceBucket, String sourceKey, String destinationBucket, String destinationKey) {
+        Path source = resolve(sourceBucket, sourceKey);
+        if (!Files.isRegularFile(source)) {
+            throw NoSuchKeyException.builder().message("The specified key does not exist: " + sourceKey).build();
+        }
+        Path target = resolve(destinationBucket, destinationKey);
+        Path temporal = crearTemporal();
+        try {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                    FileChannel out = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                transferirCompleto(in, out);
+            }
+            publicar(temporal, target);
+        } catch (IOException e) {
+            eliminarSilencioso(temporal);
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al copiar el archivo local: " + source, e);
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        Path path = resolve(bucket, key);
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al eliminar el archivo local: " + path, e);
+        }
+    }
+
+    @Override
+    public MultipartUpload createMultipartUpload(String bucket, String key, String contentType) {
+        Path target = resolve(bucket, key);
+        try {
+            Path directorio = Files
+                    .createDirectories(root.resolve(DIRECTORIO_TEMPORALES).resolve(UUID.randomUUID().toString()));
+            return new LocalMultipartUpload(target, directorio);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al iniciar la carga multiparte: " + target, e);
+        }
+    }
+
+    private S3Object toS3Object(Path bucketDir, Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            String key = bucketDir.relativize(path).toString().replace(File.separatorChar, '/');
+            return S3Object.builder().key(key).size(attributes.size())
+                    .lastModified(attributes.lastModifiedTime().toInstant()).build();
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al leer los atributos de: " + path, e);
+        }
+    }
+
+    private Path crearTemporal() {
+        try {
+            Path directorio = Files.createDirectories(root.resolve(DIRECTORIO_TEMPORALES));
+            return Files.createTempFile(directorio, "obj-", ".tmp");
+        } catch (IOException e) {
+            throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al crear el archivo temporal", e);
+        }
+    }
+
+    private static void publicar(Path temporal, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(temporal, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void transferirCompleto(FileChannel in, FileChannel out) throws IOException {
+        long size = in.size();
+        long position = 0;
+        while (position < size) {
+            position += in.transferTo(position, size - position, out);
+        }
+    }
+
+    private static void eliminarSilencioso(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // El temporal queda huérfano en el directorio de cargas; no afecta el resultado.
+        }
+    }
+
+    /**
+     * Carga multiparte local: cada parte se escribe en un archivo propio y al
+     * completar se concatenan con {@link FileChannel#transferTo} en el destino.
+     */
+    private final class LocalMultipartUpload implements MultipartUpload {
+
+        private final Path target;
+
+        private final Path directorio;
+
+        private final List<Path> parts = new ArrayList<>();
+
+        private LocalMultipartUpload(Path target, Path directorio) {
+            this.target = target;
+            this.directorio = directorio;
+        }
+
+        @Override
+        public void uploadPart(byte[] data, int offset, int length) {
+            Path part = directorio.resolve(String.format("part-%05d", parts.size() + 1));
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                parts.add(part);
+            } catch (IOException e) {
+                throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al escribir la parte: " + part, e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            Path temporal = crearTemporal();
+            try {
+                try (FileChannel out = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                    for (Path part : parts) {
+                        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                            transferirCompleto(in, out);
+                        }
+                    }
+                }
+                publicar(temporal, target);
+            } catch (IOException e) {
+                eliminarSilencioso(temporal);
+                throw new AthException("[ERROR][LOCAL]", "[ERROR] Error al completar la carga: " + target, e);
+            } finally {
+                abort();
+            }
+        }
+
+        @Override
+        public void abort() {
+            parts.forEach(LocalObjectStore::eliminarSilencioso);
+            parts.clear();
+            eliminarSilencioso(directorio);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package co.com.aws.lambda.storage;
+
+/**
+ * Carga multiparte en curso sobre un {@link ObjectStore}. Las partes se
+ * almacenan en el orden en que se envían y el objeto final se publica al
+ * completar la carga.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public interface MultipartUpload {
+
+    /**
+     * Envía la siguiente parte de la carga. El contenido se copia antes de
+     * retornar, por lo que el llamador puede reutilizar el arreglo.
+     *
+     * @param data   El arreglo con el contenido de la parte.
+     * @param offset La posición inicial dentro del arreglo.
+     * @param length La cantidad de bytes de la parte.
+     */
+    void uploadPart(byte[] data, int offset, int length);
+
+    /**
+     * Completa la carga y publica el objeto con las partes enviadas.
+     */
+    void complete();
+
+    /**
+     * Cancela la carga y descarta las partes enviadas.
+     */
+    void abort();
+}
@@ -0,0 +1,113 @@
+package co.com.aws.lambda.storage;
+
+import java.io.InputStream;
+import java.util.List;
+
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Abstracción del almacenamiento de objetos utilizado por la Lambda. Expone las
+ * operaciones que el proceso realiza sobre los buckets (listar, leer, escribir,
+ * copiar, eliminar y cargas multiparte) sin acoplar las clases de negocio a un
+ * cliente concreto.
+ * <p>
+ * La implementación productiva es {@link S3ObjectStore}; {@link LocalObjectStore}
+ * resuelve los buckets como directorios locales y permite ejecutar el proceso
+ * completo sin acceso a AWS, por ejemplo para pruebas de rendimiento o para
+ * reproducir una ejecución.
+ * </p>
+ * <p>
+ * Los errores de objetos inexistentes se reportan con las mismas excepciones del
+ * SDK de S3 para que el manejo de errores de las clases consumidoras no dependa
+ * de la implementación.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public interface ObjectStore {
+
+    /**
+     * Lista los objetos de un bucket cuya clave inicia con el prefijo indicado,
+     * ordenados lexicográficamente por clave.
+     *
+     * @param  bucket El nombre del bucket.
+     * @param  prefix El prefijo de las claves a listar.
+     * @return        Los objetos encontrados con su clave, tamaño y fecha de
+     *                modificación.
+     */
+    List<S3Object> list(String bucket, String prefix);
+
+    /**
+     * Obtiene el contenido de un objeto. El llamador es responsable de cerrar el
+     * flujo retornado.
+     *
+     * @param  bucket El nombre del bucket.
+     * @param  key    La clave del objeto.
+     * @return        Un {@link InputStream} con el contenido del objeto.
+     */
+    InputStream get(String bucket, String key);
+
+    /**
+     * Obtiene un rango de bytes de un objeto, con los límites inclusivos como en
+     * el encabezado {@code Range} de HTTP. El llamador es responsable de cerrar
+     * el flujo retornado.
+     *
+     * @param  bucket El nombre del bucket.
+     * @param  key    La clave del objeto.
+     * @param  inicio La posición del primer byte del rango.
+     * @param  fin    La posición del último byte del rango.
+     * @return        Un {@link InputStream} con los bytes del rango.
+     */
+    InputStream getRange(String bucket, String key, long inicio, long fin);
+
+    /**
+     * Almacena un objeto a partir de un arreglo de bytes.
+     *
+     * @param bucket      El nombre del bucket.
+     * @param key         La clave del objeto.
+     * @param content     El contenido del objeto.
+     * @param contentType El tipo de contenido del objeto.
+     */
+    void put(String bucket, String key, byte[] content, String contentType);
+
+    /**
+     * Almacena un objeto a partir de un flujo de longitud conocida.
+     *
+     * @param bucket      El nombre del bucket.
+     * @param key         La clave del objeto.
+     * @param content     El flujo con el contenido del objeto.
+     * @param length      La cantidad de bytes a leer del flujo.
+     * @param contentType El tipo de contenido del objeto.
+     */
+    void put(String bucket, String key, InputStream content, long length, String contentType);
+
+    /**
+     * Copia un objeto a una nueva ubicación.
+     *
+     * @param sourceBucket      El bucket de origen.
+     * @param sourceKey         La clave del objeto de origen.
+     * @param destinationBucket El bucket de destino.
+     * @param destinationKey    La clave del objeto de destino.
+     */
+    void copy(String sourceBucket, String sourceKey, String destinationBucket, String destinationKey);
+
+    /**
+     * Elimina un objeto. Eliminar un objeto inexistente no genera error.
+     *
+     * @param bucket El nombre del bucket.
+     * @param key    La clave del objeto.
+     */
+    void delete(String bucket, String key);
+
+    /**
+     * Inicia una carga multiparte. El objeto solo es visible cuando se invoca
+     * {@link MultipartUpload#complete()}.
+     *
+     * @param  bucket      El nombre del bucket.
+     * @param  key         La clave del objeto.
+     * @param  contentType El tipo de contenido del objeto.
+     * @return             La carga multiparte iniciada.
+     */
+    MultipartUpload createMultipartUpload(String bucket, String key, String contentType);
+}
@@ -0,0 +1,158 @@
+package co.com.aws.lambda.storage;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Implementación de {@link ObjectStore} sobre un {@link S3Client} del SDK de
+ * AWS. Construye las solicitudes del SDK que antes se armaban directamente en
+ * las clases del proceso.
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class S3ObjectStore implements ObjectStore {
+
+    private final S3Client s3Client;
+
+    /**
+     * Constructor que recibe el cliente de S3 sobre el que se realizan las
+     * operaciones.
+     *
+     * @param s3Client El cliente de S3.
+     */
+    public S3ObjectStore(S3Client s3Client) {
+        this.s3Client = s3Client;
+    }
+
+    /**
+     * Retorna el cliente de S3 subyacente.
+     *
+     * @return El cliente de S3.
+     */
+    public S3Client getS3Client() {
+        return s3Client;
+    }
+
+    @Override
+    public List<S3Object> list(String bucket, String prefix) {
+        List<S3Object> objects = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(prefix)
+                    .continuationToken(continuationToken).build();
+            ListObjectsV2Response response = s3Client.listObjectsV2(request);
+            objects.addAll(response.contents());
+            continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+        return objects;
+    }
+
+    @Override
+    public InputStream get(String bucket, String key) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    @Override
+    public InputStream getRange(String bucket, String key, long inicio, long fin) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key)
+                .range("bytes=" + inicio + "-" + fin).build());
+    }
+
+    @Override
+    public void put(String bucket, String key, byte[] content, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder().bucket(bucket).key(key)
+                .contentLength((long) content.length).contentType(contentType).build();
+        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+    }
+
+    @Override
+    public void put(String bucket, String key, InputStream content, long length, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder().bucket(bucket).key(key).contentLength(length)
+                .contentType(contentType).build();
+        s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(content, length));
+    }
+
+    @Override
+    public void copy(String sourceBucket, String sourceKey, String destinationBucket, String destinationKey) {
+        CopyObjectRequest copyRequest = CopyObjectRequest.builder().sourceBucket(sourceBucket).sourceKey(sourceKey)
+                .destinationBucket(destinationBucket).destinationKey(destinationKey).build();
+        s3Client.copyObject(copyRequest);
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    @Override
+    public MultipartUpload createMultipartUpload(String bucket, String key, String contentType) {
+        String uploadId = s3Client.createMultipartUpload(
+                CreateMultipartUploadRequest.builder().bucket(bucket).key(key).contentType(contentType).build())
+                .uploadId();
+        return new S3MultipartUpload(bucket, key, uploadId);
+    }
+
+    /**
+     * Carga multiparte de S3 que acumula las etiquetas de las partes enviadas
+     * para completarla al final.
+     */
+    private final class S3MultipartUpload implements MultipartUpload {
+
+        private final String bucket;
+
+        private final String key;
+
+        private final String uploadId;
+
+        private final List<CompletedPart> parts = new ArrayList<>();
+
+        private S3MultipartUpload(String bucket, String key, String uploadId) {
+            this.bucket = bucket;
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        @Override
+        public void uploadPart(byte[] data, int offset, int length) {
+            int partNumber = parts.size() + 1;
+            UploadPartRequest request = UploadPartRequest.builder().bucket(bucket).key(key).uploadId(uploadId)
+                    .partNumber(partNumber).contentLength((long) length).build();
+            UploadPartResponse response = s3Client.uploadPart(request,
+                    RequestBody.fromByteBuffer(ByteBuffer.wrap(data, offset, length)));
+            parts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+        }
+
+        @Override
+        public void complete() {
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder().bucket(bucket).key(key)
+                    .uploadId(uploadId).multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        }
+
+        @Override
+        public void abort() {
+            s3Client.abortMultipartUpload(
+                    AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build());
+        }
+    }
+}
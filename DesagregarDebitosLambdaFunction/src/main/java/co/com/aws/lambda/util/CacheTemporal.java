@@ -0,0 +1,87 @@
+package co.com.aws.lambda.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import co.com.aws.lambda.metricas.Instrumentacion;
+
+/**
+ * Caché de un solo valor con tiempo de vida, para los datos que la Lambda
+ * consulta en cada archivo y que no cambian entre invocaciones del mismo
+ * entorno de ejecución (la frase secreta y la llave privada PGP).
+ * <p>
+ * Cada consulta se registra como acierto o fallo en las métricas de la
+ * invocación en curso con el nombre de la caché. Un tiempo de vida de cero
+ * deshabilita la caché: el valor se carga en cada consulta.
+ * </p>
+ *
+ * @param   <T> El tipo del valor en caché.
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class CacheTemporal<T> {
+
+    private final String nombre;
+
+    private final long ttlNanos;
+
+    private final LongSupplier reloj;
+
+    private T valor;
+
+    private long vence;
+
+    /**
+     * Constructor de la caché.
+     *
+     * @param nombre      El nombre de la caché en las métricas.
+     * @param ttlSegundos Los segundos que se conserva el valor.
+     */
+    public CacheTemporal(String nombre, long ttlSegundos) {
+        this(nombre, ttlSegundos, System::nanoTime);
+    }
+
+    /**
+     * Constructor de la caché con un reloj en nanosegundos, para pruebas.
+     *
+     * @param nombre      El nombre de la caché en las métricas.
+     * @param ttlSegundos Los segundos que se conserva el valor.
+     * @param reloj       El reloj en nanosegundos.
+     */
+    CacheTemporal(String nombre, long ttlSegundos, LongSupplier reloj) {
+        this.nombre = nombre;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+        this.reloj = reloj;
+    }
+
+    /**
+     * Retorna el valor en caché si no ha vencido; en caso contrario lo carga y lo
+     * conserva por el tiempo de vida configurado.
+     *
+     * @param  cargar La función que obtiene el valor cuando no está en caché.
+     * @return        El valor.
+     */
+    public synchronized T obtener(Supplier<T> cargar) {
+        long ahora = reloj.getAsLong();
+        boolean acierto = valor != null && vence - ahora > 0;
+        Instrumentacion.registrarCache(nombre, acierto);
+        if (!acierto) {
+            valor = null;
+            T cargado = cargar.get();
+            if (ttlNanos > 0) {
+                valor = cargado;
+                vence = ahora + ttlNanos;
+            }
+            return cargado;
+        }
+        return valor;
+    }
+
+    /**
+     * Descarta el valor en caché.
+     */
+    public synchronized void invalidar() {
+        valor = null;
+    }
+}
@@ -0,0 +1,198 @@
+package co.com.aws.lambda.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Lectura de los campos numéricos de ancho fijo del diseño de registro, como
+ * el número de factura y el importe: valida que el campo tenga solo dígitos
+ * ASCII y lo convierte a {@code long} en la misma pasada.
+ * <p>
+ * Los campos de ocho o más dígitos se procesan de a ocho dígitos por
+ * operación dentro de un {@code long} (SWAR): la validación compara los ocho
+ * bytes con dos máscaras y la conversión combina los dígitos por pares, por
+ * grupos de cuatro y por grupos de ocho con tres multiplicaciones, en lugar de
+ * una comparación y una multiplicación por dígito. Sobre un {@code byte[]} los
+ * ocho bytes se leen con una sola lectura de un {@link VarHandle}; sobre un
+ * texto se empaquetan a partir de sus caracteres. Si quedan menos de ocho
+ * dígitos al final, se vuelven a leer los ocho últimos y se reemplazan por
+ * ceros los ya procesados. Los campos más cortos usan la lectura escalar.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class CampoNumerico {
+
+    /**
+     * Dígitos máximos de un campo; el mayor valor cabe en un {@code long}.
+     */
+    public static final int MAXIMO_DIGITOS = 18;
+
+    private static final VarHandle OCHO_BYTES = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private static final long CEROS = 0x3030303030303030L;
+
+    private static final long NIBBLES_ALTOS = 0xF0F0F0F0F0F0F0F0L;
+
+    private static final long NIBBLES_BAJOS = 0x0F0F0F0F0F0F0F0FL;
+
+    private static final long SEIS = 0x0606060606060606L;
+
+    private static final long[] POTENCIAS = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L };
+
+    private CampoNumerico() {
+    }
+
+    /**
+     * Lee un campo numérico de un arreglo de bytes.
+     *
+     * @param  datos  Los bytes del registro.
+     * @param  inicio La posición del primer dígito.
+     * @param  fin    La posición siguiente al último dígito.
+     * @return        El valor, o {@code -1} si el campo no está completo, tiene
+     *                más de {@link #MAXIMO_DIGITOS} dígitos o no es numérico.
+     */
+    public static long leer(byte[] datos, int inicio, int fin) {
+        if (fin - inicio < Long.BYTES || fin > datos.length || fin - inicio > MAXIMO_DIGITOS) {
+            return leerEscalar(datos, inicio, fin);
+        }
+        long valor = 0;
+        int i = inicio;
+        for (; i + Long.BYTES <= fin; i += Long.BYTES) {
+            long bloque = ocho((long) OCHO_BYTES.get(datos, i));
+            if (bloque < 0) {
+                return -1;
+            }
+            valor = valor * POTENCIAS[Long.BYTES] + bloque;
+        }
+        int resto = fin - i;
+        if (resto == 0) {
+            return valor;
+        }
+        long bloque = ocho(completar((long) OCHO_BYTES.get(datos, fin - Long.BYTES), resto));
+        return bloque < 0 ? -1 : valor * POTENCIAS[resto] + bloque;
+    }
+
+    /**
+     * Lee un campo numérico de un texto.
+     *
+     * @param  texto  El texto del registro.
+     * @param  inicio La posición del primer dígito.
+     * @param  fin    La posición siguiente al último dígito.
+     * @return        El valor, o {@code -1} si el campo no está completo, tiene
+     *                más de {@link #MAXIMO_DIGITOS} dígitos o no es numérico.
+     */
+    public static long leer(CharSequence texto, int inicio, int fin) {
+        if (fin - inicio < Long.BYTES || fin > texto.length() || fin - inicio > MAXIMO_DIGITOS) {
+            return leerEscalar(texto, inicio, fin);
+        }
+        long valor = 0;
+        int i = inicio;
+        for (; i + Long.BYTES <= fin; i += Long.BYTES) {
+            long bloque = ocho(empaquetar(texto, i));
+            if (bloque < 0) {
+                return -1;
+            }
+            valor = valor * POTENCIAS[Long.BYTES] + bloque;
+        }
+        int resto = fin - i;
+        if (resto == 0) {
+            return valor;
+        }
+        long bloque = ocho(completar(empaquetar(texto, fin - Long.BYTES), resto));
+        return bloque < 0 ? -1 : valor * POTENCIAS[resto] + bloque;
+    }
+
+    /**
+     * Lee un campo numérico de un arreglo de bytes dígito por dígito.
+     *
+     * @param  datos  Los bytes del registro.
+     * @param  inicio La posición del primer dígito.
+     * @param  fin    La posición siguiente al último dígito.
+     * @return        El valor, o {@code -1} si el campo no está completo, tiene
+     *                más de {@link #MAXIMO_DIGITOS} dígitos o no es numérico.
+     */
+    public static long leerEscalar(byte[] datos, int inicio, int fin) {
+        if (datos.length < fin || fin - inicio > MAXIMO_DIGITOS) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = inicio; i < fin; i++) {
+            int digito = datos[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Lee un campo numérico de un texto carácter por carácter.
+     *
+     * @param  texto  El texto del registro.
+     * @param  inicio La posición del primer dígito.
+     * @param  fin    La posición siguiente al último dígito.
+     * @return        El valor, o {@code -1} si el campo no está completo, tiene
+     *                más de {@link #MAXIMO_DIGITOS} dígitos o no es numérico.
+     */
+    public static long leerEscalar(CharSequence texto, int inicio, int fin) {
+        if (texto.length() < fin || fin - inicio > MAXIMO_DIGITOS) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = inicio; i < fin; i++) {
+            int digito = texto.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Convierte ocho dígitos ASCII, el primero en el byte menos significativo.
+     *
+     * @param  bloque Los ocho bytes.
+     * @return        El valor de los ocho dígitos, o {@code -1} si algún byte
+     *                no es un dígito.
+     */
+    static long ocho(long bloque) {
+        // Un byte es un dígito si su nibble alto es 3 y sigue siéndolo al sumarle 6.
+        if ((((bloque & NIBBLES_ALTOS) ^ CEROS) | (((bloque + SEIS) & NIBBLES_ALTOS) ^ CEROS)) != 0) {
+            return -1;
+        }
+        long valor = bloque & NIBBLES_BAJOS;
+        valor = (valor * (10 << 8 | 1)) >>> 8;
+        valor = ((valor & 0x00FF00FF00FF00FFL) * (100 << 16 | 1)) >>> 16;
+        return ((valor & 0x0000FFFF0000FFFFL) * (10_000L << 32 | 1)) >>> 32;
+    }
+
+    /**
+     * Reemplaza por ceros ASCII los primeros bytes de un bloque, los que ya se
+     * procesaron, y deja los últimos {@code resto}.
+     */
+    private static long completar(long bloque, int resto) {
+        long procesados = -1L >>> (Long.SIZE - Byte.SIZE * (Long.BYTES - resto));
+        return (bloque & ~procesados) | (CEROS & procesados);
+    }
+
+    /**
+     * Empaqueta ocho caracteres en un bloque, el primero en el byte menos
+     * significativo. Un carácter fuera de Latin-1 deja un byte que no es
+     * dígito.
+     */
+    private static long empaquetar(CharSequence texto, int inicio) {
+        long bloque = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            char caracter = texto.charAt(inicio + i);
+            bloque |= (long) (caracter > 0xFF ? 0xFF : caracter) << (Byte.SIZE * i);
+        }
+        return bloque;
+    }
+}
@@ -54,6 +54,20 @@ public class FileValidation {
     public boolean isValidFile(S3EventNotificationRecord recordFile) {
         String srcBucket = recordFile.getS3().getBucket().getName();
         String srcInFile = recordFile.getS3().getObject().getUrlDecodedKey();
+        return isValidFile(srcBucket, srcInFile);
+    }
+
+    /**
+     * Método que valida si un archivo identificado por su bucket y clave es
+     * válido, con las mismas reglas de {@link #isValidFile(S3EventNotificationRecord)}.
+     * Lo utiliza el ejecutor local, que no recibe eventos de S3.
+     * 
+     * @param  srcBucket El bucket donde se encuentra el archivo.
+     * @param  srcInFile La clave del archivo dentro del bucket.
+     * @return           {@code true} si el archivo es válido, {@code false} de lo
+     *                   contrario.
+     */
+    public boolean isValidFile(String srcBucket, String srcInFile) {
         boolean isBucketValid = srcBucket.equals(nombreBucketArchivos);
         boolean isPathValid = srcInFile.startsWith(ruteEntradaArchivopgp);
         boolean isFileValid = srcInFile.endsWith(".pgp");
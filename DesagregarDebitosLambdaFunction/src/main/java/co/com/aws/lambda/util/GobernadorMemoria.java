@@ -0,0 +1,341 @@
+package co.com.aws.lambda.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Gobernador de memoria: antes de descargar y descifrar los archivos estima,
+ * con el tamaño de los objetos del listado y la memoria de la función, cuánto
+ * heap necesita el proceso y elige la estrategia de clasificación.
+ * <ul>
+ * <li>{@link Estrategia#MEMORIA}: los registros se clasifican en mapas en el
+ * heap; es la ruta más rápida.</li>
+ * <li>{@link Estrategia#DISCO}: los registros, con sus llaves, se escriben
+ * en archivos temporales ({@link MapaEnDisco}) y en el heap solo queda el
+ * índice de facturas del archivo que se clasifica.</li>
+ * <li>{@link Estrategia#EXTERNA}: como en disco, pero los duplicados se
+ * detectan con un ordenamiento externo
+ * ({@link co.com.aws.lambda.ordenamiento.ClasificacionExterna}) en lugar del
+ * índice de facturas; en el heap no queda nada por registro, solo una corrida
+ * de {@link ConfiguracionDto#getRegistrosPorCorrida()} pares y los búferes de
+ * la fusión, por lo que su consumo no depende del tamaño de los
+ * archivos.</li>
+ * </ul>
+ * <p>
+ * Si ninguna estrategia cabe en el heap y en el espacio temporal disponibles el
+ * proceso falla antes de consultar secretos y descargar archivos. La decisión y
+ * sus datos de entrada se registran en el log.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class GobernadorMemoria {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    /**
+     * Tamaño promedio de un registro descifrado, en bytes.
+     */
+    static final long BYTES_POR_REGISTRO = 102;
+
+    /**
+     * Pico de heap por registro del flujo completo en memoria, medido por
+     * {@code PresupuestoMemoriaTest} en el modo de I/O por defecto.
+     */
+    static final long HEAP_POR_REGISTRO_MEMORIA = 1_200;
+
+    /**
+     * Pico de heap por registro del flujo completo en disco, medido por
+     * {@code PresupuestoMemoriaTest}: el índice de facturas y lo asignado
+     * mientras se lee, ya que los mapas en disco no retienen heap por registro.
+     */
+    static final long HEAP_POR_REGISTRO_DISCO = 600;
+
+    /**
+     * Heap de los búferes del ordenamiento externo: la lectura de las corridas
+     * que se fusionan a la vez, la copia del archivo y las corridas que se
+     * escriben, de 64 KB cada uno.
+     */
+    static final long HEAP_BUFFERS_EXTERNA = 8 * 1024L * 1024L;
+
+    /**
+     * Heap de cada par (factura, línea) de la corrida en memoria.
+     */
+    static final long HEAP_POR_PAR = 96;
+
+    /**
+     * Veces el tamaño descifrado que ocupa la estrategia en disco en el
+     * directorio temporal: los mapas de registros, el archivo que se cifra y el
+     * archivo cifrado que se carga mientras tanto.
+     */
+    static final int FACTOR_ESPACIO_TEMPORAL = 3;
+
+    /**
+     * Veces el tamaño descifrado que ocupa el ordenamiento externo en el
+     * directorio temporal: la estrategia en disco y la copia del archivo que se
+     * clasifica con sus corridas.
+     */
+    static final int FACTOR_ESPACIO_TEMPORAL_EXTERNA = 4;
+
+    /**
+     * Fracción del heap libre que se permite usar, como margen para el runtime y
+     * la recolección de basura.
+     */
+    static final double FRACCION_HEAP = 0.75;
+
+    private static final long MB = 1024L * 1024L;
+
+    /**
+     * Estrategias de memoria del proceso.
+     */
+    public enum Estrategia {
+        MEMORIA, DISCO, EXTERNA
+    }
+
+    private final ConfiguracionDto configuracion;
+
+    private final LongSupplier heapMaximo;
+
+    private final LongSupplier heapUsado;
+
+    private final LongSupplier espacioTemporal;
+
+    /**
+     * Constructor del gobernador sobre el heap de la JVM y el directorio temporal
+     * del sistema.
+     *
+     * @param configuracion La configuración con la memoria de la función, la
+     *                      estrategia y el factor de expansión PGP.
+     */
+    public GobernadorMemoria(ConfiguracionDto configuracion) {
+        this(configuracion, () -> Runtime.getRuntime().maxMemory(),
+                () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                GobernadorMemoria::espacioTemporalDisponible);
+    }
+
+    /**
+     * Constructor del gobernador con las mediciones de heap y disco, para
+     * pruebas.
+     *
+     * @param configuracion   La configuración del proceso.
+     * @param heapMaximo      El heap máximo de la JVM en bytes.
+     * @param heapUsado       El heap en uso en bytes.
+     * @param espacioTemporal El espacio libre del directorio temporal en bytes.
+     */
+    GobernadorMemoria(ConfiguracionDto configuracion, LongSupplier heapMaximo, LongSupplier heapUsado,
+            LongSupplier espacioTemporal) {
+        this.configuracion = configuracion;
+        this.heapMaximo = heapMaximo;
+        this.heapUsado = heapUsado;
+        this.espacioTemporal = espacioTemporal;
+    }
+
+    /**
+     * Estima el consumo de los archivos a procesar y elige la estrategia.
+     *
+     * @param  archivosBucket Los archivos de entrada con su tamaño.
+     * @return                La decisión con sus datos de entrada.
+     * @throws AthException   Si los archivos no caben en memoria ni en disco.
+     */
+    public Decision decidir(List<S3Object> archivosBucket) {
+        long bytesEntrada = archivosBucket.stream().mapToLong(archivo -> archivo.size() != null ? archivo.size() : 0)
+                .sum();
+        long bytesDescifrados = (long) (bytesEntrada * configuracion.getFactorExpansionPgp());
+        long registros = bytesDescifrados / BYTES_POR_REGISTRO;
+        long memoriaFuncion = configuracion.getMemoriaMb() > 0 ? configuracion.getMemoriaMb() * MB : Long.MAX_VALUE;
+        long heapLibre = Math.min(heapMaximo.getAsLong(), memoriaFuncion) - heapUsado.getAsLong();
+        long heapDisponible = (long) (Math.max(0, heapLibre) * FRACCION_HEAP);
+        long temporalDisponible = espacioTemporal.getAsLong();
+        long heapMemoria = registros * HEAP_POR_REGISTRO_MEMORIA;
+        long heapDisco = registros * HEAP_POR_REGISTRO_DISCO;
+        long temporalDisco = bytesDescifrados * FACTOR_ESPACIO_TEMPORAL;
+        long heapExterna = HEAP_BUFFERS_EXTERNA
+                + Math.min(registros, Math.max(1, configuracion.getRegistrosPorCorrida())) * HEAP_POR_PAR;
+        long temporalExterna = bytesDescifrados * FACTOR_ESPACIO_TEMPORAL_EXTERNA;
+
+        String configurada = configuracion.getEstrategiaMemoria() != null
+                ? configuracion.getEstrategiaMemoria().trim().toUpperCase(Locale.ROOT)
+                : "AUTO";
+        Estrategia estrategia;
+        boolean forzada = !configurada.isEmpty() && !"AUTO".equals(configurada);
+        if (forzada) {
+            try {
+                estrategia = Estrategia.valueOf(configurada);
+            } catch (IllegalArgumentException e) {
+                throw new AthException("[ERROR][11]", "[ERROR] Estrategia de memoria no reconocida: "
+                        + configuracion.getEstrategiaMemoria(), e);
+            }
+        } else if (heapMemoria <= heapDisponible) {
+            estrategia = Estrategia.MEMORIA;
+        } else if (heapDisco <= heapDisponible && temporalDisco <= temporalDisponible) {
+            estrategia = Estrategia.DISCO;
+        } else if (heapExterna <= heapDisponible && temporalExterna <= temporalDisponible) {
+            estrategia = Estrategia.EXTERNA;
+        } else {
+            estrategia = null;
+        }
+
+        long heapEstimado = estrategia == Estrategia.DISCO ? heapDisco : heapMemoria;
+        long temporalEstimado = temporalDisco;
+        if (estrategia == Estrategia.EXTERNA) {
+            heapEstimado = heapExterna;
+            temporalEstimado = temporalExterna;
+        }
+        Decision decision = new Decision(estrategia, forzada, archivosBucket.size(), bytesEntrada, registros,
+                heapEstimado, heapDisponible, configuracion.getMemoriaMb(), temporalEstimado, temporalDisponible);
+        if (estrategia == null) {
+            throw new AthException("[ERROR][11]", "[ERROR] Los archivos no caben en memoria ni en disco: " + decision);
+        }
+        LOGGER.log("[INFO] Gobernador de memoria: " + decision + "\n");
+        return decision;
+    }
+
+    /**
+     * Cierra los mapas de registros que usan recursos fuera del heap, como los
+     * archivos temporales de {@link MapaEnDisco}.
+     *
+     * @param typesMaps Los mapas de registros por archivo de salida.
+     */
+    public static void liberarMapas(Map<String, Map<String, String>> typesMaps) {
+        typesMaps.values().forEach(mapa -> {
+            if (mapa instanceof Closeable) {
+                try {
+                    ((Closeable) mapa).close();
+                } catch (IOException e) {
+                    LOGGER.log("[WARN] No se pudo liberar el mapa de registros: " + e.getMessage() + "\n");
+                }
+            }
+        });
+    }
+
+    private static long espacioTemporalDisponible() {
+        try {
+            return Files.getFileStore(Paths.get(System.getProperty("java.io.tmpdir"))).getUsableSpace();
+        } catch (IOException e) {
+            LOGGER.log("[WARN] No se pudo consultar el espacio temporal: " + e.getMessage() + "\n");
+            return 0;
+        }
+    }
+
+    /**
+     * Estrategia elegida por el gobernador y los datos con los que se decidió.
+     */
+    public static final class Decision {
+
+        private final Estrategia estrategia;
+
+        private final boolean forzada;
+
+        private final int archivos;
+
+        private final long bytesEntrada;
+
+        private final long registrosEstimados;
+
+        private final long heapEstimado;
+
+        private final long heapDisponible;
+
+        private final int memoriaMb;
+
+        private final long temporalEstimado;
+
+        private final long temporalDisponible;
+
+        Decision(Estrategia estrategia, boolean forzada, int archivos, long bytesEntrada, long registrosEstimados,
+                long heapEstimado, long heapDisponible, int memoriaMb, long temporalEstimado,
+                long temporalDisponible) {
+            this.estrategia = estrategia;
+            this.forzada = forzada;
+            this.archivos = archivos;
+            this.bytesEntrada = bytesEntrada;
+            this.registrosEstimados = registrosEstimados;
+            this.heapEstimado = heapEstimado;
+            this.heapDisponible = heapDisponible;
+            this.memoriaMb = memoriaMb;
+            this.temporalEstimado = temporalEstimado;
+            this.temporalDisponible = temporalDisponible;
+        }
+
+        /**
+         * Crea los mapas de registros según la estrategia: en disco y con
+         * ordenamiento externo se crean los mapas de los archivos de salida como
+         * {@link MapaEnDisco}, que deben liberarse con
+         * {@link GobernadorMemoria#liberarMapas(Map)}; en memoria los crea la
+         * clasificación.
+         *
+         * @return Los mapas de registros por archivo de salida.
+         */
+        public Map<String, Map<String, String>> crearMapas() {
+            Map<String, Map<String, String>> typesMaps = new HashMap<>();
+            if (estrategia == Estrategia.DISCO || estrategia == Estrategia.EXTERNA) {
+                typesMaps.put(Constantes.ARCHIVO_FUSIONADO, new MapaEnDisco(Constantes.ARCHIVO_FUSIONADO));
+                typesMaps.put(Constantes.ARCHIVO_DIVIDENDOS, new MapaEnDisco(Constantes.ARCHIVO_DIVIDENDOS));
+            }
+            return typesMaps;
+        }
+
+        public Estrategia getEstrategia() {
+            return estrategia;
+        }
+
+        public boolean isForzada() {
+            return forzada;
+        }
+
+        public long getBytesEntrada() {
+            return bytesEntrada;
+        }
+
+        public long getRegistrosEstimados() {
+            return registrosEstimados;
+        }
+
+        public long getHeapEstimado() {
+            return heapEstimado;
+        }
+
+        public long getHeapDisponible() {
+            return heapDisponible;
+        }
+
+        public long getTemporalEstimado() {
+            return temporalEstimado;
+        }
+
+        public long getTemporalDisponible() {
+            return temporalDisponible;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "archivos=%d entrada=%.1f MB registros estimados=%d "
+                    + "heap estimado=%.1f MB heap disponible=%.1f MB (memoria %d MB) "
+                    + "temporal estimado=%.1f MB temporal disponible=%.1f MB -> %s%s", archivos, mb(bytesEntrada),
+                    registrosEstimados, mb(heapEstimado), mb(heapDisponible), memoriaMb, mb(temporalEstimado),
+                    mb(temporalDisponible), estrategia != null ? estrategia : "NINGUNA",
+                    forzada ? " (forzada)" : "");
+        }
+
+        private static double mb(long bytes) {
+            return (double) bytes / MB;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package co.com.aws.lambda.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import co.com.ath.aws.exception.AthException;
+
+/**
+ * Mapa de registros que escribe cada llave y su valor al final de un archivo
+ * temporal (en Lambda, {@code /tmp}) y no conserva registros en el heap: solo
+ * la cantidad de entradas y la posición de una de cada
+ * {@value #INTERVALO_MARCAS}, para recorrer el mapa desde una entrada sin leer
+ * las anteriores. Mantiene el orden de inserción, como el
+ * {@link LinkedHashMap} que reemplaza en las estrategias
+ * {@link GobernadorMemoria.Estrategia#DISCO} y
+ * {@link GobernadorMemoria.Estrategia#EXTERNA}.
+ * <p>
+ * Es un mapa de solo agregado: las llaves de los registros no se repiten, por
+ * lo que {@link #put(String, String)} no busca la llave ni reemplaza su valor,
+ * y no se pueden eliminar entradas salvo con {@link #clear()}. Las consultas
+ * por llave ({@link #get}, {@link #containsKey}, {@link #containsValue} y
+ * {@link #remove}) lanzan {@link UnsupportedOperationException} en lugar de
+ * recorrer el archivo: quienes lo usan solo agregan y recorren sus entradas en
+ * orden, y {@link #ultimaLlave()} da la última sin recorrerlo. Los recorridos
+ * vacían primero el búfer de escritura, por lo que conviene recorrer después
+ * de terminar de escribir. No es seguro para uso concurrente.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class MapaEnDisco extends AbstractMap<String, String> implements Closeable {
+
+    /**
+     * Entradas entre dos posiciones conservadas en memoria.
+     */
+    static final int INTERVALO_MARCAS = 4096;
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final Path archivo;
+
+    private final FileChannel canal;
+
+    private final DataOutputStream escritura;
+
+    private long[] marcas = new long[16];
+
+    private int cantidad;
+
+    private long tamano;
+
+    private long ultima;
+
+    /**
+     * Crea el mapa sobre un archivo temporal nuevo.
+     *
+     * @param  nombre       El prefijo del nombre del archivo temporal.
+     * @throws AthException Si no se puede crear el archivo.
+     */
+    public MapaEnDisco(String nombre) {
+        try {
+            this.archivo = Files.createTempFile(nombre, ".registros");
+            this.canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.escritura = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal),
+                    TAMANO_BUFFER));
+        } catch (IOException e) {
+            throw new AthException("[ERROR][11.1]", "[ERROR] Error al crear el archivo temporal de registros: "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Agrega una entrada al final del archivo, sin buscar si la llave ya
+     * existe.
+     *
+     * @param  llave        La llave del registro, que no debe repetirse.
+     * @param  valor        El registro.
+     * @return              Siempre {@code null}.
+     * @throws AthException Si ocurre un error al escribir el archivo temporal.
+     */
+    @Override
+    public String put(String llave, String valor) {
+        if (cantidad % INTERVALO_MARCAS == 0) {
+            int marca = cantidad / INTERVALO_MARCAS;
+            if (marca == marcas.length) {
+                marcas = Arrays.copyOf(marcas, marcas.length * 2);
+            }
+            marcas[marca] = tamano;
+        }
+        ultima = tamano;
+        byte[] bytesLlave = llave.getBytes(StandardCharsets.UTF_8);
+        byte[] bytesValor = valor.getBytes(StandardCharsets.UTF_8);
+        try {
+            escritura.writeInt(bytesLlave.length);
+            escritura.write(bytesLlave);
+            escritura.writeInt(bytesValor.length);
+            escritura.write(bytesValor);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][11.1]", "[ERROR] Error al escribir en " + archivo + ": " + e.getMessage(),
+                    e);
+        }
+        tamano += 2 * Integer.BYTES + bytesLlave.length + bytesValor.length;
+        cantidad++;
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * No soportado: la consulta por llave recorrería todo el archivo.
+     *
+     * @throws UnsupportedOperationException Siempre.
+     */
+    @Override
+    public String get(Object llave) {
+        throw consultaNoSoportada("get");
+    }
+
+    /**
+     * No soportado: la consulta por llave recorrería todo el archivo.
+     *
+     * @throws UnsupportedOperationException Siempre.
+     */
+    @Override
+    public boolean containsKey(Object llave) {
+        throw consultaNoSoportada("containsKey");
+    }
+
+    /**
+     * No soportado: la consulta por valor recorrería todo el archivo.
+     *
+     * @throws UnsupportedOperationException Siempre.
+     */
+    @Override
+    public boolean containsValue(Object valor) {
+        throw consultaNoSoportada("containsValue");
+    }
+
+    /**
+     * No soportado: el archivo es de solo agregado.
+     *
+     * @throws UnsupportedOperationException Siempre.
+     */
+    @Override
+    public String remove(Object llave) {
+        throw consultaNoSoportada("remove");
+    }
+
+    /**
+     * Retorna la llave de la última entrada agregada, leyendo solo esa entrada.
+     *
+     * @return              La última llave, o {@code null} si el mapa está vacío.
+     * @throws AthException Si ocurre un error al leer el archivo temporal.
+     */
+    public String ultimaLlave() {
+        if (cantidad == 0) {
+            return null;
+        }
+        Lector lector = new Lector(cantidad);
+        lector.siguiente = ultima;
+        return new String(lector.leerBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            escritura.flush();
+            canal.truncate(0);
+            canal.position(0);
+        } catch (IOException e) {
+            throw new AthException("[ERROR][11.1]", "[ERROR] Error al vaciar " + archivo + ": " + e.getMessage(), e);
+        }
+        cantidad = 0;
+        tamano = 0;
+        ultima = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return entradas(0);
+            }
+
+            @Override
+            public int size() {
+                return cantidad;
+            }
+        };
+    }
+
+    /**
+     * Recorre las entradas en orden de inserción a partir de una posición,
+     * saltando las anteriores desde la marca más cercana.
+     *
+     * @param  desde        La posición de la primera entrada a recorrer.
+     * @return              Las entradas desde esa posición.
+     * @throws AthException Si ocurre un error al leer el archivo temporal.
+     */
+    public Iterator<Map.Entry<String, String>> entradas(int desde) {
+        Lector lector = new Lector(Math.min(desde, cantidad));
+        int hasta = cantidad;
+        return new Iterator<Map.Entry<String, String>>() {
+
+            private int indice = Math.min(desde, hasta);
+
+            @Override
+            public boolean hasNext() {
+                return indice < hasta;
+            }
+
+            @Override
+            public Map.Entry<String, String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                indice++;
+                String llave = new String(lector.leerBytes(), StandardCharsets.UTF_8);
+                return new AbstractMap.SimpleImmutableEntry<>(llave,
+                        new String(lector.leerBytes(), StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    /**
+     * Escribe los valores en orden de inserción separados por un salto de línea,
+     * sin cargarlos todos en memoria.
+     *
+     * @param  salida       El flujo donde se escriben los valores.
+     * @throws IOException  Si ocurre un error al escribir en la salida.
+     * @throws AthException Si ocurre un error al leer el archivo temporal.
+     */
+    public void escribirValores(OutputStream salida) throws IOException {
+        escribirValores(salida, (llave, valor) -> {
+        });
+    }
+
+    /**
+     * Escribe los valores en orden de inserción separados por un salto de línea
+     * e informa cada valor escrito con su llave, por ejemplo para indexar el
+     * archivo mientras se escribe.
+     *
+     * @param  salida       El flujo donde se escriben los valores.
+     * @param  escrito      Recibe la llave y los bytes de cada valor escrito.
+     * @throws IOException  Si ocurre un error al escribir en la salida.
+     * @throws AthException Si ocurre un error al leer el archivo temporal.
+     */
+    public void escribirValores(OutputStream salida, BiConsumer<String, byte[]> escrito) throws IOException {
+        Lector lector = new Lector(0);
+        for (int i = 0, hasta = cantidad; i < hasta; i++) {
+            if (i > 0) {
+                salida.write('\n');
+            }
+            String llave = new String(lector.leerBytes(), StandardCharsets.UTF_8);
+            byte[] valor = lector.leerBytes();
+            salida.write(valor);
+            escrito.accept(llave, valor);
+        }
+    }
+
+    /**
+     * Retorna el archivo temporal de las entradas.
+     *
+     * @return El archivo temporal.
+     */
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Cierra y elimina el archivo temporal.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            escritura.close();
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    private UnsupportedOperationException consultaNoSoportada(String operacion) {
+        return new UnsupportedOperationException("MapaEnDisco no soporta " + operacion + " sobre " + archivo
+                + "; solo se agregan y recorren entradas");
+    }
+
+    /**
+     * Lectura secuencial de las entradas con lecturas posicionales del canal,
+     * que no mueven la posición de escritura.
+     */
+    private final class Lector {
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER).flip();
+
+        private long siguiente;
+
+        Lector(int desde) {
+            try {
+                escritura.flush();
+            } catch (IOException e) {
+                throw error(e);
+            }
+            if (desde < cantidad) {
+                siguiente = marcas[desde / INTERVALO_MARCAS];
+                for (int i = desde / INTERVALO_MARCAS * INTERVALO_MARCAS; i < desde; i++) {
+                    saltar(leerEntero());
+                    saltar(leerEntero());
+                }
+            }
+        }
+
+        byte[] leerBytes() {
+            byte[] bytes = new byte[leerEntero()];
+            int copiados = Math.min(bytes.length, buffer.remaining());
+            buffer.get(bytes, 0, copiados);
+            ByteBuffer resto = ByteBuffer.wrap(bytes, copiados, bytes.length - copiados);
+            try {
+                while (resto.hasRemaining()) {
+                    siguiente += leer(resto);
+                }
+            } catch (IOException e) {
+                throw error(e);
+            }
+            return bytes;
+        }
+
+        private int leerEntero() {
+            try {
+                if (buffer.remaining() < Integer.BYTES) {
+                    buffer.compact();
+                    while (buffer.position() < Integer.BYTES) {
+                        siguiente += leer(buffer);
+                    }
+                    buffer.flip();
+                }
+                return buffer.getInt();
+            } catch (IOException e) {
+                throw error(e);
+            }
+        }
+
+        private void saltar(int bytes) {
+            int enBuffer = Math.min(bytes, buffer.remaining());
+            buffer.position(buffer.position() + enBuffer);
+            siguiente += bytes - enBuffer;
+        }
+
+        private int leer(ByteBuffer destino) throws IOException {
+            int leidos = canal.read(destino, siguiente);
+            if (leidos < 0) {
+                throw new IOException("Fin de archivo inesperado en la posición " + siguiente);
+            }
+            return leidos;
+        }
+
+        private AthException error(IOException e) {
+            return new AthException("[ERROR][11.1]", "[ERROR] Error al leer de " + archivo + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package co.com.aws.lambda.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -11,14 +10,12 @@ import com.amazonaws.services.lambda.runtime.LambdaRuntime;
 import co.com.ath.aws.exception.AthCodigosError;
 import co.com.ath.aws.exception.AthException;
 import co.com.aws.lambda.constants.Constantes;
-import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.core.sync.RequestBody;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.storage.ObjectStore;
+import co.com.aws.lambda.storage.S3ObjectStore;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
@@ -72,11 +69,23 @@ public class UtilsLambda {
      * @throws AthException     Si ocurre algún error al acceder al archivo en S3.
      */
     public static InputStream obtenerLlavePgpS3(S3Client s3Client, String nombreBucket, String rutaLlavePrivada) {
-        LOGGER.log("[INFO] obtenerLlavePgpS3 [" + nombreBucket + "][" + rutaLlavePrivada + "]");
-        GetObjectRequest getObjectRequest = UtilsLambda.getObjectRequest(nombreBucket, rutaLlavePrivada);
-        try {
-            ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
-            LOGGER.log("Existe, bucket y la llave! \n");
+        return obtenerLlavePgp(new S3ObjectStore(s3Client), nombreBucket, rutaLlavePrivada);
+    }
+
+    /**
+     * Obtiene la clave PGP almacenada en el almacenamiento de objetos.
+     * 
+     * @param  objectStore      El almacenamiento de objetos donde se encuentra la
+     *                          clave.
+     * @param  nombreBucket     El nombre del bucket donde está almacenada la clave
+     *                          PGP.
+     * @param  rutaLlavePrivada La ruta de la clave dentro del bucket.
+     * @return                  Un {@link InputStream} que contiene la clave PGP.
+     * @throws AthException     Si ocurre algún error al acceder al archivo.
+     */
+    public static InputStream obtenerLlavePgp(ObjectStore objectStore, String nombreBucket, String rutaLlavePrivada) {
+        try (Tramo tramo = Instrumentacion.tramo("obtenerLlavePgp", rutaLlavePrivada)) {
+            InputStream s3Object = objectStore.get(nombreBucket, rutaLlavePrivada);
             if (s3Object != null) {
                 return s3Object;
             }
@@ -102,15 +111,55 @@ public class UtilsLambda {
      */
     public static void printFiles(S3Client s3Client, String nombreBucket, String rutaSalida, String nombreArchivo,
             byte[] fileContent, String contentType) {
-        LOGGER.log(String.format("[INFO] 8.printFiles [%s]%s", nombreArchivo, "\n"));
-        try {
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(fileContent);
-            int lengthDescifrado = byteArrayInputStream.available();
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder().bucket(nombreBucket)
-                    .key(rutaSalida + nombreArchivo).contentLength((long) lengthDescifrado).contentType(contentType)
-                    .build();
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(byteArrayInputStream, lengthDescifrado));
-            LOGGER.log("[INFO] Fin subir archivo descifrado a S3\n");
+        printFiles(new S3ObjectStore(s3Client), nombreBucket, rutaSalida, nombreArchivo, fileContent, contentType);
+    }
+
+    /**
+     * Imprime un archivo en el almacenamiento de objetos.
+     * 
+     * @param  objectStore   El almacenamiento de objetos donde se guardará el
+     *                       archivo.
+     * @param  nombreBucket  El nombre del bucket donde se almacenará el archivo.
+     * @param  rutaSalida    La ruta dentro del bucket donde se almacenará el
+     *                       archivo.
+     * @param  nombreArchivo El nombre del archivo a almacenar.
+     * @param  fileContent   El contenido del archivo en forma de un arreglo de
+     *                       bytes.
+     * @param  contentType   El tipo de contenido del archivo.
+     * @throws AthException  Si ocurre un error al intentar almacenar el archivo.
+     */
+    public static void printFiles(ObjectStore objectStore, String nombreBucket, String rutaSalida,
+            String nombreArchivo, byte[] fileContent, String contentType) {
+        try (Tramo tramo = Instrumentacion.tramo("printFiles", nombreArchivo)) {
+            objectStore.put(nombreBucket, rutaSalida + nombreArchivo, fileContent, contentType);
+        } catch (S3Exception e) {
+            throw new AthException("[ERROR][8.1]", "[ERROR] Error al obtener el archivo desde S3: " + e.getMessage(),
+                    e);
+        } catch (Exception e) {
+            throw new AthException("[ERROR][8.2]",
+                    "[ERROR] Error procesando el archivo de texto en la línea: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Imprime un archivo en el almacenamiento de objetos a partir de un flujo de
+     * longitud conocida, sin cargar el contenido en memoria.
+     * 
+     * @param  objectStore   El almacenamiento de objetos donde se guardará el
+     *                       archivo.
+     * @param  nombreBucket  El nombre del bucket donde se almacenará el archivo.
+     * @param  rutaSalida    La ruta dentro del bucket donde se almacenará el
+     *                       archivo.
+     * @param  nombreArchivo El nombre del archivo a almacenar.
+     * @param  contenido     El flujo con el contenido del archivo.
+     * @param  longitud      La cantidad de bytes del contenido.
+     * @param  contentType   El tipo de contenido del archivo.
+     * @throws AthException  Si ocurre un error al intentar almacenar el archivo.
+     */
+    public static void printFiles(ObjectStore objectStore, String nombreBucket, String rutaSalida,
+            String nombreArchivo, InputStream contenido, long longitud, String contentType) {
+        try (Tramo tramo = Instrumentacion.tramo("printFiles", nombreArchivo)) {
+            objectStore.put(nombreBucket, rutaSalida + nombreArchivo, contenido, longitud, contentType);
         } catch (S3Exception e) {
             throw new AthException("[ERROR][8.1]", "[ERROR] Error al obtener el archivo desde S3: " + e.getMessage(),
                     e);
@@ -131,11 +180,38 @@ public class UtilsLambda {
      *                      algún error en la verificación.
      */
     public static List<S3Object> verificarArchivosEnBucket(S3Client s3Client) {
-        ListObjectsV2Request listObjectsV2Request = ListObjectsV2Request.builder()
-                .bucket(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA).prefix(Constantes.RUTA_ENTRADA).build();
-        ListObjectsV2Response listObjectsV2Response = s3Client.listObjectsV2(listObjectsV2Request);
-        // Obtener la lista de objetos en el bucket
-        List<S3Object> s3Objects = listObjectsV2Response.contents();
+        return verificarArchivosEnBucket(new S3ObjectStore(s3Client));
+    }
+
+    /**
+     * Verifica la existencia de archivos en el bucket de entrada del
+     * almacenamiento de objetos, con el prefijo de entrada configurado.
+     * 
+     * @param  objectStore  El almacenamiento de objetos a consultar.
+     * @return              Una lista de objetos que representan los archivos
+     *                      encontrados en el bucket.
+     * @throws AthException Si no se encuentran exactamente 2 archivos o si ocurre
+     *                      algún error en la verificación.
+     */
+    public static List<S3Object> verificarArchivosEnBucket(ObjectStore objectStore) {
+        return verificarArchivosEnBucket(objectStore, Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA,
+                Constantes.RUTA_ENTRADA);
+    }
+
+    /**
+     * Verifica la existencia de archivos en el bucket y ruta de entrada indicados.
+     * 
+     * @param  objectStore   El almacenamiento de objetos a consultar.
+     * @param  nombreBucket  El nombre del bucket de entrada.
+     * @param  rutaEntrada   El prefijo de los archivos de entrada.
+     * @return               Una lista de objetos que representan los archivos
+     *                       encontrados en el bucket.
+     * @throws AthException  Si no se encuentran exactamente 2 archivos o si ocurre
+     *                       algún error en la verificación.
+     */
+    public static List<S3Object> verificarArchivosEnBucket(ObjectStore objectStore, String nombreBucket,
+            String rutaEntrada) {
+        List<S3Object> s3Objects = objectStore.list(nombreBucket, rutaEntrada);
         s3Objects = s3Objects.stream().filter(fileRecords -> !fileRecords.key().endsWith("/"))
                 .collect(Collectors.toList());
         if (s3Objects.size() != 2) {
@@ -0,0 +1,120 @@
+package co.com.aws.lambda.validacion;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+
+/**
+ * Registros en cuarentena de un archivo de entrada: los que no cumplen el
+ * diseño de registro según el {@link ValidadorRegistros}. Se agregan al mapa
+ * {@link Constantes#ARCHIVO_CUARENTENA}, que se crea con el primero y se cifra
+ * y publica como los demás archivos de salida, con la llave del archivo y el
+ * número de su línea física, contando desde 1.
+ * <p>
+ * El mapa queda en el heap aun con la estrategia en disco: se espera que los
+ * registros en cuarentena sean pocos. Al terminar el archivo,
+ * {@link #registrar()} deja en el log la cantidad por motivo.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public class Cuarentena {
+
+    private static final LambdaLogger LOGGER = LambdaRuntime.getLogger();
+
+    private final String nombreArchivo;
+
+    private final Map<String, Map<String, String>> typesMaps;
+
+    private final long[] conteo = new long[ValidadorRegistros.Motivo.values().length];
+
+    /**
+     * Constructor de la cuarentena de un archivo.
+     *
+     * @param nombreArchivo El nombre del archivo, sin ruta ni extensión.
+     * @param typesMaps     Los mapas de registros por archivo de salida.
+     */
+    public Cuarentena(String nombreArchivo, Map<String, Map<String, String>> typesMaps) {
+        this.nombreArchivo = nombreArchivo;
+        this.typesMaps = typesMaps;
+    }
+
+    /**
+     * Envía una línea a cuarentena.
+     *
+     * @param linea    El número de la línea física en el archivo, desde 1.
+     * @param motivo   El motivo por el que no cumple el diseño.
+     * @param registro El contenido de la línea.
+     */
+    public void agregar(long linea, ValidadorRegistros.Motivo motivo, String registro) {
+        typesMaps.computeIfAbsent(Constantes.ARCHIVO_CUARENTENA, nombre -> new LinkedHashMap<>())
+                .put(nombreArchivo + "_" + linea, texto(nombreArchivo, linea, motivo, registro));
+        conteo[motivo.ordinal()]++;
+        Instrumentacion.contar(MetricasEjecucion.REGISTROS_CUARENTENA, 1);
+    }
+
+    /**
+     * Retorna los registros enviados a cuarentena.
+     *
+     * @return La cantidad de registros.
+     */
+    public long getTotal() {
+        long total = 0;
+        for (long cantidad : conteo) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    /**
+     * Retorna los registros enviados a cuarentena por un motivo.
+     *
+     * @param  motivo El motivo.
+     * @return        La cantidad de registros.
+     */
+    public long getCantidad(ValidadorRegistros.Motivo motivo) {
+        return conteo[motivo.ordinal()];
+    }
+
+    /**
+     * Deja en el log la cantidad de registros en cuarentena por motivo, si hubo
+     * alguno.
+     */
+    public void registrar() {
+        if (getTotal() == 0) {
+            return;
+        }
+        List<String> motivos = new ArrayList<>();
+        for (ValidadorRegistros.Motivo motivo : ValidadorRegistros.Motivo.values()) {
+            if (conteo[motivo.ordinal()] > 0) {
+                motivos.add(motivo + "=" + conteo[motivo.ordinal()]);
+            }
+        }
+        LOGGER.log(String.format("[WARN] Archivo [%s]: %d registros en cuarentena (%s)%n", nombreArchivo,
+                getTotal(), String.join(" ", motivos)));
+    }
+
+    /**
+     * Crea el texto del archivo de cuarentena para una línea.
+     *
+     * @param  nombreArchivo El nombre del archivo.
+     * @param  linea         El número de la línea física, desde 1.
+     * @param  motivo        El motivo por el que no cumple el diseño.
+     * @param  registro      El contenido de la línea.
+     * @return               El mensaje del registro en cuarentena.
+     */
+    public static String texto(String nombreArchivo, long linea, ValidadorRegistros.Motivo motivo,
+            String registro) {
+        return String.format("La linea [%d] del archivo [%s] no cumple el diseno de registro [%s]: %s", linea,
+                nombreArchivo, motivo, registro);
+    }
+}
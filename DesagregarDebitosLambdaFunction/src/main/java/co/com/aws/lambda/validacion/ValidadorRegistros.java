@@ -0,0 +1,163 @@
+package co.com.aws.lambda.validacion;
+
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.util.CampoNumerico;
+
+/**
+ * Validación de los registros de un archivo de entrada contra el diseño de
+ * registro, en una sola pasada por los campos de cada línea recortada.
+ * <ul>
+ * <li>El encabezado es el primer registro del archivo y debe tener al menos
+ * {@link #LONGITUD_ENCABEZADO} caracteres.</li>
+ * <li>Un registro de detalle tiene al menos {@link #LONGITUD_DETALLE}
+ * caracteres, el tipo {@link #TIPO_DETALLE} en la posición 0 y los campos
+ * numéricos de {@link Motivo#FACTURA} y {@link Motivo#IMPORTE}.</li>
+ * <li>Las líneas en blanco y los registros de control (el tipo
+ * {@link #TIPO_CONTROL} seguido solo de dígitos, como el total del archivo
+ * fusionado) se omiten.</li>
+ * </ul>
+ * <p>
+ * Los registros que no cumplen el diseño se envían a la {@link Cuarentena} en
+ * lugar de clasificarse. Con el validador {@link #INACTIVO} se conservan las
+ * reglas anteriores a la validación: se omiten las líneas de menos de
+ * {@link #LONGITUD_ENCABEZADO} caracteres y las demás se clasifican.
+ * </p>
+ *
+ * @version 1.0
+ * @since   2026-10-19
+ */
+public final class ValidadorRegistros {
+
+    /**
+     * Longitud mínima del encabezado y de cualquier registro sin validación.
+     */
+    public static final int LONGITUD_ENCABEZADO = 13;
+
+    /**
+     * Longitud mínima de un registro de detalle: hasta el fin del importe.
+     */
+    public static final int LONGITUD_DETALLE = Conciliacion.FIN_IMPORTE;
+
+    /**
+     * Tipo de los registros de detalle.
+     */
+    public static final char TIPO_DETALLE = '2';
+
+    /**
+     * Tipo de los registros de control.
+     */
+    public static final char TIPO_CONTROL = '3';
+
+    /**
+     * Validador que no aplica el diseño de registro.
+     */
+    public static final ValidadorRegistros INACTIVO = new ValidadorRegistros(false);
+
+    /**
+     * Validador con el diseño de registro.
+     */
+    public static final ValidadorRegistros DISENO = new ValidadorRegistros(true);
+
+    /**
+     * Motivos por los que un registro no cumple el diseño. Los campos numéricos
+     * indican sus posiciones en el registro.
+     */
+    public enum Motivo {
+        LONGITUD(0, 0), TIPO(0, 1), FACTURA(1, 13), IMPORTE(Conciliacion.INICIO_IMPORTE, Conciliacion.FIN_IMPORTE);
+
+        private final int inicio;
+
+        private final int fin;
+
+        Motivo(int inicio, int fin) {
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+    }
+
+    private static final Motivo[] CAMPOS_NUMERICOS = { Motivo.FACTURA, Motivo.IMPORTE };
+
+    private final boolean activo;
+
+    private ValidadorRegistros(boolean activo) {
+        this.activo = activo;
+    }
+
+    /**
+     * Retorna el validador que corresponde a la configuración del proceso.
+     *
+     * @param  configuracion La configuración del proceso; puede ser
+     *                       {@code null}.
+     * @return               {@link #DISENO} si la configuración valida los
+     *                       registros; si no, {@link #INACTIVO}.
+     */
+    public static ValidadorRegistros de(ConfiguracionDto configuracion) {
+        return configuracion != null && configuracion.isValidacionRegistros() ? DISENO : INACTIVO;
+    }
+
+    public boolean isActivo() {
+        return activo;
+    }
+
+    /**
+     * Indica si una línea recortada no es un registro y se omite sin
+     * clasificarse ni enviarse a cuarentena.
+     *
+     * @param  linea La línea recortada.
+     * @return       {@code true} si la línea se omite.
+     */
+    public boolean omitir(String linea) {
+        if (!activo) {
+            return linea.length() < LONGITUD_ENCABEZADO;
+        }
+        return linea.isEmpty() || isControl(linea);
+    }
+
+    /**
+     * Valida una línea recortada que no se omite.
+     *
+     * @param  linea      La línea recortada.
+     * @param  encabezado {@code true} si la línea ocuparía el lugar del
+     *                    encabezado del archivo.
+     * @return            El primer motivo por el que la línea no cumple el
+     *                    diseño, o {@code null} si lo cumple o el validador
+     *                    está inactivo.
+     */
+    public Motivo validar(String linea, boolean encabezado) {
+        if (!activo) {
+            return null;
+        }
+        if (encabezado) {
+            return linea.length() < LONGITUD_ENCABEZADO ? Motivo.LONGITUD : null;
+        }
+        if (linea.length() < LONGITUD_DETALLE) {
+            return Motivo.LONGITUD;
+        }
+        if (linea.charAt(0) != TIPO_DETALLE) {
+            return Motivo.TIPO;
+        }
+        for (Motivo campo : CAMPOS_NUMERICOS) {
+            if (CampoNumerico.leer(linea, campo.inicio, campo.fin) < 0) {
+                return campo;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isControl(String linea) {
+        if (linea.charAt(0) != TIPO_CONTROL || linea.length() >= LONGITUD_ENCABEZADO) {
+            return false;
+        }
+        for (int i = 1; i < linea.length(); i++) {
+            if (!isDigito(linea.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigito(char caracter) {
+        return caracter >= '0' && caracter <= '9';
+    }
+}
@@ -0,0 +1,187 @@
+package co.com.aws.lambda.bootstrap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.lambda.runtime.events.models.s3.S3EventNotification;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.handler.BillpayLambdaHandler;
+
+class BootstrapTest {
+
+    private static final String EVENTO = "{\"Records\":[{\"eventVersion\":\"2.1\",\"eventSource\":\"aws:s3\","
+            + "\"awsRegion\":\"us-east-1\",\"eventTime\":\"2026-10-19T05:00:00.000Z\","
+            + "\"eventName\":\"ObjectCreated:Put\",\"userIdentity\":{\"principalId\":\"AWS:EJEMPLO\"},"
+            + "\"requestParameters\":{\"sourceIPAddress\":\"10.0.0.1\"},"
+            + "\"responseElements\":{\"x-amz-request-id\":\"C3D13FE58DE4C810\",\"x-amz-id-2\":\"FMyUVURIY8\"},"
+            + "\"s3\":{\"s3SchemaVersion\":\"1.0\",\"configurationId\":\"entrada\","
+            + "\"bucket\":{\"name\":\"bpa-informe-recaudo\",\"ownerIdentity\":{\"principalId\":\"A3NL1KOZZKExample\"},"
+            + "\"arn\":\"arn:aws:s3:::bpa-informe-recaudo\"},\"object\":{\"key\":\"DividendosAval/5402+ORDINARIO.pgp\","
+            + "\"size\":52000,\"eTag\":\"0123456789abcdef\",\"sequencer\":\"0A1B2C3D4E5F678901\"}}}]}";
+
+    private final BlockingQueue<String[]> pendientes = new LinkedBlockingQueue<>();
+
+    private final List<String[]> publicadas = new CopyOnWriteArrayList<>();
+
+    private final BillpayLambdaHandler handler = mock(BillpayLambdaHandler.class);
+
+    private HttpServer runtimeApi;
+
+    private ClienteApiRuntime cliente;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        runtimeApi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        runtimeApi.createContext("/2018-06-01/runtime/invocation/next", intercambio -> {
+            try {
+                String[] invocacion = pendientes.poll(5, TimeUnit.SECONDS);
+                if (invocacion == null) {
+                    responder(intercambio, 500, "{\"errorMessage\":\"sin invocaciones\"}");
+                    return;
+                }
+                intercambio.getResponseHeaders().add(ClienteApiRuntime.ENCABEZADO_ID_SOLICITUD, invocacion[0]);
+                intercambio.getResponseHeaders().add(ClienteApiRuntime.ENCABEZADO_VENCIMIENTO,
+                        String.valueOf(System.currentTimeMillis() + 60_000));
+                intercambio.getResponseHeaders().add(ClienteApiRuntime.ENCABEZADO_ARN,
+                        "arn:aws:lambda:us-east-1:123456789012:function:DesagregarDebitos");
+                intercambio.getResponseHeaders().add(ClienteApiRuntime.ENCABEZADO_TRAZA, "Root=1-5759e988-bd862e3f");
+                responder(intercambio, 200, invocacion[1]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        runtimeApi.createContext("/2018-06-01/runtime/", intercambio -> {
+            publicadas.add(new String[] { intercambio.getRequestURI().getPath(),
+                    new String(intercambio.getRequestBody().readAllBytes(), StandardCharsets.UTF_8),
+                    intercambio.getRequestHeaders().getFirst(ClienteApiRuntime.ENCABEZADO_TIPO_ERROR) });
+            responder(intercambio, 202, "{\"status\":\"OK\"}");
+        });
+        runtimeApi.start();
+        cliente = new ClienteApiRuntime("127.0.0.1:" + runtimeApi.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        runtimeApi.stop(0);
+        System.clearProperty(Bootstrap.PROPIEDAD_TRAZA);
+    }
+
+    @Test
+    void testProcesarSiguiente_despachaElEventoYPublicaLaRespuesta() {
+        pendientes.add(new String[] { "id-1", EVENTO });
+
+        assertTrue(new Bootstrap(cliente, handler).procesarSiguiente());
+
+        ArgumentCaptor<S3Event> evento = ArgumentCaptor.forClass(S3Event.class);
+        ArgumentCaptor<Context> contexto = ArgumentCaptor.forClass(Context.class);
+        verify(handler).handleRequest(evento.capture(), contexto.capture());
+        S3EventNotification.S3EventNotificationRecord registro = evento.getValue().getRecords().get(0);
+        assertEquals("bpa-informe-recaudo", registro.getS3().getBucket().getName());
+        assertEquals("DividendosAval/5402 ORDINARIO.pgp", registro.getS3().getObject().getUrlDecodedKey());
+        assertEquals(52_000L, registro.getS3().getObject().getSizeAsLong());
+        assertEquals("ObjectCreated:Put", registro.getEventName());
+        assertEquals("id-1", contexto.getValue().getAwsRequestId());
+        assertEquals("arn:aws:lambda:us-east-1:123456789012:function:DesagregarDebitos",
+                contexto.getValue().getInvokedFunctionArn());
+        int restante = contexto.getValue().getRemainingTimeInMillis();
+        assertTrue(restante > 0 && restante <= 60_000, "Tiempo restante: " + restante);
+        assertEquals("Root=1-5759e988-bd862e3f", System.getProperty(Bootstrap.PROPIEDAD_TRAZA));
+        assertEquals(1, publicadas.size());
+        assertEquals("/2018-06-01/runtime/invocation/id-1/response", publicadas.get(0)[0]);
+        assertEquals("null", publicadas.get(0)[1]);
+    }
+
+    @Test
+    void testProcesarSiguiente_reportaElErrorYContinua() {
+        doThrow(new AthException("[ERROR][2]", "[ERROR] Archivo corrupto")).doNothing().when(handler)
+                .handleRequest(any(S3Event.class), any(Context.class));
+        pendientes.add(new String[] { "id-1", EVENTO });
+        pendientes.add(new String[] { "id-2", EVENTO });
+        Bootstrap bootstrap = new Bootstrap(cliente, handler);
+
+        assertFalse(bootstrap.procesarSiguiente());
+        assertTrue(bootstrap.procesarSiguiente());
+
+        verify(handler, times(2)).handleRequest(any(S3Event.class), any(Context.class));
+        assertEquals(2, publicadas.size());
+        assertEquals("/2018-06-01/runtime/invocation/id-1/error", publicadas.get(0)[0]);
+        assertTrue(publicadas.get(0)[1].startsWith("{\"errorMessage\":\"[ERROR] Archivo corrupto\","
+                + "\"errorType\":\"co.com.ath.aws.exception.AthException\",\"stackTrace\":["), publicadas.get(0)[1]);
+        assertEquals("AthException", publicadas.get(0)[2]);
+        assertEquals("/2018-06-01/runtime/invocation/id-2/response", publicadas.get(1)[0]);
+    }
+
+    @Test
+    void testProcesarSiguiente_eventoInvalidoSeReportaComoError() {
+        pendientes.add(new String[] { "id-1", "{\"Records\":" });
+
+        assertFalse(new Bootstrap(cliente, handler).procesarSiguiente());
+
+        verify(handler, times(0)).handleRequest(any(S3Event.class), any(Context.class));
+        assertEquals("/2018-06-01/runtime/invocation/id-1/error", publicadas.get(0)[0]);
+        assertTrue(publicadas.get(0)[1].contains("El evento no es un JSON válido"), publicadas.get(0)[1]);
+    }
+
+    @Test
+    void testEjecutar_terminaSiLaRuntimeApiFalla() {
+        runtimeApi.removeContext("/2018-06-01/runtime/invocation/next");
+        runtimeApi.createContext("/2018-06-01/runtime/invocation/next",
+                intercambio -> responder(intercambio, 500, "{\"errorType\":\"Runtime.Unknown\"}"));
+
+        AthException e = assertThrows(AthException.class, () -> new Bootstrap(cliente, handler).ejecutar());
+
+        assertTrue(e.getMessage().contains("500"), e.getMessage());
+        assertTrue(publicadas.isEmpty());
+    }
+
+    @Test
+    void testReportarErrorInicio() {
+        cliente.reportarErrorInicio(new IllegalStateException("Sin región"));
+
+        assertEquals("/2018-06-01/runtime/init/error", publicadas.get(0)[0]);
+        assertTrue(publicadas.get(0)[1].contains("\"errorType\":\"java.lang.IllegalStateException\""));
+    }
+
+    @Test
+    void testLeerEvento_sinRegistros() {
+        assertTrue(Bootstrap.leerEvento("{}").getRecords().isEmpty());
+        assertNull(Bootstrap.leerEvento("{\"Records\":[{\"s3\":{}}]}").getRecords().get(0).getS3().getBucket()
+                .getName());
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package co.com.aws.lambda.continuacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class AlmacenPuntosControlTest {
+
+    @TempDir
+    Path raiz;
+
+    @TempDir
+    Path temporal;
+
+    private LocalObjectStore objectStore;
+
+    private AlmacenPuntosControl almacen;
+
+    private final List<S3Object> archivos = List.of(S3Object.builder().key("in/5402ORDINARIO.pgp").size(10L).build());
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new LocalObjectStore(raiz);
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        configuracion.setNombreBucketArchivosSalida("salida");
+        configuracion.setRutaPuntosControl("control/");
+        almacen = new AlmacenPuntosControl(objectStore, configuracion, new CifradoPrueba(), temporal);
+    }
+
+    @Test
+    void testCargar_sinPuntoDeControlIniciaUnoNuevo() {
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        PuntoControl puntoControl = almacen.cargar(archivos, typesMaps);
+
+        assertEquals(PuntoControl.huella(archivos), puntoControl.getHuella());
+        assertTrue(puntoControl.getArchivos().isEmpty());
+        assertTrue(typesMaps.isEmpty());
+    }
+
+    @Test
+    void testGuardar_localYPublicadoCifrado() throws IOException {
+        PuntoControl puntoControl = new PuntoControl(PuntoControl.huella(archivos), 0);
+        puntoControl.avance("5402ORDINARIO").registrar(10_001, 10_000, 1_020_102);
+        Map<String, String> fusionado = new LinkedHashMap<>(Map.of("5402ORDINARIO_0", "encabezado"));
+        almacen.guardar(puntoControl, Map.of(Constantes.ARCHIVO_FUSIONADO, fusionado));
+
+        assertEquals(List.of("control/DesagregarDebitos.ckpt", "control/DesagregarDebitos.ckpt.0"),
+                objectStore.list("salida", "control/").stream().map(S3Object::key).collect(Collectors.toList()));
+        assertEquals("control/DesagregarDebitos.ckpt", almacen.llave());
+        for (String nombre : List.of(AlmacenPuntosControl.NOMBRE_ARCHIVO, AlmacenPuntosControl.NOMBRE_ARCHIVO + ".0")) {
+            assertTrue(cifrado(Files.readAllBytes(temporal.resolve(nombre))), nombre);
+            assertTrue(cifrado(objectStore.get("salida", "control/" + nombre).readAllBytes()), nombre);
+        }
+
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        PuntoControl cargado = almacen.cargar(archivos, typesMaps);
+        assertEquals(10_000, cargado.avance("5402ORDINARIO").getRegistros());
+        assertEquals("encabezado", typesMaps.get(Constantes.ARCHIVO_FUSIONADO).get("5402ORDINARIO_0"));
+
+        cargado.avance("5402ORDINARIO").registrar(20_001, 20_000, 2_040_102);
+        typesMaps.get(Constantes.ARCHIVO_FUSIONADO).put("5402ORDINARIO_1", "registro");
+        almacen.guardar(cargado, typesMaps);
+        for (Path local : Files.newDirectoryStream(temporal)) {
+            Files.delete(local);
+        }
+        Map<String, Map<String, String>> publicados = new HashMap<>();
+        assertEquals(20_000, almacen.cargar(archivos, publicados).avance("5402ORDINARIO").getRegistros(),
+                "Un entorno nuevo continúa desde la copia publicada");
+        assertEquals(List.of("5402ORDINARIO_0", "5402ORDINARIO_1"),
+                List.copyOf(publicados.get(Constantes.ARCHIVO_FUSIONADO).keySet()));
+
+        almacen.eliminar();
+        assertTrue(objectStore.list("salida", "control/").isEmpty());
+        assertFalse(Files.exists(temporal.resolve(AlmacenPuntosControl.NOMBRE_ARCHIVO)));
+    }
+
+    @Test
+    void testCargar_segmentoFaltanteIniciaUnoNuevo() {
+        PuntoControl puntoControl = new PuntoControl(PuntoControl.huella(archivos), 0);
+        almacen.guardar(puntoControl, Map.of(Constantes.ARCHIVO_FUSIONADO, Map.of("5402ORDINARIO_0", "encabezado")));
+        objectStore.delete("salida", "control/DesagregarDebitos.ckpt.0");
+        temporal.resolve(AlmacenPuntosControl.NOMBRE_ARCHIVO + ".0").toFile().delete();
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+
+        assertEquals(0, almacen.cargar(archivos, typesMaps).getSegmentos());
+        assertTrue(typesMaps.values().stream().allMatch(Map::isEmpty));
+    }
+
+    @Test
+    void testCargar_puntoDeControlDeOtrosArchivos() {
+        almacen.guardar(new PuntoControl("otra huella", 0),
+                Map.of(Constantes.ARCHIVO_FUSIONADO, Map.of("5402ORDINARIO_0", "encabezado")));
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+
+        PuntoControl puntoControl = almacen.cargar(archivos, typesMaps);
+
+        assertEquals(PuntoControl.huella(archivos), puntoControl.getHuella());
+        assertTrue(typesMaps.isEmpty());
+    }
+
+    private static boolean cifrado(byte[] contenido) {
+        return new String(contenido, 0, CifradoPrueba.MARCA.length(), StandardCharsets.ISO_8859_1)
+                .equals(CifradoPrueba.MARCA);
+    }
+
+    /**
+     * Cifrado de prueba: antepone una marca e invierte los bits del contenido.
+     */
+    private static class CifradoPrueba implements CifradoPuntosControl {
+
+        static final String MARCA = "PGP";
+
+        @Override
+        public InputStream cifrar(InputStream contenido, long longitud) throws IOException {
+            byte[] bytes = contenido.readAllBytes();
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) ~bytes[i];
+            }
+            return new SequenceInputStream(new ByteArrayInputStream(MARCA.getBytes(StandardCharsets.ISO_8859_1)),
+                    new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public InputStream descifrar(InputStream cifrado) throws IOException {
+            byte[] bytes = cifrado.readAllBytes();
+            if (!AlmacenPuntosControlTest.cifrado(bytes)) {
+                throw new IOException("Contenido sin cifrar");
+            }
+            byte[] contenido = new byte[bytes.length - MARCA.length()];
+            for (int i = 0; i < contenido.length; i++) {
+                contenido[i] = (byte) ~bytes[MARCA.length() + i];
+            }
+            return new ByteArrayInputStream(contenido);
+        }
+    }
+}
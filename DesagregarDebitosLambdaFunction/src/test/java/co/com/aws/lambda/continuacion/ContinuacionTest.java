@@ -0,0 +1,76 @@
+package co.com.aws.lambda.continuacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.Context;
+
+class ContinuacionTest {
+
+    private final AtomicLong restante = new AtomicLong(30_000);
+
+    @AfterEach
+    void tearDown() {
+        Continuacion.terminar();
+    }
+
+    @Test
+    void testVerificarPlazo_seAgotaAlLlegarAlMargen() {
+        Continuacion continuacion = Continuacion.iniciar(new Plazo(restante::get, 10_000),
+                new PuntoControl("huella", 0));
+        continuacion.verificarPlazo("clasificacion");
+        restante.set(10_001);
+        continuacion.verificarPlazo("clasificacion");
+        restante.set(10_000);
+
+        PlazoAgotadoException e = assertThrows(PlazoAgotadoException.class,
+                () -> continuacion.verificarPlazo("clasificacion"));
+        assertTrue(e.getMessage().contains("[clasificacion] con 10000 ms restantes"), e.getMessage());
+    }
+
+    @Test
+    void testPlazoDesde_contextoDeLambda() {
+        Context context = mock(Context.class);
+        when(context.getRemainingTimeInMillis()).thenReturn(5_000);
+
+        assertTrue(Plazo.desde(context, 10_000).agotado());
+        assertFalse(Plazo.desde(context, 1_000).agotado());
+        assertSame(Plazo.SIN_LIMITE, Plazo.desde(null, 10_000));
+        assertFalse(Plazo.SIN_LIMITE.agotado());
+    }
+
+    @Test
+    void testAvance_compartidoEnElPuntoDeControl() {
+        PuntoControl puntoControl = new PuntoControl("huella", 0);
+        Continuacion continuacion = Continuacion.iniciar(Plazo.SIN_LIMITE, puntoControl);
+        continuacion.avance("5402ORDINARIO").registrar(10, 9, 1_020);
+        continuacion.registrarCarga("DIVIDENDOS.txt");
+
+        assertSame(continuacion, Continuacion.actual());
+        assertEquals(9, Continuacion.actual().avance("5402ORDINARIO").getRegistros());
+        assertTrue(Continuacion.actual().isCargaCompletada("DIVIDENDOS.txt"));
+    }
+
+    @Test
+    void testInactiva_sinPlazoNiAvance() {
+        Continuacion continuacion = Continuacion.actual();
+        continuacion.avance("5402ORDINARIO").terminar(10, 9, 1_020);
+        continuacion.registrarCarga("DIVIDENDOS.txt");
+
+        assertNotSame(continuacion.avance("5402ORDINARIO"), continuacion.avance("5402ORDINARIO"));
+        assertFalse(continuacion.avance("5402ORDINARIO").isTerminado());
+        assertFalse(continuacion.isCargaCompletada("DIVIDENDOS.txt"));
+        continuacion.verificarPlazo("encriptar");
+    }
+}
@@ -0,0 +1,146 @@
+package co.com.aws.lambda.continuacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.util.MapaEnDisco;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class PuntoControlTest {
+
+    @Test
+    void testEscribirLeer_restauraAvanceYCargas() throws IOException {
+        PuntoControl puntoControl = new PuntoControl("huella", 1_792_368_000_000L);
+        puntoControl.avance("0177PREFERENCIAL").terminar(3, 3, 306);
+        AvanceArchivo enCurso = puntoControl.avance("5402ORDINARIO");
+        enCurso.registrar(20_001, 20_000, 2_040_102);
+        enCurso.getIndiceFacturas().put("000000000001", "5402ORDINARIO_1");
+        enCurso.getTotales().sumar(false, 1_000);
+        enCurso.getTotales().sumar(true, 250);
+        enCurso.getTotales().sumar(true, -1);
+        puntoControl.registrarCarga("DIVIDENDOS.txt");
+
+        PuntoControl leido = PuntoControl.leer(leer(escribir(puntoControl::escribir)), "huella");
+
+        assertEquals(1_792_368_000_000L, leido.getHoraInicio());
+        assertEquals(List.of("0177PREFERENCIAL", "5402ORDINARIO"), List.copyOf(leido.getArchivos().keySet()));
+        assertTrue(leido.avance("0177PREFERENCIAL").isTerminado());
+        AvanceArchivo restaurado = leido.avance("5402ORDINARIO");
+        assertEquals("lineas=20001 registros=20000 bytes=2040102 terminado=false", restaurado.toString());
+        assertEquals(Map.of("000000000001", "5402ORDINARIO_1"), restaurado.getIndiceFacturas());
+        assertEquals("unicos=1 importe=1000 duplicados=2 importe=250 sinImporte=1",
+                restaurado.getTotales().toString());
+        assertEquals(Set.of("DIVIDENDOS.txt"), leido.getCargasCompletadas());
+        assertEquals(0, leido.getSegmentos());
+    }
+
+    @Test
+    void testEscribirSegmento_soloLosRegistrosNuevos() throws IOException {
+        PuntoControl puntoControl = new PuntoControl("huella", 0);
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        Map<String, String> fusionado = new LinkedHashMap<>();
+        fusionado.put("0177PREFERENCIAL_0", "encabezado");
+        fusionado.put("5402ORDINARIO_1", "registro ñ");
+        typesMaps.put(Constantes.ARCHIVO_FUSIONADO, fusionado);
+        Map<String, String> dividendos = new LinkedHashMap<>(Map.of("5402ORDINARIO_2", "duplicado"));
+        typesMaps.put(Constantes.ARCHIVO_DIVIDENDOS, dividendos);
+        byte[] primero = escribir(salida -> puntoControl.escribirSegmento(salida, typesMaps));
+        fusionado.put("5402ORDINARIO_3", "otro");
+        fusionado.put("total", "3000003");
+        byte[] segundo = escribir(salida -> puntoControl.escribirSegmento(salida, typesMaps));
+
+        PuntoControl leido = PuntoControl.leer(leer(escribir(puntoControl::escribir)), "huella");
+        assertEquals(2, leido.getSegmentos());
+        assertEquals(Map.of(Constantes.ARCHIVO_FUSIONADO, 3, Constantes.ARCHIVO_DIVIDENDOS, 1),
+                leido.getPublicados());
+
+        Map<String, Map<String, String>> soloSegundo = new HashMap<>();
+        leido.leerSegmento(leer(segundo), soloSegundo);
+        assertEquals(Map.of("5402ORDINARIO_3", "otro"), soloSegundo.get(Constantes.ARCHIVO_FUSIONADO),
+                "El segundo segmento no repite registros y el total se recalcula al continuar");
+        assertTrue(soloSegundo.get(Constantes.ARCHIVO_DIVIDENDOS).isEmpty());
+
+        Map<String, Map<String, String>> restaurados = new HashMap<>();
+        leido.leerSegmento(leer(primero), restaurados);
+        leido.leerSegmento(leer(segundo), restaurados);
+        assertEquals(List.of("0177PREFERENCIAL_0", "5402ORDINARIO_1", "5402ORDINARIO_3"),
+                List.copyOf(restaurados.get(Constantes.ARCHIVO_FUSIONADO).keySet()));
+        assertEquals("registro ñ", restaurados.get(Constantes.ARCHIVO_FUSIONADO).get("5402ORDINARIO_1"));
+        assertEquals(dividendos, restaurados.get(Constantes.ARCHIVO_DIVIDENDOS));
+        assertThrows(IOException.class, () -> new PuntoControl("otra", 0).leerSegmento(leer(primero), restaurados));
+    }
+
+    @Test
+    void testEscribirSegmento_mapaEnDiscoExcluyeElTotal() throws IOException {
+        PuntoControl puntoControl = new PuntoControl("huella", 0);
+        try (MapaEnDisco fusionado = new MapaEnDisco("fusionado")) {
+            fusionado.put("0177PREFERENCIAL_0", "encabezado");
+            fusionado.put("5402ORDINARIO_1", "registro");
+            fusionado.put("total", "3000003");
+            Map<String, Map<String, String>> typesMaps = new HashMap<>();
+            typesMaps.put(Constantes.ARCHIVO_FUSIONADO, fusionado);
+            byte[] segmento = escribir(salida -> puntoControl.escribirSegmento(salida, typesMaps));
+
+            PuntoControl leido = PuntoControl.leer(leer(escribir(puntoControl::escribir)), "huella");
+            assertEquals(Map.of(Constantes.ARCHIVO_FUSIONADO, 2), leido.getPublicados());
+            Map<String, Map<String, String>> restaurados = new HashMap<>();
+            leido.leerSegmento(leer(segmento), restaurados);
+            assertEquals(List.of("0177PREFERENCIAL_0", "5402ORDINARIO_1"),
+                    List.copyOf(restaurados.get(Constantes.ARCHIVO_FUSIONADO).keySet()));
+        }
+    }
+
+    @Test
+    void testLeer_otraHuella() throws IOException {
+        PuntoControl puntoControl = new PuntoControl("huella", 0);
+
+        assertNull(PuntoControl.leer(leer(escribir(puntoControl::escribir)), "otra"));
+    }
+
+    @Test
+    void testHuella_claveTamanoYFecha() {
+        Instant fecha = Instant.parse("2026-10-19T10:15:30Z");
+        List<S3Object> archivos = List.of(
+                S3Object.builder().key("in/0177PREFERENCIAL.pgp").size(10L).lastModified(fecha).build(),
+                S3Object.builder().key("in/5402ORDINARIO.pgp").size(20L).lastModified(fecha).build());
+
+        assertEquals("in/0177PREFERENCIAL.pgp|10|2026-10-19T10:15:30Z;in/5402ORDINARIO.pgp|20|2026-10-19T10:15:30Z",
+                PuntoControl.huella(archivos));
+        assertFalse(PuntoControl.huella(archivos).equals(PuntoControl.huella(List.of(archivos.get(0)))));
+    }
+
+    private static byte[] escribir(Escritura escritura) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            escritura.escribir(salida);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream leer(byte[] contenido) {
+        return new DataInputStream(new ByteArrayInputStream(contenido));
+    }
+
+    private interface Escritura {
+
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+}
@@ -77,8 +77,10 @@ class AuditoriaDividendosDaoTest {
 						.thenReturn(connectionMock);
 				when(connectionMock.prepareStatement(anyString())).thenReturn(preparedStatementMock);
 				when(preparedStatementMock.executeUpdate()).thenReturn(1);
+				auditoriaDividendosDto.setDetalleEjecucion("{\"S3\":{}}");
 				boolean resultado = auditoriaDividendosDao.registrarAuditoria(auditoriaDividendosDto);
 				assertTrue(resultado);
+				verify(preparedStatementMock).setString(10, "{\"S3\":{}}");
 				verify(preparedStatementMock, times(1)).executeUpdate();
 			}
 		}
@@ -0,0 +1,51 @@
+package co.com.aws.lambda.fragmentacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+class AreaTrabajoTest {
+
+    @Test
+    void testEscribirYLeerRango() throws IOException {
+        try (AreaTrabajo areaTrabajo = AreaTrabajo.temporal()) {
+            try (AreaTrabajo.Escritor escritor = areaTrabajo.crear("entradas/000")) {
+                escritor.getSalida().write("linea uno\nlinea dos\nlinea tres\n".getBytes(StandardCharsets.UTF_8));
+                escritor.publicar();
+            }
+            try (InputStream rango = areaTrabajo.leerRango("entradas/000", 10, 20)) {
+                assertEquals("linea dos\n", new String(rango.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            try (InputStream rango = areaTrabajo.leerRango("entradas/000", 20, 200)) {
+                assertEquals("linea tres\n", new String(rango.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void testTexto_longitudYUtf8() throws IOException {
+        AreaTrabajo areaTrabajo = AreaTrabajo.temporal();
+        try (AreaTrabajo.Escritor escritor = areaTrabajo.crear("segmento")) {
+            AreaTrabajo.escribirTexto(escritor.getSalida(), "registro ñ");
+            escritor.publicar();
+        }
+        try (DataInputStream entrada = areaTrabajo.leer("segmento")) {
+            assertEquals("registro ñ", AreaTrabajo.leerTexto(entrada));
+        }
+        try (AreaTrabajo.Escritor escritor = areaTrabajo.crear("sin publicar")) {
+            escritor.getSalida().writeLong(TrabajadorFragmentos.FIN);
+        }
+        areaTrabajo.close();
+
+        assertThrows(NoSuchKeyException.class, () -> areaTrabajo.leer("segmento"),
+                "El área temporal se elimina al cerrar");
+    }
+}
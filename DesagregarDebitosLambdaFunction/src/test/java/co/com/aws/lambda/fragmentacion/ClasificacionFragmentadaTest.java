@@ -0,0 +1,207 @@
+package co.com.aws.lambda.fragmentacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.handler.ClasificaRegistros;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
+
+class ClasificacionFragmentadaTest {
+
+    @TempDir
+    Path root;
+
+    private final ClasificaRegistros clasificaRegistros = new ClasificaRegistros();
+
+    @Test
+    void testClasificar_mismoResultadoQueLaLecturaSecuencial() {
+        Random random = new Random(20261019L);
+        String preferencial = contenido(random, 3_000, 2_000);
+        String ordinario = contenido(random, 4_500, 3_000);
+        Map<String, Map<String, String>> esperados = new HashMap<>();
+        int registrosPreferencial = clasificaRegistros.processFiles("in/0177PREFERENCIAL.pgp",
+                flujo(preferencial), esperados);
+        int registrosOrdinario = clasificaRegistros.processFiles("in/5402ORDINARIO.pgp", flujo(ordinario),
+                esperados);
+
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        Map<String, Integer> totales;
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(areaTrabajo(), 4, 512,
+                clasificaRegistros::createOutText)) {
+            clasificacion.agregarArchivo("0177PREFERENCIAL", flujo(preferencial));
+            clasificacion.agregarArchivo("5402ORDINARIO", flujo(ordinario));
+            totales = clasificacion.clasificar(typesMaps);
+        }
+
+        assertEquals(Map.of("0177PREFERENCIAL", registrosPreferencial, "5402ORDINARIO", registrosOrdinario),
+                totales);
+        assertEquals(new ArrayList<>(esperados.get(Constantes.ARCHIVO_FUSIONADO).entrySet()),
+                new ArrayList<>(typesMaps.get(Constantes.ARCHIVO_FUSIONADO).entrySet()),
+                "Mismo orden, llaves y registros que la lectura secuencial");
+        assertEquals(new ArrayList<>(esperados.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()),
+                new ArrayList<>(typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()));
+        assertFalse(typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).isEmpty());
+        assertTrue(new LocalObjectStore(root).list("trabajo", "").isEmpty(), "El área de trabajo se limpia al cerrar");
+    }
+
+    @Test
+    void testClasificar_sinIndiceCompartidoMismoResultado() {
+        Random random = new Random(49L);
+        String preferencial = contenido(random, 2_000, 1_000);
+        String ordinario = contenido(random, 2_500, 1_500);
+        Map<String, Map<String, String>> conIndice = new HashMap<>();
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(areaTrabajo(), 4, 512,
+                clasificaRegistros::createOutText)) {
+            clasificacion.agregarArchivo("0177PREFERENCIAL", flujo(preferencial));
+            clasificacion.agregarArchivo("5402ORDINARIO", flujo(ordinario));
+            clasificacion.clasificar(conIndice);
+        }
+
+        Map<String, Map<String, String>> sinIndice = new HashMap<>();
+        AreaTrabajo areaTrabajo = areaTrabajo();
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(areaTrabajo,
+                new InvocadorEnProceso(new TrabajadorFragmentos(areaTrabajo), 4), 4, 512,
+                clasificaRegistros::createOutText)) {
+            clasificacion.agregarArchivo("0177PREFERENCIAL", flujo(preferencial));
+            clasificacion.agregarArchivo("5402ORDINARIO", flujo(ordinario));
+            clasificacion.clasificar(sinIndice);
+        }
+
+        for (String archivo : List.of(Constantes.ARCHIVO_FUSIONADO, Constantes.ARCHIVO_DIVIDENDOS)) {
+            assertEquals(new ArrayList<>(sinIndice.get(archivo).entrySet()),
+                    new ArrayList<>(conIndice.get(archivo).entrySet()), archivo);
+        }
+    }
+
+    @Test
+    void testClasificar_archivosPequenosYSinRegistros() {
+        String encabezado = "1000000000000 ENCABEZADO";
+        String factura = "2000000000001" + " ".repeat(76) + "000000001000";
+        Map<String, Map<String, String>> esperados = new HashMap<>();
+        clasificaRegistros.processFiles("0177PREFERENCIAL", flujo("corta\n"), esperados);
+        clasificaRegistros.processFiles("5402ORDINARIO", flujo(String.join("\n", encabezado, factura, factura)),
+                esperados);
+
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(areaTrabajo(), 3, 512,
+                clasificaRegistros::createOutText)) {
+            clasificacion.agregarArchivo("0177PREFERENCIAL", flujo("corta\n"));
+            clasificacion.agregarArchivo("5402ORDINARIO", flujo(String.join("\n", encabezado, factura, factura)));
+            assertEquals(Map.of("0177PREFERENCIAL", 0, "5402ORDINARIO", 3), clasificacion.clasificar(typesMaps));
+        }
+
+        assertEquals(esperados, typesMaps);
+        assertEquals(encabezado, typesMaps.get(Constantes.ARCHIVO_FUSIONADO).get("5402ORDINARIO_0"),
+                "El encabezado es el primer registro aunque el primer archivo no tenga registros");
+    }
+
+    @Test
+    void testDividir_cortesAlInicioDeUnaLinea() {
+        String contenido = contenido(new Random(7L), 2_000, 1_500);
+        byte[] bytes = contenido.getBytes(StandardCharsets.UTF_8);
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(areaTrabajo(), 5, 1_024,
+                clasificaRegistros::createOutText)) {
+            clasificacion.agregarArchivo("5402ORDINARIO", flujo(contenido));
+            List<RangoArchivo> rangos = clasificacion.dividir(clasificacion.getEntradas().get(0), 1, 10);
+
+            assertEquals(5, rangos.size());
+            long inicio = 0;
+            for (int i = 0; i < rangos.size(); i++) {
+                RangoArchivo rango = rangos.get(i);
+                assertEquals(10 + i, rango.getIndice());
+                assertEquals(1, rango.getArchivo());
+                assertEquals(inicio, rango.getInicio());
+                assertTrue(rango.getInicio() == 0 || bytes[(int) rango.getInicio() - 1] == '\n', rango.toString());
+                inicio = rango.getFin();
+            }
+            assertEquals(bytes.length, inicio);
+        }
+    }
+
+    @Test
+    void testClasificar_cuarentenaIgualQueLaLecturaSecuencial() {
+        Random random = new Random(47L);
+        String preferencial = invalidos(random, contenido(random, 2_000, 1_500));
+        String ordinario = invalidos(random, contenido(random, 2_500, 2_000));
+        ClasificaRegistros validacion = new ClasificaRegistros(validacion());
+        Map<String, Map<String, String>> esperados = new HashMap<>();
+        validacion.processFiles("in/0177PREFERENCIAL.pgp", flujo(preferencial), esperados);
+        validacion.processFiles("in/5402ORDINARIO.pgp", flujo(ordinario), esperados);
+
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        try (ClasificacionFragmentada clasificacion = new ClasificacionFragmentada(areaTrabajo(), 4, 512,
+                clasificaRegistros::createOutText, ValidadorRegistros.DISENO)) {
+            clasificacion.agregarArchivo("0177PREFERENCIAL", flujo(preferencial));
+            clasificacion.agregarArchivo("5402ORDINARIO", flujo(ordinario));
+            clasificacion.clasificar(typesMaps);
+        }
+
+        for (String archivo : List.of(Constantes.ARCHIVO_FUSIONADO, Constantes.ARCHIVO_DIVIDENDOS,
+                Constantes.ARCHIVO_CUARENTENA)) {
+            assertEquals(new ArrayList<>(esperados.get(archivo).entrySet()),
+                    new ArrayList<>(typesMaps.get(archivo).entrySet()), archivo);
+        }
+        assertTrue(typesMaps.get(Constantes.ARCHIVO_CUARENTENA).size() > 100);
+    }
+
+    private AreaTrabajo areaTrabajo() {
+        return new AreaTrabajo(new LocalObjectStore(root), "trabajo", "");
+    }
+
+    /**
+     * Genera un archivo con encabezado, facturas repetidas dentro del archivo,
+     * líneas cortas y finales de línea {@code \r\n}.
+     */
+    private static String contenido(Random random, int registros, int facturas) {
+        StringBuilder contenido = new StringBuilder("1000000000000 ENCABEZADO\n");
+        for (int i = 0; i < registros; i++) {
+            if (random.nextInt(50) == 0) {
+                contenido.append("  corta \n");
+            }
+            contenido.append(String.format("2%012d%s%012d", random.nextInt(facturas), " ".repeat(76), i))
+                    .append(random.nextInt(10) == 0 ? "\r\n" : "\n");
+        }
+        return contenido.toString();
+    }
+
+    /**
+     * Reemplaza algunos registros por líneas que no cumplen el diseño de
+     * registro: tipo, factura o importe inválidos.
+     */
+    private static String invalidos(Random random, String contenido) {
+        String[] lineas = contenido.split("\n", -1);
+        for (int i = 1; i < lineas.length; i++) {
+            if (lineas[i].length() > 100 && random.nextInt(20) == 0) {
+                int posicion = new int[] { 0, 5, 95 }[random.nextInt(3)];
+                lineas[i] = lineas[i].substring(0, posicion) + "X" + lineas[i].substring(posicion + 1);
+            }
+        }
+        return String.join("\n", lineas);
+    }
+
+    private static ConfiguracionDto validacion() {
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        configuracion.setValidacionRegistros(true);
+        return configuracion;
+    }
+
+    private static ByteArrayInputStream flujo(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
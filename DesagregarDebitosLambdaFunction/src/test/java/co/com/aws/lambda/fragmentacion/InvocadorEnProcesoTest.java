@@ -0,0 +1,53 @@
+package co.com.aws.lambda.fragmentacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import co.com.ath.aws.exception.AthException;
+
+class InvocadorEnProcesoTest {
+
+    @Test
+    void testInvocar_resultadosEnElOrdenDeLasSolicitudes() {
+        Set<String> hilos = ConcurrentHashMap.newKeySet();
+        TrabajadorFragmentos trabajador = mock(TrabajadorFragmentos.class);
+        when(trabajador.procesar(any())).thenAnswer(invocation -> {
+            hilos.add(Thread.currentThread().getName());
+            Thread.sleep(5);
+            SolicitudTrabajo solicitud = invocation.getArgument(0);
+            return new ResultadoTrabajo(solicitud.getFragmento(), 0);
+        });
+        List<SolicitudTrabajo> solicitudes = IntStream.range(0, 8)
+                .mapToObj(fragmento -> SolicitudTrabajo.deduplicacion(fragmento, new int[0], new long[0]))
+                .collect(Collectors.toList());
+
+        List<ResultadoTrabajo> resultados = new InvocadorEnProceso(trabajador, 4).invocar(solicitudes);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7),
+                resultados.stream().map(ResultadoTrabajo::getRegistros).collect(Collectors.toList()));
+        assertTrue(hilos.size() > 1, "Las solicitudes se atienden en varios hilos: " + hilos);
+    }
+
+    @Test
+    void testInvocar_propagaElErrorDeUnTrabajador() {
+        TrabajadorFragmentos trabajador = mock(TrabajadorFragmentos.class);
+        when(trabajador.procesar(any())).thenThrow(new IllegalStateException("sin particiones"));
+        List<SolicitudTrabajo> solicitudes = List.of(SolicitudTrabajo.deduplicacion(0, new int[0], new long[0]));
+
+        AthException e = assertThrows(AthException.class,
+                () -> new InvocadorEnProceso(trabajador, 2).invocar(solicitudes));
+        assertTrue(e.getMessage().contains("sin particiones"), e.getMessage());
+    }
+}
@@ -1,6 +1,13 @@
 package co.com.aws.lambda.handler;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -9,23 +16,45 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.S3Event;
 import com.amazonaws.services.lambda.runtime.events.models.s3.S3EventNotification;
 
+import co.com.ath.aws.cifrado.PgpDecryptionUtil;
+import co.com.ath.aws.cifrado.PgpEncryptionUtil;
 import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.continuacion.AlmacenPuntosControl;
+import co.com.aws.lambda.continuacion.PlazoAgotadoException;
 import co.com.aws.lambda.dao.AuditoriaDividendosDao;
+import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.storage.ObjectStore;
 import co.com.aws.lambda.util.FileValidation;
 import co.com.aws.lambda.util.UtilsLambda;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -38,6 +67,12 @@ class BillpayLambdaHandlerTest {
     @Mock
     private S3Client s3Client;
 
+    @Mock
+    private ObjectStore objectStore;
+
+    @Spy
+    private ConfiguracionDto configuracion = ConfiguracionDto.desdeConstantes();
+
     @Mock
     private S3Event s3EventTest;
 
@@ -65,11 +100,22 @@ class BillpayLambdaHandlerTest {
     @InjectMocks
     private BillpayLambdaHandler billpayLambdaHandler;
 
+    @TempDir
+    Path interrumpido;
+
+    @TempDir
+    Path completo;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(System.getProperty("java.io.tmpdir"), AlmacenPuntosControl.NOMBRE_ARCHIVO));
+    }
+
     @Test
     void testHandleRequest_validEvent() {
         // Arrange
@@ -86,7 +132,7 @@ class BillpayLambdaHandlerTest {
         ListObjectsV2Response mockResponse = mock(ListObjectsV2Response.class);
         when(mockResponse.contents()).thenReturn(Collections.singletonList(mock(S3Object.class)));
         when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(mockResponse);
-        doNothing().when(desencriptaArchivos).getFiles(any(), any(), any());
+        doNothing().when(desencriptaArchivos).getFiles(any(), any(), any(), any());
         doNothing().when(encriptarArchivos).getEncrypRecords(any());
         doNothing().when(moverArchivosFinales).moverArchivos(any());
         when(auditoriaDividendosDao.registrarAuditoria(any())).thenReturn(true);
@@ -98,16 +144,45 @@ class BillpayLambdaHandlerTest {
             S3Object file2 = S3Object.builder().key("file2.txt").build();
             when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(response);
             when(response.contents()).thenReturn(List.of(file1, file2));
-            mockedUtilsLambda.when(() -> UtilsLambda.verificarArchivosEnBucket(s3Client)).thenReturn(files);
+            mockedUtilsLambda.when(() -> UtilsLambda.verificarArchivosEnBucket(any(ObjectStore.class), anyString(),
+                    anyString())).thenReturn(files);
             billpayLambdaHandler.handleRequest(s3EventTest);
             // Assert
-            verify(desencriptaArchivos, times(1)).getFiles(any(), any(), any());
+            verify(desencriptaArchivos, times(1)).getFiles(any(), any(), any(), any());
             verify(encriptarArchivos, times(1)).getEncrypRecords(any());
             verify(moverArchivosFinales, times(1)).moverArchivos(any());
             verify(auditoriaDividendosDao, times(1)).registrarAuditoria(any());
         }
     }
 
+    @Test
+    void testHandleRequest_auditoriaNoRegistradaSeCuentaSinFallar() {
+        S3Event.S3EventNotificationRecord recordEvent = mock(S3Event.S3EventNotificationRecord.class);
+        when(s3EventTest.getRecords()).thenReturn(Arrays.asList(recordEvent));
+        S3EventNotification.S3Entity s3Entity = mock(S3EventNotification.S3Entity.class);
+        S3EventNotification.S3ObjectEntity s3Object = mock(S3EventNotification.S3ObjectEntity.class);
+        when(recordEvent.getS3()).thenReturn(s3Entity);
+        when(s3Entity.getBucket()).thenReturn(mock(S3EventNotification.S3BucketEntity.class));
+        when(s3Entity.getBucket().getName()).thenReturn(Constantes.NOMBRE_BUCKET_ARCHIVOS_ENTRADA);
+        when(s3Entity.getObject()).thenReturn(s3Object);
+        when(s3Object.getUrlDecodedKey()).thenReturn(Constantes.RUTA_ENTRADA + "Prueba.pgp");
+        when(auditoriaDividendosDao.registrarAuditoria(any())).thenReturn(false);
+        Instrumentacion.habilitar(true, List.of());
+        try (MockedStatic<UtilsLambda> mockedUtilsLambda = mockStatic(UtilsLambda.class)) {
+            @SuppressWarnings("unchecked")
+            List<S3Object> files = mock(List.class);
+            mockedUtilsLambda.when(() -> UtilsLambda.verificarArchivosEnBucket(any(ObjectStore.class), anyString(),
+                    anyString())).thenReturn(files);
+
+            billpayLambdaHandler.handleRequest(s3EventTest);
+
+            verify(moverArchivosFinales, times(1)).moverArchivos(any());
+            assertEquals(1, MetricasEjecucion.actual().getContador(MetricasEjecucion.AUDITORIAS_FALLIDAS));
+        } finally {
+            Instrumentacion.configurar(null);
+        }
+    }
+
     @Test
     void testHandleRequest_noFilesInEvent() {
         // Arrange
@@ -118,4 +193,112 @@ class BillpayLambdaHandlerTest {
         // No deben ocurrir interacciones si no hay archivos para procesar
         verifyNoInteractions(desencriptaArchivos, encriptarArchivos, auditoriaDividendosDao, moverArchivosFinales);
     }
+
+    @Test
+    void testHandleRequest_continuaDesdeElPuntoDeControl() throws IOException {
+        ConfiguracionDto configuracionLocal = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(new String[] {
+                "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves", "llaves",
+                "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--modo-io", "secuencial" }));
+        configuracionLocal.setMargenPlazoMs(10_000);
+        LocalObjectStore storeInterrumpido = crearEntradas(interrumpido);
+        LocalObjectStore storeCompleto = crearEntradas(completo);
+        S3Event evento = eventoValido("entrada", "in/5402ORDINARIO.pgp");
+        AtomicInteger consultas = new AtomicInteger();
+        Context porAgotarse = mock(Context.class);
+        when(porAgotarse.getRemainingTimeInMillis())
+                .thenAnswer(invocation -> 15_000 - 1_000 * consultas.getAndIncrement());
+        Context holgado = mock(Context.class);
+        when(holgado.getRemainingTimeInMillis()).thenReturn(60_000);
+        AuditoriaDividendosDao daoInterrumpido = mock(AuditoriaDividendosDao.class);
+        AuditoriaDividendosDao daoCompleto = mock(AuditoriaDividendosDao.class);
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            BillpayLambdaHandler handler = crearHandler(storeInterrumpido, configuracionLocal, daoInterrumpido);
+            PlazoAgotadoException e = assertThrows(PlazoAgotadoException.class,
+                    () -> handler.handleRequest(evento, porAgotarse));
+            assertTrue(e.getMessage().contains("[clasificacion]"), e.getMessage());
+            assertEquals(2, storeInterrumpido.list("salida", configuracionLocal.getRutaPuntosControl()).size(),
+                    "El punto de control y su segmento de registros se publican para la siguiente invocación");
+            assertTrue(storeInterrumpido.list("salida", "out/").isEmpty());
+            assertEquals(2, storeInterrumpido.list("entrada", "in/").size());
+
+            crearHandler(storeInterrumpido, configuracionLocal, daoInterrumpido).handleRequest(evento, holgado);
+            decryption.verify(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()), times(5));
+            encryption.verify(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()),
+                    times(4));
+            crearHandler(storeCompleto, configuracionLocal, daoCompleto).handleRequest(evento, holgado);
+        }
+
+        assertTrue(storeInterrumpido.list("salida", configuracionLocal.getRutaPuntosControl()).isEmpty());
+        for (String salida : List.of("out/00000177ACCAVAL_FUSIONADO.txt.pgp", "out/DIVIDENDOS.txt.pgp")) {
+            assertEquals(leer(storeCompleto, salida), leer(storeInterrumpido, salida), salida);
+        }
+        AuditoriaDividendosDto reanudada = auditoria(daoInterrumpido);
+        AuditoriaDividendosDto esperada = auditoria(daoCompleto);
+        assertEquals(esperada.getTotalRegistrosArchivo1(), reanudada.getTotalRegistrosArchivo1());
+        assertEquals(esperada.getTotalRegistrosArchivo2(), reanudada.getTotalRegistrosArchivo2());
+        assertEquals(esperada.getTotalRegistrosFusionados(), reanudada.getTotalRegistrosFusionados());
+        String conciliacion = esperada.getDetalleEjecucion()
+                .substring(esperada.getDetalleEjecucion().indexOf(",\"Conciliacion\":"));
+        assertTrue(conciliacion.contains("\"Total\":{\"Unicos\":49990,"), conciliacion);
+        assertTrue(reanudada.getDetalleEjecucion().endsWith(conciliacion), reanudada.getDetalleEjecucion());
+        assertFalse(leer(storeInterrumpido, "out/DIVIDENDOS.txt.pgp").isEmpty());
+    }
+
+    private static BillpayLambdaHandler crearHandler(ObjectStore objectStore, ConfiguracionDto configuracion,
+            AuditoriaDividendosDao auditoriaDividendosDao) {
+        return new BillpayLambdaHandler(objectStore, configuracion, new DesencriptaArchivos(objectStore, configuracion),
+                new EncriptarArchivos(objectStore, configuracion), new MoverArchivosFinales(objectStore, configuracion),
+                auditoriaDividendosDao);
+    }
+
+    private static LocalObjectStore crearEntradas(Path root) {
+        LocalObjectStore store = new LocalObjectStore(root);
+        store.put("llaves", "privada.asc", "privada".getBytes(), "text/plain");
+        store.put("llaves", "publica.asc", "publica".getBytes(), "text/plain");
+        store.put("entrada", "in/0177PREFERENCIAL.pgp", contenido(0, 25_000), "application/octet-stream");
+        store.put("entrada", "in/5402ORDINARIO.pgp", contenido(24_990, 25_000), "application/octet-stream");
+        return store;
+    }
+
+    private static byte[] contenido(int primeraFactura, int registros) {
+        List<String> lineas = new ArrayList<>();
+        lineas.add("1000000000000 ENCABEZADO");
+        for (int i = 0; i < registros; i++) {
+            lineas.add(String.format("2%012d%s%012d", primeraFactura + i % 24_995, " ".repeat(76), i));
+        }
+        return String.join("\n", lineas).getBytes();
+    }
+
+    private static S3Event eventoValido(String bucket, String key) {
+        S3Event evento = mock(S3Event.class);
+        S3Event.S3EventNotificationRecord recordEvent = mock(S3Event.S3EventNotificationRecord.class);
+        S3EventNotification.S3Entity s3Entity = mock(S3EventNotification.S3Entity.class);
+        S3EventNotification.S3BucketEntity bucketEntity = mock(S3EventNotification.S3BucketEntity.class);
+        S3EventNotification.S3ObjectEntity objectEntity = mock(S3EventNotification.S3ObjectEntity.class);
+        when(evento.getRecords()).thenReturn(List.of(recordEvent));
+        when(recordEvent.getS3()).thenReturn(s3Entity);
+        when(s3Entity.getBucket()).thenReturn(bucketEntity);
+        when(bucketEntity.getName()).thenReturn(bucket);
+        when(s3Entity.getObject()).thenReturn(objectEntity);
+        when(objectEntity.getUrlDecodedKey()).thenReturn(key);
+        return evento;
+    }
+
+    private static AuditoriaDividendosDto auditoria(AuditoriaDividendosDao auditoriaDividendosDao) {
+        ArgumentCaptor<AuditoriaDividendosDto> auditoria = ArgumentCaptor.forClass(AuditoriaDividendosDto.class);
+        verify(auditoriaDividendosDao).registrarAuditoria(auditoria.capture());
+        assertNotNull(auditoria.getValue().getHoraInicio());
+        return auditoria.getValue();
+    }
+
+    private static String leer(LocalObjectStore store, String key) throws IOException {
+        return Files.readString(store.resolve("salida", key));
+    }
 }
@@ -7,8 +7,11 @@ import static org.mockito.Mockito.spy;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,9 @@ import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 
 import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.validacion.Cuarentena;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
 
 class ClasificaRegistrosTest {
 
@@ -119,4 +125,90 @@ class ClasificaRegistrosTest {
                                 "El mensaje generado debe contener 'El numero de factura'.");
                 assertTrue(result.contains("con el valor"), "El mensaje generado debe contener 'con el valor'.");
         }
+
+        @Test
+        void testCreateMapsUniqueAndDuplicate_entradasOrdenadasIgualQueConMapa() {
+                // Arrange
+                String contenido = archivo("000000000007", "000000000001", "000000000001", "000000000002",
+                                "000000000005", "000000000005", "000000000005", "000000000009");
+                // Act
+                Map<String, Map<String, String>> conMapa = clasificar(new ClasificaRegistros(), contenido);
+                Map<String, Map<String, String>> ordenado = clasificar(new ClasificaRegistros(ordenadas()), contenido);
+                // Assert
+                assertEquals(new ArrayList<>(conMapa.get(Constantes.ARCHIVO_FUSIONADO).entrySet()),
+                                new ArrayList<>(ordenado.get(Constantes.ARCHIVO_FUSIONADO).entrySet()));
+                assertEquals(new ArrayList<>(conMapa.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()),
+                                new ArrayList<>(ordenado.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()));
+                assertEquals(5, ordenado.get(Constantes.ARCHIVO_FUSIONADO).size());
+                assertEquals(3, ordenado.get(Constantes.ARCHIVO_DIVIDENDOS).size());
+        }
+
+        @Test
+        void testCreateMapsUniqueAndDuplicate_entradasDesordenadasContinuanConMapa() {
+                // Arrange
+                String contenido = archivo("000000000007", "000000000002", "000000000002", "000000000004",
+                                "000000000001", "000000000002", "000000000004", "000000000003", "000000000001");
+                // Act
+                Map<String, Map<String, String>> conMapa = clasificar(new ClasificaRegistros(), contenido);
+                Map<String, Map<String, String>> ordenado = clasificar(new ClasificaRegistros(ordenadas()), contenido);
+                // Assert
+                assertEquals(new ArrayList<>(conMapa.get(Constantes.ARCHIVO_FUSIONADO).entrySet()),
+                                new ArrayList<>(ordenado.get(Constantes.ARCHIVO_FUSIONADO).entrySet()));
+                assertEquals(new ArrayList<>(conMapa.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()),
+                                new ArrayList<>(ordenado.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()));
+                assertTrue(ordenado.get(Constantes.ARCHIVO_DIVIDENDOS).get("5402ORDINARIO_5")
+                                .contains("[000000000002]"),
+                                "La factura repetida después del desorden se reporta como duplicada");
+        }
+
+        @Test
+        void testCreateMapsUniqueAndDuplicate_registrosInvalidosVanACuarentena() {
+                // Arrange
+                String valido = archivo("000000000000", "000000000001").split("\n")[1];
+                String contenido = "corta\n" + archivo("000000000000").trim() + "\n\n" + valido + "\n"
+                                + "2000000000001 duplicada corta\n" + "9" + valido.substring(1) + "\n"
+                                + valido.substring(0, 89) + "00000000X000\n" + valido + "\n3000003\n";
+                ConfiguracionDto configuracion = new ConfiguracionDto();
+                configuracion.setValidacionRegistros(true);
+                // Act
+                Map<String, Map<String, String>> maps = clasificar(new ClasificaRegistros(configuracion), contenido);
+                // Assert
+                assertEquals(2, maps.get(Constantes.ARCHIVO_FUSIONADO).size(), "Solo el primer encabezado");
+                assertEquals(valido, maps.get(Constantes.ARCHIVO_FUSIONADO).get("5402ORDINARIO_1"));
+                assertEquals(1, maps.get(Constantes.ARCHIVO_DIVIDENDOS).size());
+                assertTrue(maps.get(Constantes.ARCHIVO_DIVIDENDOS).containsKey("5402ORDINARIO_2"),
+                                "La línea siguiente al registro válido ocupa el número de registro 2");
+                Map<String, String> cuarentena = maps.get(Constantes.ARCHIVO_CUARENTENA);
+                assertEquals(List.of("5402ORDINARIO_1", "5402ORDINARIO_5", "5402ORDINARIO_6", "5402ORDINARIO_7"),
+                                new ArrayList<>(cuarentena.keySet()));
+                assertEquals(Cuarentena.texto("5402ORDINARIO", 5, ValidadorRegistros.Motivo.LONGITUD,
+                                "2000000000001 duplicada corta"), cuarentena.get("5402ORDINARIO_5"));
+                assertTrue(cuarentena.get("5402ORDINARIO_6").contains("[TIPO]"));
+                assertTrue(cuarentena.get("5402ORDINARIO_7").contains("[IMPORTE]"));
+        }
+
+        private static Map<String, Map<String, String>> clasificar(ClasificaRegistros clasificador,
+                        String contenido) {
+                Map<String, Map<String, String>> maps = new HashMap<>();
+                maps.put(Constantes.ARCHIVO_FUSIONADO, new LinkedHashMap<>(Map.of("0177PREFERENCIAL_0", "1")));
+                clasificador.createMapsUniqueAndDuplicate("5402ORDINARIO",
+                                new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), maps);
+                return maps;
+        }
+
+        private static ConfiguracionDto ordenadas() {
+                ConfiguracionDto configuracion = new ConfiguracionDto();
+                configuracion.setEntradasOrdenadas(true);
+                return configuracion;
+        }
+
+        private static String archivo(String... facturas) {
+                StringBuilder contenido = new StringBuilder();
+                for (int i = 0; i < facturas.length; i++) {
+                        String registro = (i == 0 ? "1" : "2") + facturas[i];
+                        contenido.append(registro).append(" ".repeat(89 - registro.length()))
+                                        .append(String.format("%012d", i * 100L)).append('\n');
+                }
+                return contenido.toString();
+        }
 }
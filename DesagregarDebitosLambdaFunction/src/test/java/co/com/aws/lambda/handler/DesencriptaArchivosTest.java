@@ -33,6 +33,7 @@ import co.com.ath.aws.commons.AthConstants;
 import co.com.ath.aws.secretmanagerutil.SecretsManagerUtil;
 import co.com.aws.lambda.constants.Constantes;
 import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.storage.ObjectStore;
 import co.com.aws.lambda.util.FileValidation;
 import co.com.aws.lambda.util.UtilsLambda;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -114,7 +115,7 @@ class DesencriptaArchivosTest {
                                                 .thenReturn(llaveDesencriptada);
                                 try (MockedStatic<UtilsLambda> mockedUtilsLambda = mockStatic(UtilsLambda.class)) {
                                         mockedUtilsLambda
-                                                        .when(() -> UtilsLambda.obtenerLlavePgpS3(any(S3Client.class),
+                                                        .when(() -> UtilsLambda.obtenerLlavePgp(any(ObjectStore.class),
                                                                         eq(Constantes.NOMBRE_BUCKET_LLAVES),
                                                                         eq(Constantes.RUTA_LLAVE_PRIVADAPGP)))
                                                         .thenReturn(llavePrivada);
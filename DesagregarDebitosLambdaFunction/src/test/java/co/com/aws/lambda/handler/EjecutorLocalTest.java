@@ -0,0 +1,346 @@
+package co.com.aws.lambda.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import co.com.ath.aws.cifrado.PgpDecryptionUtil;
+import co.com.ath.aws.cifrado.PgpEncryptionUtil;
+import co.com.aws.lambda.dto.AuditoriaDividendosDto;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.indice.LectorIndice;
+import co.com.aws.lambda.indice.UbicacionFactura;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.jfr.ObjectStoreJfr;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class EjecutorLocalTest {
+
+    private static final String CONCILIACION = ",\"Conciliacion\":{\"0177PREFERENCIAL\":{\"Unicos\":1,"
+            + "\"ImporteUnicos\":3000,\"Duplicados\":0,\"ImporteDuplicados\":0,\"SinImporte\":0},"
+            + "\"5402ORDINARIO\":{\"Unicos\":2,\"ImporteUnicos\":3000,\"Duplicados\":1,\"ImporteDuplicados\":1000,"
+            + "\"SinImporte\":0},\"Total\":{\"Unicos\":3,\"ImporteUnicos\":6000,\"Duplicados\":1,"
+            + "\"ImporteDuplicados\":1000,\"SinImporte\":0}}}";
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStore objectStore;
+
+    private ConfiguracionDto configuracion;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new LocalObjectStore(root);
+        // Los mocks estáticos de PGP solo aplican en el hilo de la prueba
+        configuracion = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(new String[] {
+                "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves", "llaves",
+                "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--modo-io", "secuencial", "--indice" }));
+        objectStore.put("llaves", "privada.asc", "privada".getBytes(), "text/plain");
+        objectStore.put("llaves", "publica.asc", "publica".getBytes(), "text/plain");
+    }
+
+    @Test
+    void testEjecutar_procesoCompletoLocal() throws IOException {
+        String encabezado = "1000000000000 ENCABEZADO";
+        String facturaA = linea("000000000001", "000000001000");
+        String facturaB = linea("000000000002", "000000002000");
+        String facturaC = linea("000000000003", "000000003000");
+        escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaA, facturaB, facturaA);
+        escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado, facturaC);
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            EjecutorLocal ejecutor = new EjecutorLocal(objectStore, configuracion, true,
+                    new EjecutorLocal.AuditoriaLocalDao());
+            AuditoriaDividendosDto auditoria = ejecutor.ejecutar();
+
+            assertEquals("0177PREFERENCIAL", auditoria.getNombreArchivo1(), "Los archivos se listan en orden");
+            assertEquals(2, auditoria.getTotalRegistrosArchivo1());
+            assertEquals(4, auditoria.getTotalRegistrosArchivo2());
+            assertEquals(5, auditoria.getTotalRegistrosFusionados());
+            assertTrue(auditoria.getDetalleEjecucion().startsWith("{\"S3\":{},\"Jvm\":{\"Duracion\":"),
+                    "El almacenamiento local no usa el SDK: " + auditoria.getDetalleEjecucion());
+            assertEquals(String.join("\n", encabezado, facturaC, facturaA, facturaB, "3000005"),
+                    leerSalida("out/00000177ACCAVAL_FUSIONADO.txt.pgp"));
+            assertTrue(leerSalida("out/DIVIDENDOS.txt.pgp").contains("[000000000001]"),
+                    "El duplicado debe reportarse en DIVIDENDOS");
+            assertIndice(facturaA, facturaC);
+            assertTrue(auditoria.getDetalleEjecucion().endsWith(CONCILIACION), auditoria.getDetalleEjecucion());
+            assertTrue(objectStore.list("entrada", "in/").isEmpty(), "Las entradas deben moverse");
+            assertEquals(2, objectStore.list("entrada", "done/").size());
+
+            Map<String, Long> tiempos = ejecutor.getTiemposEtapas();
+            assertTrue(tiempos.keySet().containsAll(List.of("listado", "validacion", "gobernador",
+                    "desencriptar_clasificar", "encriptar", "mover", "auditoria")));
+            MetricasEjecucion metricas = ejecutor.getMetricas();
+            assertEquals(6, metricas.getContador(MetricasEjecucion.REGISTROS_PROCESADOS));
+            assertEquals(1, metricas.getContador(MetricasEjecucion.REGISTROS_DUPLICADOS));
+            assertTrue(metricas.getContador(MetricasEjecucion.BYTES_ESCRITOS) > 0);
+            assertEquals(50.0, metricas.getTasaAciertos(MetricasEjecucion.CACHE_LLAVE_PRIVADA),
+                    "La llave privada se lee solo en el primer archivo");
+            assertEquals(50.0, metricas.getTasaAciertos(MetricasEjecucion.CACHE_FRASE_SECRETA));
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            ejecutor.imprimirResumen(new PrintStream(salida, true, StandardCharsets.UTF_8));
+            assertTrue(salida.toString(StandardCharsets.UTF_8).contains("Pico de heap"));
+            assertTrue(salida.toString(StandardCharsets.UTF_8).contains("JVM: duracion="));
+            assertTrue(salida.toString(StandardCharsets.UTF_8).contains(
+                    "5402ORDINARIO: unicos=2 importe=3000 duplicados=1 importe=1000 sinImporte=0"));
+            assertTrue(ejecutor.getPicoHeap() > 0);
+        }
+    }
+
+    @Test
+    void testEjecutar_estrategiaDiscoMismaSalida() throws IOException {
+        ConfiguracionDto enDisco = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(new String[] {
+                "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves", "llaves",
+                "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--estrategia", "disco",
+                "--modo-io", "secuencial", "--indice" }));
+        String encabezado = "1000000000000 ENCABEZADO";
+        String facturaA = linea("000000000001", "000000001000");
+        String facturaB = linea("000000000002", "000000002000");
+        String facturaC = linea("000000000003", "000000003000");
+        escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaA, facturaB, facturaA);
+        escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado, facturaC);
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            EjecutorLocal ejecutor = new EjecutorLocal(objectStore, enDisco, true,
+                    new EjecutorLocal.AuditoriaLocalDao());
+            AuditoriaDividendosDto auditoria = ejecutor.ejecutar();
+
+            assertEquals(5, auditoria.getTotalRegistrosFusionados());
+            assertEquals(String.join("\n", encabezado, facturaC, facturaA, facturaB, "3000005"),
+                    leerSalida("out/00000177ACCAVAL_FUSIONADO.txt.pgp"));
+            assertTrue(leerSalida("out/DIVIDENDOS.txt.pgp").contains("[000000000001]"));
+            assertEquals(1, ejecutor.getMetricas().getContador(MetricasEjecucion.REGISTROS_DUPLICADOS));
+            assertIndice(facturaA, facturaC);
+            assertTrue(ejecutor.getTiemposEtapas().containsKey("gobernador"));
+        }
+    }
+
+    @Test
+    void testEjecutar_fragmentadoMismaSalida() throws IOException {
+        ConfiguracionDto fragmentado = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(new String[] {
+                "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves", "llaves",
+                "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--trabajadores", "3",
+                "--modo-io", "secuencial" }));
+        String encabezado = "1000000000000 ENCABEZADO";
+        String facturaA = linea("000000000001", "000000001000");
+        String facturaB = linea("000000000002", "000000002000");
+        String facturaC = linea("000000000003", "000000003000");
+        escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaA, facturaB, facturaA);
+        escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado, facturaC);
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            AuditoriaDividendosDto auditoria = new EjecutorLocal(objectStore, fragmentado, true,
+                    new EjecutorLocal.AuditoriaLocalDao()).ejecutar();
+
+            assertEquals(3, fragmentado.getTrabajadoresFragmentacion());
+            assertTrue(auditoria.getDetalleEjecucion().endsWith(CONCILIACION), auditoria.getDetalleEjecucion());
+            assertEquals(2, auditoria.getTotalRegistrosArchivo1());
+            assertEquals(4, auditoria.getTotalRegistrosArchivo2());
+            assertEquals(5, auditoria.getTotalRegistrosFusionados());
+            assertEquals(String.join("\n", encabezado, facturaC, facturaA, facturaB, "3000005"),
+                    leerSalida("out/00000177ACCAVAL_FUSIONADO.txt.pgp"));
+            assertTrue(leerSalida("out/DIVIDENDOS.txt.pgp").contains("[000000000001]"));
+            assertTrue(objectStore.list("salida", "out/00000177ACCAVAL_FUSIONADO.txt.idx").isEmpty(),
+                    "Sin --indice no se publica el índice");
+        }
+    }
+
+    @Test
+    void testEjecutar_ordenamientoExternoMismaSalida() throws IOException {
+        ConfiguracionDto externa = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(new String[] {
+                "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves", "llaves",
+                "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--estrategia", "externa",
+                "--registros-corrida", "1", "--modo-io", "secuencial", "--indice" }));
+        String encabezado = "1000000000000 ENCABEZADO";
+        String facturaA = linea("000000000001", "000000001000");
+        String facturaB = linea("000000000002", "000000002000");
+        String facturaC = linea("000000000003", "000000003000");
+        escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaA, facturaB, facturaA);
+        escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado, facturaC);
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            AuditoriaDividendosDto auditoria = new EjecutorLocal(objectStore, externa, true,
+                    new EjecutorLocal.AuditoriaLocalDao()).ejecutar();
+
+            assertEquals(1, externa.getRegistrosPorCorrida());
+            assertTrue(auditoria.getDetalleEjecucion().endsWith(CONCILIACION), auditoria.getDetalleEjecucion());
+            assertEquals(2, auditoria.getTotalRegistrosArchivo1());
+            assertEquals(4, auditoria.getTotalRegistrosArchivo2());
+            assertEquals(5, auditoria.getTotalRegistrosFusionados());
+            assertEquals(String.join("\n", encabezado, facturaC, facturaA, facturaB, "3000005"),
+                    leerSalida("out/00000177ACCAVAL_FUSIONADO.txt.pgp"));
+            assertTrue(leerSalida("out/DIVIDENDOS.txt.pgp").contains("[000000000001]"));
+            assertIndice(facturaA, facturaC);
+        }
+    }
+
+    @Test
+    void testEjecutar_historicoDetectaFacturasDeEjecucionesAnteriores() throws IOException {
+        String[] opciones = { "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves",
+                "llaves", "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--modo-io", "secuencial",
+                "--historico", "--ruta-historico", "historico/" };
+        ConfiguracionDto conHistorico = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(opciones));
+        ConfiguracionDto fragmentado = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(
+                Stream.concat(Stream.of(opciones), Stream.of("--trabajadores", "3")).toArray(String[]::new)));
+        String encabezado = "1000000000000 ENCABEZADO";
+        String facturaA = linea("000000000001", "000000001000");
+        String facturaB = linea("000000000002", "000000002000");
+        String facturaC = linea("000000000003", "000000003000");
+        String facturaD = linea("000000000004", "000000004000");
+        escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaA, facturaB, facturaA);
+        escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado, facturaC);
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            new EjecutorLocal(objectStore, conHistorico, true, new EjecutorLocal.AuditoriaLocalDao()).ejecutar();
+            assertEquals(1, objectStore.list("salida", "historico/").size());
+
+            escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaB, facturaD, facturaB);
+            escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado, facturaC);
+            EjecutorLocal segunda = new EjecutorLocal(objectStore, conHistorico, false,
+                    new EjecutorLocal.AuditoriaLocalDao());
+            AuditoriaDividendosDto auditoria = segunda.ejecutar();
+
+            assertEquals(3, auditoria.getTotalRegistrosFusionados());
+            assertEquals(String.join("\n", encabezado, facturaD, "3000003"),
+                    leerSalida("out/00000177ACCAVAL_FUSIONADO.txt.pgp"));
+            String dividendos = String.join("\n",
+                    "El numero de factura [000000000003] con el valor [000000003000] ya fue procesado en una "
+                            + "ejecucion anterior.",
+                    "El numero de factura [000000000002] con el valor [000000002000] ya fue procesado en una "
+                            + "ejecucion anterior.",
+                    "El numero de factura [000000000002] con el valor [000000002000] se encuentra repetido en el "
+                            + "archivo [5402ORDINARIO.dat].");
+            assertEquals(dividendos, leerSalida("out/DIVIDENDOS.txt.pgp"));
+            assertEquals(2, segunda.getMetricas().getContador(MetricasEjecucion.DUPLICADOS_HISTORICO));
+            assertEquals(2, objectStore.list("salida", "historico/").size());
+
+            new EjecutorLocal(objectStore, fragmentado, false, new EjecutorLocal.AuditoriaLocalDao()).ejecutar();
+
+            assertEquals(String.join("\n", encabezado, facturaD, "3000003"),
+                    leerSalida("out/00000177ACCAVAL_FUSIONADO.txt.pgp"),
+                    "El reintento de las mismas entradas no se compara con su propio segmento");
+            assertEquals(dividendos, leerSalida("out/DIVIDENDOS.txt.pgp"));
+            assertEquals(2, objectStore.list("salida", "historico/").size());
+        }
+    }
+
+    @Test
+    void testEjecutar_grabacionJfrPublicadaEnDiagnosticos() throws IOException {
+        ConfiguracionDto conGrabacion = EjecutorLocal.crearConfiguracion(EjecutorLocal.leerOpciones(new String[] {
+                "--bucket-entrada", "entrada", "--bucket-salida", "salida", "--bucket-llaves", "llaves",
+                "--entrada=in/", "--salida=out/", "--procesados=done/", "--llave-privada", "privada.asc",
+                "--llave-publica", "publica.asc", "--frase-secreta", "frase", "--grabacion-jfr",
+                "--diagnosticos", "diag/", "--modo-io", "secuencial" }));
+        String encabezado = "1000000000000 ENCABEZADO";
+        String facturaA = linea("000000000001", "000000001000");
+        escribirEntrada("in/5402ORDINARIO.pgp", encabezado, facturaA, facturaA);
+        escribirEntrada("in/0177PREFERENCIAL.pgp", encabezado);
+        Instrumentacion.configurar("jfr");
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            new EjecutorLocal(new ObjectStoreJfr(objectStore), conGrabacion, false,
+                    new EjecutorLocal.AuditoriaLocalDao()).ejecutar();
+        } finally {
+            Instrumentacion.configurar(null);
+        }
+
+        List<S3Object> grabaciones = objectStore.list("salida", "diag/");
+        assertEquals(1, grabaciones.size());
+        assertTrue(grabaciones.get(0).key().matches("diag/DesagregarDebitos_\\d{8}_\\d{2}-\\d{2}-\\d{2}\\.jfr"));
+        List<RecordedEvent> eventos = RecordingFile
+                .readAllEvents(objectStore.resolve("salida", grabaciones.get(0).key()));
+        Set<String> tipos = eventos.stream().map(evento -> evento.getEventType().getName())
+                .filter(nombre -> nombre.startsWith("co.com.aws.lambda.")).collect(Collectors.toSet());
+        assertEquals(Set.of("co.com.aws.lambda.Tramo", "co.com.aws.lambda.S3", "co.com.aws.lambda.LoteClasificacion"),
+                tipos);
+        assertTrue(eventos.stream().anyMatch(evento -> evento.getEventType().getName().equals("co.com.aws.lambda.S3")
+                && "GetObject".equals(evento.getString("operacion"))
+                && "in/5402ORDINARIO.pgp".equals(evento.getString("llave")) && evento.getLong("bytes") > 0));
+        assertTrue(eventos.stream()
+                .anyMatch(evento -> evento.getEventType().getName().equals("co.com.aws.lambda.LoteClasificacion")
+                        && evento.getLong("registros") == 3 && evento.getLong("duplicados") == 1));
+    }
+
+    private static String linea(String factura, String valor) {
+        return "2" + factura + " ".repeat(76) + valor;
+    }
+
+    private void escribirEntrada(String key, String... lineas) {
+        objectStore.put("entrada", key, String.join("\n", lineas).getBytes(StandardCharsets.UTF_8),
+                "application/octet-stream");
+    }
+
+    private void assertIndice(String facturaA, String facturaC) throws IOException {
+        LectorIndice lector;
+        try (InputStream indice = objectStore.get("salida", "out/00000177ACCAVAL_FUSIONADO.txt.idx.pgp")) {
+            lector = LectorIndice.leer(indice);
+        }
+        assertEquals(4, lector.getCantidad(), "Se indexan el encabezado y las tres facturas");
+        UbicacionFactura ubicacion = lector.buscar(1L).get(0);
+        assertEquals("5402ORDINARIO", ubicacion.getArchivo());
+        assertEquals(facturaA, LectorIndice.leerRegistro(objectStore, "salida",
+                "out/00000177ACCAVAL_FUSIONADO.txt.pgp", ubicacion));
+        assertEquals(facturaC, LectorIndice.leerRegistro(objectStore, "salida",
+                "out/00000177ACCAVAL_FUSIONADO.txt.pgp", lector.buscar(3L).get(0)));
+    }
+
+    private String leerSalida(String key) throws IOException {
+        return new String(Files.readAllBytes(objectStore.resolve("salida", key)), StandardCharsets.UTF_8);
+    }
+}
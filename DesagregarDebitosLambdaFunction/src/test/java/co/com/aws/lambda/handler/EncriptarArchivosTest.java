@@ -28,6 +28,7 @@ import com.amazonaws.services.lambda.runtime.LambdaLogger;
 
 import co.com.ath.aws.cifrado.PgpEncryptionUtil;
 import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.storage.ObjectStore;
 import co.com.aws.lambda.util.UtilsLambda;
 import software.amazon.awssdk.services.s3.S3Client;
 
@@ -70,15 +71,15 @@ class EncriptarArchivosTest {
         fileData.put("key1", "value1");
         typesMaps.put(NOMBRE_ARCHIVO, fileData);
         try (MockedStatic<UtilsLambda> mockedUtilsLambda = mockStatic(UtilsLambda.class)) {
-            mockedUtilsLambda.when(() -> UtilsLambda.obtenerLlavePgpS3(any(S3Client.class),
+            mockedUtilsLambda.when(() -> UtilsLambda.obtenerLlavePgp(any(ObjectStore.class),
                     eq(Constantes.NOMBRE_BUCKET_LLAVES), eq(Constantes.RUTA_LLAVE_PUBLICAPGP)))
                     .thenReturn(llavePrivada);
             EncriptarArchivos realEncriptarArchivos = new EncriptarArchivos(s3Client);
             EncriptarArchivos spyEncriptarArchivos = spy(realEncriptarArchivos);
-            doNothing().when(spyEncriptarArchivos).cifrarArchivoPgp(anyString(), any(), any());
+            doNothing().when(spyEncriptarArchivos).cifrarArchivoPgp(anyString(), any(), any(), any());
             spyEncriptarArchivos.getEncrypRecords(typesMaps);
             verify(spyEncriptarArchivos, times(1)).cifrarArchivoPgp(eq(NOMBRE_ARCHIVO + ".txt"), any(),
-                    eq(llavePrivada));
+                    eq(llavePrivada), any());
         }
     }
 
@@ -90,12 +91,12 @@ class EncriptarArchivosTest {
         typesMaps.put(NOMBRE_ARCHIVO, fileData);
         try (MockedStatic<UtilsLambda> mockedUtilsLambda = mockStatic(UtilsLambda.class)) {
             mockedUtilsLambda
-                    .when(() -> UtilsLambda.obtenerLlavePgpS3(any(S3Client.class), eq(Constantes.NOMBRE_BUCKET_LLAVES),
+                    .when(() -> UtilsLambda.obtenerLlavePgp(any(ObjectStore.class), eq(Constantes.NOMBRE_BUCKET_LLAVES),
                             eq(Constantes.RUTA_LLAVE_PUBLICAPGP)))
                     .thenThrow(new RuntimeException("Error al obtener la llave pública"));
             EncriptarArchivos realEncriptarArchivos = new EncriptarArchivos(s3Client);
             EncriptarArchivos spyEncriptarArchivos = spy(realEncriptarArchivos);
-            doNothing().when(spyEncriptarArchivos).cifrarArchivoPgp(anyString(), any(), any());
+            doNothing().when(spyEncriptarArchivos).cifrarArchivoPgp(anyString(), any(), any(), any());
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
                 spyEncriptarArchivos.getEncrypRecords(typesMaps);
             });
@@ -113,7 +114,7 @@ class EncriptarArchivosTest {
                     any(InputStream.class))).thenReturn(archivoCifrado);
             try (MockedStatic<UtilsLambda> mockedUtilsLambda = mockStatic(UtilsLambda.class)) {
                 doNothing().when(UtilsLambda.class);
-                UtilsLambda.printFiles(any(S3Client.class), anyString(), anyString(), anyString(), any(byte[].class),
+                UtilsLambda.printFiles(any(ObjectStore.class), anyString(), anyString(), anyString(), any(byte[].class),
                         anyString());
                 spyEncriptarArchivos.cifrarArchivoPgp(NOMBRE_ARCHIVO, llavePrivada, llavePublica);
                 cubreCodigo = true;
@@ -132,7 +133,7 @@ class EncriptarArchivosTest {
                     any(InputStream.class))).thenThrow(new IOException("Error al cifrar el archivo"));
             try (MockedStatic<UtilsLambda> mockedUtilsLambda = mockStatic(UtilsLambda.class)) {
                 doNothing().when(UtilsLambda.class);
-                UtilsLambda.printFiles(any(S3Client.class), anyString(), anyString(), anyString(), any(byte[].class),
+                UtilsLambda.printFiles(any(ObjectStore.class), anyString(), anyString(), anyString(), any(byte[].class),
                         anyString());
                 Exception exception = assertThrows(RuntimeException.class, () -> {
                     spyEncriptarArchivos.cifrarArchivoPgp(NOMBRE_ARCHIVO, llavePrivada, llavePublica);
@@ -52,7 +52,6 @@ class MoverArchivosFinalesTest {
         void setUp() {
                 MockitoAnnotations.openMocks(this);
                 moverArchivosFinales = new MoverArchivosFinales(s3Client);
-                setField(moverArchivosFinales, "s3Client", s3Client);
         }
 
         @Test
@@ -103,14 +102,4 @@ class MoverArchivosFinalesTest {
                 assertEquals(bucketName, capturedRequest.bucket());
                 assertEquals(origenKey, capturedRequest.key());
         }
-
-        private void setField(Object target, String fieldName, Object value) {
-                try {
-                        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
-                        field.setAccessible(true);
-                        field.set(target, value);
-                } catch (NoSuchFieldException | IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                }
-        }
 }
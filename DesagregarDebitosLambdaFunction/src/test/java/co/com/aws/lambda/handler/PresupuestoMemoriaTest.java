@@ -0,0 +1,251 @@
+package co.com.aws.lambda.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import co.com.ath.aws.cifrado.PgpDecryptionUtil;
+import co.com.ath.aws.cifrado.PgpEncryptionUtil;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.metricas.TelemetriaJvm;
+import co.com.aws.lambda.ordenamiento.ClasificacionExterna;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.util.MapaEnDisco;
+
+/**
+ * Pruebas de regresión de memoria: miden los bytes asignados (contadores de
+ * asignación por hilo) y el heap retenido después de GC por registro, y fallan
+ * si superan el presupuesto. Los presupuestos se pueden ajustar con las
+ * propiedades {@code presupuesto.*} de la JVM de pruebas.
+ * <p>
+ * El cifrado PGP se reemplaza por un paso que no transforma los datos, por lo
+ * que el flujo completo mide solo el código de la Lambda.
+ * </p>
+ */
+class PresupuestoMemoriaTest {
+
+    private static final int REGISTROS = 50_000;
+
+    private static final int[] MEMORIA_LAMBDA_MB = { 512, 1024, 1536, 2048, 3008, 10240 };
+
+    private static final long ASIGNADOS_CLASIFICACION = presupuesto("presupuesto.asignados.clasificacion", 550);
+
+    private static final long RETENIDOS_CLASIFICACION = presupuesto("presupuesto.retenidos.clasificacion", 350);
+
+    private static final long ASIGNADOS_FLUJO = presupuesto("presupuesto.asignados.flujo", 1_500);
+
+    private static final long PICO_FLUJO = presupuesto("presupuesto.pico.flujo", 2_000);
+
+    private static final long RETENIDOS_EN_DISCO = presupuesto("presupuesto.retenidos.disco", 8);
+
+    private static final long PICO_FLUJO_DISCO = presupuesto("presupuesto.pico.flujo.disco", 900);
+
+    private static final long PICO_FLUJO_EXTERNA = presupuesto("presupuesto.pico.flujo.externa", 900);
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testClasificaRegistros_dentroDelPresupuesto() {
+        byte[] contenido = generar(0, REGISTROS, 0.05);
+        ClasificaRegistros clasificaRegistros = new ClasificaRegistros();
+        clasificaRegistros.createMapsUniqueAndDuplicate("5402ORDINARIO", new ByteArrayInputStream(contenido),
+                new HashMap<>());
+
+        long heapInicial = heapRetenido();
+        long asignadosInicio = TelemetriaJvm.bytesAsignados();
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        clasificaRegistros.createMapsUniqueAndDuplicate("5402ORDINARIO", new ByteArrayInputStream(contenido),
+                typesMaps);
+        long asignados = (TelemetriaJvm.bytesAsignados() - asignadosInicio) / REGISTROS;
+        long retenidos = (heapRetenido() - heapInicial) / REGISTROS;
+        System.out.println(String.format("[MEMORIA] clasificacion: %d B/registro asignados, %d B/registro retenidos",
+                asignados, retenidos));
+        assertTrue(typesMaps.size() > 0, "Los mapas deben seguir vivos durante la medición");
+        assertTrue(asignados <= ASIGNADOS_CLASIFICACION, "Asignación por registro " + asignados
+                + " B supera el presupuesto de " + ASIGNADOS_CLASIFICACION + " B");
+        assertTrue(retenidos <= RETENIDOS_CLASIFICACION, "Heap retenido por registro " + retenidos
+                + " B supera el presupuesto de " + RETENIDOS_CLASIFICACION + " B");
+    }
+
+    @Test
+    void testMapaEnDisco_sinHeapPorRegistro() throws IOException {
+        ClasificaRegistros clasificaRegistros = new ClasificaRegistros();
+        medirRetenidosEnDisco("mapas en disco", (contenido, typesMaps) -> clasificaRegistros
+                .createMapsUniqueAndDuplicate("5402ORDINARIO", contenido, typesMaps));
+    }
+
+    @Test
+    void testClasificacionExterna_sinHeapPorRegistro() throws IOException {
+        ClasificacionExterna clasificacion = new ClasificacionExterna(REGISTROS / 10,
+                new ClasificaRegistros()::createOutText);
+        medirRetenidosEnDisco("ordenamiento externo", (contenido, typesMaps) -> clasificacion
+                .clasificar("5402ORDINARIO", contenido, typesMaps, new Conciliacion.Totales()));
+    }
+
+    @Test
+    void testFlujoCompleto_dentroDelPresupuesto() {
+        long pico = medirFlujoCompleto("memoria", ASIGNADOS_FLUJO);
+        imprimirTamanoMaximo(pico);
+        assertTrue(pico <= PICO_FLUJO, "Pico de heap por registro " + pico + " B supera el presupuesto de "
+                + PICO_FLUJO + " B");
+    }
+
+    @Test
+    void testFlujoCompletoEnDisco_dentroDelPresupuesto() {
+        long pico = medirFlujoCompleto("disco", Long.MAX_VALUE);
+        assertTrue(pico <= PICO_FLUJO_DISCO, "Pico de heap por registro en disco " + pico
+                + " B supera el presupuesto de " + PICO_FLUJO_DISCO + " B");
+    }
+
+    @Test
+    void testFlujoCompletoExterno_dentroDelPresupuesto() {
+        long pico = medirFlujoCompleto("externa", Long.MAX_VALUE);
+        assertTrue(pico <= PICO_FLUJO_EXTERNA, "Pico de heap por registro con ordenamiento externo " + pico
+                + " B supera el presupuesto de " + PICO_FLUJO_EXTERNA + " B");
+    }
+
+    /**
+     * Clasifica un archivo sobre mapas en disco y luego otro sobre los mismos
+     * mapas, todavía abiertos, y verifica el heap retenido por registro del
+     * segundo. La diferencia entre ambos descarta lo que no depende de la
+     * cantidad de registros, como las clases cargadas y los búferes.
+     */
+    private static void medirRetenidosEnDisco(String descripcion,
+            BiConsumer<InputStream, Map<String, Map<String, String>>> clasificacion) throws IOException {
+        byte[] primero = generar(0, REGISTROS, 0.05);
+        byte[] segundo = generar(1, REGISTROS, 0.05);
+        try (MapaEnDisco fusionado = new MapaEnDisco(Constantes.ARCHIVO_FUSIONADO);
+                MapaEnDisco dividendos = new MapaEnDisco(Constantes.ARCHIVO_DIVIDENDOS)) {
+            Map<String, Map<String, String>> typesMaps = new HashMap<>();
+            typesMaps.put(Constantes.ARCHIVO_FUSIONADO, fusionado);
+            typesMaps.put(Constantes.ARCHIVO_DIVIDENDOS, dividendos);
+            clasificacion.accept(new ByteArrayInputStream(primero), typesMaps);
+            long heapInicial = heapRetenido();
+            clasificacion.accept(new ByteArrayInputStream(segundo), typesMaps);
+            long retenidos = (heapRetenido() - heapInicial) / REGISTROS;
+            System.out.println(String.format("[MEMORIA] %s: %d B/registro retenidos", descripcion, retenidos));
+            assertTrue(fusionado.size() + dividendos.size() > REGISTROS, "Los mapas deben tener ambos archivos");
+            assertTrue(retenidos <= RETENIDOS_EN_DISCO, "Heap retenido por registro con " + descripcion + " "
+                    + retenidos + " B supera el presupuesto de " + RETENIDOS_EN_DISCO + " B");
+        }
+    }
+
+    /**
+     * Ejecuta dos veces el flujo completo con la estrategia de memoria indicada y
+     * retorna el pico de heap por registro de la segunda ejecución. Se usa el
+     * modo de I/O por defecto, en el que las cargas se solapan con el cifrado.
+     */
+    private long medirFlujoCompleto(String estrategia, long presupuestoAsignados) {
+        LocalObjectStore objectStore = new LocalObjectStore(root);
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        configuracion.setNombreBucketArchivosEntrada("entrada");
+        configuracion.setNombreBucketArchivosSalida("salida");
+        configuracion.setNombreBucketLlaves("llaves");
+        configuracion.setRutaEntrada("in/");
+        configuracion.setRutaSalida("out/");
+        configuracion.setRutaProcesados("done/");
+        configuracion.setRutaLlavePrivadaPgp("privada.asc");
+        configuracion.setRutaLlavePublicaPgp("publica.asc");
+        configuracion.setFraseSecretaPgpDescifrada("frase");
+        configuracion.setEstrategiaMemoria(estrategia);
+        configuracion.setRegistrosPorCorrida(REGISTROS / 10);
+        objectStore.put("llaves", "privada.asc", new byte[1], "text/plain");
+        objectStore.put("llaves", "publica.asc", new byte[1], "text/plain");
+        objectStore.put("entrada", "in/5402ORDINARIO.pgp", generar(0, REGISTROS / 2, 0.05), "text/plain");
+        objectStore.put("entrada", "in/0177PREFERENCIAL.pgp", generar(1, REGISTROS / 2, 0.05), "text/plain");
+
+        try (MockedStatic<PgpDecryptionUtil> decryption = mockStatic(PgpDecryptionUtil.class);
+                MockedStatic<PgpEncryptionUtil> encryption = mockStatic(PgpEncryptionUtil.class)) {
+            decryption.when(() -> PgpDecryptionUtil.descifrarArchivo(any(), anyString(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            encryption.when(() -> PgpEncryptionUtil.cifrarArchivo(any(InputStream.class), anyLong(), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            new EjecutorLocal(objectStore, configuracion, false, new EjecutorLocal.AuditoriaLocalDao()).ejecutar();
+
+            long heapInicial = heapRetenido();
+            long asignadosInicio = TelemetriaJvm.bytesAsignados();
+            EjecutorLocal ejecutor = new EjecutorLocal(objectStore, configuracion, false,
+                    new EjecutorLocal.AuditoriaLocalDao());
+            ejecutor.ejecutar();
+            long asignados = (TelemetriaJvm.bytesAsignados() - asignadosInicio) / REGISTROS;
+            long pico = Math.max(0, ejecutor.getPicoHeap() - heapInicial) / REGISTROS;
+            System.out.println(String.format("[MEMORIA] flujo completo (%s): %d B/registro asignados, "
+                    + "%d B/registro pico", estrategia, asignados, pico));
+            assertTrue(asignados <= presupuestoAsignados, "Asignación por registro " + asignados
+                    + " B supera el presupuesto de " + presupuestoAsignados + " B");
+            return pico;
+        }
+    }
+
+    /**
+     * Imprime el archivo más grande que cabe en cada configuración de memoria de
+     * la Lambda, suponiendo que el heap puede usar el 85% de la memoria menos 64
+     * MB para el runtime.
+     */
+    private static void imprimirTamanoMaximo(long picoPorRegistro) {
+        if (picoPorRegistro <= 0) {
+            return;
+        }
+        for (int memoria : MEMORIA_LAMBDA_MB) {
+            long heapDisponible = (long) (memoria * 0.85 - 64) * 1024 * 1024;
+            long registros = heapDisponible / picoPorRegistro;
+            System.out.println(String.format("[MEMORIA] %5d MB -> %,d registros (%,d MB por corrida)", memoria,
+                    registros, registros * 102 / (1024 * 1024)));
+        }
+    }
+
+    private static long heapRetenido() {
+        long minimo = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            minimo = Math.min(minimo, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+        TelemetriaJvm.reiniciarPicosHeap();
+        return minimo;
+    }
+
+    private static long presupuesto(String propiedad, long porDefecto) {
+        return Long.getLong(propiedad, porDefecto);
+    }
+
+    /**
+     * Genera un archivo con el formato de ancho fijo: encabezado y registros con
+     * la factura en las columnas 1 a 13 y el valor en las columnas 89 a 101.
+     */
+    private static byte[] generar(int numeroArchivo, int registros, double proporcionDuplicados) {
+        Random random = new Random(42L + numeroArchivo);
+        String relleno = " ".repeat(76);
+        StringBuilder linea = new StringBuilder(registros * 102);
+        linea.append("100000177ACCAVAL20261019DIVIDENDOS").append(" ".repeat(67)).append('\n');
+        long base = 100_000_000_000L * (numeroArchivo + 1);
+        int unicas = 0;
+        for (int i = 1; i < registros; i++) {
+            long factura = unicas > 0 && random.nextDouble() < proporcionDuplicados ? base + random.nextInt(unicas)
+                    : base + unicas++;
+            linea.append('2').append(factura).append(relleno)
+                    .append(String.format("%012d", 1 + random.nextInt(999_999_999))).append('\n');
+        }
+        return linea.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,125 @@
+package co.com.aws.lambda.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class HistoricoFacturasTest {
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path directorio;
+
+    private LocalObjectStore objectStore;
+
+    private ConfiguracionDto configuracion;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new LocalObjectStore(root);
+        configuracion = new ConfiguracionDto();
+        configuracion.setNombreBucketArchivosSalida("salida");
+        configuracion.setRutaHistoricoFacturas("historico/");
+        configuracion.setModoIo("secuencial");
+    }
+
+    @Test
+    void testPublicar_lasFacturasSeConsultanEnLaSiguienteEjecucion() {
+        HistoricoFacturas primera = HistoricoFacturas.cargar(objectStore, configuracion, entradas("dia1"),
+                directorio);
+        assertEquals(0, primera.getSegmentos());
+        assertFalse(primera.contiene("000000000001"));
+        Map<String, String> fusionado = new LinkedHashMap<>();
+        fusionado.put("5402ORDINARIO_0", "1000000000007 ENCABEZADO");
+        fusionado.put("5402ORDINARIO_1", "2000000000002 B");
+        fusionado.put("0177PREFERENCIAL_1", "2000000000001 A");
+        fusionado.put("5402ORDINARIO_3", "2XXXXXXXXXXXX sin factura");
+        fusionado.put("total", "3000005");
+
+        primera.publicar(fusionado);
+
+        assertEquals(List.of(primera.getLlaveSegmento()),
+                objectStore.list("salida", "historico/").stream().map(S3Object::key).toList());
+        HistoricoFacturas segunda = HistoricoFacturas.cargar(objectStore, configuracion, entradas("dia2"),
+                directorio);
+        assertEquals(1, segunda.getSegmentos());
+        assertEquals(2, segunda.getCantidad(), "El encabezado y el total no hacen parte del histórico");
+        assertTrue(segunda.contiene("000000000001"));
+        assertTrue(segunda.contiene("000000000002"));
+        assertFalse(segunda.contiene("000000000007"));
+        assertFalse(segunda.contiene("00000000000X"));
+    }
+
+    @Test
+    void testCargar_reintentoNoConsultaSuPropioSegmento() {
+        HistoricoFacturas historico = HistoricoFacturas.cargar(objectStore, configuracion, entradas("dia1"),
+                directorio);
+        historico.publicar(Map.of("5402ORDINARIO_1", "2000000000001 A"));
+
+        HistoricoFacturas reintento = HistoricoFacturas.cargar(objectStore, configuracion, entradas("dia1"),
+                directorio);
+
+        assertEquals(historico.getLlaveSegmento(), reintento.getLlaveSegmento());
+        assertFalse(reintento.contiene("000000000001"), "El reintento clasifica igual que el primer intento");
+    }
+
+    @Test
+    void testCargar_compactaLosSegmentos() {
+        for (int dia = 0; dia <= HistoricoFacturas.MAXIMO_SEGMENTOS; dia++) {
+            HistoricoFacturas.cargar(objectStore, configuracion, entradas("dia" + dia), directorio)
+                    .publicar(Map.of("5402ORDINARIO_1", String.format("2%012d A", dia * 1000L),
+                            "5402ORDINARIO_2", "2999999999999 comun"));
+        }
+
+        HistoricoFacturas historico = HistoricoFacturas.cargar(objectStore, configuracion, entradas("siguiente"),
+                directorio);
+
+        assertEquals(1, historico.getSegmentos());
+        assertEquals(HistoricoFacturas.MAXIMO_SEGMENTOS + 2, historico.getCantidad());
+        for (int dia = 0; dia <= HistoricoFacturas.MAXIMO_SEGMENTOS; dia++) {
+            assertTrue(historico.contiene(String.format("%012d", dia * 1000L)));
+        }
+        assertTrue(historico.contiene("999999999999"));
+        List<S3Object> publicados = objectStore.list("salida", "historico/");
+        assertEquals(1, publicados.size());
+        assertTrue(publicados.get(0).key().startsWith("historico/" + HistoricoFacturas.PREFIJO_COMPACTADO));
+        assertTrue(Files.isRegularFile(directorio.resolve(publicados.get(0).key().substring("historico/".length()))),
+                "El compactado queda en el directorio local");
+    }
+
+    @Test
+    void testActual_inactivoFueraDeUnaInvocacion() {
+        HistoricoFacturas.terminar();
+
+        assertFalse(HistoricoFacturas.actual().contiene("000000000001"));
+        assertEquals(0, HistoricoFacturas.actual().getSegmentos());
+    }
+
+    @Test
+    void testTextoDuplicado() {
+        String registro = "2000000000001" + " ".repeat(76) + "000000001000";
+
+        assertEquals("El numero de factura [000000000001] con el valor [000000001000] ya fue procesado en una "
+                + "ejecucion anterior.", HistoricoFacturas.textoDuplicado(registro));
+    }
+
+    private static List<S3Object> entradas(String dia) {
+        return List.of(S3Object.builder().key("in/5402ORDINARIO_" + dia + ".pgp").size(10L).build());
+    }
+}
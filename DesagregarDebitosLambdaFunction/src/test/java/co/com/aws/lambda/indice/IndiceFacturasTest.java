@@ -0,0 +1,89 @@
+package co.com.aws.lambda.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceFacturasTest {
+
+    @Test
+    void testAgregar_llevaElDesplazamientoConLosSaltosDeLinea() throws IOException {
+        IndiceFacturas indice = new IndiceFacturas();
+        indice.agregar("5402ORDINARIO_0", bytes("1000000000000 ENCABEZADO"));
+        indice.agregar("5402ORDINARIO_1", bytes("2000000000002 B"));
+        indice.agregar("0177PREFERENCIAL_1", bytes("2000000000001 ñ"));
+        indice.agregar("total", bytes("3000003"));
+
+        assertEquals(3, indice.getCantidad(), "El total no tiene factura");
+        DataInputStream datos = escribir(indice);
+        assertEquals(IndiceFacturas.MAGIA, datos.readInt());
+        assertEquals(IndiceFacturas.VERSION, datos.readShort());
+        assertEquals(2, datos.readShort());
+        assertEquals("5402ORDINARIO", datos.readUTF());
+        assertEquals("0177PREFERENCIAL", datos.readUTF());
+        assertEquals(3, datos.readInt());
+        assertEntrada(datos, 0L, 0L, 24, 0);
+        assertEntrada(datos, 1L, 41L, 16, 1);
+        assertEntrada(datos, 2L, 25L, 15, 0);
+        assertEquals(-1, datos.read());
+    }
+
+    @Test
+    void testEscribir_facturaRepetidaConservaElOrdenDelArchivo() throws IOException {
+        IndiceFacturas indice = new IndiceFacturas();
+        for (int i = 0; i < 3000; i++) {
+            indice.agregar("A_" + i, bytes(String.format("2%012d X", i % 2 == 0 ? 7 : 5)));
+        }
+
+        DataInputStream datos = escribir(indice);
+        datos.readInt();
+        datos.readShort();
+        datos.readShort();
+        datos.readUTF();
+        assertEquals(3000, datos.readInt());
+        long anterior = -1;
+        for (int i = 0; i < 3000; i++) {
+            long factura = datos.readLong();
+            long desplazamiento = datos.readLong();
+            datos.readInt();
+            datos.readShort();
+            assertEquals(i < 1500 ? 5L : 7L, factura);
+            if (i != 1500) {
+                assertTrue(desplazamiento > anterior, "Una factura conserva el orden del archivo");
+            }
+            anterior = desplazamiento;
+        }
+    }
+
+    @Test
+    void testFactura_soloPosicionesNumericas() {
+        assertEquals(123456789012L, IndiceFacturas.factura(bytes("2123456789012")));
+        assertEquals(-1, IndiceFacturas.factura(bytes("212345678901")));
+        assertEquals(-1, IndiceFacturas.factura(bytes("21234567890A2 X")));
+    }
+
+    private static void assertEntrada(DataInputStream datos, long factura, long desplazamiento, int longitud,
+            int archivo) throws IOException {
+        assertEquals(factura, datos.readLong());
+        assertEquals(desplazamiento, datos.readLong());
+        assertEquals(longitud, datos.readInt());
+        assertEquals(archivo, datos.readShort());
+    }
+
+    private static DataInputStream escribir(IndiceFacturas indice) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        indice.escribir(salida);
+        return new DataInputStream(new ByteArrayInputStream(salida.toByteArray()));
+    }
+
+    private static byte[] bytes(String registro) {
+        return registro.getBytes(StandardCharsets.UTF_8);
+    }
+}
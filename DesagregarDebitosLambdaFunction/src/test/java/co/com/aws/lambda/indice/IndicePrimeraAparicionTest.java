@@ -0,0 +1,112 @@
+package co.com.aws.lambda.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class IndicePrimeraAparicionTest {
+
+    @Test
+    void testRegistrar_laMenorPosicionGana() {
+        IndicePrimeraAparicion indice = new IndicePrimeraAparicion(1);
+
+        indice.registrar(0, registro("000000000007"), 50);
+        indice.registrar(0, registro("000000000007"), 80);
+        assertEquals(50, indice.primera(0, registro("000000000007")), "Llega después: no cambia la ganadora");
+        indice.registrar(0, registro("000000000007"), 20);
+        indice.registrar(0, registro("000000000007"), 20);
+        indice.registrar(1, registro("000000000007"), 90);
+        indice.registrar(0, registro("00000000000X"), 30);
+        indice.registrar(0, registro("00000000000X"), 10);
+        indice.registrar(0, registro("00000000000X"), 40);
+
+        assertEquals(20, indice.primera(0, registro("000000000007")), "Llega antes: desplaza a la ganadora");
+        assertEquals(90, indice.primera(1, registro("000000000007")), "Cada archivo deduplica por separado");
+        assertEquals(10, indice.primera(0, registro("00000000000X")), "Facturas no numéricas");
+        assertEquals(IndicePrimeraAparicion.NINGUNA, indice.primera(2, registro("000000000007")));
+        assertEquals(3, indice.getCantidad());
+        assertEquals(4, indice.getSegmentos());
+    }
+
+    @Test
+    void testRegistrar_creceSinPerderFacturas() {
+        IndicePrimeraAparicion indice = new IndicePrimeraAparicion(1);
+        for (int i = 0; i < 50_000; i++) {
+            indice.registrar(i % 3, registro(String.format("%012d", i * 7919L)), i);
+        }
+
+        assertEquals(50_000, indice.getCantidad());
+        for (int i = 0; i < 50_000; i += 97) {
+            assertEquals(i, indice.primera(i % 3, registro(String.format("%012d", i * 7919L))));
+        }
+    }
+
+    /**
+     * Varios hilos registran las mismas apariciones en distinto orden: la
+     * ganadora de cada factura es la de menor posición, como en el recorrido
+     * secuencial.
+     */
+    @Test
+    void testRegistrar_concurrenteIgualQueElRecorridoSecuencial() throws Exception {
+        Random random = new Random(20261019L);
+        List<long[]> apariciones = new ArrayList<>();
+        Map<String, Long> esperadas = new HashMap<>();
+        for (long posicion = 0; posicion < 200_000; posicion++) {
+            int archivo = random.nextInt(2);
+            long factura = random.nextInt(random.nextBoolean() ? 40_000 : 1_000_000);
+            apariciones.add(new long[] { archivo, factura, posicion });
+            esperadas.putIfAbsent(archivo + "_" + factura, posicion);
+        }
+
+        for (int ronda = 0; ronda < 3; ronda++) {
+            Collections.shuffle(apariciones, random);
+            IndicePrimeraAparicion indice = new IndicePrimeraAparicion(8);
+            int hilos = 8;
+            CountDownLatch salida = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(hilos);
+            try {
+                List<Future<?>> tareas = new ArrayList<>();
+                for (int hilo = 0; hilo < hilos; hilo++) {
+                    int inicio = hilo;
+                    tareas.add(pool.submit(() -> {
+                        salida.await();
+                        for (int i = inicio; i < apariciones.size(); i += hilos) {
+                            long[] aparicion = apariciones.get(i);
+                            indice.registrar((int) aparicion[0], registro(String.format("%012d", aparicion[1])),
+                                    aparicion[2]);
+                        }
+                        return null;
+                    }));
+                }
+                salida.countDown();
+                for (Future<?> tarea : tareas) {
+                    tarea.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertEquals(esperadas.size(), indice.getCantidad());
+            for (Map.Entry<String, Long> esperada : esperadas.entrySet()) {
+                String[] partes = esperada.getKey().split("_");
+                assertEquals(esperada.getValue(), indice.primera(Integer.parseInt(partes[0]),
+                        registro(String.format("%012d", Long.parseLong(partes[1])))));
+            }
+        }
+    }
+
+    private static String registro(String factura) {
+        return "2" + factura + " DETALLE";
+    }
+}
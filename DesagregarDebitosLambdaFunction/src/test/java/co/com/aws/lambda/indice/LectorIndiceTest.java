@@ -0,0 +1,68 @@
+package co.com.aws.lambda.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.storage.LocalObjectStore;
+
+class LectorIndiceTest {
+
+    private static final String[] REGISTROS = { "1000000000000 ENCABEZADO", "2000000000009 ÁLVAREZ",
+            "2000000000003 PÉREZ", "2000000000009 SEGUNDO", "3000004" };
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testBuscar_resuelveCadaFacturaConUnaLecturaPorRango() throws IOException {
+        LocalObjectStore objectStore = new LocalObjectStore(root);
+        IndiceFacturas indice = new IndiceFacturas();
+        for (int i = 0; i < REGISTROS.length; i++) {
+            indice.agregar("5402ORDINARIO_" + i, REGISTROS[i].getBytes(StandardCharsets.UTF_8));
+        }
+        objectStore.put("salida", "out/FUSIONADO.txt",
+                String.join("\n", REGISTROS).getBytes(StandardCharsets.UTF_8), "text/plain");
+
+        LectorIndice lector = LectorIndice.leer(new ByteArrayInputStream(escribir(indice)));
+
+        assertEquals(4, lector.getCantidad());
+        List<UbicacionFactura> repetida = lector.buscar(9L);
+        assertEquals(2, repetida.size());
+        assertEquals("2000000000009 ÁLVAREZ",
+                LectorIndice.leerRegistro(objectStore, "salida", "out/FUSIONADO.txt", repetida.get(0)));
+        assertEquals("2000000000009 SEGUNDO",
+                LectorIndice.leerRegistro(objectStore, "salida", "out/FUSIONADO.txt", repetida.get(1)));
+        UbicacionFactura unica = lector.buscar(3L).get(0);
+        assertEquals("5402ORDINARIO", unica.getArchivo());
+        assertEquals("2000000000003 PÉREZ", LectorIndice.leerRegistro(objectStore, "salida", "out/FUSIONADO.txt",
+                unica));
+        assertTrue(lector.buscar(4L).isEmpty());
+        assertTrue(lector.buscar(10L).isEmpty());
+    }
+
+    @Test
+    void testLeer_contenidoQueNoEsIndice() {
+        AthException e = assertThrows(AthException.class,
+                () -> LectorIndice.leer(new ByteArrayInputStream("2000000000009".getBytes(StandardCharsets.UTF_8))));
+        assertTrue(e.getMessage().contains("no es un índice"), e.getMessage());
+        assertThrows(AthException.class, () -> LectorIndice.leer(new ByteArrayInputStream(new byte[2])));
+    }
+
+    private static byte[] escribir(IndiceFacturas indice) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        indice.escribir(salida);
+        return salida.toByteArray();
+    }
+}
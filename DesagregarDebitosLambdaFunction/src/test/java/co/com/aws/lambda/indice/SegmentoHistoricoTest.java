@@ -0,0 +1,107 @@
+package co.com.aws.lambda.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.ath.aws.exception.AthException;
+
+class SegmentoHistoricoTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void testContiene_facturasDeVariosBloques() throws IOException {
+        long[] facturas = new long[1000];
+        for (int i = 0; i < facturas.length; i++) {
+            facturas[i] = 100_000_000_000L + 3L * i;
+        }
+        Path archivo = directorio.resolve("segmento.hst");
+        try (OutputStream salida = Files.newOutputStream(archivo)) {
+            escribir(salida, facturas);
+        }
+
+        SegmentoHistorico segmento = SegmentoHistorico.abrir(archivo);
+
+        assertEquals(1000, segmento.getCantidad());
+        for (long factura : facturas) {
+            assertTrue(segmento.contiene(factura), "Factura " + factura);
+            assertFalse(segmento.contiene(factura + 1), "Factura " + (factura + 1));
+        }
+        assertFalse(segmento.contiene(0L));
+        assertFalse(segmento.contiene(999_999_999_999L));
+        assertTrue(Files.size(archivo) < 2 * facturas.length, "Una diferencia pequeña ocupa un byte");
+    }
+
+    @Test
+    void testIterador_recorreEnOrdenConDiferenciasGrandes() throws IOException {
+        long[] facturas = { 0L, 1L, 128L, 16_511L, 5_000_000_000L, 999_999_999_999L };
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        SegmentoHistorico.Escritor escritor = escribir(salida, facturas);
+
+        SegmentoHistorico segmento = SegmentoHistorico.leer(ByteBuffer.wrap(salida.toByteArray()));
+
+        assertEquals(facturas.length, escritor.getCantidad());
+        PrimitiveIterator.OfLong iterador = segmento.iterador();
+        for (long factura : facturas) {
+            assertEquals(factura, iterador.nextLong());
+            assertTrue(segmento.contiene(factura));
+        }
+        assertFalse(iterador.hasNext());
+        assertFalse(segmento.contiene(129L));
+    }
+
+    @Test
+    void testEscritor_descartaRepetidasYRechazaDesorden() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        SegmentoHistorico.Escritor escritor = escribir(salida, new long[] { 5L, 5L, 7L });
+
+        assertEquals(2, escritor.getCantidad());
+        assertThrows(AthException.class, () -> escritor.agregar(6L));
+    }
+
+    @Test
+    void testLeer_segmentoVacio() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        escribir(salida, new long[0]);
+
+        SegmentoHistorico segmento = SegmentoHistorico.leer(ByteBuffer.wrap(salida.toByteArray()));
+
+        assertEquals(0, segmento.getCantidad());
+        assertFalse(segmento.contiene(1L));
+        assertFalse(segmento.iterador().hasNext());
+    }
+
+    @Test
+    void testLeer_contenidoInvalido() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        escribir(salida, new long[] { 1L, 2L, 3L });
+        byte[] truncado = new byte[salida.size() - 1];
+        System.arraycopy(salida.toByteArray(), 0, truncado, 0, truncado.length);
+
+        assertThrows(AthException.class, () -> SegmentoHistorico.leer(ByteBuffer.wrap(new byte[32])));
+        assertThrows(AthException.class, () -> SegmentoHistorico.leer(ByteBuffer.wrap(truncado)));
+    }
+
+    private static SegmentoHistorico.Escritor escribir(OutputStream salida, long[] facturas) throws IOException {
+        SegmentoHistorico.Escritor escritor = new SegmentoHistorico.Escritor(salida);
+        for (long factura : facturas) {
+            escritor.agregar(factura);
+        }
+        escritor.terminar();
+        return escritor;
+    }
+}
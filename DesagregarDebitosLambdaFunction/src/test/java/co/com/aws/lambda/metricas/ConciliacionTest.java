@@ -0,0 +1,49 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ConciliacionTest {
+
+    @Test
+    void testImporte_campoDeLasPosiciones89A100() {
+        String registro = "2000000000001" + " ".repeat(76) + "000000123456";
+
+        assertEquals(123_456L, Conciliacion.importe(registro));
+        assertEquals(123_456L, Conciliacion.importe(registro + "   resto"));
+        assertEquals(-1, Conciliacion.importe(registro.substring(0, 100)), "Campo incompleto");
+        assertEquals(-1, Conciliacion.importe(registro.replace("000000123456", "0000001234 6")), "No numérico");
+        assertEquals(999_999_999_999L, Conciliacion.importe("2000000000001" + " ".repeat(76) + "999999999999"));
+    }
+
+    @Test
+    void testRegistrar_totalesPorArchivoYTotal() {
+        Conciliacion.Totales ordinario = new Conciliacion.Totales();
+        ordinario.sumar(false, 1_000);
+        ordinario.sumar(false, 2_000);
+        ordinario.sumar(true, 1_000);
+        ordinario.sumar(true, -1);
+        Conciliacion.Totales preferencial = new Conciliacion.Totales();
+        preferencial.sumar(false, 3_000);
+        Conciliacion conciliacion = new Conciliacion();
+        assertTrue(conciliacion.isVacio());
+
+        conciliacion.registrar("5402ORDINARIO", ordinario);
+        conciliacion.registrar("0177PREFERENCIAL", preferencial);
+        ordinario.sumar(false, 99);
+
+        assertEquals("{\"5402ORDINARIO\":{\"Unicos\":2,\"ImporteUnicos\":3000,\"Duplicados\":2,"
+                + "\"ImporteDuplicados\":1000,\"SinImporte\":1},\"0177PREFERENCIAL\":{\"Unicos\":1,"
+                + "\"ImporteUnicos\":3000,\"Duplicados\":0,\"ImporteDuplicados\":0,\"SinImporte\":0},"
+                + "\"Total\":{\"Unicos\":3,\"ImporteUnicos\":6000,\"Duplicados\":2,\"ImporteDuplicados\":1000,"
+                + "\"SinImporte\":1}}", conciliacion.toJson(), "Se registra una copia de los totales");
+        conciliacion.registrar("5402ORDINARIO", ordinario);
+        assertEquals(3, conciliacion.getArchivos().get("5402ORDINARIO").getUnicos(),
+                "Registrar de nuevo reemplaza los totales del archivo");
+        assertEquals(6_099, conciliacion.getTotal().getImporteUnicos());
+        assertTrue(conciliacion.toString().endsWith(
+                "Total: unicos=4 importe=6099 duplicados=2 importe=1000 sinImporte=1"), conciliacion.toString());
+    }
+}
@@ -0,0 +1,60 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ConsumoJvmTest {
+
+    @Test
+    void testCosto_gbSegundosPorMemoriaYDuracion() {
+        ConsumoJvm consumo = new ConsumoJvm(2_000_000_000L, 100L * 1024 * 1024, 3, 12, 2_500_000_000L,
+                200L * 1024 * 1024, 1024);
+
+        assertEquals(2.0, consumo.getGbSegundos(), 1e-9);
+        assertEquals(2.0 * ConsumoJvm.PRECIO_GB_SEGUNDO + ConsumoJvm.PRECIO_SOLICITUD, consumo.getCostoEstimado(),
+                1e-15);
+        assertEquals(125.0, consumo.getUsoCpu(), 1e-9);
+        assertEquals("{\"Duracion\":2000.000,\"PicoHeap\":104857600,\"Recolecciones\":3,\"TiempoRecoleccion\":12,"
+                + "\"TiempoCpu\":2500.000,\"BytesAsignados\":209715200,\"MemoriaMb\":1024,\"GbSegundos\":2.000000,"
+                + "\"CostoEstimado\":0.0000335334}", consumo.toJson());
+        assertEquals("duracion=2000.000 ms picoHeap=100 MB gc=3 recoleccion=12 ms cpu=2500.000 ms (125%) "
+                + "asignados=200 MB memoria=1024 MB gbSegundos=2.000000 costo=0.0000335334 USD", consumo.toString());
+    }
+
+    @Test
+    void testTelemetria_mideLaAsignacionDeLaInvocacion() {
+        TelemetriaJvm telemetria = TelemetriaJvm.iniciar(512);
+        byte[][] bloques = new byte[64][];
+        for (int i = 0; i < bloques.length; i++) {
+            bloques[i] = new byte[64 * 1024];
+        }
+        ConsumoJvm consumo = telemetria.medir();
+
+        assertTrue(bloques[63].length > 0);
+        assertEquals(512, consumo.getMemoriaMb());
+        assertTrue(consumo.getDuracion() > 0);
+        assertTrue(consumo.getPicoHeap() > 0);
+        assertTrue(consumo.getBytesAsignados() >= 64L * 64 * 1024, "Asignados: " + consumo.getBytesAsignados());
+        assertTrue(consumo.getRecolecciones() >= 0 && consumo.getTiempoRecoleccionMs() >= 0);
+    }
+
+    @Test
+    void testTelemetria_cuentaLosHilosQueYaTerminaron() throws InterruptedException {
+        TelemetriaJvm telemetria = TelemetriaJvm.iniciar(512);
+        int[] longitud = new int[1];
+        Thread hilo = Thread.ofPlatform().start(() -> {
+            byte[][] bloques = new byte[64][];
+            for (int i = 0; i < bloques.length; i++) {
+                bloques[i] = new byte[64 * 1024];
+            }
+            longitud[0] = bloques[63].length;
+        });
+        hilo.join();
+        ConsumoJvm consumo = telemetria.medir();
+
+        assertTrue(longitud[0] > 0);
+        assertTrue(consumo.getBytesAsignados() >= 64L * 64 * 1024, "Asignados: " + consumo.getBytesAsignados());
+    }
+}
@@ -0,0 +1,113 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+class EmisorEmfTest {
+
+    private static final long TIMESTAMP = 1_792_368_000_000L;
+
+    private final LambdaLogger logger = mock(LambdaLogger.class);
+
+    private final EmisorEmf emisorEmf = new EmisorEmf(logger, "DesagregarDebitos-dev");
+
+    @Test
+    void testEmitir_registroPorEtapaYPorInvocacion() {
+        MetricasEjecucion metricas = new MetricasEjecucion();
+        metricas.registrarEtapa("desencriptar_clasificar", 12_345_678L);
+        metricas.registrarEtapa("encriptar", 2_000_000L);
+        metricas.incrementar(MetricasEjecucion.REGISTROS_PROCESADOS, 1_000);
+        metricas.incrementar(MetricasEjecucion.REGISTROS_DUPLICADOS, 7);
+        metricas.incrementar(MetricasEjecucion.BYTES_LEIDOS, 52_000);
+        metricas.incrementar(MetricasEjecucion.BYTES_ESCRITOS, 48_000);
+        metricas.registrarCache(MetricasEjecucion.CACHE_LLAVE_PRIVADA, false);
+        metricas.registrarCache(MetricasEjecucion.CACHE_LLAVE_PRIVADA, true);
+        metricas.registrarCache(MetricasEjecucion.CACHE_LLAVE_PRIVADA, true);
+
+        emisorEmf.emitir(metricas, TIMESTAMP);
+
+        ArgumentCaptor<String> registros = ArgumentCaptor.forClass(String.class);
+        verify(logger, times(3)).log(registros.capture());
+        List<String> lineas = registros.getAllValues();
+        assertEquals("{\"_aws\":{\"Timestamp\":1792368000000,\"CloudWatchMetrics\":[{\"Namespace\":\"DesagregarDebitos\","
+                + "\"Dimensions\":[[\"Funcion\",\"Etapa\"]],\"Metrics\":[{\"Name\":\"Latencia\",\"Unit\":\"Milliseconds\"}]}]},"
+                + "\"Funcion\":\"DesagregarDebitos-dev\",\"Etapa\":\"desencriptar_clasificar\",\"Latencia\":12.346}\n",
+                lineas.get(0));
+        assertEquals("{\"_aws\":{\"Timestamp\":1792368000000,\"CloudWatchMetrics\":[{\"Namespace\":\"DesagregarDebitos\","
+                + "\"Dimensions\":[[\"Funcion\",\"Etapa\"]],\"Metrics\":[{\"Name\":\"Latencia\",\"Unit\":\"Milliseconds\"}]}]},"
+                + "\"Funcion\":\"DesagregarDebitos-dev\",\"Etapa\":\"encriptar\",\"Latencia\":2.000}\n", lineas.get(1));
+        assertEquals("{\"_aws\":{\"Timestamp\":1792368000000,\"CloudWatchMetrics\":[{\"Namespace\":\"DesagregarDebitos\","
+                + "\"Dimensions\":[[\"Funcion\"]],\"Metrics\":[{\"Name\":\"RegistrosProcesados\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"RegistrosDuplicados\",\"Unit\":\"Count\"},{\"Name\":\"BytesLeidos\",\"Unit\":\"Bytes\"},"
+                + "{\"Name\":\"BytesEscritos\",\"Unit\":\"Bytes\"},{\"Name\":\"Errores\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"AuditoriasFallidas\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"DuracionTotal\",\"Unit\":\"Milliseconds\"},"
+                + "{\"Name\":\"TasaAciertosCacheLlavePrivada\",\"Unit\":\"Percent\"}]}]},"
+                + "\"Funcion\":\"DesagregarDebitos-dev\",\"RegistrosProcesados\":1000,\"RegistrosDuplicados\":7,"
+                + "\"BytesLeidos\":52000,\"BytesEscritos\":48000,\"Errores\":0,\"AuditoriasFallidas\":0,"
+                + "\"DuracionTotal\":14.346,"
+                + "\"TasaAciertosCacheLlavePrivada\":66.67}\n", lineas.get(2));
+    }
+
+    @Test
+    void testRegistroInvocacion_histogramasComoPropiedad() {
+        MetricasEjecucion metricas = new MetricasEjecucion();
+        metricas.registrar("cifrarArchivoPgp", 3_000_000L);
+        metricas.registrar("cifrarArchivoPgp", 5_000_000L);
+
+        assertEquals("{\"_aws\":{\"Timestamp\":0,\"CloudWatchMetrics\":[{\"Namespace\":\"DesagregarDebitos\","
+                + "\"Dimensions\":[[\"Funcion\"]],\"Metrics\":[{\"Name\":\"RegistrosProcesados\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"RegistrosDuplicados\",\"Unit\":\"Count\"},{\"Name\":\"BytesLeidos\",\"Unit\":\"Bytes\"},"
+                + "{\"Name\":\"BytesEscritos\",\"Unit\":\"Bytes\"},{\"Name\":\"Errores\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"AuditoriasFallidas\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"DuracionTotal\",\"Unit\":\"Milliseconds\"}]}]},\"Funcion\":\"DesagregarDebitos-dev\","
+                + "\"RegistrosProcesados\":0,\"RegistrosDuplicados\":0,\"BytesLeidos\":0,\"BytesEscritos\":0,"
+                + "\"Errores\":0,\"AuditoriasFallidas\":0,\"DuracionTotal\":0.000,"
+                + "\"Histogramas\":{\"cifrarArchivoPgp\":{\"Conteo\":2,\"P50\":4194303,\"P99\":5000000,"
+                + "\"Maximo\":5000000}}}", emisorEmf.registroInvocacion(metricas, 0));
+    }
+
+    @Test
+    void testInvocacionTerminada_emiteLosRegistros() {
+        MetricasEjecucion metricas = new MetricasEjecucion();
+        metricas.registrarEtapa("listado", 1_000L);
+
+        emisorEmf.invocacionTerminada(metricas);
+
+        verify(logger, times(2)).log(startsWith("{\"_aws\":{\"Timestamp\":"));
+    }
+
+    @Test
+    void testRegistroEtapa_escapaTextos() {
+        EmisorEmf emisor = new EmisorEmf(logger, "fun\"cion\\");
+        assertEquals("{\"_aws\":{\"Timestamp\":0,\"CloudWatchMetrics\":[{\"Namespace\":\"DesagregarDebitos\","
+                + "\"Dimensions\":[[\"Funcion\",\"Etapa\"]],\"Metrics\":[{\"Name\":\"Latencia\",\"Unit\":\"Milliseconds\"}]}]},"
+                + "\"Funcion\":\"fun\\\"cion\\\\\",\"Etapa\":\"a\\u000ab\",\"Latencia\":0.000}",
+                emisor.registroEtapa("a\nb", 0, 0));
+    }
+
+    @Test
+    void testRegistroInvocacion_consumoJvm() {
+        MetricasEjecucion metricas = MetricasEjecucion.iniciar();
+        metricas.medirConsumoJvm();
+
+        String registro = emisorEmf.registroInvocacion(metricas, 0);
+
+        assertTrue(registro.contains("{\"Name\":\"PicoHeap\",\"Unit\":\"Bytes\"},{\"Name\":\"TiempoRecoleccion\","
+                + "\"Unit\":\"Milliseconds\"},{\"Name\":\"TiempoCpu\",\"Unit\":\"Milliseconds\"},"
+                + "{\"Name\":\"BytesAsignados\",\"Unit\":\"Bytes\"},{\"Name\":\"GbSegundos\",\"Unit\":\"None\"}"),
+                registro);
+        assertTrue(registro.contains(",\"PicoHeap\":" + metricas.getConsumoJvm().getPicoHeap() + ","), registro);
+    }
+}
@@ -0,0 +1,60 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+class ExportadorLogTest {
+
+    private final LambdaLogger logger = mock(LambdaLogger.class);
+
+    private final ExportadorLog exportadorLog = new ExportadorLog(logger);
+
+    @AfterEach
+    void tearDown() {
+        Instrumentacion.configurar(null);
+    }
+
+    @Test
+    void testTramoCerrado_rutaDetalleYDuracion() {
+        Instrumentacion.habilitar(true, List.of(exportadorLog));
+        Instrumentacion.iniciarInvocacion();
+        try (Tramo etapa = Instrumentacion.etapa("desencriptar_clasificar")) {
+            try (Tramo tramo = Instrumentacion.tramo("decryptionFile", "in/5402ORDINARIO.pgp")) {
+                assertTrue(tramo.getDuracion() < 0, "El tramo abierto no tiene duración");
+            }
+        }
+
+        verify(logger).log(
+                matches("\\[INFO\\] desencriptar_clasificar/decryptionFile \\[in/5402ORDINARIO\\.pgp\\] \\d+\\.\\d{3} ms\n"));
+        verify(logger).log(matches("\\[INFO\\] desencriptar_clasificar \\d+\\.\\d{3} ms\n"));
+    }
+
+    @Test
+    void testLinea_formatoDeLaDuracion() {
+        Tramo tramo = new Tramo(null, "printFiles", "DIVIDENDOS.txt.pgp", false, System.nanoTime() - 12_345_678L);
+        tramo.close();
+        String linea = exportadorLog.linea(tramo);
+
+        assertTrue(linea.matches("\\[INFO\\] printFiles \\[DIVIDENDOS\\.txt\\.pgp\\] \\d+\\.\\d{3} ms"), linea);
+    }
+
+    @Test
+    void testInvocacionTerminada_unaLineaPorOperacionS3() {
+        MetricasEjecucion metricas = new MetricasEjecucion();
+        metricas.getOperacionesS3().registrar("GetObject", "in/5402ORDINARIO.pgp", 200, 1, 0, 52_000, 30_100_000L);
+
+        exportadorLog.invocacionTerminada(metricas);
+
+        verify(logger).log("[INFO] S3 GetObject llamadas=1 errores=0 limitadas=0 reintentos=0 enviados=0 "
+                + "recibidos=52000 total=30.100 ms max=30.100 ms [in/5402ORDINARIO.pgp]\n");
+    }
+}
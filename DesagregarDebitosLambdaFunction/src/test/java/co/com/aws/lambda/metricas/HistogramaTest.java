@@ -0,0 +1,47 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramaTest {
+
+    @Test
+    void testPercentiles_dentroDeLaCubeta() {
+        Histograma histograma = new Histograma();
+        for (int valor = 1; valor <= 1_000; valor++) {
+            histograma.registrar(valor);
+        }
+
+        assertEquals(1_000, histograma.getConteo());
+        assertEquals(500_500, histograma.getSuma());
+        assertEquals(1_000, histograma.getMaximo());
+        long p50 = histograma.getPercentil(50);
+        assertTrue(p50 >= 500 && p50 < 1_000, "p50 aproximado: " + p50);
+        assertEquals(1_000, histograma.getPercentil(99), "El percentil se acota por el máximo");
+        assertEquals(1, histograma.getPercentil(0));
+    }
+
+    @Test
+    void testRegistrar_valoresExtremosYVacio() {
+        Histograma histograma = new Histograma();
+        assertEquals(0, histograma.getPercentil(99));
+        histograma.registrar(-5);
+        histograma.registrar(Long.MAX_VALUE);
+
+        assertEquals(0, histograma.getPercentil(50));
+        assertEquals(Long.MAX_VALUE, histograma.getPercentil(100));
+    }
+
+    @Test
+    void testRegistrar_concurrente() {
+        Histograma histograma = new Histograma();
+        IntStream.range(0, 100_000).parallel().forEach(histograma::registrar);
+
+        assertEquals(100_000, histograma.getConteo());
+        assertEquals(99_999, histograma.getMaximo());
+    }
+}
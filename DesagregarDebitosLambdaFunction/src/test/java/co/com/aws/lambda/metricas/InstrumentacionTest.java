@@ -0,0 +1,115 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentacionTest {
+
+    private final List<String> eventos = Collections.synchronizedList(new ArrayList<>());
+
+    private final Exportador exportador = new Exportador() {
+
+        @Override
+        public void tramoIniciado(Tramo tramo) {
+            eventos.add("inicio " + tramo.getRuta());
+        }
+
+        @Override
+        public void tramoCerrado(Tramo tramo) {
+            eventos.add("cierre " + tramo.getRuta() + (tramo.getDetalle() != null ? " " + tramo.getDetalle() : ""));
+        }
+
+        @Override
+        public void invocacionTerminada(MetricasEjecucion metricas) {
+            eventos.add("fin " + metricas.getContadores());
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        Instrumentacion.habilitar(true, List.of(exportador));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Instrumentacion.configurar(null);
+    }
+
+    @Test
+    void testTramos_anidadosEnEtapas() {
+        MetricasEjecucion metricas = Instrumentacion.iniciarInvocacion();
+        Instrumentacion.medir("encriptar", () -> {
+            for (int i = 0; i < 2; i++) {
+                try (Tramo tramo = Instrumentacion.tramo("cifrarArchivoPgp", "archivo" + i)) {
+                    assertEquals("encriptar/cifrarArchivoPgp", tramo.getRuta());
+                }
+            }
+        });
+        Instrumentacion.contar(MetricasEjecucion.REGISTROS_PROCESADOS, 3);
+        Instrumentacion.terminarInvocacion();
+
+        assertEquals(List.of("inicio encriptar", "inicio encriptar/cifrarArchivoPgp",
+                "cierre encriptar/cifrarArchivoPgp archivo0", "inicio encriptar/cifrarArchivoPgp",
+                "cierre encriptar/cifrarArchivoPgp archivo1", "cierre encriptar", "fin {RegistrosProcesados=3}"),
+                eventos);
+        assertEquals(List.of("encriptar"), new ArrayList<>(metricas.getEtapas().keySet()),
+                "Solo las etapas se reportan como etapas");
+        assertEquals(2, metricas.getHistograma("cifrarArchivoPgp").getConteo());
+        assertTrue(metricas.getEtapas().get("encriptar") >= metricas.getHistograma("cifrarArchivoPgp").getSuma());
+    }
+
+    @Test
+    void testTramo_cierraAunqueFalle() {
+        MetricasEjecucion metricas = Instrumentacion.iniciarInvocacion();
+        try {
+            Instrumentacion.medir("auditoria", () -> {
+                throw new IllegalStateException("falla");
+            });
+        } catch (IllegalStateException e) {
+            // esperado
+        }
+        try (Tramo tramo = Instrumentacion.tramo("siguiente")) {
+            assertNull(tramo.getPadre(), "El tramo fallido no debe quedar abierto");
+        }
+        assertTrue(metricas.getEtapas().containsKey("auditoria"));
+    }
+
+    @Test
+    void testDeshabilitada_noRegistraNada() {
+        Instrumentacion.habilitar(false, List.of(exportador));
+        MetricasEjecucion metricas = Instrumentacion.iniciarInvocacion();
+
+        Tramo tramo = Instrumentacion.etapa("encriptar");
+        tramo.close();
+        Instrumentacion.contar(MetricasEjecucion.REGISTROS_PROCESADOS, 3);
+        Instrumentacion.registrar("RegistrosPorArchivo", 3);
+        Instrumentacion.registrarCache(MetricasEjecucion.CACHE_LLAVE_PRIVADA, true);
+        Instrumentacion.terminarInvocacion();
+
+        assertSame(Tramo.NULO, tramo);
+        assertFalse(Instrumentacion.isHabilitada());
+        assertTrue(eventos.isEmpty());
+        assertTrue(metricas.getEtapas().isEmpty());
+        assertTrue(metricas.getContadores().isEmpty());
+        assertTrue(metricas.getHistogramas().isEmpty());
+    }
+
+    @Test
+    void testConfigurar_desdeVariableDeEntorno() {
+        Instrumentacion.configurar("false");
+        assertFalse(Instrumentacion.isHabilitada());
+        Instrumentacion.configurar("LOG");
+        assertTrue(Instrumentacion.isHabilitada());
+    }
+}
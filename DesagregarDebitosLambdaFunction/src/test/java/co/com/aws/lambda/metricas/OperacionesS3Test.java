@@ -0,0 +1,32 @@
+package co.com.aws.lambda.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class OperacionesS3Test {
+
+    @Test
+    void testToJson_agrupadoPorOperacion() {
+        OperacionesS3 operaciones = new OperacionesS3();
+        operaciones.registrar("GetObject", "in/5402ORDINARIO.pgp", 200, 1, 0, 52_000, 30_100_000L);
+        operaciones.registrar("GetObject", "in/0177PREFERENCIAL.pgp", 200, 2, 0, 12_000, 11_150_000L);
+        operaciones.registrar("PutObject", "out/DIVIDENDOS.txt.pgp", 503, 3, 4_096, 0, 2_000_000L);
+
+        assertEquals("{\"GetObject\":{\"Llamadas\":2,\"Errores\":0,\"Limitadas\":0,\"Reintentos\":1,"
+                + "\"BytesEnviados\":0,\"BytesRecibidos\":64000,\"LatenciaTotal\":41.250,\"LatenciaMaxima\":30.100,"
+                + "\"LlaveMasLenta\":\"in/5402ORDINARIO.pgp\"},\"PutObject\":{\"Llamadas\":1,\"Errores\":1,"
+                + "\"Limitadas\":1,\"Reintentos\":2,\"BytesEnviados\":4096,\"BytesRecibidos\":0,"
+                + "\"LatenciaTotal\":2.000,\"LatenciaMaxima\":2.000,\"LlaveMasLenta\":\"out/DIVIDENDOS.txt.pgp\"}}",
+                operaciones.toJson());
+    }
+
+    @Test
+    void testDetalleEjecucion_sinLlamadas() {
+        MetricasEjecucion metricas = new MetricasEjecucion();
+
+        assertTrue(metricas.getOperacionesS3().isVacio());
+        assertEquals("{\"S3\":{}}", metricas.getDetalleEjecucion());
+    }
+}
@@ -0,0 +1,83 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.Tramo;
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.storage.ObjectStore;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class GrabacionJfrTest {
+
+    @TempDir
+    Path root;
+
+    @AfterEach
+    void tearDown() {
+        Instrumentacion.configurar(null);
+    }
+
+    @Test
+    void testPublicar_tramosYLotesEnElArchivo() throws IOException {
+        Instrumentacion.habilitar(true, List.of(new ExportadorJfr()));
+        LocalObjectStore objectStore = new LocalObjectStore(root);
+        GrabacionJfr grabacion = GrabacionJfr.iniciar("GrabacionJfrTest");
+        Instrumentacion.iniciarInvocacion();
+        try (Tramo etapa = Instrumentacion.etapa("desencriptar_clasificar")) {
+            try (Tramo tramo = Instrumentacion.tramo("createMapsUniqueAndDuplicate", "5402ORDINARIO")) {
+                EventoLoteClasificacionJfr.iniciar("5402ORDINARIO", 0).terminar(4, 1);
+                EventoLoteClasificacionJfr.iniciar("5402ORDINARIO", 4).terminar(0, 0);
+            }
+        }
+        Instrumentacion.terminarInvocacion();
+
+        String llave = GrabacionJfr.llave("diag/", LocalDateTime.of(2026, 10, 19, 7, 30, 5));
+        assertEquals("diag/DesagregarDebitos_20261019_07-30-05.jfr", llave);
+        assertTrue(grabacion.publicar(objectStore, "salida", llave));
+        assertFalse(grabacion.publicar(objectStore, "salida", llave), "La grabación solo se publica una vez");
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(objectStore.resolve("salida", llave)).stream()
+                .filter(evento -> evento.getEventType().getName().startsWith("co.com.aws.lambda."))
+                .collect(Collectors.toList());
+        List<String> rutas = eventos.stream().filter(evento -> evento.getEventType().getName().endsWith("Tramo"))
+                .map(evento -> evento.getString("ruta")).sorted().collect(Collectors.toList());
+        assertEquals(List.of("desencriptar_clasificar", "desencriptar_clasificar/createMapsUniqueAndDuplicate"), rutas);
+        List<RecordedEvent> lotes = eventos.stream()
+                .filter(evento -> evento.getEventType().getName().endsWith("LoteClasificacion"))
+                .collect(Collectors.toList());
+        assertEquals(1, lotes.size(), "Los lotes vacíos no se registran");
+        assertEquals("5402ORDINARIO", lotes.get(0).getString("archivo"));
+        assertEquals(4, lotes.get(0).getLong("registros"));
+        assertEquals(1, lotes.get(0).getLong("duplicados"));
+    }
+
+    @Test
+    void testPublicar_errorDelAlmacenamientoNoPropaga() {
+        ObjectStore objectStore = mock(ObjectStore.class);
+        doThrow(new IllegalStateException("sin acceso")).when(objectStore).put(anyString(), anyString(),
+                any(InputStream.class), anyLong(), anyString());
+        GrabacionJfr grabacion = GrabacionJfr.iniciar("GrabacionJfrTest");
+
+        assertFalse(grabacion.publicar(objectStore, "salida", "diag/DesagregarDebitos.jfr"));
+    }
+}
@@ -0,0 +1,106 @@
+package co.com.aws.lambda.metricas.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.aws.lambda.storage.LocalObjectStore;
+import co.com.aws.lambda.storage.MultipartUpload;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class ObjectStoreJfrTest {
+
+    @TempDir
+    Path root;
+
+    private ObjectStoreJfr objectStore;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new ObjectStoreJfr(new LocalObjectStore(root));
+    }
+
+    @Test
+    void testOperaciones_registranUnEventoPorLlamada() throws IOException {
+        List<RecordedEvent> eventos;
+        try (Recording recording = new Recording()) {
+            recording.enable(EventoS3Jfr.class).withThreshold(Duration.ZERO);
+            recording.start();
+            objectStore.put("entrada", "in/5402ORDINARIO.pgp", "contenido".getBytes(StandardCharsets.UTF_8),
+                    "application/octet-stream");
+            try (InputStream contenido = objectStore.get("entrada", "in/5402ORDINARIO.pgp")) {
+                contenido.readAllBytes();
+            }
+            objectStore.copy("entrada", "in/5402ORDINARIO.pgp", "entrada", "done/5402ORDINARIO.pgp");
+            objectStore.delete("entrada", "in/5402ORDINARIO.pgp");
+            MultipartUpload carga = objectStore.createMultipartUpload("salida", "out/DIVIDENDOS.txt.pgp",
+                    "application/octet-stream");
+            carga.uploadPart(new byte[7], 0, 7);
+            carga.complete();
+            assertThrows(RuntimeException.class, () -> objectStore.get("entrada", "no/existe.pgp"));
+            recording.stop();
+            eventos = leerEventos(recording);
+        }
+
+        assertEquals(List.of("PutObject", "GetObject", "CopyObject", "DeleteObject", "CreateMultipartUpload",
+                "UploadPart", "CompleteMultipartUpload", "GetObject"),
+                eventos.stream().map(evento -> evento.getString("operacion")).collect(Collectors.toList()));
+        assertEquals(9, eventos.get(0).getLong("bytes"));
+        assertEquals(9, eventos.get(1).getLong("bytes"), "La lectura registra los bytes transferidos");
+        assertEquals("done/5402ORDINARIO.pgp", eventos.get(2).getString("llaveDestino"));
+        assertEquals(7, eventos.get(5).getLong("bytes"));
+        assertTrue(eventos.get(6).getBoolean("exitosa"));
+        assertNull(eventos.get(6).getString("error"));
+        assertFalse(eventos.get(7).getBoolean("exitosa"));
+        assertEquals("no/existe.pgp", eventos.get(7).getString("llave"));
+    }
+
+    @Test
+    void testGet_cierreAntesDelFinalRegistraUnaVez() throws IOException {
+        objectStore.put("entrada", "in/0177PREFERENCIAL.pgp", new byte[100], "application/octet-stream");
+        List<RecordedEvent> eventos;
+        try (Recording recording = new Recording()) {
+            recording.enable(EventoS3Jfr.class).withThreshold(Duration.ZERO);
+            recording.start();
+            InputStream contenido = objectStore.get("entrada", "in/0177PREFERENCIAL.pgp");
+            contenido.read(new byte[10]);
+            contenido.close();
+            contenido.close();
+            recording.stop();
+            eventos = leerEventos(recording);
+        }
+
+        assertEquals(1, eventos.size());
+        assertEquals(10, eventos.get(0).getLong("bytes"));
+    }
+
+    static List<RecordedEvent> leerEventos(Recording recording) throws IOException {
+        Path archivo = Files.createTempFile("ObjectStoreJfrTest", ".jfr");
+        recording.dump(archivo);
+        try {
+            return RecordingFile.readAllEvents(archivo).stream()
+                    .filter(evento -> evento.getEventType().getName().startsWith("co.com.aws.lambda."))
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime)).collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package co.com.aws.lambda.ordenamiento;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.handler.ClasificaRegistros;
+import co.com.aws.lambda.metricas.Conciliacion;
+import co.com.aws.lambda.validacion.ValidadorRegistros;
+
+class ClasificacionExternaTest {
+
+    private final ClasificaRegistros clasificaRegistros = new ClasificaRegistros();
+
+    @Test
+    void testClasificar_mismaSalidaQueLaLecturaSecuencial() throws IOException {
+        byte[] contenido = generar(2_000);
+        Map<String, Map<String, String>> secuencial = new HashMap<>();
+        clasificaRegistros.processFiles("5402ORDINARIO", new ByteArrayInputStream(contenido), secuencial);
+        long temporalesAntes = temporales();
+
+        Map<String, Map<String, String>> externa = new HashMap<>();
+        Conciliacion.Totales totales = new Conciliacion.Totales();
+        int registros = new ClasificacionExterna(7, clasificaRegistros::createOutText).clasificar("5402ORDINARIO",
+                new ByteArrayInputStream(contenido), externa, totales);
+
+        assertEquals(2_000, registros);
+        assertEquals(new ArrayList<>(secuencial.get(Constantes.ARCHIVO_FUSIONADO).entrySet()),
+                new ArrayList<>(externa.get(Constantes.ARCHIVO_FUSIONADO).entrySet()));
+        assertEquals(new ArrayList<>(secuencial.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()),
+                new ArrayList<>(externa.get(Constantes.ARCHIVO_DIVIDENDOS).entrySet()));
+        assertEquals(externa.get(Constantes.ARCHIVO_FUSIONADO).size() - 1, totales.getUnicos());
+        assertEquals(externa.get(Constantes.ARCHIVO_DIVIDENDOS).size(), totales.getDuplicados());
+        assertEquals(temporalesAntes, temporales(), "Los archivos temporales se eliminan");
+    }
+
+    @Test
+    void testClasificar_cuarentenaIgualQueLaLecturaSecuencial() {
+        String[] lineas = new String(generar(1_000), StandardCharsets.US_ASCII).split("\n");
+        for (int i = 1; i < lineas.length; i += 37) {
+            lineas[i] = i % 2 == 0 ? lineas[i].substring(0, 60) : "2X" + lineas[i].substring(2);
+        }
+        byte[] contenido = ("corta\n" + String.join("\n\n", lineas) + "\n3000999\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        configuracion.setValidacionRegistros(true);
+        Map<String, Map<String, String>> secuencial = new HashMap<>();
+        new ClasificaRegistros(configuracion).processFiles("5402ORDINARIO", new ByteArrayInputStream(contenido),
+                secuencial);
+
+        Map<String, Map<String, String>> externa = new HashMap<>();
+        new ClasificacionExterna(7, clasificaRegistros::createOutText, ValidadorRegistros.DISENO)
+                .clasificar("5402ORDINARIO", new ByteArrayInputStream(contenido), externa,
+                        new Conciliacion.Totales());
+
+        for (String archivo : List.of(Constantes.ARCHIVO_FUSIONADO, Constantes.ARCHIVO_DIVIDENDOS,
+                Constantes.ARCHIVO_CUARENTENA)) {
+            assertEquals(new ArrayList<>(secuencial.get(archivo).entrySet()),
+                    new ArrayList<>(externa.get(archivo).entrySet()), archivo);
+        }
+        assertEquals(28, externa.get(Constantes.ARCHIVO_CUARENTENA).size());
+    }
+
+    @Test
+    void testClasificar_segundoArchivoConservaElEncabezadoDelPrimero() {
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        typesMaps.put(Constantes.ARCHIVO_FUSIONADO, new LinkedHashMap<>(Map.of("0177PREFERENCIAL_0", "1")));
+        String registro = "2000000000001" + " ".repeat(76) + "000000001000";
+        String contenido = "1000000000000 ENCABEZADO\n\n  " + registro + "  \n" + registro + "\ncorta\n";
+
+        int registros = new ClasificacionExterna(100, clasificaRegistros::createOutText).clasificar("5402ORDINARIO",
+                new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), typesMaps,
+                new Conciliacion.Totales());
+
+        assertEquals(3, registros);
+        assertEquals(Map.of("0177PREFERENCIAL_0", "1", "5402ORDINARIO_1", registro),
+                typesMaps.get(Constantes.ARCHIVO_FUSIONADO));
+        assertEquals(1, typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS).size());
+    }
+
+    @Test
+    void testClasificar_errorDeLecturaNoDejaTemporales() throws IOException {
+        long temporalesAntes = temporales();
+        InputStream fallida = new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("lectura interrumpida");
+            }
+        };
+
+        assertThrows(AthException.class, () -> new ClasificacionExterna(10, clasificaRegistros::createOutText)
+                .clasificar("5402ORDINARIO", fallida, new HashMap<>(), new Conciliacion.Totales()));
+        assertEquals(temporalesAntes, temporales());
+    }
+
+    private static long temporales() throws IOException {
+        try (Stream<Path> rutas = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return rutas.filter(ruta -> ruta.getFileName().toString().startsWith("ordenamiento")).count();
+        }
+    }
+
+    /**
+     * Genera un archivo con encabezado y registros con facturas repetidas en
+     * cualquier orden.
+     */
+    private static byte[] generar(int registros) {
+        Random random = new Random(7L);
+        StringBuilder contenido = new StringBuilder("1000000000000 ENCABEZADO\n");
+        for (int i = 1; i < registros; i++) {
+            contenido.append('2').append(String.format("%012d", random.nextInt(registros / 2))).append(" ".repeat(76))
+                    .append(String.format("%012d", i)).append('\n');
+        }
+        return contenido.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,198 @@
+package co.com.aws.lambda.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.metricas.Instrumentacion;
+import co.com.aws.lambda.metricas.Tramo;
+
+class EjecutorIoTest {
+
+    @AfterEach
+    void tearDown() {
+        Instrumentacion.configurar(null);
+    }
+
+    @Test
+    void testTodos_resultadosEnElOrdenDeLasTareas() {
+        List<Callable<Integer>> tareas = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int valor = i;
+            tareas.add(() -> {
+                Thread.sleep(valor % 3);
+                return valor * 2;
+            });
+        }
+
+        for (EjecutorIo.Modo modo : EjecutorIo.Modo.values()) {
+            List<Integer> resultados = new EjecutorIo(modo, 4).todos(tareas);
+            assertEquals(50, resultados.size(), modo.name());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i * 2, resultados.get(i), modo.name());
+            }
+        }
+    }
+
+    @Test
+    void testTodos_hilosSegunElModo() {
+        List<Callable<Thread>> tareas = List.of(Thread::currentThread, Thread::currentThread, Thread::currentThread);
+
+        assertTrue(new EjecutorIo(EjecutorIo.Modo.VIRTUAL, 2).todos(tareas).stream().allMatch(Thread::isVirtual));
+        List<Thread> plataforma = new EjecutorIo(EjecutorIo.Modo.PLATAFORMA, 2).todos(tareas);
+        assertTrue(plataforma.stream().noneMatch(Thread::isVirtual));
+        assertFalse(plataforma.contains(Thread.currentThread()));
+        assertTrue(new EjecutorIo(EjecutorIo.Modo.SECUENCIAL, 2).todos(tareas).stream()
+                .allMatch(hilo -> hilo == Thread.currentThread()));
+    }
+
+    @Test
+    void testTodos_laPrimeraFallaCancelaLasDemas() throws InterruptedException {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        AtomicBoolean interrumpida = new AtomicBoolean();
+        IllegalStateException error = new IllegalStateException("NoSuchKey");
+        List<Callable<Void>> tareas = List.of(() -> {
+            iniciada.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrumpida.set(true);
+            }
+            return null;
+        }, () -> {
+            iniciada.await();
+            throw error;
+        });
+
+        long inicio = System.nanoTime();
+        IllegalStateException lanzada = assertThrows(IllegalStateException.class,
+                () -> new EjecutorIo(EjecutorIo.Modo.VIRTUAL, 1).todos(tareas));
+
+        assertSame(error, lanzada);
+        assertTrue(interrumpida.get(), "La tarea pendiente termina antes de retornar");
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    void testTodos_excepcionVerificada() {
+        List<Callable<Void>> tareas = List.of(() -> null, () -> {
+            throw new IOException("conexión cerrada");
+        });
+
+        AthException e = assertThrows(AthException.class,
+                () -> new EjecutorIo(EjecutorIo.Modo.PLATAFORMA, 2).todos(tareas));
+        assertTrue(e.getMessage().contains("conexión cerrada"), e.getMessage());
+    }
+
+    @Test
+    void testParaCada_tramosAnidadosEnElDelHiloQueLlama() {
+        Instrumentacion.habilitar(true, List.of());
+        Instrumentacion.iniciarInvocacion();
+        Set<String> rutas = ConcurrentHashMap.newKeySet();
+        try (Tramo etapa = Instrumentacion.etapa("mover")) {
+            new EjecutorIo(EjecutorIo.Modo.VIRTUAL, 1).paraCada(List.of("a", "b", "c"), llave -> {
+                try (Tramo tramo = Instrumentacion.tramo("copiarArchivo", llave)) {
+                    rutas.add(tramo.getRuta());
+                }
+            });
+            try (Tramo siguiente = Instrumentacion.tramo("listado")) {
+                assertEquals("mover/listado", siguiente.getRuta());
+            }
+        }
+
+        assertEquals(Set.of("mover/copiarArchivo"), rutas);
+    }
+
+    @Test
+    void testEncadenar_preparaEnOrdenYCompletaUnoALaVez() {
+        Thread llamador = Thread.currentThread();
+        for (EjecutorIo.Modo modo : EjecutorIo.Modo.values()) {
+            AtomicInteger enCurso = new AtomicInteger();
+            AtomicInteger maximo = new AtomicInteger();
+            List<String> completados = Collections.synchronizedList(new ArrayList<>());
+            new EjecutorIo(modo, 4).encadenar(List.of("a", "b", "c", "d"), llave -> {
+                assertSame(llamador, Thread.currentThread(), modo.name());
+                return "b".equals(llave) ? null : llave.toUpperCase();
+            }, preparado -> {
+                maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                completados.add(preparado);
+                enCurso.decrementAndGet();
+            });
+
+            assertEquals(List.of("A", "C", "D"), completados, modo.name());
+            assertEquals(1, maximo.get(), modo.name());
+        }
+    }
+
+    @Test
+    void testEncadenar_completaMientrasPreparaElSiguiente() {
+        for (EjecutorIo.Modo modo : List.of(EjecutorIo.Modo.VIRTUAL, EjecutorIo.Modo.PLATAFORMA)) {
+            CountDownLatch siguientePreparado = new CountDownLatch(1);
+            new EjecutorIo(modo, 4).encadenar(List.of("a", "b"), llave -> {
+                if ("b".equals(llave)) {
+                    siguientePreparado.countDown();
+                }
+                return llave;
+            }, preparado -> {
+                try {
+                    assertTrue(siguientePreparado.await(5, TimeUnit.SECONDS), modo.name());
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+    }
+
+    @Test
+    void testEncadenar_esperaLaFinalizacionEnCursoSiFallaUnaPreparacion() {
+        AtomicBoolean completado = new AtomicBoolean();
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new EjecutorIo(EjecutorIo.Modo.VIRTUAL, 1).encadenar(List.of("a", "b"), llave -> {
+                    if ("b".equals(llave)) {
+                        throw new IllegalStateException("plazo agotado");
+                    }
+                    return llave;
+                }, preparado -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException interrumpido) {
+                        throw new IllegalStateException(interrumpido);
+                    }
+                    completado.set(true);
+                }));
+
+        assertEquals("plazo agotado", e.getMessage());
+        assertTrue(completado.get(), "La carga en curso termina antes de relanzar la falla");
+    }
+
+    @Test
+    void testDesde_modoDeLaConfiguracion() {
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        assertEquals(EjecutorIo.Modo.VIRTUAL, EjecutorIo.desde(null).getModo());
+        assertEquals(EjecutorIo.Modo.VIRTUAL, EjecutorIo.desde(configuracion).getModo());
+        configuracion.setModoIo(" Plataforma ");
+        assertEquals(EjecutorIo.Modo.PLATAFORMA, EjecutorIo.desde(configuracion).getModo());
+        configuracion.setModoIo("reactivo");
+        AthException e = assertThrows(AthException.class, () -> EjecutorIo.desde(configuracion));
+        assertTrue(e.getMessage().contains("reactivo"), e.getMessage());
+    }
+}
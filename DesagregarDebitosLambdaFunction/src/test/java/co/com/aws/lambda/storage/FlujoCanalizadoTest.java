@@ -0,0 +1,164 @@
+package co.com.aws.lambda.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class FlujoCanalizadoTest {
+
+    @Test
+    void testRead_mismosBytesQueElOrigen() throws IOException {
+        byte[] datos = new byte[10_000];
+        for (int i = 0; i < datos.length; i++) {
+            datos[i] = (byte) (i * 31);
+        }
+
+        ByteArrayOutputStream leido = new ByteArrayOutputStream();
+        try (FlujoCanalizado flujo = new FlujoCanalizado(new ByteArrayInputStream(datos), 3, 100, "prueba")) {
+            byte[] buffer = new byte[257];
+            int lectura = 0;
+            while (true) {
+                if (lectura++ % 2 == 0) {
+                    int valor = flujo.read();
+                    if (valor < 0) {
+                        break;
+                    }
+                    leido.write(valor);
+                } else {
+                    int cantidad = flujo.read(buffer, 1, buffer.length - 1);
+                    if (cantidad < 0) {
+                        break;
+                    }
+                    leido.write(buffer, 1, cantidad);
+                }
+            }
+            assertEquals(-1, flujo.read(), "El final del origen se repite");
+        }
+
+        assertArrayEquals(datos, leido.toByteArray());
+    }
+
+    @Test
+    void testRead_origenVacio() throws IOException {
+        try (FlujoCanalizado flujo = new FlujoCanalizado(InputStream.nullInputStream(), 2, 16, "vacio")) {
+            assertEquals(-1, flujo.read(new byte[8], 0, 8));
+        }
+    }
+
+    @Test
+    void testRead_fallaDelOrigenDespuesDeLosBytesLeidos() throws IOException {
+        IOException falla = new IOException("Datos PGP corruptos");
+        InputStream origen = new InputStream() {
+            private int leidos;
+
+            @Override
+            public int read() throws IOException {
+                if (leidos == 40) {
+                    throw falla;
+                }
+                return leidos++;
+            }
+        };
+
+        try (FlujoCanalizado flujo = new FlujoCanalizado(origen, 2, 16, "corrupto")) {
+            byte[] leido = new byte[40];
+            assertEquals(40, flujo.readNBytes(leido, 0, 40));
+            assertEquals(39, leido[39]);
+            IOException e = assertThrows(IOException.class, flujo::read);
+            assertSame(falla, e.getCause());
+        }
+    }
+
+    @Test
+    void testClose_detieneAlProductorYCierraElOrigen() throws Exception {
+        AtomicInteger leidos = new AtomicInteger();
+        AtomicBoolean cerrado = new AtomicBoolean();
+        InputStream origen = new InputStream() {
+            @Override
+            public int read() {
+                leidos.incrementAndGet();
+                return 7;
+            }
+
+            @Override
+            public void close() {
+                cerrado.set(true);
+            }
+        };
+
+        FlujoCanalizado flujo = new FlujoCanalizado(origen, 2, 16, "infinito");
+        assertEquals(7, flujo.read());
+        while (leidos.get() < 2 * 16) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(2 * 16, leidos.get(), "El productor espera a que se libere un bloque");
+        assertTrue(flujo.isProductorActivo());
+
+        flujo.close();
+
+        assertFalse(flujo.isProductorActivo());
+        assertTrue(cerrado.get());
+        assertThrows(IOException.class, flujo::read);
+    }
+
+    /**
+     * Un origen bloqueado en una lectura que no responde a la interrupción del
+     * hilo, como una conexión de red, solo se libera al cerrarlo.
+     */
+    @Test
+    void testClose_cerrarElOrigenLiberaUnaLecturaBloqueada() throws Exception {
+        CountDownLatch leyendo = new CountDownLatch(1);
+        CountDownLatch cierre = new CountDownLatch(1);
+        InputStream origen = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                leyendo.countDown();
+                while (true) {
+                    try {
+                        cierre.await();
+                        throw new IOException("Conexión cerrada");
+                    } catch (InterruptedException e) {
+                        // Ignora la interrupción, como una lectura de un socket.
+                    }
+                }
+            }
+
+            @Override
+            public void close() {
+                cierre.countDown();
+            }
+        };
+
+        FlujoCanalizado flujo = new FlujoCanalizado(origen, 2, 16, "bloqueado");
+        assertTrue(leyendo.await(5, TimeUnit.SECONDS));
+        long inicio = System.nanoTime();
+
+        flujo.close();
+
+        assertFalse(flujo.isProductorActivo());
+        assertTrue(System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(FlujoCanalizado.ESPERA_CIERRE_MS),
+                "El cierre no espera el plazo completo");
+    }
+
+    @Test
+    void testCanalizar_sinBloquesRetornaElOrigen() {
+        InputStream origen = InputStream.nullInputStream();
+
+        assertSame(origen, FlujoCanalizado.canalizar(origen, 0, "sin-bloques"));
+    }
+}
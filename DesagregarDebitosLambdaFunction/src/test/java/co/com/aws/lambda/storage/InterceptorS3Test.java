@@ -0,0 +1,110 @@
+package co.com.aws.lambda.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+import co.com.aws.lambda.metricas.OperacionesS3;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+class InterceptorS3Test {
+
+    private static final byte[] CONTENIDO = "contenido cifrado".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] NO_EXISTE = "<Error><Code>NoSuchKey</Code><Message>No existe</Message></Error>"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger fallosPendientes = new AtomicInteger();
+
+    private HttpServer servidor;
+
+    private S3ObjectStore objectStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/", this::responder);
+        servidor.start();
+        objectStore = new S3ObjectStore(S3Client.builder().region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://127.0.0.1:" + servidor.getAddress().getPort()))
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("llave", "secreto")))
+                .overrideConfiguration(c -> c.addExecutionInterceptor(new InterceptorS3())).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        objectStore.getS3Client().close();
+        servidor.stop(0);
+    }
+
+    @Test
+    void testLlamadas_registradasPorOperacion() throws IOException {
+        MetricasEjecucion metricas = MetricasEjecucion.iniciar();
+        fallosPendientes.set(1);
+
+        try (InputStream contenido = objectStore.get("entrada", "in/5402ORDINARIO.pgp")) {
+            contenido.readAllBytes();
+        }
+        objectStore.put("salida", "out/DIVIDENDOS.txt.pgp", CONTENIDO, "application/octet-stream");
+        assertThrows(NoSuchKeyException.class, () -> objectStore.get("entrada", "in/no-existe.pgp"));
+
+        Map<String, OperacionesS3.Estadistica> estadisticas = metricas.getOperacionesS3().getEstadisticas();
+        assertEquals(2, estadisticas.size());
+        OperacionesS3.Estadistica get = estadisticas.get("GetObject");
+        assertEquals(2, get.getLlamadas());
+        assertEquals(1, get.getErrores(), "El 404 cuenta como error");
+        assertEquals(1, get.getReintentos(), "El 503 inicial se reintenta");
+        assertEquals(CONTENIDO.length + NO_EXISTE.length, get.getBytesRecibidos(),
+                "Se cuentan los cuerpos de la última respuesta de cada llamada");
+        assertTrue(get.getLatenciaMaxima() > 0);
+        OperacionesS3.Estadistica put = estadisticas.get("PutObject");
+        assertEquals(1, put.getLlamadas());
+        assertEquals(0, put.getErrores());
+        assertEquals(CONTENIDO.length, put.getBytesEnviados());
+        assertEquals("out/DIVIDENDOS.txt.pgp", put.getLlaveMasLenta());
+    }
+
+    private void responder(HttpExchange intercambio) throws IOException {
+        intercambio.getRequestBody().readAllBytes();
+        String ruta = intercambio.getRequestURI().getPath();
+        if ("GET".equals(intercambio.getRequestMethod()) && ruta.endsWith("no-existe.pgp")) {
+            responder(intercambio, 404, NO_EXISTE);
+        } else if (fallosPendientes.getAndUpdate(pendientes -> Math.max(pendientes - 1, 0)) > 0) {
+            responder(intercambio, 503, "<Error><Code>SlowDown</Code><Message>Reduzca la tasa</Message></Error>"
+                    .getBytes(StandardCharsets.UTF_8));
+        } else if ("GET".equals(intercambio.getRequestMethod())) {
+            responder(intercambio, 200, CONTENIDO);
+        } else {
+            responder(intercambio, 200, new byte[0]);
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, byte[] cuerpo) throws IOException {
+        // Sin conexiones reutilizadas, para que el SDK no reintente por una conexión cerrada por el servidor.
+        intercambio.getResponseHeaders().add("Connection", "close");
+        intercambio.sendResponseHeaders(estado, cuerpo.length == 0 ? -1 : cuerpo.length);
+        intercambio.getResponseBody().write(cuerpo);
+        intercambio.close();
+    }
+}
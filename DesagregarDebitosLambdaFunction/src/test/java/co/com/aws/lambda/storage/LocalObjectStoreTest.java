@@ -0,0 +1,152 @@
+package co.com.aws.lambda.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.com.ath.aws.exception.AthException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class LocalObjectStoreTest {
+
+    private static final String BUCKET = "bucket-local";
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStore objectStore;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new LocalObjectStore(root);
+    }
+
+    @Test
+    void testPutAndGet() throws IOException {
+        byte[] content = "contenido de prueba".getBytes(StandardCharsets.UTF_8);
+        objectStore.put(BUCKET, "entrada/archivo.txt", content, "text/plain");
+        try (InputStream in = objectStore.get(BUCKET, "entrada/archivo.txt")) {
+            assertArrayEquals(content, in.readAllBytes(), "El contenido leído debe ser el escrito");
+        }
+    }
+
+    @Test
+    void testPutStream() throws IOException {
+        byte[] content = "linea1\nlinea2".getBytes(StandardCharsets.UTF_8);
+        objectStore.put(BUCKET, "salida/archivo.txt", new ByteArrayInputStream(content), content.length,
+                "text/plain");
+        assertArrayEquals(content, Files.readAllBytes(root.resolve(BUCKET).resolve("salida/archivo.txt")));
+    }
+
+    @Test
+    void testPutStreamIncompleto() {
+        byte[] content = "corto".getBytes(StandardCharsets.UTF_8);
+        assertThrows(AthException.class, () -> objectStore.put(BUCKET, "salida/archivo.txt",
+                new ByteArrayInputStream(content), content.length + 10L, "text/plain"));
+        assertFalse(Files.exists(root.resolve(BUCKET).resolve("salida/archivo.txt")),
+                "Un objeto incompleto no debe quedar publicado");
+    }
+
+    @Test
+    void testListOrdenadoPorPrefijo() {
+        objectStore.put(BUCKET, "entrada/b.pgp", new byte[3], "application/octet-stream");
+        objectStore.put(BUCKET, "entrada/a.pgp", new byte[5], "application/octet-stream");
+        objectStore.put(BUCKET, "otra/c.pgp", new byte[1], "application/octet-stream");
+        List<S3Object> objects = objectStore.list(BUCKET, "entrada/");
+        assertEquals(List.of("entrada/a.pgp", "entrada/b.pgp"),
+                objects.stream().map(S3Object::key).collect(Collectors.toList()));
+        assertEquals(5L, objects.get(0).size(), "El tamaño debe corresponder al archivo");
+    }
+
+    @Test
+    void testListBucketInexistente() {
+        assertTrue(objectStore.list("no-existe", "").isEmpty(), "Un bucket inexistente no tiene objetos");
+    }
+
+    @Test
+    void testGetRange() throws IOException {
+        objectStore.put(BUCKET, "salida/archivo.txt", "linea1\nlinea2\n".getBytes(StandardCharsets.UTF_8),
+                "text/plain");
+        try (InputStream in = objectStore.getRange(BUCKET, "salida/archivo.txt", 7, 12)) {
+            assertEquals("linea2", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = objectStore.getRange(BUCKET, "salida/archivo.txt", 11, 99)) {
+            assertEquals("a2\n", new String(in.readAllBytes(), StandardCharsets.UTF_8), "El rango se acota al objeto");
+        }
+        assertThrows(NoSuchKeyException.class, () -> objectStore.getRange(BUCKET, "no/existe.txt", 0, 1));
+    }
+
+    @Test
+    void testGetInexistente() {
+        assertThrows(NoSuchKeyException.class, () -> objectStore.get(BUCKET, "no/existe.txt"));
+    }
+
+    @Test
+    void testCopyAndDelete() throws IOException {
+        byte[] content = "mover".getBytes(StandardCharsets.UTF_8);
+        objectStore.put(BUCKET, "entrada/archivo.pgp", content, "application/octet-stream");
+        objectStore.copy(BUCKET, "entrada/archivo.pgp", BUCKET, "procesado/archivo.pgp");
+        objectStore.delete(BUCKET, "entrada/archivo.pgp");
+        assertTrue(objectStore.list(BUCKET, "entrada/").isEmpty(), "El origen debe eliminarse");
+        try (InputStream in = objectStore.get(BUCKET, "procesado/archivo.pgp")) {
+            assertArrayEquals(content, in.readAllBytes(), "La copia debe conservar el contenido");
+        }
+        objectStore.delete(BUCKET, "entrada/archivo.pgp");
+    }
+
+    @Test
+    void testMultipartUpload() throws IOException {
+        MultipartUpload upload = objectStore.createMultipartUpload(BUCKET, "salida/multi.txt", "text/plain");
+        byte[] parte = "0123456789".getBytes(StandardCharsets.UTF_8);
+        upload.uploadPart(parte, 0, 5);
+        upload.uploadPart(parte, 5, 5);
+        assertTrue(objectStore.list(BUCKET, "salida/").isEmpty(), "El objeto no es visible antes de completar");
+        upload.complete();
+        try (InputStream in = objectStore.get(BUCKET, "salida/multi.txt")) {
+            assertArrayEquals(parte, in.readAllBytes(), "Las partes deben concatenarse en orden");
+        }
+    }
+
+    @Test
+    void testMultipartUploadAbort() {
+        MultipartUpload upload = objectStore.createMultipartUpload(BUCKET, "salida/multi.txt", "text/plain");
+        upload.uploadPart(new byte[4], 0, 4);
+        upload.abort();
+        assertTrue(objectStore.list(BUCKET, "salida/").isEmpty(), "Una carga cancelada no publica el objeto");
+    }
+
+    @Test
+    void testClaveFueraDelBucket() {
+        assertThrows(AthException.class, () -> objectStore.put(BUCKET, "../fuera.txt", new byte[1], "text/plain"));
+    }
+
+    @Test
+    void testBucketFueraDeLaRaiz() {
+        assertThrows(AthException.class, () -> objectStore.put("..", "fuera.txt", new byte[1], "text/plain"));
+        assertThrows(AthException.class, () -> objectStore.put("../otro", "fuera.txt", new byte[1], "text/plain"));
+        assertThrows(AthException.class, () -> objectStore.list("../otro", ""));
+        assertThrows(AthException.class, () -> objectStore.get(BUCKET + "/salida", "multi.txt"));
+    }
+
+    @Test
+    void testBucketReservadoDeTemporales() {
+        assertThrows(AthException.class, () -> objectStore.put(".uploads", "parte.txt", new byte[1], "text/plain"));
+        assertThrows(AthException.class, () -> objectStore.list(".uploads", ""));
+    }
+}
@@ -0,0 +1,94 @@
+package co.com.aws.lambda.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+class S3ObjectStoreTest {
+
+    private S3Client s3Client;
+
+    private S3ObjectStore objectStore;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        objectStore = new S3ObjectStore(s3Client);
+    }
+
+    @Test
+    void testListPaginado() {
+        ListObjectsV2Response pagina1 = ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("entrada/a.pgp").build()).isTruncated(true)
+                .nextContinuationToken("token").build();
+        ListObjectsV2Response pagina2 = ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("entrada/b.pgp").build()).isTruncated(false).build();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(pagina1, pagina2);
+        List<S3Object> objects = objectStore.list("bucket", "entrada/");
+        assertEquals(2, objects.size(), "Deben acumularse los objetos de todas las páginas");
+        ArgumentCaptor<ListObjectsV2Request> captor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client, times(2)).listObjectsV2(captor.capture());
+        assertEquals("token", captor.getAllValues().get(1).continuationToken());
+    }
+
+    @Test
+    void testPut() {
+        byte[] content = "contenido".getBytes();
+        objectStore.put("bucket", "salida/archivo.pgp", content, "application/octet-stream");
+        PutObjectRequest expected = PutObjectRequest.builder().bucket("bucket").key("salida/archivo.pgp")
+                .contentLength((long) content.length).contentType("application/octet-stream").build();
+        verify(s3Client, times(1)).putObject(eq(expected), any(RequestBody.class));
+    }
+
+    @Test
+    void testGetRange() {
+        objectStore.getRange("bucket", "salida/archivo.txt", 25, 40);
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client, times(1)).getObject(captor.capture());
+        assertEquals("bytes=25-40", captor.getValue().range());
+        assertEquals("salida/archivo.txt", captor.getValue().key());
+    }
+
+    @Test
+    void testMultipartUpload() {
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag-1").build(),
+                        UploadPartResponse.builder().eTag("etag-2").build());
+        MultipartUpload upload = objectStore.createMultipartUpload("bucket", "salida/multi.pgp", "text/plain");
+        upload.uploadPart(new byte[8], 0, 8);
+        upload.uploadPart(new byte[8], 0, 4);
+        upload.complete();
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor
+                .forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(captor.capture());
+        assertEquals("upload-1", captor.getValue().uploadId());
+        assertEquals(2, captor.getValue().multipartUpload().parts().size());
+        assertEquals("etag-2", captor.getValue().multipartUpload().parts().get(1).eTag());
+        assertEquals(2, captor.getValue().multipartUpload().parts().get(1).partNumber());
+    }
+}
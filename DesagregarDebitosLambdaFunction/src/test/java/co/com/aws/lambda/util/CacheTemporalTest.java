@@ -0,0 +1,63 @@
+package co.com.aws.lambda.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import co.com.aws.lambda.metricas.MetricasEjecucion;
+
+class CacheTemporalTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private MetricasEjecucion metricas;
+
+    @BeforeEach
+    void setUp() {
+        metricas = MetricasEjecucion.iniciar();
+    }
+
+    @Test
+    void testObtener_conservaElValorHastaQueVence() {
+        CacheTemporal<String> cache = new CacheTemporal<>("Prueba", 60, reloj::get);
+        assertEquals("valor1", cache.obtener(this::cargar));
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals("valor1", cache.obtener(this::cargar));
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals("valor2", cache.obtener(this::cargar));
+
+        assertEquals(2, cargas.get());
+        assertEquals(1, metricas.getContador("Prueba" + MetricasEjecucion.ACIERTOS));
+        assertEquals(2, metricas.getContador("Prueba" + MetricasEjecucion.FALLOS));
+    }
+
+    @Test
+    void testObtener_ttlCeroNoConservaElValor() {
+        CacheTemporal<String> cache = new CacheTemporal<>("Prueba", 0, reloj::get);
+        cache.obtener(this::cargar);
+        cache.obtener(this::cargar);
+
+        assertEquals(2, cargas.get());
+        assertEquals(0.0, metricas.getTasaAciertos("Prueba"));
+    }
+
+    @Test
+    void testInvalidar_vuelveACargar() {
+        CacheTemporal<String> cache = new CacheTemporal<>("Prueba", 60, reloj::get);
+        cache.obtener(this::cargar);
+        cache.invalidar();
+
+        assertEquals("valor2", cache.obtener(this::cargar));
+    }
+
+    private String cargar() {
+        return "valor" + cargas.incrementAndGet();
+    }
+}
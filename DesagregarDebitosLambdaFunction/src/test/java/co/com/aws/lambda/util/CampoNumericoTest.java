@@ -0,0 +1,82 @@
+package co.com.aws.lambda.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CampoNumericoTest {
+
+    private static final String REGISTRO = "2123456789012" + " ".repeat(76) + "000000123456";
+
+    @Test
+    void testLeer_facturaEImporte() {
+        byte[] bytes = REGISTRO.getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(123_456_789_012L, CampoNumerico.leer(bytes, 1, 13));
+        assertEquals(123_456_789_012L, CampoNumerico.leer(REGISTRO, 1, 13));
+        assertEquals(123_456L, CampoNumerico.leer(bytes, 89, 101));
+        assertEquals(123_456L, CampoNumerico.leer(REGISTRO, 89, 101));
+        assertEquals(999_999_999_999_999_999L, CampoNumerico.leer("999999999999999999", 0, 18));
+        assertEquals(12_345_678L, CampoNumerico.leer("12345678", 0, 8));
+        assertEquals(7L, CampoNumerico.leer("x7", 1, 2));
+        assertEquals(0L, CampoNumerico.leer("", 0, 0));
+    }
+
+    @Test
+    void testLeer_camposInvalidos() {
+        byte[] bytes = REGISTRO.getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(-1, CampoNumerico.leer(bytes, 89, 102), "Campo incompleto");
+        assertEquals(-1, CampoNumerico.leer(REGISTRO, 13, 25), "Espacios");
+        assertEquals(-1, CampoNumerico.leer("1234567890123456789", 0, 19), "Más de 18 dígitos");
+        assertEquals(-1, CampoNumerico.leer("12345678901:", 0, 12), "Carácter siguiente al 9");
+        assertEquals(-1, CampoNumerico.leer("1234567/9012", 0, 12), "Carácter anterior al 0");
+        assertEquals(-1, CampoNumerico.leer("12345678901ı", 0, 12), "Fuera de Latin-1 con byte bajo '1'");
+        assertEquals(-1, CampoNumerico.leer(new byte[] { '1', '2', '3', '4', '5', '6', '7', (byte) 0xB5, '9' }, 0, 9));
+        assertEquals(-1, CampoNumerico.ocho(0x39393939393939FAL));
+    }
+
+    /**
+     * Compara la lectura SWAR y la escalar con {@link Long#parseLong} sobre
+     * campos aleatorios de 1 a 18 dígitos dentro de un registro, y verifica
+     * que cualquier byte no numérico en el campo lo invalide.
+     */
+    @Test
+    void testLeer_igualQueParseLong() {
+        Random random = new Random(20261019L);
+        for (int caso = 0; caso < 20_000; caso++) {
+            int longitud = 1 + random.nextInt(CampoNumerico.MAXIMO_DIGITOS);
+            int inicio = random.nextInt(8);
+            byte[] datos = new byte[inicio + longitud + random.nextInt(8)];
+            for (int i = 0; i < datos.length; i++) {
+                datos[i] = (byte) random.nextInt(256);
+            }
+            for (int i = inicio; i < inicio + longitud; i++) {
+                datos[i] = (byte) ('0' + (caso % 3 == 0 ? 9 : random.nextInt(10)));
+            }
+            String texto = new String(datos, StandardCharsets.ISO_8859_1);
+            int fin = inicio + longitud;
+            long esperado = Long.parseLong(texto.substring(inicio, fin));
+
+            assertEquals(esperado, CampoNumerico.leer(datos, inicio, fin), texto);
+            assertEquals(esperado, CampoNumerico.leer(texto, inicio, fin), texto);
+            assertEquals(esperado, CampoNumerico.leerEscalar(datos, inicio, fin), texto);
+            assertEquals(esperado, CampoNumerico.leerEscalar(texto, inicio, fin), texto);
+
+            int invalido = inicio + random.nextInt(longitud);
+            byte valor;
+            do {
+                valor = (byte) random.nextInt(256);
+            } while (valor >= '0' && valor <= '9');
+            datos[invalido] = valor;
+            texto = new String(datos, StandardCharsets.ISO_8859_1);
+
+            assertEquals(-1, CampoNumerico.leer(datos, inicio, fin), texto);
+            assertEquals(-1, CampoNumerico.leer(texto, inicio, fin), texto);
+            assertEquals(-1, CampoNumerico.leerEscalar(datos, inicio, fin), texto);
+        }
+    }
+}
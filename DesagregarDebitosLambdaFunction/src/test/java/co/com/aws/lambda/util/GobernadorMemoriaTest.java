@@ -0,0 +1,144 @@
+package co.com.aws.lambda.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import co.com.ath.aws.exception.AthException;
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.util.GobernadorMemoria.Decision;
+import co.com.aws.lambda.util.GobernadorMemoria.Estrategia;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class GobernadorMemoriaTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    private static final long GB = 1024L * MB;
+
+    @Test
+    void testDecidir_archivosPequenosEnMemoria() {
+        Decision decision = gobernador("auto", 512, 512 * MB, 10 * GB).decidir(archivos(2 * MB, 2 * MB));
+
+        assertEquals(Estrategia.MEMORIA, decision.getEstrategia());
+        assertFalse(decision.isForzada());
+        assertEquals(4 * MB, decision.getBytesEntrada());
+        assertEquals(12 * MB / GobernadorMemoria.BYTES_POR_REGISTRO, decision.getRegistrosEstimados());
+        assertEquals((long) (480 * MB * GobernadorMemoria.FRACCION_HEAP), decision.getHeapDisponible());
+        assertTrue(decision.crearMapas().isEmpty(), "En memoria los mapas los crea la clasificación");
+    }
+
+    @Test
+    void testDecidir_archivosGrandesEnDisco() {
+        Decision decision = gobernador("auto", 512, 512 * MB, 10 * GB).decidir(archivos(6 * MB, 6 * MB));
+
+        assertEquals(Estrategia.DISCO, decision.getEstrategia());
+        assertTrue(decision.getHeapEstimado() <= decision.getHeapDisponible());
+        assertTrue(decision.toString().endsWith("-> DISCO"), decision.toString());
+        Map<String, Map<String, String>> typesMaps = decision.crearMapas();
+        try {
+            assertTrue(typesMaps.get(Constantes.ARCHIVO_FUSIONADO) instanceof MapaEnDisco);
+            assertTrue(typesMaps.get(Constantes.ARCHIVO_DIVIDENDOS) instanceof MapaEnDisco);
+        } finally {
+            GobernadorMemoria.liberarMapas(typesMaps);
+        }
+    }
+
+    @Test
+    void testDecidir_laMemoriaDeLaFuncionLimitaElHeap() {
+        Decision decision = gobernador("auto", 256, 4 * GB, 10 * GB).decidir(archivos(3 * MB, 3 * MB));
+
+        assertEquals((long) (224 * MB * GobernadorMemoria.FRACCION_HEAP), decision.getHeapDisponible());
+        assertEquals(Estrategia.DISCO, decision.getEstrategia());
+    }
+
+    @Test
+    void testDecidir_sinHeapParaElIndiceOrdenamientoExterno() {
+        Decision decision = gobernador("auto", 512, 512 * MB, 10 * GB).decidir(archivos(11 * MB, 11 * MB));
+
+        assertEquals(Estrategia.EXTERNA, decision.getEstrategia());
+        assertTrue(decision.getHeapEstimado() <= decision.getHeapDisponible());
+        assertEquals(66 * MB * GobernadorMemoria.FACTOR_ESPACIO_TEMPORAL_EXTERNA, decision.getTemporalEstimado());
+        Map<String, Map<String, String>> typesMaps = decision.crearMapas();
+        try {
+            assertTrue(typesMaps.get(Constantes.ARCHIVO_FUSIONADO) instanceof MapaEnDisco);
+        } finally {
+            GobernadorMemoria.liberarMapas(typesMaps);
+        }
+        assertEquals(Estrategia.EXTERNA,
+                gobernador("Externa", 512, 512 * MB, 0).decidir(archivos(1, 1)).getEstrategia());
+    }
+
+    @Test
+    void testDecidir_ordenamientoExternoNoDependeDelTamano() {
+        Decision decision = gobernador("auto", 512, 512 * MB, 100 * GB).decidir(archivos(2 * GB, 2 * GB));
+
+        assertEquals(Estrategia.EXTERNA, decision.getEstrategia());
+        assertEquals(GobernadorMemoria.HEAP_BUFFERS_EXTERNA + 100_000 * GobernadorMemoria.HEAP_POR_PAR,
+                decision.getHeapEstimado());
+    }
+
+    @Test
+    void testDecidir_noCabeFallaAntesDeProcesar() {
+        GobernadorMemoria sinTemporal = gobernador("auto", 512, 512 * MB, 100 * MB);
+        AthException e = assertThrows(AthException.class, () -> sinTemporal.decidir(archivos(6 * MB, 6 * MB)));
+        assertTrue(e.getMessage().contains("-> NINGUNA"), e.getMessage());
+
+        GobernadorMemoria sinHeap = gobernador("auto", 512, 40 * MB, 100 * GB);
+        assertThrows(AthException.class, () -> sinHeap.decidir(archivos(2 * GB, 2 * GB)));
+    }
+
+    @Test
+    void testDecidir_estrategiaForzada() {
+        Decision decision = gobernador("Memoria", 512, 512 * MB, 0).decidir(archivos(2 * GB, 2 * GB));
+        assertEquals(Estrategia.MEMORIA, decision.getEstrategia());
+        assertTrue(decision.isForzada());
+        assertTrue(decision.toString().endsWith("-> MEMORIA (forzada)"), decision.toString());
+
+        assertEquals(Estrategia.DISCO, gobernador("disco", 512, 512 * MB, 0).decidir(archivos(1, 1)).getEstrategia());
+        assertThrows(AthException.class, () -> gobernador("nube", 512, 512 * MB, 0).decidir(archivos(1, 1)));
+    }
+
+    @Test
+    void testDecidir_espacioTemporalDelSistema() throws IOException {
+        ConfiguracionDto configuracion = configuracion("auto", 512);
+        Decision decision = new GobernadorMemoria(configuracion).decidir(archivos(1_000, 1_000));
+
+        assertEquals(Estrategia.MEMORIA, decision.getEstrategia());
+        assertEquals(Files.getFileStore(Path.of(System.getProperty("java.io.tmpdir"))).getUsableSpace(),
+                decision.getTemporalDisponible(), 64 * MB);
+    }
+
+    private static GobernadorMemoria gobernador(String estrategia, int memoriaMb, long heapMaximo,
+            long espacioTemporal) {
+        return new GobernadorMemoria(configuracion(estrategia, memoriaMb), () -> heapMaximo, () -> 32 * MB,
+                () -> espacioTemporal);
+    }
+
+    private static ConfiguracionDto configuracion(String estrategia, int memoriaMb) {
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        configuracion.setEstrategiaMemoria(estrategia);
+        configuracion.setMemoriaMb(memoriaMb);
+        configuracion.setFactorExpansionPgp(3.0);
+        configuracion.setRegistrosPorCorrida(100_000);
+        return configuracion;
+    }
+
+    private static List<S3Object> archivos(long... tamanos) {
+        return LongStream.of(tamanos)
+                .mapToObj(tamano -> S3Object.builder().key("in/" + tamano + ".pgp").size(tamano).build())
+                .collect(Collectors.toList());
+    }
+}
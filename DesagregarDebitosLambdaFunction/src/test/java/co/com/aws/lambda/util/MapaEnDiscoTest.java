@@ -0,0 +1,101 @@
+package co.com.aws.lambda.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class MapaEnDiscoTest {
+
+    @Test
+    void testPut_conservaOrdenYValores() throws IOException {
+        try (MapaEnDisco mapa = new MapaEnDisco("prueba")) {
+            assertNull(mapa.put("b", "segundo"));
+            assertNull(mapa.put("a", "primero ñ"));
+            mapa.put("c", "");
+
+            assertEquals(3, mapa.size());
+            assertEquals("c", mapa.ultimaLlave());
+            assertEquals(List.of("b", "a", "c"), List.copyOf(mapa.keySet()));
+            assertEquals(List.of("segundo", "primero ñ", ""), List.copyOf(mapa.values()));
+            Map<String, String> esperado = new LinkedHashMap<>();
+            esperado.put("b", "segundo");
+            esperado.put("a", "primero ñ");
+            esperado.put("c", "");
+            assertEquals(esperado, new LinkedHashMap<>(mapa));
+            assertThrows(UnsupportedOperationException.class, () -> mapa.remove("a"), "Solo agrega entradas");
+            assertThrows(UnsupportedOperationException.class, () -> mapa.get("a"), "No recorre el archivo");
+            assertThrows(UnsupportedOperationException.class, () -> mapa.containsKey("c"));
+            assertThrows(UnsupportedOperationException.class, () -> mapa.containsValue(""));
+        }
+    }
+
+    @Test
+    void testEntradas_desdeUnaPosicion() throws IOException {
+        try (MapaEnDisco mapa = new MapaEnDisco("prueba")) {
+            int total = MapaEnDisco.INTERVALO_MARCAS * 3 + 17;
+            for (int i = 0; i < total; i++) {
+                mapa.put("llave_" + i, "valor " + "x".repeat(i % 300) + i);
+            }
+            for (int desde : new int[] { 0, 1, MapaEnDisco.INTERVALO_MARCAS, MapaEnDisco.INTERVALO_MARCAS * 2 + 5,
+                    total - 1 }) {
+                Iterator<Map.Entry<String, String>> entradas = mapa.entradas(desde);
+                for (int i = desde; i < total; i++) {
+                    Map.Entry<String, String> entrada = entradas.next();
+                    assertEquals("llave_" + i, entrada.getKey());
+                    assertEquals("valor " + "x".repeat(i % 300) + i, entrada.getValue());
+                }
+                assertFalse(entradas.hasNext());
+            }
+            assertFalse(mapa.entradas(total).hasNext());
+            assertEquals("llave_" + (total - 1), mapa.ultimaLlave());
+            mapa.clear();
+            assertNull(mapa.ultimaLlave());
+        }
+    }
+
+    @Test
+    void testEscribirValores_separadosPorSaltoDeLinea() throws IOException {
+        try (MapaEnDisco mapa = new MapaEnDisco("prueba")) {
+            mapa.put("0", "descartado");
+            mapa.clear();
+            mapa.put("1", "uno");
+            mapa.put("2", "dos");
+            mapa.put("3", "tres");
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            List<String> llaves = new ArrayList<>();
+
+            mapa.escribirValores(salida, (llave, valor) -> llaves.add(llave));
+
+            assertEquals("uno\ndos\ntres", salida.toString(StandardCharsets.UTF_8));
+            assertEquals(List.of("1", "2", "3"), llaves);
+        }
+    }
+
+    @Test
+    void testClose_eliminaElArchivo() throws IOException {
+        MapaEnDisco mapa = new MapaEnDisco("prueba");
+        mapa.put("llave", "x".repeat(100_000));
+        Path archivo = mapa.getArchivo();
+        assertEquals(100_000, mapa.values().iterator().next().length());
+        assertTrue(Files.size(archivo) >= 100_000);
+
+        mapa.close();
+
+        assertFalse(Files.exists(archivo));
+    }
+}
@@ -0,0 +1,45 @@
+package co.com.aws.lambda.validacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import co.com.aws.lambda.constants.Constantes;
+import co.com.aws.lambda.validacion.ValidadorRegistros.Motivo;
+
+class CuarentenaTest {
+
+    @Test
+    void testAgregar_creaElMapaYCuentaPorMotivo() {
+        Map<String, Map<String, String>> typesMaps = new HashMap<>();
+        Cuarentena cuarentena = new Cuarentena("5402ORDINARIO", typesMaps);
+        cuarentena.registrar();
+        assertFalse(typesMaps.containsKey(Constantes.ARCHIVO_CUARENTENA), "Sin registros no hay archivo");
+
+        cuarentena.agregar(3, Motivo.LONGITUD, "corta");
+        cuarentena.agregar(7, Motivo.FACTURA, "2XXXXXXXXXXXX");
+        cuarentena.agregar(9, Motivo.LONGITUD, "otra");
+        new Cuarentena("0177PREFERENCIAL", typesMaps).agregar(2, Motivo.TIPO, "9000000000001");
+        cuarentena.registrar();
+
+        assertEquals(3, cuarentena.getTotal());
+        assertEquals(2, cuarentena.getCantidad(Motivo.LONGITUD));
+        assertEquals(0, cuarentena.getCantidad(Motivo.IMPORTE));
+        Map<String, String> registros = typesMaps.get(Constantes.ARCHIVO_CUARENTENA);
+        assertEquals(List.of("5402ORDINARIO_3", "5402ORDINARIO_7", "5402ORDINARIO_9", "0177PREFERENCIAL_2"),
+                List.copyOf(registros.keySet()));
+        assertEquals(Cuarentena.texto("5402ORDINARIO", 7, Motivo.FACTURA, "2XXXXXXXXXXXX"),
+                registros.get("5402ORDINARIO_7"));
+    }
+
+    @Test
+    void testTexto() {
+        assertEquals("La linea [12] del archivo [5402ORDINARIO] no cumple el diseno de registro [IMPORTE]: "
+                + "2000000000001 X", Cuarentena.texto("5402ORDINARIO", 12, Motivo.IMPORTE, "2000000000001 X"));
+    }
+}
@@ -0,0 +1,72 @@
+package co.com.aws.lambda.validacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import co.com.aws.lambda.dto.ConfiguracionDto;
+import co.com.aws.lambda.validacion.ValidadorRegistros.Motivo;
+
+class ValidadorRegistrosTest {
+
+    private static final String REGISTRO = "2000000000001" + " ".repeat(76) + "000000001000";
+
+    private final ValidadorRegistros validador = ValidadorRegistros.DISENO;
+
+    @Test
+    void testValidar_detalle() {
+        assertNull(validador.validar(REGISTRO, false));
+        assertNull(validador.validar(REGISTRO + " CAMPOS ADICIONALES", false));
+        assertEquals(Motivo.LONGITUD, validador.validar(REGISTRO.substring(0, 100), false));
+        assertEquals(Motivo.TIPO, validador.validar("9" + REGISTRO.substring(1), false));
+        assertEquals(Motivo.FACTURA, validador.validar("20000000000X1" + REGISTRO.substring(13), false));
+        assertEquals(Motivo.FACTURA, validador.validar("2 00000000001" + REGISTRO.substring(13), false));
+        assertEquals(Motivo.IMPORTE, validador.validar(REGISTRO.substring(0, 100) + "X", false));
+        assertEquals(Motivo.FACTURA, validador.validar("2X" + REGISTRO.substring(2, 89) + "00000000000X", false),
+                "Se reporta el primer campo que no cumple");
+    }
+
+    @Test
+    void testValidar_encabezadoSoloExigeLongitud() {
+        assertNull(validador.validar("1000000000000 ENCABEZADO", true));
+        assertNull(validador.validar("line1line2line3", true));
+        assertEquals(Motivo.LONGITUD, validador.validar("1ENCABEZADO", true));
+    }
+
+    @Test
+    void testOmitir_lineasEnBlancoYRegistrosDeControl() {
+        assertTrue(validador.omitir(""));
+        assertTrue(validador.omitir("3000004"));
+        assertFalse(validador.omitir("3000X04"));
+        assertFalse(validador.omitir("corta"));
+        assertFalse(validador.omitir("3" + REGISTRO.substring(1)));
+        assertFalse(validador.omitir(REGISTRO));
+    }
+
+    @Test
+    void testInactivo_conservaLasReglasAnteriores() {
+        ValidadorRegistros inactivo = ValidadorRegistros.INACTIVO;
+
+        assertTrue(inactivo.omitir("corta"));
+        assertTrue(inactivo.omitir("3000004"));
+        assertFalse(inactivo.omitir("2000000000001 X"));
+        assertNull(inactivo.validar("2000000000001 X", false));
+        assertNull(inactivo.validar("9" + REGISTRO.substring(1), false));
+    }
+
+    @Test
+    void testDe_segunLaConfiguracion() {
+        ConfiguracionDto configuracion = new ConfiguracionDto();
+        assertSame(ValidadorRegistros.INACTIVO, ValidadorRegistros.de(configuracion));
+        assertSame(ValidadorRegistros.INACTIVO, ValidadorRegistros.de(null));
+
+        configuracion.setValidacionRegistros(true);
+
+        assertSame(ValidadorRegistros.DISENO, ValidadorRegistros.de(configuracion));
+        assertTrue(ValidadorRegistros.de(configuracion).isActivo());
+    }
+}